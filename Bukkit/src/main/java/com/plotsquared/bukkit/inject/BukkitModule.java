@@ -56,6 +56,7 @@ import com.plotsquared.core.plot.world.SinglePlotAreaManager;
 import com.plotsquared.core.queue.ChunkCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueProvider;
+import com.plotsquared.core.queue.TickBudget;
 import com.plotsquared.core.queue.subscriber.DefaultProgressSubscriber;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
 import com.plotsquared.core.util.ChunkManager;
@@ -66,8 +67,11 @@ import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.SchematicHandler;
 import com.plotsquared.core.util.SetupUtils;
 import com.plotsquared.core.util.WorldUtil;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.bukkit.WorldEditPlugin;
 import com.sk89q.worldedit.extension.platform.Actor;
+import io.papermc.lib.PaperLib;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.bukkit.Bukkit;
@@ -130,6 +134,15 @@ public class BukkitModule extends AbstractModule {
         install(new FactoryModuleBuilder().build(ChunkCoordinatorBuilderFactory.class));
     }
 
+    @Provides
+    @Singleton
+    @NonNull TickBudget provideTickBudget() {
+        return new TickBudget(
+                PaperLib.isPaper() ? Bukkit::getAverageTickTime : () -> Double.NaN,
+                task -> TaskManager.runTaskRepeat(task, TaskTime.ticks(1))
+        );
+    }
+
     @Provides
     @Singleton
     @NonNull EconHandler provideEconHandler() {
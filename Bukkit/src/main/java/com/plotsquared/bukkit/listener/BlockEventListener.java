@@ -59,7 +59,6 @@ import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldedit.world.block.BlockType;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.Bukkit;
@@ -254,13 +253,10 @@ public class BlockEventListener implements Listener {
                 return;
             }
             if (!plot.isAdded(plotPlayer.getUUID())) {
-                List<BlockTypeWrapper> destroy = plot.getFlag(BreakFlag.class);
+                BreakFlag destroy = plot.getFlagContainer().getFlag(BreakFlag.class);
                 Block block = event.getBlock();
-                final BlockType blockType = BukkitAdapter.asBlockType(block.getType());
-                for (final BlockTypeWrapper blockTypeWrapper : destroy) {
-                    if (blockTypeWrapper.accepts(blockType)) {
-                        return;
-                    }
+                if (destroy.accepts(BukkitAdapter.asBlockType(block.getType()))) {
+                    return;
                 }
                 if (plotPlayer.hasPermission(Permission.PERMISSION_ADMIN_DESTROY_OTHER)) {
                     return;
@@ -1166,6 +1162,57 @@ public class BlockEventListener implements Listener {
         }
     }
 
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBlockPlaced(BlockPlaceEvent event) {
+        markModified(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBlockBroken(BlockBreakEvent event) {
+        markModified(event.getBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onLiquidFlowed(BlockFromToEvent event) {
+        markModified(event.getToBlock());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onPistonExtended(BlockPistonExtendEvent event) {
+        markModified(event.getBlock());
+        markModified(event.getBlocks());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onPistonRetracted(BlockPistonRetractEvent event) {
+        markModified(event.getBlock());
+        markModified(event.getBlocks());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onBlockExploded(BlockExplodeEvent event) {
+        markModified(event.blockList());
+    }
+
+    static void markModified(Block block) {
+        Plot plot = BukkitUtil.adapt(block.getLocation()).getOwnedPlot();
+        if (plot != null) {
+            plot.markModified();
+        }
+    }
+
+    static void markModified(List<Block> blocks) {
+        Plot previous = null;
+        for (Block block : blocks) {
+            Plot plot = BukkitUtil.adapt(block.getLocation()).getOwnedPlot();
+            // The blocks are mostly in the same plot
+            if (plot != null && plot != previous) {
+                plot.markModified();
+                previous = plot;
+            }
+        }
+    }
+
     /*
      * BlockMultiPlaceEvent is called unrelated to the BlockPlaceEvent itself and therefore doesn't respect the cancellation.
      */
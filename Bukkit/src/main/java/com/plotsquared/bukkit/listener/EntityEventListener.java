@@ -342,6 +342,17 @@ public class EntityEventListener implements Listener {
         }
     }
 
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onEntityExploded(EntityExplodeEvent event) {
+        BlockEventListener.markModified(event.blockList());
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onEntityChangedBlock(EntityChangeBlockEvent event) {
+        // Includes falling blocks landing and turning into falling blocks
+        BlockEventListener.markModified(event.getBlock());
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPeskyMobsChangeTheWorldLikeWTFEvent(EntityChangeBlockEvent event) {
         Entity e = event.getEntity();
@@ -25,6 +25,7 @@ import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.flag.implementations.ForcefieldFlag;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 
@@ -37,11 +38,10 @@ public class ForceFieldListener {
 
     private static Set<PlotPlayer<?>> getNearbyPlayers(Player player, Plot plot) {
         Set<PlotPlayer<?>> players = new HashSet<>();
-        for (Player nearPlayer : player.getNearbyEntities(5d, 5d, 5d).stream()
-                .filter(entity -> entity instanceof Player)
-                .map(entity -> (Player) entity)
-                .toList()
-        ) {
+        for (Entity entity : player.getNearbyEntities(5d, 5d, 5d)) {
+            if (!(entity instanceof Player nearPlayer)) {
+                continue;
+            }
             PlotPlayer<?> plotPlayer;
             if ((plotPlayer = BukkitUtil.adapt(nearPlayer)) == null || !plot
                     .equals(plotPlayer.getCurrentPlot())) {
@@ -55,11 +55,10 @@ public class ForceFieldListener {
     }
 
     private static PlotPlayer<?> hasNearbyPermitted(Player player, Plot plot) {
-        for (Player nearPlayer : player.getNearbyEntities(5d, 5d, 5d).stream()
-                .filter(entity -> entity instanceof Player)
-                .map(entity -> (Player) entity)
-                .toList()
-        ) {
+        for (Entity entity : player.getNearbyEntities(5d, 5d, 5d)) {
+            if (!(entity instanceof Player nearPlayer)) {
+                continue;
+            }
             PlotPlayer<?> plotPlayer;
             if ((plotPlayer = BukkitUtil.adapt(nearPlayer)) == null || !plot
                     .equals(plotPlayer.getCurrentPlot())) {
@@ -167,6 +167,10 @@ public class HighFreqBlockEventListener implements Listener {
             plot.debug("Prevented block physics and resent block change because disable-physics = true");
             return;
         }
+        if (event.getChangedType().hasGravity()) {
+            // The block may start falling
+            plot.markModified();
+        }
         if (event.getChangedType() == Material.COMPARATOR) {
             if (!plot.getFlag(RedstoneFlag.class)) {
                 event.setCancelled(true);
@@ -178,6 +182,8 @@ public class HighFreqBlockEventListener implements Listener {
             if (plot.getFlag(DisablePhysicsFlag.class)) {
                 event.setCancelled(true);
                 plot.debug("Prevented block physics because disable-physics = true");
+            } else {
+                plot.markModified();
             }
             return;
         }
@@ -20,7 +20,9 @@ package com.plotsquared.bukkit.listener;
 
 import com.destroystokyo.paper.event.block.BeaconEffectEvent;
 import com.destroystokyo.paper.event.block.BlockDestroyEvent;
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
 import com.destroystokyo.paper.event.entity.EntityPathfindEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import com.destroystokyo.paper.event.entity.PlayerNaturallySpawnCreaturesEvent;
 import com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent;
 import com.destroystokyo.paper.event.entity.PreSpawnerSpawnEvent;
@@ -28,6 +30,7 @@ import com.destroystokyo.paper.event.entity.SlimePathfindEvent;
 import com.destroystokyo.paper.event.player.PlayerLaunchProjectileEvent;
 import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
 import com.google.inject.Inject;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.core.command.Command;
 import com.plotsquared.core.command.MainCommand;
@@ -63,6 +66,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent;
+import org.bukkit.event.entity.EntityTeleportEvent;
 import org.bukkit.projectiles.ProjectileSource;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -79,11 +83,36 @@ import java.util.regex.Pattern;
 public class PaperListener implements Listener {
 
     private final PlotAreaManager plotAreaManager;
+    private final BukkitEntityCounter entityCounter;
     private Chunk lastChunk;
 
     @Inject
-    public PaperListener(final @NonNull PlotAreaManager plotAreaManager) {
+    public PaperListener(final @NonNull PlotAreaManager plotAreaManager, final @NonNull BukkitEntityCounter entityCounter) {
         this.plotAreaManager = plotAreaManager;
+        this.entityCounter = entityCounter;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityAddToWorld(EntityAddToWorldEvent event) {
+        if (Settings.Paper_Components.ENTITY_COUNTER) {
+            this.entityCounter.update(event.getEntity());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        if (Settings.Paper_Components.ENTITY_COUNTER) {
+            this.entityCounter.remove(event.getEntity());
+        }
+    }
+
+    @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+    public void onEntityTeleport(EntityTeleportEvent event) {
+        if (Settings.Paper_Components.ENTITY_COUNTER && event.getTo() != null
+                && event.getTo().getWorld() == event.getEntity().getWorld()) {
+            // Teleports to other worlds remove the entity from the current one, and add it to the other one
+            this.entityCounter.update(event.getEntity(), event.getTo());
+        }
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.LOWEST)
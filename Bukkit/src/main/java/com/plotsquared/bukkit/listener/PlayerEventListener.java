@@ -618,6 +618,8 @@ public class PlayerEventListener implements Listener {
     public void onWorldChanged(PlayerChangedWorldEvent event) {
         Player player = event.getPlayer();
         BukkitPlayer pp = BukkitUtil.adapt(player);
+        // Permissions may be assigned per world
+        pp.invalidatePermissionRanges();
         if (this.worldEdit != null) {
             if (!pp.hasPermission(Permission.PERMISSION_WORLDEDIT_BYPASS)) {
                 if (pp.getAttribute("worldedit")) {
@@ -721,12 +723,13 @@ public class PlayerEventListener implements Listener {
                 }
                 return;
             }
-            Plot now = area.getPlot(location);
             Plot lastPlot;
             try (final MetaDataAccess<Plot> lastPlotAccess =
                          pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
                 lastPlot = lastPlotAccess.get().orElse(null);
             }
+            // Reuse the last plot if it's unclaimed and still the one the player is in
+            Plot now = area.getPlot(location, lastPlot);
             if (now == null) {
                 try (final MetaDataAccess<Boolean> kickAccess =
                              pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK)) {
@@ -815,12 +818,13 @@ public class PlayerEventListener implements Listener {
                 }
                 return;
             }
-            Plot plot = area.getPlot(location);
             Plot lastPlot;
             try (final MetaDataAccess<Plot> lastPlotAccess =
                          pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
                 lastPlot = lastPlotAccess.get().orElse(null);
             }
+            // Reuse the last plot if it's unclaimed and still the one the player is in
+            Plot plot = area.getPlot(location, lastPlot);
             if (plot == null) {
                 try (final MetaDataAccess<Boolean> kickAccess =
                              pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK)) {
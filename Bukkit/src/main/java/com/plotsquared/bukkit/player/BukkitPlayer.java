@@ -153,7 +153,7 @@ public class BukkitPlayer extends PlotPlayer<Player> {
     @SuppressWarnings("StringSplitter")
     @Override
     @NonNegative
-    public int hasPermissionRange(
+    protected int resolvePermissionRange(
             final @NonNull String stub,
             @NonNegative final int range
     ) {
@@ -23,6 +23,9 @@ import com.google.inject.assistedinject.Assisted;
 import com.plotsquared.bukkit.BukkitPlatform;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.queue.ChunkCoordinator;
+import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.queue.QueueScheduler;
+import com.plotsquared.core.queue.TickBudget;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
 import com.plotsquared.core.util.task.PlotSquaredTask;
 import com.plotsquared.core.util.task.TaskManager;
@@ -41,6 +44,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -55,6 +59,10 @@ import java.util.function.Consumer;
  **/
 public final class BukkitChunkCoordinator extends ChunkCoordinator {
 
+    private static final int MAX_BATCH_SIZE = 64;
+    // Weight of the latest tick in the average time per chunk
+    private static final double CHUNK_COST_WEIGHT = 0.25D;
+
     private final List<ProgressSubscriber> progressSubscribers = new LinkedList<>();
 
     private final Queue<BlockVector2> requestedChunks;
@@ -70,8 +78,13 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
     private final AtomicInteger expectedSize;
     private final AtomicInteger loadingChunks = new AtomicInteger();
     private final boolean forceSync;
+    private final TickBudget tickBudget;
+    private final QueueScheduler scheduler;
 
     private int batchSize;
+    private double chunkCost = Double.NaN;
+    private boolean starved;
+    private boolean registered;
     private PlotSquaredTask task;
     private volatile boolean shouldCancel;
     private boolean finished;
@@ -87,7 +100,9 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             @Assisted final @NonNull Consumer<Throwable> throwableConsumer,
             @Assisted("unloadAfter") final boolean unloadAfter,
             @Assisted final @NonNull Collection<ProgressSubscriber> progressSubscribers,
-            @Assisted("forceSync") final boolean forceSync
+            @Assisted("forceSync") final boolean forceSync,
+            final @NonNull TickBudget tickBudget,
+            final @NonNull GlobalBlockQueue blockQueue
     ) {
         this.requestedChunks = new LinkedBlockingQueue<>(requestedChunks);
         this.availableChunks = new LinkedBlockingQueue<>();
@@ -103,11 +118,18 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         this.bukkitWorld = Bukkit.getWorld(world.getName());
         this.progressSubscribers.addAll(progressSubscribers);
         this.forceSync = forceSync;
+        this.tickBudget = tickBudget;
+        this.scheduler = blockQueue.getScheduler();
     }
 
     @Override
     public void start() {
-        if (!forceSync) {
+        if (shouldCancel) {
+            // Cancelled before it was started by the scheduler
+            finish();
+        } else if (!forceSync) {
+            this.tickBudget.register();
+            this.registered = true;
             // Request initial batch
             this.requestBatch();
             // Wait until next tick to give the chunks a chance to be loaded
@@ -142,6 +164,10 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             if (task != null) {
                 task.cancel();
             }
+            if (registered) {
+                tickBudget.unregister();
+                registered = false;
+            }
             finished = true;
         }
     }
@@ -159,21 +185,27 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             return;
         }
 
-        Chunk chunk = this.availableChunks.poll();
-        if (chunk == null) {
-            if (this.availableChunks.isEmpty()) {
-                if (this.requestedChunks.isEmpty() && loadingChunks.get() == 0) {
-                    finish();
-                } else {
-                    requestBatch();
-                }
+        if (this.availableChunks.isEmpty()) {
+            if (this.requestedChunks.isEmpty() && loadingChunks.get() == 0) {
+                finish();
+            } else {
+                requestBatch();
             }
             return;
         }
-        long[] iterationTime = new long[2];
+        final long allowance = this.tickBudget.acquire(TimeUnit.MILLISECONDS.toNanos(this.maxIterationTime));
+        if (allowance <= 0 && !this.starved) {
+            // Other coordinators used up this tick, but we still process a chunk if that happens twice in a row
+            this.starved = true;
+            return;
+        }
+        this.starved = false;
+        // Chunks are only added and removed on the main thread
+        Chunk chunk = this.availableChunks.poll();
+        final long start = System.nanoTime();
+        long elapsed;
         int processedChunks = 0;
         do {
-            final long start = System.currentTimeMillis();
             try {
                 this.chunkConsumer.accept(BlockVector2.at(chunk.getX(), chunk.getZ()));
             } catch (final Throwable throwable) {
@@ -183,15 +215,12 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 this.freeChunk(chunk);
             }
             processedChunks++;
-            final long end = System.currentTimeMillis();
-            // Update iteration time
-            iterationTime[0] = iterationTime[1];
-            iterationTime[1] = end - start;
-        } while (iterationTime[0] + iterationTime[1] < this.maxIterationTime * 2 && (chunk = availableChunks.poll()) != null);
-        if (processedChunks < this.batchSize) {
-            // Adjust batch size based on the amount of processed chunks per tick
-            this.batchSize = processedChunks;
-        }
+            elapsed = System.nanoTime() - start;
+            // Stop if the next chunk would likely exceed the allowance
+        } while (elapsed + estimateChunkCost(elapsed / processedChunks) <= allowance
+                && (chunk = availableChunks.poll()) != null);
+        this.tickBudget.release(elapsed);
+        this.updateBatchSize(elapsed / (double) processedChunks, allowance);
 
         final int expected = this.expectedSize.addAndGet(-processedChunks);
 
@@ -208,18 +237,41 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         }
     }
 
+    private double estimateChunkCost(final long current) {
+        return Double.isNaN(this.chunkCost) ? current : Math.max(current, this.chunkCost);
+    }
+
+    /**
+     * Adjust the number of chunks requested at once to the number of chunks that fit into the time this coordinator
+     * gets per tick, growing or shrinking it as the time per chunk and the available time change.
+     */
+    private void updateBatchSize(final double cost, final long allowance) {
+        if (Double.isNaN(this.chunkCost)) {
+            this.chunkCost = cost;
+        } else {
+            this.chunkCost += (cost - this.chunkCost) * CHUNK_COST_WEIGHT;
+        }
+        final long target = TimeUnit.MILLISECONDS.toNanos(this.maxIterationTime);
+        final long available = allowance <= 0 ? target : Math.min(allowance, target);
+        final int fitting = (int) Math.min(MAX_BATCH_SIZE, (long) (available / Math.max(1D, this.chunkCost)));
+        this.batchSize = Math.max(1, fitting);
+    }
+
     /**
      * Requests a batch of chunks to be loaded
      */
     private void requestBatch() {
+        final int permits = this.scheduler.acquireChunkLoads(this, Math.min(this.batchSize, this.requestedChunks.size()));
         BlockVector2 chunk;
-        for (int i = 0; i < this.batchSize && (chunk = this.requestedChunks.poll()) != null; i++) {
+        int i = 0;
+        for (; i < permits && (chunk = this.requestedChunks.poll()) != null; i++) {
             // This required PaperLib to be bumped to version 1.0.4 to mark the request as urgent
             loadingChunks.incrementAndGet();
             PaperLib
                     .getChunkAtAsync(this.bukkitWorld, chunk.getX(), chunk.getZ(), true, true)
                     .whenComplete((chunkObject, throwable) -> {
                         loadingChunks.decrementAndGet();
+                        this.scheduler.releaseChunkLoads(this, 1);
                         if (throwable != null) {
                             throwable.printStackTrace();
                             // We want one less because this couldn't be processed
@@ -231,6 +283,9 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                         }
                     });
         }
+        if (i < permits) {
+            this.scheduler.releaseChunkLoads(this, permits - i);
+        }
     }
 
     /**
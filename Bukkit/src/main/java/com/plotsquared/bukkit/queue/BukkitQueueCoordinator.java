@@ -27,6 +27,7 @@ import com.plotsquared.core.inject.factory.ChunkCoordinatorFactory;
 import com.plotsquared.core.queue.BasicQueueCoordinator;
 import com.plotsquared.core.queue.ChunkCoordinator;
 import com.plotsquared.core.queue.LocalChunk;
+import com.plotsquared.core.queue.PalettedSection;
 import com.plotsquared.core.util.ChunkUtil;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.WorldEditException;
@@ -97,12 +98,20 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
 
     @Override
     public void start() {
-        chunkCoordinator.start();
+        if (isForceSync()) {
+            chunkCoordinator.start();
+        } else {
+            getBlockQueue().getScheduler().submit(chunkCoordinator, getPriority());
+        }
     }
 
     @Override
     public void cancel() {
         chunkCoordinator.cancel();
+        if (getBlockQueue().getScheduler().remove(chunkCoordinator)) {
+            // Never started, start it so that it finishes right away
+            chunkCoordinator.start();
+        }
     }
 
     @Override
@@ -153,47 +162,36 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                 if (localChunk == null) {
                     return;
                 }
-                for (int layer = 0; layer < localChunk.getBaseblocks().length; layer++) {
-                    BaseBlock[] blocksLayer = localChunk.getBaseblocks()[layer];
+                for (int layer = 0; layer < localChunk.getSectionCount(); layer++) {
+                    PalettedSection<BaseBlock> blocksLayer = localChunk.getBlockSection(layer);
                     if (blocksLayer == null) {
                         continue;
                     }
-                    for (int j = 0; j < blocksLayer.length; j++) {
-                        if (blocksLayer[j] == null) {
-                            continue;
-                        }
-                        BaseBlock block = blocksLayer[j];
-
-                        if (block != null) {
-                            int lx = ChunkUtil.getX(j);
-                            int lz = ChunkUtil.getZ(j);
-                            int x = sx + lx;
-                            int y = ChunkUtil.getY(layer + localChunk.getMinSection(), j);
-                            int z = sz + lz;
-                            boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(y >> 4, lx, y & 15, lz, blockVector2,
-                                    localChunk
-                            );
-                            setWorldBlock(x, y, z, block, blockVector2, edge);
-                        }
-                    }
+                    final int section = layer + localChunk.getMinSection();
+                    blocksLayer.forEach((j, block) -> {
+                        int lx = ChunkUtil.getX(j);
+                        int lz = ChunkUtil.getZ(j);
+                        int x = sx + lx;
+                        int y = ChunkUtil.getY(section, j);
+                        int z = sz + lz;
+                        boolean edge = Settings.QUEUE.UPDATE_EDGES && isEdge(y >> 4, lx, y & 15, lz, blockVector2,
+                                localChunk
+                        );
+                        setWorldBlock(x, y, z, block, blockVector2, edge);
+                    });
                 }
-                for (int layer = 0; layer < localChunk.getBiomes().length; layer++) {
-                    BiomeType[] biomesLayer = localChunk.getBiomes()[layer];
+                for (int layer = 0; layer < localChunk.getSectionCount(); layer++) {
+                    PalettedSection<BiomeType> biomesLayer = localChunk.getBiomeSection(layer);
                     if (biomesLayer == null) {
                         continue;
                     }
-                    for (int j = 0; j < biomesLayer.length; j++) {
-                        if (biomesLayer[j] == null) {
-                            continue;
-                        }
-                        BiomeType biome = biomesLayer[j];
-                        if (biome != null) {
-                            int x = sx + ChunkUtil.getX(j);
-                            int y = ChunkUtil.getY(layer, j);
-                            int z = sz + ChunkUtil.getZ(j);
-                            getWorld().setBiome(BlockVector3.at(x, y, z), biome);
-                        }
-                    }
+                    final int section = layer;
+                    biomesLayer.forEach((j, biome) -> {
+                        int x = sx + ChunkUtil.getX(j);
+                        int y = ChunkUtil.getY(section, j);
+                        int z = sz + ChunkUtil.getZ(j);
+                        getWorld().setBiome(BlockVector3.at(x, y, z), biome);
+                    });
                 }
                 if (localChunk.getTiles().size() > 0) {
                     localChunk.getTiles().forEach((blockVector3, tag) -> {
@@ -211,6 +209,7 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                 }
             };
         }
+        final Runnable whenDone = getCompleteTask();
         Collection<BlockVector2> read = new ArrayList<>();
         if (getReadChunks().size() > 0) {
             read.addAll(getReadChunks());
@@ -221,10 +220,16 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                         .inWorld(getWorld())
                         .withChunks(getBlockChunks().keySet())
                         .withChunks(read)
-                        .withInitialBatchSize(3)
-                        .withMaxIterationTime(40)
                         .withThrowableConsumer(Throwable::printStackTrace)
-                        .withFinalAction(getCompleteTask())
+                        .withFinalAction(() -> {
+                            try {
+                                if (whenDone != null) {
+                                    whenDone.run();
+                                }
+                            } finally {
+                                getBlockQueue().getScheduler().complete(chunkCoordinator);
+                            }
+                        })
                         .withConsumer(consumer)
                         .unloadAfter(isUnloadAfter())
                         .withProgressSubscribers(getProgressSubscribers())
@@ -301,63 +306,63 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
 
     private boolean isEdge(int layer, int x, int y, int z, BlockVector2 blockVector2, LocalChunk localChunk) {
         int layerIndex = (layer - localChunk.getMinSection());
-        if (layer == localChunk.getMinSection() || layerIndex == localChunk.getBaseblocks().length - 1) {
+        if (layer == localChunk.getMinSection() || layerIndex == localChunk.getSectionCount() - 1) {
             return false;
         }
         if (x == 0) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() - 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layerIndex] == null ||
-                    localChunkX.getBaseblocks()[layerIndex][ChunkUtil.getJ(15, y, z)] != null) {
+            if (localChunkX == null || localChunkX.getBlockSection(layerIndex) == null ||
+                    localChunkX.getBlockSection(layerIndex).get(ChunkUtil.getJ(15, y, z)) != null) {
                 return true;
             }
         } else if (x == 15) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() + 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layerIndex] == null ||
-                    localChunkX.getBaseblocks()[layerIndex][ChunkUtil.getJ(0, y, z)] != null) {
+            if (localChunkX == null || localChunkX.getBlockSection(layerIndex) == null ||
+                    localChunkX.getBlockSection(layerIndex).get(ChunkUtil.getJ(0, y, z)) != null) {
                 return true;
             }
         }
         if (z == 0) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() - 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layerIndex] == null ||
-                    localChunkZ.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, y, 15)] != null) {
+            if (localChunkZ == null || localChunkZ.getBlockSection(layerIndex) == null ||
+                    localChunkZ.getBlockSection(layerIndex).get(ChunkUtil.getJ(x, y, 15)) != null) {
                 return true;
             }
         } else if (z == 15) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() + 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layerIndex] == null ||
-                    localChunkZ.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, y, 0)] != null) {
+            if (localChunkZ == null || localChunkZ.getBlockSection(layerIndex) == null ||
+                    localChunkZ.getBlockSection(layerIndex).get(ChunkUtil.getJ(x, y, 0)) != null) {
                 return true;
             }
         }
         if (y == 0) {
-            if (localChunk.getBaseblocks()[layerIndex - 1] == null ||
-                    localChunk.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, 15, z)] != null) {
+            if (localChunk.getBlockSection(layerIndex - 1) == null ||
+                    localChunk.getBlockSection(layerIndex).get(ChunkUtil.getJ(x, 15, z)) != null) {
                 return true;
             }
         } else if (y == 15) {
-            if (localChunk.getBaseblocks()[layerIndex + 1] == null ||
-                    localChunk.getBaseblocks()[layerIndex][ChunkUtil.getJ(x, 0, z)] != null) {
+            if (localChunk.getBlockSection(layerIndex + 1) == null ||
+                    localChunk.getBlockSection(layerIndex).get(ChunkUtil.getJ(x, 0, z)) != null) {
                 return true;
             }
         }
-        BaseBlock[] baseBlocks = localChunk.getBaseblocks()[layerIndex];
-        if (x > 0 && baseBlocks[ChunkUtil.getJ(x - 1, y, z)] == null) {
+        PalettedSection<BaseBlock> baseBlocks = localChunk.getBlockSection(layerIndex);
+        if (x > 0 && baseBlocks.get(ChunkUtil.getJ(x - 1, y, z)) == null) {
             return true;
         }
-        if (x < 15 && baseBlocks[ChunkUtil.getJ(x + 1, y, z)] == null) {
+        if (x < 15 && baseBlocks.get(ChunkUtil.getJ(x + 1, y, z)) == null) {
             return true;
         }
-        if (y > 0 && baseBlocks[ChunkUtil.getJ(x, y - 1, z)] == null) {
+        if (y > 0 && baseBlocks.get(ChunkUtil.getJ(x, y - 1, z)) == null) {
             return true;
         }
-        if (y < 15 && baseBlocks[ChunkUtil.getJ(x, y + 1, z)] == null) {
+        if (y < 15 && baseBlocks.get(ChunkUtil.getJ(x, y + 1, z)) == null) {
             return true;
         }
-        if (z > 0 && baseBlocks[ChunkUtil.getJ(x, y, z - 1)] == null) {
+        if (z > 0 && baseBlocks.get(ChunkUtil.getJ(x, y, z - 1)) == null) {
             return true;
         }
-        return z < 15 && baseBlocks[ChunkUtil.getJ(x, y, z + 1)] == null;
+        return z < 15 && baseBlocks.get(ChunkUtil.getJ(x, y, z + 1)) == null;
     }
 
     private boolean isEdgeRegen(int x, int z, BlockVector2 blockVector2) {
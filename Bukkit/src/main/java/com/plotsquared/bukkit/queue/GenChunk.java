@@ -152,6 +152,15 @@ public class GenChunk extends ZeroedDelegateScopedQueueCoordinator {
         chunkData.setRegion(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1, BukkitAdapter.adapt(block));
     }
 
+    @Override
+    public void setColumn(int x, int z, int yMin, int yMax, @NonNull BaseBlock block) {
+        if (this.result != null) {
+            super.setColumn(x, z, yMin, yMax, block);
+            return;
+        }
+        this.chunkData.setRegion(x, yMin, z, x + 1, yMax + 1, z + 1, BukkitAdapter.adapt(block));
+    }
+
     @Override
     public boolean setBiome(int x, int z, @NonNull BiomeType biomeType) {
         return setBiome(x, z, BukkitAdapter.adapt(biomeType));
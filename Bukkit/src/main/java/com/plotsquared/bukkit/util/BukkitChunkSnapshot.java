@@ -0,0 +1,74 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.plotsquared.core.util.ChunkSnapshot;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ChunkSnapshot} backed by a Bukkit {@link org.bukkit.ChunkSnapshot}.
+ */
+final class BukkitChunkSnapshot implements ChunkSnapshot {
+
+    // Block data is adapted once per state, as not every WorldEdit version adapts it in a thread-safe way
+    private static final Map<BlockData, BlockState> STATES = new ConcurrentHashMap<>();
+
+    private final org.bukkit.ChunkSnapshot snapshot;
+    private final Collection<BlockVector3> tileEntities;
+
+    BukkitChunkSnapshot(
+            final org.bukkit.@NonNull ChunkSnapshot snapshot,
+            final @NonNull Collection<BlockVector3> tileEntities
+    ) {
+        this.snapshot = snapshot;
+        this.tileEntities = tileEntities;
+    }
+
+    @Override
+    public @NonNull BlockState getBlock(final int x, final int y, final int z) {
+        final BlockData data = this.snapshot.getBlockData(x, y, z);
+        final BlockState state = STATES.get(data);
+        if (state != null) {
+            return state;
+        }
+        synchronized (STATES) {
+            return STATES.computeIfAbsent(data, BukkitAdapter::adapt);
+        }
+    }
+
+    @Override
+    public @NonNull BiomeType getBiome(final int x, final int y, final int z) {
+        return BukkitAdapter.adapt(this.snapshot.getBiome(x, y, z));
+    }
+
+    @Override
+    public @NonNull Collection<BlockVector3> getTileEntities() {
+        return this.tileEntities;
+    }
+
+}
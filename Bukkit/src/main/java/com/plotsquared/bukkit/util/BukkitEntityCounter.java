@@ -0,0 +1,192 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.entity.EntityCategories;
+import com.plotsquared.core.util.entity.PlotEntityCounter;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
+
+/**
+ * Keeps the {@link PlotEntityCounter} for all plot worlds up to date. Entities are counted when they're added to
+ * or removed from a world (which includes chunks loading and unloading). To account for entities moving between
+ * plots, the loaded chunks of all plot worlds are reconciled continuously, a few chunks per tick, so that a full pass
+ * takes {@link Settings.Paper_Components#ENTITY_COUNTER_INTERVAL} seconds.
+ */
+@Singleton
+public class BukkitEntityCounter {
+
+    private final PlotAreaManager plotAreaManager;
+    private final PlotEntityCounter counter = new PlotEntityCounter();
+    // Chunks left to reconcile in the current pass, only accessed on the main thread
+    private final Deque<Chunk> pending = new ArrayDeque<>();
+    private int chunksPerTick;
+    private volatile boolean active;
+
+    @Inject
+    public BukkitEntityCounter(final @NonNull PlotAreaManager plotAreaManager) {
+        this.plotAreaManager = plotAreaManager;
+    }
+
+    /**
+     * Get the entity cap categories an entity counts towards.
+     *
+     * @param entity entity
+     * @return bit mask with bit {@code i} set if the entity counts towards category {@code i}
+     */
+    public static int getCategories(final @NonNull Entity entity) {
+        final com.sk89q.worldedit.world.entity.EntityType entityType = BukkitAdapter.adapt(entity.getType());
+
+        if (EntityCategories.PLAYER.contains(entityType)) {
+            return 0;
+        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType) || EntityCategories.HANGING
+                .contains(entityType)) {
+            return 1 << CAP_ENTITY | 1 << CAP_MISC;
+        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType) || EntityCategories.TAMEABLE
+                .contains(entityType)) {
+            return 1 << CAP_ENTITY | 1 << CAP_MOB | 1 << CAP_ANIMAL;
+        } else if (EntityCategories.VEHICLE.contains(entityType)) {
+            return 1 << CAP_ENTITY | 1 << CAP_VEHICLE;
+        } else if (EntityCategories.HOSTILE.contains(entityType)) {
+            return 1 << CAP_ENTITY | 1 << CAP_MOB | 1 << CAP_MONSTER;
+        }
+        return 1 << CAP_ENTITY;
+    }
+
+    /**
+     * Start counting entities, and schedule the reconciliation of loaded chunks. Must only be called if the events
+     * required to keep the counts up to date are handled.
+     */
+    public void start() {
+        TaskManager.runTaskRepeat(this::reconcile, TaskTime.ticks(1L));
+    }
+
+    /**
+     * Check whether the counts are kept up to date.
+     *
+     * @return {@code true} if the counts can be used instead of counting entities
+     */
+    public boolean isActive() {
+        return this.active;
+    }
+
+    /**
+     * Get the number of entities in a single plot, ignoring any plots merged with it.
+     *
+     * @param plot plot
+     * @return entity counts, indexed by category
+     */
+    public int @NonNull [] getCounts(final @NonNull Plot plot) {
+        return this.counter.getCounts(plot.getArea(), plot.getId());
+    }
+
+    /**
+     * Count an entity towards the plot it is in.
+     *
+     * @param entity entity
+     */
+    public void update(final @NonNull Entity entity) {
+        update(entity, entity.getLocation());
+    }
+
+    /**
+     * Count an entity towards the plot at the given location, for example the location it is about to be
+     * teleported to.
+     *
+     * @param entity   entity
+     * @param location the entity's location
+     */
+    public void update(final @NonNull Entity entity, final org.bukkit.@NonNull Location location) {
+        final int categories = getCategories(entity);
+        if (categories == 0) {
+            return;
+        }
+        final Location plotLocation = BukkitUtil.adapt(location);
+        final PlotArea area = this.plotAreaManager.getPlotArea(plotLocation);
+        final long plotId = area == null ? PlotManager.NO_PLOT_ID : area.getPlotManager()
+                .getPlotIdPacked(plotLocation.getX(), plotLocation.getY(), plotLocation.getZ());
+        this.counter.update(entity.getUniqueId(), area, plotId, categories);
+    }
+
+    /**
+     * Stop counting an entity.
+     *
+     * @param entity entity
+     */
+    public void remove(final @NonNull Entity entity) {
+        this.counter.remove(entity.getUniqueId());
+    }
+
+    /**
+     * Reconcile the next few loaded chunks of the current pass, starting a new pass once all chunks have been
+     * reconciled. Counts are only updated where entities have moved, and entities that have been removed are
+     * already accounted for by their removal events.
+     */
+    private void reconcile() {
+        if (this.pending.isEmpty()) {
+            if (this.chunksPerTick > 0) {
+                // The counts are used once the first pass is done
+                this.active = true;
+            }
+            for (final World world : Bukkit.getWorlds()) {
+                if (this.plotAreaManager.hasPlotArea(world.getName())) {
+                    Collections.addAll(this.pending, world.getLoadedChunks());
+                }
+            }
+            final int ticks = Math.max(1, Settings.Paper_Components.ENTITY_COUNTER_INTERVAL) * 20;
+            this.chunksPerTick = Math.max(1, (this.pending.size() + ticks - 1) / ticks);
+        }
+        Chunk chunk;
+        for (int i = 0; i < this.chunksPerTick && (chunk = this.pending.poll()) != null; i++) {
+            // Entities of unloaded chunks have been removed from the counts when the chunk unloaded
+            if (!chunk.isLoaded()) {
+                continue;
+            }
+            for (final Entity entity : chunk.getEntities()) {
+                update(entity);
+            }
+        }
+    }
+
+}
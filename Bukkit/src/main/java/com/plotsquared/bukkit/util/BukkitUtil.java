@@ -29,6 +29,7 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.util.BlockUtil;
+import com.plotsquared.core.util.ChunkSnapshot;
 import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.PlayerManager;
 import com.plotsquared.core.util.StringComparison;
@@ -37,6 +38,7 @@ import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
 import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BlockCategories;
 import com.sk89q.worldedit.world.block.BlockState;
@@ -94,8 +96,10 @@ import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
@@ -558,6 +562,16 @@ public class BukkitUtil extends WorldUtil {
                 getChunkAt(chunk.getBlockX(), chunk.getBlockZ()).getTileEntities().length;
     }
 
+    @Override
+    public @NonNull ChunkSnapshot getChunkSnapshot(final @NonNull String world, final @NonNull BlockVector2 chunk) {
+        final Chunk bukkitChunk = Objects.requireNonNull(getWorld(world)).getChunkAt(chunk.getBlockX(), chunk.getBlockZ());
+        final List<BlockVector3> tileEntities = new ArrayList<>();
+        for (final org.bukkit.block.BlockState tileEntity : bukkitChunk.getTileEntities()) {
+            tileEntities.add(BlockVector3.at(tileEntity.getX(), tileEntity.getY(), tileEntity.getZ()));
+        }
+        return new BukkitChunkSnapshot(bukkitChunk.getChunkSnapshot(false, true, false), tileEntities);
+    }
+
     @Override
     public Set<BlockVector2> getChunkChunks(String world) {
         Set<BlockVector2> chunks = super.getChunkChunks(world);
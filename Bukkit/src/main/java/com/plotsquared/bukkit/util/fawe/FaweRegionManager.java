@@ -20,6 +20,7 @@ package com.plotsquared.bukkit.util.fawe;
 
 import com.fastasyncworldedit.bukkit.regions.plotsquared.FaweDelegateRegionManager;
 import com.google.inject.Inject;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitRegionManager;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.generator.HybridPlotManager;
@@ -47,8 +48,13 @@ public class FaweRegionManager extends BukkitRegionManager {
     private final FaweDelegateRegionManager delegate = new FaweDelegateRegionManager();
 
     @Inject
-    public FaweRegionManager(WorldUtil worldUtil, GlobalBlockQueue blockQueue, ProgressSubscriberFactory subscriberFactory) {
-        super(worldUtil, blockQueue, subscriberFactory);
+    public FaweRegionManager(
+            WorldUtil worldUtil,
+            GlobalBlockQueue blockQueue,
+            ProgressSubscriberFactory subscriberFactory,
+            BukkitEntityCounter entityCounter
+    ) {
+        super(worldUtil, blockQueue, subscriberFactory, entityCounter);
     }
 
     @Override
@@ -44,6 +44,10 @@ dependencies {
     api(libs.arkitektonika)
     api(libs.paster)
     api(libs.informativeAnnotations)
+
+    // Tests
+    testImplementation(libs.sqlite)
+    testImplementation(libs.mockito)
 }
 
 tasks.processResources {
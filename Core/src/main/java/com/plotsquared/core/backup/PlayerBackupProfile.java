@@ -25,6 +25,7 @@ import com.plotsquared.core.player.ConsolePlayer;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.schematic.Schematic;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.SchematicHandler;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
@@ -158,7 +159,8 @@ public class PlayerBackupProfile implements BackupProfile {
                 final List<Plot> plots = Collections.singletonList(plot);
                 final boolean result = this.schematicHandler.exportAll(plots, getBackupDirectory().toFile(),
                         "%world%-%id%-" + System.currentTimeMillis(), () ->
-                                future.complete(new Backup(this, System.currentTimeMillis(), null))
+                                future.complete(new Backup(this, System.currentTimeMillis(), null)),
+                        QueuePriority.BACKGROUND
                 );
                 if (!result) {
                     future.completeExceptionally(new RuntimeException("Failed to complete the backup"));
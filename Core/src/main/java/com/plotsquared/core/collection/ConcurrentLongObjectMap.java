@@ -0,0 +1,437 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent map from primitive {@code long} keys to object values, using open addressing
+ * with linear probing.
+ * <p>
+ * Reads are lock-free and never allocate. Writes are serialized on the map instance. Once a
+ * key has been written to a slot, that slot is never reused for a different key until the
+ * table is rebuilt, which makes unsynchronized reads safe: removed entries keep their key and
+ * only have their value cleared, and are dropped the next time the table grows or is compacted.
+ * <p>
+ * {@code null} values are not supported.
+ *
+ * @param <V> value type
+ * @since TODO
+ */
+public final class ConcurrentLongObjectMap<V> {
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table<V> table;
+    // The key used to mark empty slots can't be stored in the table, so it is kept separately
+    private volatile V emptyKeyValue;
+    private volatile int size;
+
+    public ConcurrentLongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Create a new map able to hold the given number of entries without resizing.
+     *
+     * @param expectedSize expected number of entries
+     */
+    public ConcurrentLongObjectMap(final int expectedSize) {
+        this.table = new Table<>(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(final int entries) {
+        final long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(entries / 0.75D) + 1);
+        if (needed >= 1 << 30) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static int slot(final long key, final int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Get the value mapped to a key.
+     *
+     * @param key key
+     * @return the value, or {@code null} if the key isn't mapped
+     */
+    public @Nullable V get(final long key) {
+        if (key == EMPTY) {
+            return this.emptyKeyValue;
+        }
+        final Table<V> table = this.table;
+        final long[] keys = table.keys;
+        final int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (true) {
+            final long current = (long) KEYS.getAcquire(keys, index);
+            if (current == key) {
+                return table.values.get(index);
+            }
+            if (current == EMPTY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map a key to a value.
+     *
+     * @param key   key
+     * @param value value
+     * @return the previous value, or {@code null} if the key wasn't mapped
+     */
+    public synchronized @Nullable V put(final long key, final @NonNull V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Map a key to a value if the key isn't already mapped.
+     *
+     * @param key   key
+     * @param value value
+     * @return the current value, or {@code null} if the value was inserted
+     */
+    public synchronized @Nullable V putIfAbsent(final long key, final @NonNull V value) {
+        return put(key, value, true);
+    }
+
+    private @Nullable V put(final long key, final @NonNull V value, final boolean onlyIfAbsent) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        if (key == EMPTY) {
+            final V previous = this.emptyKeyValue;
+            if (previous == null || !onlyIfAbsent) {
+                this.emptyKeyValue = value;
+            }
+            if (previous == null) {
+                this.size++;
+            }
+            return previous;
+        }
+        Table<V> table = this.table;
+        if ((table.used + 1) * 4L > table.keys.length * 3L) {
+            table = rebuild(this.size + 1);
+        }
+        final long[] keys = table.keys;
+        final int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (true) {
+            final long current = keys[index];
+            if (current == key) {
+                final V previous = table.values.get(index);
+                if (previous == null || !onlyIfAbsent) {
+                    table.values.set(index, value);
+                }
+                if (previous == null) {
+                    this.size++;
+                }
+                return previous;
+            }
+            if (current == EMPTY) {
+                // Publish the value before the key, so that readers never see a half-written entry
+                table.values.set(index, value);
+                KEYS.setRelease(keys, index, key);
+                table.used++;
+                this.size++;
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Remove the mapping for a key.
+     *
+     * @param key key
+     * @return the removed value, or {@code null} if the key wasn't mapped
+     */
+    public synchronized @Nullable V remove(final long key) {
+        return remove(key, null);
+    }
+
+    /**
+     * Remove the mapping for a key, if it's currently mapped to the given value.
+     *
+     * @param key      key
+     * @param expected the expected value, or {@code null} to remove any value
+     * @return the removed value, or {@code null} if nothing was removed
+     */
+    public synchronized @Nullable V remove(final long key, final @Nullable Object expected) {
+        if (key == EMPTY) {
+            final V previous = this.emptyKeyValue;
+            if (previous != null && (expected == null || expected.equals(previous))) {
+                this.emptyKeyValue = null;
+                this.size--;
+                return previous;
+            }
+            return null;
+        }
+        final Table<V> table = this.table;
+        final long[] keys = table.keys;
+        final int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (true) {
+            final long current = keys[index];
+            if (current == key) {
+                final V previous = table.values.get(index);
+                if (previous != null && (expected == null || expected.equals(previous))) {
+                    table.values.set(index, null);
+                    this.size--;
+                    return previous;
+                }
+                return null;
+            }
+            if (current == EMPTY) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Replace the value of a key, if it's currently mapped to the given value.
+     *
+     * @param key      key
+     * @param expected the expected current value
+     * @param value    the new value
+     * @return {@code true} if the value was replaced
+     */
+    public synchronized boolean replace(final long key, final @NonNull Object expected, final @NonNull V value) {
+        final V current = get(key);
+        if (current == null || !current.equals(expected)) {
+            return false;
+        }
+        put(key, value, false);
+        return true;
+    }
+
+    public synchronized void clear() {
+        this.table = new Table<>(MIN_CAPACITY);
+        this.emptyKeyValue = null;
+        this.size = 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Iterate over a weakly consistent view of the map. Entries added or removed during the
+     * iteration may or may not be visited.
+     *
+     * @param consumer entry consumer
+     */
+    public void forEach(final @NonNull LongObjectConsumer<? super V> consumer) {
+        final V emptyKeyValue = this.emptyKeyValue;
+        if (emptyKeyValue != null) {
+            consumer.accept(EMPTY, emptyKeyValue);
+        }
+        final Table<V> table = this.table;
+        final long[] keys = table.keys;
+        for (int i = 0; i < keys.length; i++) {
+            final long key = (long) KEYS.getAcquire(keys, i);
+            if (key == EMPTY) {
+                continue;
+            }
+            final V value = table.values.get(i);
+            if (value != null) {
+                consumer.accept(key, value);
+            }
+        }
+    }
+
+    /**
+     * Get a cursor over a weakly consistent view of the map. Entries added or removed while the cursor
+     * is used may or may not be visited. Advancing the cursor doesn't allocate.
+     *
+     * @return a new cursor, positioned before the first entry
+     */
+    public @NonNull Cursor<V> cursor() {
+        return new Cursor<>(this.emptyKeyValue, this.table);
+    }
+
+    /**
+     * Take a weakly consistent snapshot of the keys in the map.
+     *
+     * @return array of keys
+     */
+    public long @NonNull [] keys() {
+        final long[] result = new long[Math.max(0, this.size)];
+        final int[] count = {0};
+        forEach((key, value) -> {
+            if (count[0] < result.length) {
+                result[count[0]++] = key;
+            }
+        });
+        return count[0] == result.length ? result : Arrays.copyOf(result, count[0]);
+    }
+
+    private Table<V> rebuild(final int entries) {
+        final Table<V> old = this.table;
+        // Only grow if the table is actually full of live entries, otherwise just drop removed ones
+        final int capacity = Math.max(old.keys.length, capacityFor(entries * 2));
+        final Table<V> table = new Table<>(capacity);
+        final long[] keys = table.keys;
+        final int mask = keys.length - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            final long key = old.keys[i];
+            final V value;
+            if (key == EMPTY || (value = old.values.get(i)) == null) {
+                continue;
+            }
+            int index = slot(key, mask);
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            table.values.set(index, value);
+            table.used++;
+        }
+        this.table = table;
+        return table;
+    }
+
+    /**
+     * Consumer of a primitive long key and an object value.
+     *
+     * @param <V> value type
+     */
+    @FunctionalInterface
+    public interface LongObjectConsumer<V> {
+
+        void accept(long key, V value);
+
+    }
+
+    /**
+     * Cursor over the entries of a {@link ConcurrentLongObjectMap}, see {@link #cursor()}.
+     *
+     * @param <V> value type
+     */
+    public static final class Cursor<V> {
+
+        private final V emptyKeyValue;
+        private final Table<V> table;
+        // -2 before the entry of the key used to mark empty slots, then the index in the table
+        private int index = -2;
+        private long key;
+        private V value;
+
+        private Cursor(final @Nullable V emptyKeyValue, final @NonNull Table<V> table) {
+            this.emptyKeyValue = emptyKeyValue;
+            this.table = table;
+        }
+
+        /**
+         * Move to the next entry.
+         *
+         * @return {@code true} if there is a next entry, {@code false} if all entries have been visited
+         */
+        public boolean advance() {
+            if (this.index == -2) {
+                this.index = -1;
+                if (this.emptyKeyValue != null) {
+                    this.key = EMPTY;
+                    this.value = this.emptyKeyValue;
+                    return true;
+                }
+            }
+            final long[] keys = this.table.keys;
+            while (++this.index < keys.length) {
+                final long key = (long) KEYS.getAcquire(keys, this.index);
+                if (key == EMPTY) {
+                    continue;
+                }
+                final V value = this.table.values.get(this.index);
+                if (value != null) {
+                    this.key = key;
+                    this.value = value;
+                    return true;
+                }
+            }
+            this.index = keys.length;
+            this.value = null;
+            return false;
+        }
+
+        /**
+         * Get the key of the current entry.
+         *
+         * @return key
+         */
+        public long key() {
+            if (this.value == null) {
+                throw new IllegalStateException("The cursor isn't positioned on an entry");
+            }
+            return this.key;
+        }
+
+        /**
+         * Get the value of the current entry, as it was when the cursor moved to it.
+         *
+         * @return value
+         */
+        public @NonNull V value() {
+            if (this.value == null) {
+                throw new IllegalStateException("The cursor isn't positioned on an entry");
+            }
+            return this.value;
+        }
+
+    }
+
+    private static final class Table<V> {
+
+        private final long[] keys;
+        private final AtomicReferenceArray<V> values;
+        private int used;
+
+        private Table(final int capacity) {
+            this.keys = new long[capacity];
+            Arrays.fill(this.keys, EMPTY);
+            this.values = new AtomicReferenceArray<>(capacity);
+        }
+
+    }
+
+}
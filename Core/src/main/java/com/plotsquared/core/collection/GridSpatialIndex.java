@@ -0,0 +1,248 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * {@link SpatialIndex} that buckets values into a uniform grid of square cells.
+ * <p>
+ * Every value is stored in each cell its region overlaps, so a point query only has to look at the
+ * values of a single cell. Values that would span more than {@value #MAX_CELLS_PER_VALUE} cells are
+ * kept in a separate list that is checked by every query instead.
+ * <p>
+ * Queries are lock-free and point queries don't allocate. Modifications are serialized on the index
+ * and copy the affected cells. The region of a value is read once when it is added; a value whose
+ * region changes has to be removed before and re-added after the change.
+ *
+ * @param <T> value type
+ * @since TODO
+ */
+public final class GridSpatialIndex<T> implements SpatialIndex<T> {
+
+    private static final int MAX_CELLS_PER_VALUE = 64;
+    private static final Entry<?>[] NO_ENTRIES = new Entry<?>[0];
+
+    private final ConcurrentLongObjectMap<Entry<T>[]> cells = new ConcurrentLongObjectMap<>();
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final Function<T, CuboidRegion> regionFunction;
+    private final int cellShift;
+    @SuppressWarnings("unchecked")
+    private volatile Entry<T>[] large = (Entry<T>[]) NO_ENTRIES;
+
+    /**
+     * Create a new index.
+     *
+     * @param cellShift      the cell size, as a power of two (1 to 30)
+     * @param regionFunction function returning the region covered by a value
+     */
+    public GridSpatialIndex(final int cellShift, final @NonNull Function<T, CuboidRegion> regionFunction) {
+        if (cellShift < 1 || cellShift > 30) {
+            throw new IllegalArgumentException("Cell shift must be between 1 and 30");
+        }
+        this.cellShift = cellShift;
+        this.regionFunction = regionFunction;
+    }
+
+    private static long cellKey(final int cellX, final int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public synchronized void add(final @NonNull T value) {
+        if (this.entries.containsKey(value)) {
+            return;
+        }
+        final CuboidRegion region = this.regionFunction.apply(value);
+        final BlockVector3 min = region.getMinimumPoint();
+        final BlockVector3 max = region.getMaximumPoint();
+        final Entry<T> entry = new Entry<>(value, min.getX(), min.getZ(), max.getX(), max.getZ());
+        this.entries.put(value, entry);
+        if (entry.cellCount(this.cellShift) > MAX_CELLS_PER_VALUE) {
+            this.large = append(this.large, entry);
+            return;
+        }
+        for (int cellX = entry.minX >> this.cellShift; cellX <= entry.maxX >> this.cellShift; cellX++) {
+            for (int cellZ = entry.minZ >> this.cellShift; cellZ <= entry.maxZ >> this.cellShift; cellZ++) {
+                final long key = cellKey(cellX, cellZ);
+                final Entry<T>[] cell = this.cells.get(key);
+                this.cells.put(key, cell == null ? append(emptyEntries(), entry) : append(cell, entry));
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean remove(final @NonNull T value) {
+        final Entry<T> entry = this.entries.remove(value);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.cellCount(this.cellShift) > MAX_CELLS_PER_VALUE) {
+            this.large = without(this.large, entry);
+            return true;
+        }
+        for (int cellX = entry.minX >> this.cellShift; cellX <= entry.maxX >> this.cellShift; cellX++) {
+            for (int cellZ = entry.minZ >> this.cellShift; cellZ <= entry.maxZ >> this.cellShift; cellZ++) {
+                final long key = cellKey(cellX, cellZ);
+                final Entry<T>[] cell = this.cells.get(key);
+                if (cell == null) {
+                    continue;
+                }
+                final Entry<T>[] remaining = without(cell, entry);
+                if (remaining.length == 0) {
+                    this.cells.remove(key);
+                } else {
+                    this.cells.put(key, remaining);
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public @Nullable T get(final int x, final int z) {
+        final Entry<T>[] cell = this.cells.get(cellKey(x >> this.cellShift, z >> this.cellShift));
+        if (cell != null) {
+            for (final Entry<T> entry : cell) {
+                if (entry.contains(x, z)) {
+                    return entry.value;
+                }
+            }
+        }
+        for (final Entry<T> entry : this.large) {
+            if (entry.contains(x, z)) {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public @NonNull Set<T> get(final @NonNull CuboidRegion region) {
+        final BlockVector3 min = region.getMinimumPoint();
+        final BlockVector3 max = region.getMaximumPoint();
+        final int minX = min.getX();
+        final int minZ = min.getZ();
+        final int maxX = max.getX();
+        final int maxZ = max.getZ();
+        final Set<T> result = new HashSet<>();
+        final long cellCount = ((long) (maxX >> this.cellShift) - (minX >> this.cellShift) + 1)
+                * ((long) (maxZ >> this.cellShift) - (minZ >> this.cellShift) + 1);
+        if (cellCount > this.cells.size()) {
+            // Cheaper to look at every occupied cell than at every cell in the region
+            this.cells.forEach((key, cell) -> addIntersecting(cell, minX, minZ, maxX, maxZ, result));
+        } else {
+            for (int cellX = minX >> this.cellShift; cellX <= maxX >> this.cellShift; cellX++) {
+                for (int cellZ = minZ >> this.cellShift; cellZ <= maxZ >> this.cellShift; cellZ++) {
+                    final Entry<T>[] cell = this.cells.get(cellKey(cellX, cellZ));
+                    if (cell != null) {
+                        addIntersecting(cell, minX, minZ, maxX, maxZ, result);
+                    }
+                }
+            }
+        }
+        addIntersecting(this.large, minX, minZ, maxX, maxZ, result);
+        return result;
+    }
+
+    private void addIntersecting(
+            final Entry<T>[] cell, final int minX, final int minZ, final int maxX,
+            final int maxZ, final Set<T> result
+    ) {
+        for (final Entry<T> entry : cell) {
+            if (entry.intersects(minX, minZ, maxX, maxZ)) {
+                result.add(entry.value);
+            }
+        }
+    }
+
+    @Override
+    public synchronized @NonNull Set<T> getAll() {
+        return new HashSet<>(this.entries.keySet());
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<T>[] emptyEntries() {
+        return (Entry<T>[]) NO_ENTRIES;
+    }
+
+    private Entry<T>[] append(final Entry<T>[] entries, final Entry<T> entry) {
+        final Entry<T>[] result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = entry;
+        return result;
+    }
+
+    private Entry<T>[] without(final Entry<T>[] entries, final Entry<T> entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] == entry) {
+                final Entry<T>[] result = Arrays.copyOf(entries, entries.length - 1);
+                System.arraycopy(entries, i + 1, result, i, entries.length - i - 1);
+                return result;
+            }
+        }
+        return entries;
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+
+        private Entry(final T value, final int minX, final int minZ, final int maxX, final int maxZ) {
+            this.value = value;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+        }
+
+        private boolean contains(final int x, final int z) {
+            return x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ;
+        }
+
+        private boolean intersects(final int minX, final int minZ, final int maxX, final int maxZ) {
+            return minX <= this.maxX && maxX >= this.minX && minZ <= this.maxZ && maxZ >= this.minZ;
+        }
+
+        private long cellCount(final int cellShift) {
+            return ((long) (this.maxX >> cellShift) - (this.minX >> cellShift) + 1)
+                    * ((long) (this.maxZ >> cellShift) - (this.minZ >> cellShift) + 1);
+        }
+
+    }
+
+}
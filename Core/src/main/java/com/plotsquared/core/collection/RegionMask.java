@@ -0,0 +1,260 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.plotsquared.core.util.RegionUtil;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable union of {@link CuboidRegion cuboids}, compiled into a per-chunk column lookup so
+ * that a point check costs a few array reads, regardless of the number of cuboids.
+ * <p>
+ * Cuboids are grouped by their height range. For every group, each chunk column within the bounding
+ * box of the group is either entirely inside the mask, entirely outside it, or backed by a bitmap
+ * with one bit per block column. Cuboids (or groups) that would span more than
+ * {@value #MAX_CHUNKS} chunks aren't indexed and are checked one by one instead.
+ *
+ * @since TODO
+ */
+public final class RegionMask {
+
+    private static final int MAX_CHUNKS = 1 << 16;
+    private static final int OUTSIDE = 0;
+    private static final int INSIDE = -1;
+    private static final int BITMAP_LENGTH = 4;
+
+    private final Layer[] layers;
+
+    private RegionMask(final Layer[] layers) {
+        this.layers = layers;
+    }
+
+    /**
+     * Compile a mask containing every block that is contained in at least one of the given regions.
+     * The regions are copied, so later changes to the collection aren't reflected by the mask.
+     *
+     * @param regions regions
+     * @return the compiled mask
+     */
+    public static @NonNull RegionMask compile(final @NonNull Collection<CuboidRegion> regions) {
+        final Map<Long, List<CuboidRegion>> byHeight = new LinkedHashMap<>();
+        for (final CuboidRegion region : regions) {
+            final long key = ((long) region.getMinimumPoint().getY() << 32)
+                    | (region.getMaximumPoint().getY() & 0xFFFFFFFFL);
+            byHeight.computeIfAbsent(key, k -> new ArrayList<>()).add(region);
+        }
+        final Layer[] layers = new Layer[byHeight.size()];
+        int index = 0;
+        for (final List<CuboidRegion> group : byHeight.values()) {
+            layers[index++] = Layer.compile(group);
+        }
+        return new RegionMask(layers);
+    }
+
+    private static long chunkArea(final int minX, final int minZ, final int maxX, final int maxZ) {
+        return ((long) (maxX >> 4) - (minX >> 4) + 1) * ((long) (maxZ >> 4) - (minZ >> 4) + 1);
+    }
+
+    /**
+     * Check whether the mask contains a block.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     * @return {@code true} if the block is inside the mask
+     */
+    public boolean contains(final int x, final int y, final int z) {
+        for (final Layer layer : this.layers) {
+            if (y >= layer.minY && y <= layer.maxY && layer.contains(x, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the mask contains any block of a column.
+     *
+     * @param x block x
+     * @param z block z
+     * @return {@code true} if the column is at least partially inside the mask
+     */
+    public boolean contains(final int x, final int z) {
+        for (final Layer layer : this.layers) {
+            if (layer.contains(x, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return this.layers.length == 0;
+    }
+
+    private static final class Layer {
+
+        private final int minY;
+        private final int maxY;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int width;
+        private final int depth;
+        // OUTSIDE, INSIDE or one more than the index of the chunk's bitmap
+        private final int[] chunks;
+        private final long[] bitmaps;
+        private final CuboidRegion[] unindexed;
+
+        private Layer(
+                final int minY, final int maxY, final int minChunkX, final int minChunkZ, final int width,
+                final int depth, final int[] chunks, final long[] bitmaps, final CuboidRegion[] unindexed
+        ) {
+            this.minY = minY;
+            this.maxY = maxY;
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.width = width;
+            this.depth = depth;
+            this.chunks = chunks;
+            this.bitmaps = bitmaps;
+            this.unindexed = unindexed;
+        }
+
+        private static Layer compile(final List<CuboidRegion> regions) {
+            final int minY = regions.get(0).getMinimumPoint().getY();
+            final int maxY = regions.get(0).getMaximumPoint().getY();
+            final List<CuboidRegion> indexed = new ArrayList<>(regions.size());
+            final List<CuboidRegion> unindexed = new ArrayList<>();
+            int minX = Integer.MAX_VALUE;
+            int minZ = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE;
+            int maxZ = Integer.MIN_VALUE;
+            for (final CuboidRegion region : regions) {
+                final BlockVector3 min = region.getMinimumPoint();
+                final BlockVector3 max = region.getMaximumPoint();
+                if (chunkArea(min.getX(), min.getZ(), max.getX(), max.getZ()) > MAX_CHUNKS) {
+                    unindexed.add(region);
+                    continue;
+                }
+                indexed.add(region);
+                minX = Math.min(minX, min.getX());
+                minZ = Math.min(minZ, min.getZ());
+                maxX = Math.max(maxX, max.getX());
+                maxZ = Math.max(maxZ, max.getZ());
+            }
+            // Regions that are far apart would need a huge table for little benefit
+            if (indexed.isEmpty() || chunkArea(minX, minZ, maxX, maxZ) > MAX_CHUNKS) {
+                unindexed.addAll(indexed);
+                return new Layer(minY, maxY, 0, 0, 0, 0, new int[0], new long[0],
+                        unindexed.toArray(CuboidRegion[]::new)
+                );
+            }
+            final int minChunkX = minX >> 4;
+            final int minChunkZ = minZ >> 4;
+            final int width = (maxX >> 4) - minChunkX + 1;
+            final int depth = (maxZ >> 4) - minChunkZ + 1;
+            final int[] chunks = new int[width * depth];
+            long[] bitmaps = new long[BITMAP_LENGTH * 16];
+            int bitmapCount = 0;
+            for (final CuboidRegion region : indexed) {
+                final BlockVector3 min = region.getMinimumPoint();
+                final BlockVector3 max = region.getMaximumPoint();
+                for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                    final int z0 = Math.max(min.getZ(), chunkZ << 4) & 15;
+                    final int z1 = Math.min(max.getZ(), (chunkZ << 4) + 15) & 15;
+                    for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+                        final int index = (chunkZ - minChunkZ) * width + chunkX - minChunkX;
+                        if (chunks[index] == INSIDE) {
+                            continue;
+                        }
+                        final int x0 = Math.max(min.getX(), chunkX << 4) & 15;
+                        final int x1 = Math.min(max.getX(), (chunkX << 4) + 15) & 15;
+                        if (x0 == 0 && x1 == 15 && z0 == 0 && z1 == 15) {
+                            chunks[index] = INSIDE;
+                            continue;
+                        }
+                        if (chunks[index] == OUTSIDE) {
+                            if ((bitmapCount + 1) * BITMAP_LENGTH > bitmaps.length) {
+                                bitmaps = Arrays.copyOf(bitmaps, bitmaps.length * 2);
+                            }
+                            chunks[index] = ++bitmapCount;
+                        }
+                        final int offset = (chunks[index] - 1) * BITMAP_LENGTH;
+                        final long row = ((1L << (x1 - x0 + 1)) - 1) << x0;
+                        for (int z = z0; z <= z1; z++) {
+                            bitmaps[offset + (z >> 2)] |= row << ((z & 3) << 4);
+                        }
+                    }
+                }
+            }
+            // Chunks covered by several partial regions don't need their bitmap
+            for (int i = 0; i < chunks.length; i++) {
+                if (chunks[i] > 0 && isFull(bitmaps, (chunks[i] - 1) * BITMAP_LENGTH)) {
+                    chunks[i] = INSIDE;
+                }
+            }
+            return new Layer(minY, maxY, minChunkX, minChunkZ, width, depth, chunks,
+                    Arrays.copyOf(bitmaps, bitmapCount * BITMAP_LENGTH), unindexed.toArray(CuboidRegion[]::new)
+            );
+        }
+
+        private static boolean isFull(final long[] bitmaps, final int offset) {
+            for (int i = 0; i < BITMAP_LENGTH; i++) {
+                if (bitmaps[offset + i] != -1L) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean contains(final int x, final int z) {
+            final int chunkX = (x >> 4) - this.minChunkX;
+            final int chunkZ = (z >> 4) - this.minChunkZ;
+            if (chunkX >= 0 && chunkX < this.width && chunkZ >= 0 && chunkZ < this.depth) {
+                final int state = this.chunks[chunkZ * this.width + chunkX];
+                if (state == INSIDE) {
+                    return true;
+                }
+                if (state != OUTSIDE) {
+                    final long word = this.bitmaps[(state - 1) * BITMAP_LENGTH + ((z & 15) >> 2)];
+                    if ((word & (1L << (((z & 3) << 4) | (x & 15)))) != 0) {
+                        return true;
+                    }
+                }
+            }
+            for (final CuboidRegion region : this.unindexed) {
+                if (RegionUtil.contains(region, x, z)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Set;
+
+/**
+ * Two dimensional index of values that each cover a rectangular area on the x/z plane.
+ * Only the x and z coordinates of regions are taken into account.
+ *
+ * @param <T> value type
+ * @since TODO
+ */
+public interface SpatialIndex<T> {
+
+    /**
+     * Add a value to the index.
+     *
+     * @param value value to add
+     */
+    void add(@NonNull T value);
+
+    /**
+     * Remove a value from the index.
+     *
+     * @param value value to remove
+     * @return {@code true} if the value was in the index
+     */
+    boolean remove(@NonNull T value);
+
+    /**
+     * Get a value that covers the given point. If several values cover the point, any of them may be returned.
+     *
+     * @param x x coordinate
+     * @param z z coordinate
+     * @return a value covering the point, or {@code null}
+     */
+    @Nullable T get(int x, int z);
+
+    /**
+     * Get all values that intersect the given region.
+     *
+     * @param region region
+     * @return values intersecting the region
+     */
+    @NonNull Set<T> get(@NonNull CuboidRegion region);
+
+    /**
+     * Get all values in the index.
+     *
+     * @return all values
+     */
+    @NonNull Set<T> getAll();
+
+    /**
+     * Get the number of values in the index.
+     *
+     * @return number of values
+     */
+    int size();
+
+}
@@ -44,6 +44,7 @@ import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.setup.PlotAreaBuilder;
 import com.plotsquared.core.util.FileUtils;
 import com.plotsquared.core.util.MathMan;
@@ -423,6 +424,7 @@ public class Area extends SubCommand {
                                         player.sendMessage(TranslatableCaption.of("setup.setup_finished"));
                                         if (area.getTerrain() != PlotAreaTerrainType.ALL) {
                                             QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(world));
+                                            queue.setPriority(QueuePriority.ADMIN);
                                             queue.setChunkConsumer(chunk -> AugmentedUtils.generateChunk(
                                                     world,
                                                     chunk.getX(),
@@ -795,6 +797,7 @@ public class Area extends SubCommand {
                     return false;
                 }
                 QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                queue.setPriority(QueuePriority.ADMIN);
                 queue.setChunkConsumer(chunk -> AugmentedUtils.generateChunk(
                         area.getWorldName(),
                         chunk.getX(),
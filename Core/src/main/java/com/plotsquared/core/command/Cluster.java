@@ -443,8 +443,10 @@ public class Cluster extends SubCommand {
                     );
                     return false;
                 }
-                // resize cluster
+                // resize cluster, re-indexing it under its new bounds
+                area.removeCluster(cluster);
                 DBFunc.resizeCluster(cluster, pos1, pos2);
+                area.addCluster(cluster);
                 player.sendMessage(TranslatableCaption.of("cluster.cluster_resized"));
                 return true;
             }
@@ -22,8 +22,13 @@ import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.caption.StaticCaption;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.database.SQLManager;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.queue.QueuePriority;
+import com.plotsquared.core.queue.QueueScheduler;
 import com.plotsquared.core.util.StringMan;
 import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.entity.EntityCategories;
@@ -42,6 +47,7 @@ import java.util.Comparator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -53,14 +59,17 @@ public class Debug extends SubCommand {
 
     private final PlotAreaManager plotAreaManager;
     private final WorldUtil worldUtil;
+    private final GlobalBlockQueue blockQueue;
 
     @Inject
     public Debug(
             final @NonNull PlotAreaManager plotAreaManager,
-            final @NonNull WorldUtil worldUtil
+            final @NonNull WorldUtil worldUtil,
+            final @NonNull GlobalBlockQueue blockQueue
     ) {
         this.plotAreaManager = plotAreaManager;
         this.worldUtil = worldUtil;
+        this.blockQueue = blockQueue;
     }
 
     @Override
@@ -70,7 +79,7 @@ public class Debug extends SubCommand {
                     TranslatableCaption.of("commandconfig.command_syntax"),
                     TagResolver.resolver(
                             "value",
-                            Tag.inserting(Component.text("/plot debug <player | debug-players | entitytypes | msg>"))
+                            Tag.inserting(Component.text("/plot debug <player | debug-players | entitytypes | database | queue | msg>"))
                     )
             );
         }
@@ -126,6 +135,35 @@ public class Debug extends SubCommand {
                     });
             return true;
         }
+        if (args.length > 0 && "database".equalsIgnoreCase(args[0])) {
+            if (!(DBFunc.dbManager instanceof SQLManager manager)) {
+                player.sendMessage(StaticCaption.of("<prefix><red>No SQL database is in use.</red>"));
+                return true;
+            }
+            player.sendMessage(StaticCaption.of("<prefix><gray>Queued writes: <gold>" + manager.getQueuedTaskCount()
+                    + "</gold>, written: <gold>" + manager.getFlushedTaskCount() + "</gold>, coalesced: <gold>"
+                    + manager.getCoalescedTaskCount() + "</gold></gray>"));
+            player.sendMessage(StaticCaption.of("<prefix><gray>Transactions: <gold>" + manager.getFlushCount()
+                    + "</gold>, last: <gold>" + TimeUnit.NANOSECONDS.toMillis(manager.getLastFlushNanos())
+                    + "ms</gold>, slowest: <gold>" + TimeUnit.NANOSECONDS.toMillis(manager.getMaxFlushNanos())
+                    + "ms</gold></gray>"));
+            player.sendMessage(StaticCaption.of("<prefix><gray>Pooled read connections: <gold>"
+                    + manager.getPooledConnectionCount() + "</gold></gray>"));
+            return true;
+        }
+        if (args.length > 0 && "queue".equalsIgnoreCase(args[0])) {
+            final QueueScheduler scheduler = this.blockQueue.getScheduler();
+            for (final QueuePriority priority : QueuePriority.values()) {
+                player.sendMessage(StaticCaption.of("<prefix><gray>" + priority.name().toLowerCase(Locale.ENGLISH)
+                        + ": running: <gold>" + scheduler.getRunning(priority) + "</gold>, waiting: <gold>"
+                        + scheduler.getWaiting(priority) + "</gold>, average wait: <gold>"
+                        + scheduler.getAverageWait(priority).toMillis() + "ms</gold>, longest wait: <gold>"
+                        + scheduler.getLongestWait(priority).toMillis() + "ms</gold></gray>"));
+            }
+            player.sendMessage(StaticCaption.of("<prefix><gray>Loading chunks: <gold>" + scheduler.getLoadingChunks()
+                    + "</gold></gray>"));
+            return true;
+        }
         Set<TranslatableCaption> captions = PlotSquared
                 .get()
                 .getCaptionMap(TranslatableCaption.DEFAULT_NAMESPACE)
@@ -185,7 +223,7 @@ public class Debug extends SubCommand {
 
     @Override
     public Collection<Command> tab(final PlotPlayer<?> player, String[] args, boolean space) {
-        return Stream.of("debug-players", "entitytypes")
+        return Stream.of("debug-players", "entitytypes", "database")
                 .filter(value -> value.startsWith(args[0].toLowerCase(Locale.ENGLISH)))
                 .map(value -> new Command(null, false, value, "plots.admin", RequiredType.NONE, null) {
                 }).collect(Collectors.toList());
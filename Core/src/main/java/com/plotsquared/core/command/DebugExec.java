@@ -105,6 +105,10 @@ public class DebugExec extends SubCommand {
                     this.hybridUtils.analyzePlot(plot, new RunnableVal<>() {
                         @Override
                         public void run(PlotAnalysis value) {
+                            if (value == null) {
+                                player.sendMessage(TranslatableCaption.of("errors.error_console"));
+                                return;
+                            }
                             player.sendMessage(
                                     TranslatableCaption.of("debugexec.analyze_done"),
                                     TagResolver.resolver("command", Tag.inserting(Component.text("/plot debugexec analyze")))
@@ -102,6 +102,10 @@ public class Done extends SubCommand {
                 @Override
                 public void run(PlotAnalysis value) {
                     plot.removeRunning();
+                    if (value == null) {
+                        player.sendMessage(TranslatableCaption.of("errors.error_console"));
+                        return;
+                    }
                     boolean result =
                             value.getComplexity(doneRequirements) >= doneRequirements.THRESHOLD;
                     finish(plot, player, result);
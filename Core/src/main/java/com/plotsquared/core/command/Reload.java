@@ -28,6 +28,7 @@ import com.plotsquared.core.inject.annotations.WorldConfig;
 import com.plotsquared.core.inject.annotations.WorldFile;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.PlotAreaType;
+import com.plotsquared.core.plot.flag.types.BlockTypeListFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -65,6 +66,8 @@ public class Reload extends SubCommand {
             this.worldConfiguration = PlotSquared.get().getWorldConfiguration();
             this.worldFile = PlotSquared.get().getWorldsFile();
             PlotSquared.get().loadCaptionMap();
+            // Block tags may have been reloaded along with the server's data packs
+            BlockTypeListFlag.invalidateCategories();
             this.plotAreaManager.forEachPlotArea(area -> {
                 ConfigurationSection worldSection = this.worldConfiguration
                         .getConfigurationSection("worlds." + area.getWorldName());
@@ -30,6 +30,7 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.schematic.Schematic;
 import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.SchematicHandler;
 import com.plotsquared.core.util.StringMan;
 import com.plotsquared.core.util.TabCompletions;
@@ -219,7 +220,8 @@ public class SchematicCmd extends SubCommand {
                     return false;
                 }
                 boolean result = this.schematicHandler.exportAll(plots, null, null,
-                        () -> player.sendMessage(TranslatableCaption.of("schematics.schematic_exportall_finished"))
+                        () -> player.sendMessage(TranslatableCaption.of("schematics.schematic_exportall_finished")),
+                        QueuePriority.ADMIN
                 );
                 if (!result) {
                     player.sendMessage(TranslatableCaption.of("error.task_in_process"));
@@ -269,7 +271,7 @@ public class SchematicCmd extends SubCommand {
                 boolean result = this.schematicHandler.exportAll(plots, null, null, () -> {
                     player.sendMessage(TranslatableCaption.of("schematics.schematic_exportall_single_finished"));
                     SchematicCmd.this.running = false;
-                });
+                }, QueuePriority.forActor(player));
                 if (!result) {
                     player.sendMessage(TranslatableCaption.of("error.task_in_process"));
                     return false;
@@ -28,6 +28,7 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.WorldUtil;
@@ -191,6 +192,7 @@ public class Trim extends SubCommand {
                                 }
                             }
                             final QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(world));
+                            queue.setPriority(QueuePriority.ADMIN);
                             TaskManager.getPlatformImplementation().objectTask(chunks, new RunnableVal<>() {
                                 @Override
                                 public void run(BlockVector2 value) {
@@ -350,7 +350,10 @@ public class Visit extends Command {
     public Collection<Command> tab(PlotPlayer<?> player, String[] args, boolean space) {
         final List<Command> completions = new ArrayList<>();
         switch (args.length - 1) {
-            case 0 -> completions.addAll(TabCompletions.completePlayers(player, args[0], Collections.emptyList()));
+            case 0 -> {
+                completions.addAll(TabCompletions.completePlayers(player, args[0], Collections.emptyList()));
+                completions.addAll(TabCompletions.completeAliases(args[0]));
+            }
             case 1 -> {
                 completions.addAll(
                         TabCompletions.completeAreas(args[1]));
@@ -531,6 +531,9 @@ public class Settings extends Config {
                 "The value covers the permission range to check, you need to assign the permission to players/groups still",
                 "Modifying the value does NOT change the amount of plots players can claim"})
         public static int MAX_PLOTS = 127;
+        @Comment({"How long the highest integer permission found for a player, e.g. 'plots.plot.<n>', is remembered for (in seconds)",
+                "It is also recalculated when the player changes worlds. Set to 0 to always check the permissions again"})
+        public static int PERMISSION_CACHE = 30;
 
     }
 
@@ -664,18 +667,34 @@ public class Settings extends Config {
         public static boolean TILE_ENTITY_CHECK = true;
         @Comment("Use Paper's async tab completion")
         public static boolean ASYNC_TAB_COMPLETION;
+        @Comment({"Keep count of the entities in each plot as they're added and removed,",
+                "instead of counting them whenever an entity cap is checked"})
+        public static boolean ENTITY_COUNTER = true;
+        @Comment({"How long, in seconds, it takes to recheck the entities of all loaded chunks, a few chunks per tick,",
+                "to account for entities moving between plots"})
+        public static int ENTITY_COUNTER_INTERVAL = 10;
 
     }
 
     @Comment("Settings relating to PlotSquared's GlobalBlockQueue")
     public static final class QUEUE {
 
-        @Comment({"Average time per tick spent completing chunk tasks in ms.",
-                "Queue will adjust the batch size to match this."})
+        @Comment({"Maximum time per tick spent completing chunk tasks in ms, shared by all running queues.",
+                "Queues will adjust their batch size to match this."})
         public static int MAX_ITERATION_TIME = 30;
         @Comment({"Initial number of chunks to process by the queue. This can be increased or",
                 "decreased by the queue based on the actual iteration time compared to above."})
         public static int INITIAL_BATCH_SIZE = 5;
+        @Comment({"Tick duration in ms the queue tries to keep the server under (Paper only).",
+                "The time per tick spent on chunk tasks is reduced when the server is busy, and shared by all running queues."})
+        public static int TARGET_TICK_TIME = 45;
+        @Comment({"Maximum number of queues running at once, further queues wait until one completes.",
+                "Queues started by players go first, then those started by admins or the console, then background",
+                "tasks such as plot expiry, which may only use half of the running queues. 0 to disable the limit."})
+        public static int MAX_RUNNING_QUEUES = 8;
+        @Comment({"Maximum number of chunks loaded at once by all running queues, shared by their priority.",
+                "0 to disable the limit."})
+        public static int MAX_CHUNK_LOADS = 64;
         @Comment("Notify progress of the queue to the player or console.")
         public static boolean NOTIFY_PROGRESS = true;
         @Comment("Interval in ms to notify player or console of progress.")
@@ -823,6 +842,12 @@ public class Settings extends Config {
         public static boolean USE_MVDWAPI = true;
         @Comment("Prevent cross plot beacon effects")
         public static boolean DISABLE_BEACON_EFFECT_OVERFLOW = true;
+        @Comment({"Store claimed plots keyed by primitive plot ids rather than PlotId objects",
+                "Reduces memory use and avoids allocations on lookups for areas with many plots"})
+        public static boolean PACKED_PLOT_STORAGE = true;
+        @Comment({"Reuse unclaimed plot instances for repeated lookups of the same free plot",
+                "Reduces allocations caused by players moving through roads and unclaimed plots"})
+        public static boolean UNCLAIMED_PLOT_CACHE = true;
 
     }
 
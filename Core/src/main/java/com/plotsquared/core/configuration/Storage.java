@@ -49,6 +49,9 @@ public class Storage extends Config {
         @Comment("Set additional properties: https://dev.mysql.com/doc/connector-j/en/connector-j-reference-configuration-properties.html")
         public static List<String>
                 PROPERTIES = new ArrayList<>(Collections.singletonList("useSSL=false"));
+        @Comment({"How many additional connections may be opened for reading data like comments and ratings,",
+                "so that reads don't have to wait for queued changes to be written. Set to 0 to disable"})
+        public static int READ_POOL_SIZE = 4;
 
     }
 
@@ -63,4 +66,26 @@ public class Storage extends Config {
 
     }
 
+    @Comment("Loading data at startup")
+    public static final class Loading {
+
+        @Comment({"Read the plot tables in parallel, each using its own connection",
+                "Disable this if the database limits the number of connections"})
+        public static boolean PARALLEL = true;
+
+    }
+
+    @Comment("Queued database writes")
+    public static final class Write_Queue {
+
+        @Comment({"How long to wait for more changes before writing queued changes, in milliseconds",
+                "Changes made to the same plot within this time are combined"})
+        public static int FLUSH_INTERVAL = 50;
+        @Comment("The maximum number of queued changes to write in a single transaction")
+        public static int BATCH_SIZE = 1000;
+        @Comment("Skip queued changes that are overwritten by a later change before they are written")
+        public static boolean COALESCE = true;
+
+    }
+
 }
@@ -0,0 +1,248 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small pool of database connections, so that independent reads don't have to share (and wait for) the
+ * connection used to write queued changes.
+ * <p>
+ * Connections are opened lazily, up to the maximum size, and idle connections are checked before being handed
+ * out again. Borrowed connections must be given back using {@link #release(Connection)}.
+ *
+ * @since TODO
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long borrowTimeoutNanos;
+    private final long validationIntervalNanos;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private int open;
+    private boolean closed;
+
+    /**
+     * Create a new connection pool.
+     *
+     * @param factory            factory used to open new connections
+     * @param maxSize            the maximum number of open connections
+     * @param borrowTimeout      how long to wait for a connection when all of them are in use
+     * @param validationInterval connections that have been idle for longer than this are checked before use
+     * @param unit               unit of the timeout and interval
+     */
+    public ConnectionPool(
+            final @NonNull ConnectionFactory factory,
+            final int maxSize,
+            final long borrowTimeout,
+            final long validationInterval,
+            final @NonNull TimeUnit unit
+    ) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.borrowTimeoutNanos = unit.toNanos(borrowTimeout);
+        this.validationIntervalNanos = unit.toNanos(validationInterval);
+    }
+
+    /**
+     * Take a connection from the pool, opening a new one if none are idle and the pool isn't full yet. Waits for
+     * a connection to be released otherwise.
+     *
+     * @return connection
+     * @throws SQLException if no connection could be opened, the pool is closed, or waiting timed out
+     */
+    public @NonNull Connection borrow() throws SQLException {
+        final long deadline = System.nanoTime() + this.borrowTimeoutNanos;
+        while (true) {
+            final IdleConnection candidate;
+            synchronized (this) {
+                while (true) {
+                    if (this.closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    if (!this.idle.isEmpty() || this.open < this.maxSize) {
+                        break;
+                    }
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLTimeoutException("Timed out waiting for a database connection");
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    }
+                }
+                candidate = this.idle.pollFirst();
+                // Reserve the slot before leaving the lock, the connection is opened or checked outside of it
+                if (candidate == null) {
+                    this.open++;
+                }
+            }
+            if (candidate == null) {
+                return open();
+            }
+            if (System.nanoTime() - candidate.since < this.validationIntervalNanos || isValid(candidate.connection)) {
+                return candidate.connection;
+            }
+            discard(candidate.connection);
+        }
+    }
+
+    /**
+     * Give a connection taken using {@link #borrow()} back to the pool.
+     *
+     * @param connection connection
+     */
+    public void release(final @NonNull Connection connection) {
+        boolean reusable;
+        try {
+            reusable = !connection.isClosed();
+            if (reusable && !connection.getAutoCommit()) {
+                // Don't hand out a connection with a half finished transaction
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            reusable = false;
+        }
+        synchronized (this) {
+            if (reusable && !this.closed) {
+                this.idle.addFirst(new IdleConnection(connection, System.nanoTime()));
+                notify();
+                return;
+            }
+        }
+        discard(connection);
+    }
+
+    /**
+     * Get the number of connections currently opened by the pool, including borrowed ones.
+     *
+     * @return number of open connections
+     */
+    public synchronized int getOpenConnections() {
+        return this.open;
+    }
+
+    /**
+     * Get the number of open connections that aren't borrowed.
+     *
+     * @return number of idle connections
+     */
+    public synchronized int getIdleConnections() {
+        return this.idle.size();
+    }
+
+    /**
+     * Close all idle connections, without closing the pool. New connections are opened as they are needed.
+     * This is meant to be used after the database connection was lost, as the idle connections are likely
+     * to be broken as well.
+     */
+    public void reset() {
+        discardIdle(false);
+    }
+
+    /**
+     * Close all idle connections, and any borrowed connection once it's released.
+     */
+    @Override
+    public void close() {
+        discardIdle(true);
+    }
+
+    private void discardIdle(final boolean close) {
+        final IdleConnection[] connections;
+        synchronized (this) {
+            if (close) {
+                this.closed = true;
+            }
+            connections = this.idle.toArray(new IdleConnection[0]);
+            this.idle.clear();
+            notifyAll();
+        }
+        for (final IdleConnection connection : connections) {
+            discard(connection.connection);
+        }
+    }
+
+    private Connection open() throws SQLException {
+        try {
+            final Connection connection = this.factory.create();
+            if (connection == null) {
+                throw new SQLException("Connection factory returned null");
+            }
+            return connection;
+        } catch (SQLException | ClassNotFoundException | RuntimeException e) {
+            synchronized (this) {
+                this.open--;
+                notify();
+            }
+            throw e instanceof SQLException sqlException ? sqlException : new SQLException(e);
+        }
+    }
+
+    private boolean isValid(final Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(final Connection connection) {
+        synchronized (this) {
+            this.open--;
+            notify();
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * Opens new connections for a {@link ConnectionPool}.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        @NonNull Connection create() throws SQLException, ClassNotFoundException;
+
+    }
+
+    private record IdleConnection(Connection connection, long since) {
+
+    }
+
+}
@@ -21,6 +21,7 @@ package com.plotsquared.core.database;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 
 /**
@@ -33,6 +34,20 @@ public abstract class Database {
 
     public abstract Connection forceConnection() throws SQLException, ClassNotFoundException;
 
+    /**
+     * Opens a new connection with the database, independent of the connection returned by {@link #getConnection()}.
+     * The caller is responsible for closing it.
+     *
+     * @return Opened connection
+     * @throws SQLException           if the connection can not be opened, or the database doesn't support
+     *                                additional connections
+     * @throws ClassNotFoundException if the driver cannot be found
+     * @since TODO
+     */
+    public Connection newConnection() throws SQLException, ClassNotFoundException {
+        throw new SQLFeatureNotSupportedException(getClass().getSimpleName() + " does not support additional connections");
+    }
+
     /**
      * Opens a connection with the database.
      *
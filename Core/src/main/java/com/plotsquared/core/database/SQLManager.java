@@ -21,6 +21,7 @@ package com.plotsquared.core.database;
 import com.google.common.base.Charsets;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.ConfigurationSection;
+import com.plotsquared.core.collection.ConcurrentLongObjectMap;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.Storage;
 import com.plotsquared.core.configuration.caption.CaptionUtility;
@@ -47,6 +48,7 @@ import com.plotsquared.core.util.task.TaskManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -72,7 +74,14 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 
 @SuppressWarnings("SqlDialectInspection")
@@ -132,6 +141,19 @@ public class SQLManager implements AbstractDB {
     private Connection connection;
     private boolean supportsGetGeneratedKeys;
     private boolean closed = false;
+    // Row ids by area and packed plot id, for plot instances that don't know their id yet (see getId)
+    private final Map<String, ConcurrentLongObjectMap<Integer>> plotIds = new ConcurrentHashMap<>();
+    // Additional connections for reads that don't depend on queued writes, if supported
+    private final @Nullable ConnectionPool readPool;
+    // Plots and players with statements that were taken from their queue, but haven't been committed yet
+    private final Map<Object, Integer> uncommitted = new ConcurrentHashMap<>();
+    // Write queue metrics
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicLong flushedTasks = new AtomicLong();
+    private final AtomicLong coalescedTasks = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
 
     /**
      * Constructor
@@ -158,6 +180,11 @@ public class SQLManager implements AbstractDB {
         final DatabaseMetaData databaseMetaData = this.connection.getMetaData();
         this.supportsGetGeneratedKeys = databaseMetaData.supportsGetGeneratedKeys();
         this.mySQL = database instanceof MySQL;
+        if (this.mySQL && Storage.MySQL.READ_POOL_SIZE > 0) {
+            this.readPool = new ConnectionPool(database::newConnection, Storage.MySQL.READ_POOL_SIZE, 30, 60, TimeUnit.SECONDS);
+        } else {
+            this.readPool = null;
+        }
         this.globalTasks = new ConcurrentLinkedQueue<>();
         this.notifyTasks = new ConcurrentLinkedQueue<>();
         this.plotTasks = new ConcurrentHashMap<>();
@@ -216,39 +243,129 @@ public class SQLManager implements AbstractDB {
         TaskManager.runTaskAsync(() -> {
             long last = System.currentTimeMillis();
             while (!SQLManager.this.closed) {
-                boolean hasTask =
-                        !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty()
-                                || !clusterTasks.isEmpty();
-                if (hasTask) {
-                    if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
-                            || !isValid()) {
-                        last = System.currentTimeMillis();
-                        reconnect();
-                    }
-                    if (!sendBatch()) {
-                        try {
-                            if (!getNotifyTasks().isEmpty()) {
-                                for (Runnable task : getNotifyTasks()) {
-                                    TaskManager.runTask(task);
-                                }
-                                getNotifyTasks().clear();
-                            }
-                            Thread.sleep(50);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
+                if (!hasTask()) {
+                    if (!getNotifyTasks().isEmpty()) {
+                        for (Runnable task : getNotifyTasks()) {
+                            TaskManager.runTask(task);
                         }
+                        getNotifyTasks().clear();
                     }
-                } else {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
+                    awaitTasks();
+                    continue;
                 }
+                awaitBatch();
+                if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000 || !isValid()) {
+                    last = System.currentTimeMillis();
+                    reconnect();
+                }
+                sendBatch();
             }
         });
     }
 
+    private boolean hasTask() {
+        return !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty() || !clusterTasks.isEmpty();
+    }
+
+    /**
+     * Wait until a task is queued, or the manager is closed.
+     */
+    private synchronized void awaitTasks() {
+        try {
+            // Tasks may be queued without a signal by writing to the queues directly, so don't wait indefinitely
+            if (!this.closed && !hasTask()) {
+                wait(1000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Give queued tasks some time to accumulate, so that they can be coalesced and batched. Returns once
+     * enough tasks are queued to fill a batch, or the flush interval has passed.
+     */
+    private synchronized void awaitBatch() {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Storage.Write_Queue.FLUSH_INTERVAL);
+        try {
+            long remaining;
+            while (!this.closed && this.queuedTasks.get() < Storage.Write_Queue.BATCH_SIZE
+                    && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void signalTaskQueued() {
+        // Called while holding the lock. Only wake up the writer for the first task, or once a batch is full
+        final int queued = this.queuedTasks.incrementAndGet();
+        if (queued == 1 || queued == Storage.Write_Queue.BATCH_SIZE) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Get the number of statements and tasks waiting to be written to the database.
+     *
+     * @return number of queued tasks
+     * @since TODO
+     */
+    public int getQueuedTaskCount() {
+        return Math.max(0, this.queuedTasks.get());
+    }
+
+    /**
+     * Get the number of queued statements that have been written to the database.
+     *
+     * @return number of written statements
+     * @since TODO
+     */
+    public long getFlushedTaskCount() {
+        return this.flushedTasks.get();
+    }
+
+    /**
+     * Get the number of queued statements that were skipped, because a later statement overwrote the same data.
+     *
+     * @return number of coalesced statements
+     * @since TODO
+     */
+    public long getCoalescedTaskCount() {
+        return this.coalescedTasks.get();
+    }
+
+    /**
+     * Get the number of transactions committed by the write queue.
+     *
+     * @return number of flushes
+     * @since TODO
+     */
+    public long getFlushCount() {
+        return this.flushes.get();
+    }
+
+    /**
+     * Get the time it took to write the last batch of queued statements.
+     *
+     * @return duration of the last flush in nanoseconds
+     * @since TODO
+     */
+    public long getLastFlushNanos() {
+        return this.lastFlushNanos;
+    }
+
+    /**
+     * Get the longest time it took to write a batch of queued statements.
+     *
+     * @return duration of the slowest flush in nanoseconds
+     * @since TODO
+     */
+    public long getMaxFlushNanos() {
+        return this.maxFlushNanos;
+    }
+
     public boolean isValid() {
         try {
             if (connection.isClosed()) {
@@ -267,7 +384,11 @@ public class SQLManager implements AbstractDB {
 
     public void reconnect() {
         try {
-            close();
+            closeMainConnection();
+            // The read pool stays open, but its idle connections have most likely been dropped as well
+            if (this.readPool != null) {
+                this.readPool.reset();
+            }
             SQLManager.this.closed = false;
             SQLManager.this.connection = database.forceConnection();
         } catch (SQLException | ClassNotFoundException e) {
@@ -312,6 +433,7 @@ public class SQLManager implements AbstractDB {
             };
         }
         tasks.add(task);
+        signalTaskQueued();
     }
 
     public synchronized void addPlayerTask(UUID uuid, UniqueStatement task) {
@@ -346,6 +468,7 @@ public class SQLManager implements AbstractDB {
             };
         }
         tasks.add(task);
+        signalTaskQueued();
     }
 
     public synchronized void addClusterTask(PlotCluster cluster, UniqueStatement task) {
@@ -377,10 +500,12 @@ public class SQLManager implements AbstractDB {
             };
         }
         tasks.add(task);
+        signalTaskQueued();
     }
 
     public synchronized void addGlobalTask(Runnable task) {
         getGlobalTasks().add(task);
+        signalTaskQueued();
     }
 
     public synchronized void addNotifyTask(Runnable task) {
@@ -396,6 +521,7 @@ public class SQLManager implements AbstractDB {
                     this.connection.setAutoCommit(false);
                 }
                 Runnable task = getGlobalTasks().remove();
+                this.queuedTasks.decrementAndGet();
                 if (task != null) {
                     try {
                         task.run();
@@ -411,167 +537,162 @@ public class SQLManager implements AbstractDB {
                 commit();
                 return true;
             }
-            int count = -1;
-            if (!this.plotTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                Iterator<Entry<Plot, Queue<UniqueStatement>>> iterator =
-                        this.plotTasks.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    try {
-                        Entry<Plot, Queue<UniqueStatement>> entry = iterator.next();
-                        Queue<UniqueStatement> tasks = entry.getValue();
-                        if (tasks.isEmpty()) {
-                            iterator.remove();
-                            continue;
-                        }
-                        task = tasks.remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)
-                                    || statement == null) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                            try {
-                                if (statement.isClosed()) {
-                                    statement = null;
-                                }
-                            } catch (NullPointerException | AbstractMethodError ignore) {
-                            }
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
+            final long start = System.nanoTime();
+            final List<Object> flushed = new ArrayList<>();
+            try {
+                int count = sendBatch(this.plotTasks, Storage.Write_Queue.BATCH_SIZE, this::resolvePlotIds, flushed);
+                count += sendBatch(this.playerTasks, Storage.Write_Queue.BATCH_SIZE - count, null, flushed);
+                count += sendBatch(this.clusterTasks, Storage.Write_Queue.BATCH_SIZE - count, null, flushed);
+                if (count > 0) {
+                    commit();
+                    final long duration = System.nanoTime() - start;
+                    this.lastFlushNanos = duration;
+                    this.maxFlushNanos = Math.max(this.maxFlushNanos, duration);
+                    this.flushes.incrementAndGet();
+                    return true;
+                }
+            } finally {
+                for (final Object key : flushed) {
+                    this.uncommitted.computeIfPresent(key, (k, batches) -> batches == 1 ? null : batches - 1);
                 }
             }
-            if (!this.playerTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
+            if (!this.connection.getAutoCommit()) {
+                this.connection.setAutoCommit(true);
+            }
+        } catch (Throwable e) {
+            LOGGER.error("============ DATABASE ERROR ============");
+            LOGGER.error("There was an error updating the database.");
+            LOGGER.error(" - It will be corrected on shutdown");
+            LOGGER.error("========================================");
+            e.printStackTrace();
+            LOGGER.error("========================================");
+        }
+        return false;
+    }
+
+    /**
+     * Write the queued statements of a set of plots, players or clusters.
+     * <p>
+     * The statements queued for each key are taken up to the given limit, and superseded statements are dropped (see
+     * {@link UniqueStatement#key}). The remaining statements are executed in rounds, taking the next statement of each
+     * key per round, which keeps the order of statements for each key. Within a round, statements with the same
+     * method are executed as a single JDBC batch.
+     *
+     * @param tasks   queued statements by key
+     * @param limit   the maximum number of statements to take from the queues
+     * @param prepare called with the keys of all statements taken from the queues, before they're executed
+     * @param flushed the keys of all statements taken from the queues are added to this list, they must be
+     *                released from {@link #uncommitted} once the statements are committed
+     * @param <K>     key type
+     * @return the number of statements taken from the queues
+     */
+    private <K> int sendBatch(
+            final Map<K, Queue<UniqueStatement>> tasks,
+            final int limit,
+            final @Nullable Consumer<List<K>> prepare,
+            final List<Object> flushed
+    ) throws SQLException {
+        if (tasks.isEmpty() || limit <= 0) {
+            return 0;
+        }
+        final List<List<UniqueStatement>> pending = new ArrayList<>();
+        final List<K> keys = new ArrayList<>();
+        int count = 0;
+        int rounds = 0;
+        final Iterator<Entry<K, Queue<UniqueStatement>>> iterator = tasks.entrySet().iterator();
+        while (iterator.hasNext() && count < limit) {
+            final Entry<K, Queue<UniqueStatement>> entry = iterator.next();
+            final Queue<UniqueStatement> queue = entry.getValue();
+            synchronized (this) {
+                // Tasks are only added while holding the lock, so the queue can't be filled after this check
+                if (queue.isEmpty()) {
+                    iterator.remove();
+                    continue;
                 }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<UUID, Queue<UniqueStatement>> entry : this.playerTasks.entrySet()) {
-                    try {
-                        UUID uuid = entry.getKey();
-                        if (this.playerTasks.get(uuid).isEmpty()) {
-                            this.playerTasks.remove(uuid);
-                            continue;
-                        }
-                        task = this.playerTasks.get(uuid).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
+            }
+            // Must be marked before the queue is drained, see readConcurrently
+            this.uncommitted.merge(entry.getKey(), 1, Integer::sum);
+            flushed.add(entry.getKey());
+            final List<UniqueStatement> statements = new ArrayList<>();
+            final Map<String, Integer> keyed = new HashMap<>();
+            UniqueStatement task;
+            while (count < limit && (task = queue.poll()) != null) {
+                count++;
+                if (task.key == null || !Storage.Write_Queue.COALESCE) {
+                    // This may depend on or change anything queued before it
+                    keyed.clear();
+                    statements.add(task);
+                    continue;
                 }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
+                final Integer index = keyed.putIfAbsent(task.key, statements.size());
+                if (index == null) {
+                    statements.add(task);
+                } else {
+                    // Only statements with other keys have been queued in between, so the order doesn't matter
+                    statements.set(index, task);
+                    this.coalescedTasks.incrementAndGet();
                 }
             }
-            if (!this.clusterTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
+            pending.add(statements);
+            keys.add(entry.getKey());
+            rounds = Math.max(rounds, statements.size());
+        }
+        this.queuedTasks.addAndGet(-count);
+        if (count == 0) {
+            return 0;
+        }
+        if (this.connection.getAutoCommit()) {
+            this.connection.setAutoCommit(false);
+        }
+        if (prepare != null) {
+            prepare.accept(keys);
+        }
+        final Map<String, List<UniqueStatement>> methods = new LinkedHashMap<>();
+        for (int round = 0; round < rounds; round++) {
+            for (final List<UniqueStatement> statements : pending) {
+                if (round < statements.size()) {
+                    final UniqueStatement task = statements.get(round);
+                    methods.computeIfAbsent(task.method, method -> new ArrayList<>()).add(task);
                 }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<PlotCluster, Queue<UniqueStatement>> entry : this.clusterTasks
-                        .entrySet()) {
+            }
+            for (final List<UniqueStatement> batch : methods.values()) {
+                executeBatch(batch);
+            }
+            methods.clear();
+        }
+        this.flushedTasks.addAndGet(count);
+        return count;
+    }
+
+    private void executeBatch(final List<UniqueStatement> batch) {
+        PreparedStatement statement = null;
+        UniqueStatement lastTask = null;
+        try {
+            for (final UniqueStatement task : batch) {
+                try {
+                    if (statement == null) {
+                        statement = task.get();
+                    }
+                    task.set(statement);
+                    task.addBatch(statement);
+                    lastTask = task;
                     try {
-                        PlotCluster cluster = entry.getKey();
-                        if (this.clusterTasks.get(cluster).isEmpty()) {
-                            this.clusterTasks.remove(cluster);
-                            continue;
+                        if (statement.isClosed()) {
+                            statement = null;
                         }
-                        task = this.clusterTasks.get(cluster).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
+                    } catch (NullPointerException | AbstractMethodError ignore) {
                     }
+                } catch (Throwable e) {
+                    LOGGER.error("============ DATABASE ERROR ============");
+                    LOGGER.error("There was an error updating the database.");
+                    LOGGER.error(" - It will be corrected on shutdown");
+                    LOGGER.error("========================================");
+                    e.printStackTrace();
+                    LOGGER.error("========================================");
                 }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
-            }
-            if (count > 0) {
-                commit();
-                return true;
-            }
-            if (count != -1) {
-                if (!this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(true);
-                }
-            }
-            if (!this.clusterTasks.isEmpty()) {
-                this.clusterTasks.clear();
             }
-            if (!this.plotTasks.isEmpty()) {
-                this.plotTasks.clear();
+            if (statement != null && lastTask != null) {
+                lastTask.execute(statement);
             }
         } catch (Throwable e) {
             LOGGER.error("============ DATABASE ERROR ============");
@@ -580,8 +701,14 @@ public class SQLManager implements AbstractDB {
             LOGGER.error("========================================");
             e.printStackTrace();
             LOGGER.error("========================================");
+        } finally {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                }
+            }
         }
-        return false;
     }
 
     public Connection getConnection() {
@@ -596,7 +723,7 @@ public class SQLManager implements AbstractDB {
      */
     @Override
     public void setOwner(final Plot plot, final UUID uuid) {
-        addPlotTask(plot, new UniqueStatement("setOwner") {
+        addPlotTask(plot, new UniqueStatement("setOwner", "owner") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, uuid.toString());
@@ -643,6 +770,7 @@ public class SQLManager implements AbstractDB {
                                 Plot plot = plotMap.get(plotId);
                                 idMap.put(plotId, id);
                                 if (plot != null) {
+                                    setPlotId(plot, id);
                                     settings.add(new LegacySettings(id, plot.getSettings()));
                                     for (UUID uuid : plot.getDenied()) {
                                         denied.add(new UUIDPair(id, uuid));
@@ -1099,7 +1227,7 @@ public class SQLManager implements AbstractDB {
                 if (statement.execute() || statement.getUpdateCount() > 0) {
                     try (ResultSet keys = supportsGetGeneratedKeys ? statement.getGeneratedKeys() : statement.getResultSet()) {
                         if (keys.next()) {
-                            plot.temp = keys.getInt(1);
+                            setPlotId(plot, keys.getInt(1));
                             addPlotTask(plot, new UniqueStatement(
                                     "createPlotAndSettings_settings_" + plot.hashCode()) {
                                 @Override
@@ -1170,7 +1298,7 @@ public class SQLManager implements AbstractDB {
                 statement.execute();
                 try (ResultSet keys = supportsGetGeneratedKeys ? statement.getGeneratedKeys() : statement.getResultSet()) {
                     if (keys.next()) {
-                        plot.temp = keys.getInt(1);
+                        setPlotId(plot, keys.getInt(1));
                     }
                 }
             }
@@ -1482,7 +1610,9 @@ public class SQLManager implements AbstractDB {
         addPlotTask(plot, new UniqueStatement("delete_plot") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
-                statement.setInt(1, getId(plot));
+                final int id = getId(plot);
+                uncachePlotId(plot.getArea().toString(), plot.getId(), id);
+                statement.setInt(1, id);
             }
 
             @Override
@@ -1561,11 +1691,13 @@ public class SQLManager implements AbstractDB {
         if (plot.temp > 0) {
             return plot.temp;
         }
+        final Integer cached = getCachedPlotId(plot.getArea().toString(), plot.getId());
+        if (cached != null) {
+            plot.temp = cached;
+            return cached;
+        }
         try {
-            commit();
-            if (plot.temp > 0) {
-                return plot.temp;
-            }
+            // Rows inserted by the writer are visible to its own connection, so there's no need to commit first
             int id;
             try (PreparedStatement statement = this.connection.prepareStatement(
                     "SELECT `id` FROM `" + this.prefix
@@ -1586,7 +1718,7 @@ public class SQLManager implements AbstractDB {
                 }
                 throw new SQLException("Plot does not exist in database");
             }
-            plot.temp = id;
+            setPlotId(plot, id);
             return id;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -1594,6 +1726,90 @@ public class SQLManager implements AbstractDB {
         return Integer.MAX_VALUE;
     }
 
+    /**
+     * Set the row id of a plot, and remember it for other instances of the same plot.
+     */
+    private void setPlotId(final Plot plot, final int id) {
+        plot.temp = id;
+        cachePlotId(plot.getArea().toString(), plot.getId(), id);
+    }
+
+    private void cachePlotId(final String area, final PlotId plotId, final int id) {
+        this.plotIds.computeIfAbsent(area, k -> new ConcurrentLongObjectMap<>()).put(plotId.toLong(), id);
+    }
+
+    private @Nullable Integer getCachedPlotId(final String area, final PlotId plotId) {
+        final ConcurrentLongObjectMap<Integer> ids = this.plotIds.get(area);
+        return ids == null ? null : ids.get(plotId.toLong());
+    }
+
+    private void uncachePlotId(final String area, final PlotId plotId, final int id) {
+        final ConcurrentLongObjectMap<Integer> ids = this.plotIds.get(area);
+        if (ids != null) {
+            ids.remove(plotId.toLong(), id);
+        }
+    }
+
+    /**
+     * Look up the row ids of all plots that don't know theirs yet using as few queries as possible, so that
+     * statements for them don't each have to look it up separately. Plots that aren't in the database yet
+     * are skipped.
+     *
+     * @param plots plots that are about to be written
+     */
+    private void resolvePlotIds(final List<Plot> plots) {
+        final Map<String, Plot> unknown = new HashMap<>();
+        for (final Plot plot : plots) {
+            if (plot.temp > 0 || plot.getArea() == null) {
+                continue;
+            }
+            final Integer cached = getCachedPlotId(plot.getArea().toString(), plot.getId());
+            if (cached != null) {
+                plot.temp = cached;
+            } else {
+                unknown.put(plot.getArea() + ";" + plot.getId().toLong(), plot);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        final List<Plot> list = new ArrayList<>(unknown.values());
+        final int packet = 100;
+        for (int start = 0; start < list.size(); start += packet) {
+            final List<Plot> subList = list.subList(start, Math.min(list.size(), start + packet));
+            final StringBuilder query = new StringBuilder("SELECT `id`, `plot_id_x`, `plot_id_z`, `world` FROM `")
+                    .append(this.prefix).append("plot` WHERE ");
+            for (int i = 0; i < subList.size(); i++) {
+                if (i > 0) {
+                    query.append(" OR ");
+                }
+                query.append("(`plot_id_x` = ? AND `plot_id_z` = ? AND `world` = ?)");
+            }
+            // Later rows win, matching getId
+            query.append(" ORDER BY `timestamp` ASC");
+            try (PreparedStatement statement = this.connection.prepareStatement(query.toString())) {
+                for (int i = 0; i < subList.size(); i++) {
+                    final Plot plot = subList.get(i);
+                    statement.setInt(i * 3 + 1, plot.getId().getX());
+                    statement.setInt(i * 3 + 2, plot.getId().getY());
+                    statement.setString(i * 3 + 3, plot.getArea().toString());
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final Plot plot = unknown.get(resultSet.getString("world") + ";"
+                                + PlotId.toLong(resultSet.getInt("plot_id_x"), resultSet.getInt("plot_id_z")));
+                        if (plot != null) {
+                            setPlotId(plot, resultSet.getInt("id"));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                LOGGER.error("Failed to look up plot ids", e);
+                return;
+            }
+        }
+    }
+
     @Override
     public void updateTables(int[] oldVersion) {
         try {
@@ -1812,11 +2028,15 @@ public class SQLManager implements AbstractDB {
 
     /**
      * Load all plots, helpers, denied, trusted, and every setting from DB into a {@link HashMap}.
+     * <p>
+     * If enabled and supported by the database, the plot table is read first, and all tables referencing it are
+     * then read in parallel, each using its own connection.
      */
     @Override
     public HashMap<String, HashMap<PlotId, Plot>> getPlots() {
         HashMap<String, HashMap<PlotId, Plot>> newPlots = new HashMap<>();
-        HashMap<Integer, Plot> plots = new HashMap<>();
+        final long start = System.nanoTime();
+        final List<TableLoad> loaded = new ArrayList<>();
         try {
             HashSet<String> areas = new HashSet<>();
             if (this.worldConfiguration.contains("worlds")) {
@@ -1837,314 +2057,172 @@ public class SQLManager implements AbstractDB {
                     }
                 }
             }
-            HashMap<String, UUID> uuids = new HashMap<>();
             HashMap<String, AtomicInteger> noExist = new HashMap<>();
 
             /*
              * Getting plots
              */
-            try (Statement statement = this.connection.createStatement()) {
-                int id;
-                String o;
-                UUID user;
-                try (ResultSet resultSet = statement.executeQuery(
-                        "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
-                                + this.prefix + "plot`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        PlotId plot_id = PlotId.of(
-                                resultSet.getInt("plot_id_x"),
-                                resultSet.getInt("plot_id_z")
-                        );
-                        id = resultSet.getInt("id");
-                        String areaID = resultSet.getString("world");
-                        if (!areas.contains(areaID)) {
-                            if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
-                                continue;
-                            } else {
-                                AtomicInteger value = noExist.get(areaID);
-                                if (value != null) {
-                                    value.incrementAndGet();
-                                } else {
-                                    noExist.put(areaID, new AtomicInteger(1));
-                                }
-                            }
-                        }
-                        o = resultSet.getString("owner");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            try {
-                                user = UUID.fromString(o);
-                            } catch (IllegalArgumentException e) {
-                                if (Settings.UUID.FORCE_LOWERCASE) {
-                                    user = UUID.nameUUIDFromBytes(
-                                            ("OfflinePlayer:" + o.toLowerCase())
-                                                    .getBytes(Charsets.UTF_8));
-                                } else {
-                                    user = UUID.nameUUIDFromBytes(
-                                            ("OfflinePlayer:" + o).getBytes(Charsets.UTF_8));
-                                }
-                            }
-                            uuids.put(o, user);
-                        }
-                        long time;
-                        try {
-                            Timestamp timestamp = resultSet.getTimestamp("timestamp");
-                            time = timestamp.getTime();
-                        } catch (SQLException exception) {
-                            String parsable = resultSet.getString("timestamp");
-                            try {
-                                time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(parsable)
-                                        .getTime();
-                            } catch (ParseException e) {
-                                LOGGER.error("Could not parse date for plot: #{}({};{}) ({})",
-                                        id, areaID, plot_id, parsable
-                                );
-                                time = System.currentTimeMillis() + id;
-                            }
-                        }
-                        Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
-                                new HashSet<>(), "", null, null, null,
-                                new boolean[]{false, false, false, false}, time, id
-                        );
-                        HashMap<PlotId, Plot> map = newPlots.get(areaID);
-                        if (map != null) {
-                            Plot last = map.put(p.getId(), p);
-                            if (last != null) {
-                                if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                    toDelete.add(last.temp);
-                                } else {
-                                    LOGGER.info(
-                                            "Plot #{}({}) in `{}plot` is a duplicate."
-                                                    + " Delete this plot or set `database-purger: true` in the settings.yml",
-                                            id,
-                                            last,
-                                            this.prefix
-                                    );
-                                }
-                            }
-                        } else {
-                            map = new HashMap<>();
-                            newPlots.put(areaID, map);
-                            map.put(p.getId(), p);
-                        }
-                        plots.put(id, p);
-                    }
-                    deleteRows(toDelete, this.prefix + "plot", "id");
-                }
-                if (Settings.Enabled_Components.RATING_CACHE) {
-                    try (ResultSet r = statement.executeQuery(
-                            "SELECT `plot_plot_id`, `player`, `rating` FROM `" + this.prefix
-                                    + "plot_rating`")) {
-                        ArrayList<Integer> toDelete = new ArrayList<>();
-                        while (r.next()) {
-                            id = r.getInt("plot_plot_id");
-                            o = r.getString("player");
-                            user = uuids.get(o);
-                            if (user == null) {
-                                user = UUID.fromString(o);
-                                uuids.put(o, user);
-                            }
-                            Plot plot = plots.get(id);
-                            if (plot != null) {
-                                plot.getSettings().getRatings().put(user, r.getInt("rating"));
-                            } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
-                            } else {
-                                LOGGER.warn("Entry #{}({}) in `plot_rating` does not exist."
-                                        + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                            }
-                        }
-                        deleteRows(toDelete, this.prefix + "plot_rating", "plot_plot_id");
-                    }
+            Connection plotConnection = null;
+            if (Storage.Loading.PARALLEL) {
+                try {
+                    plotConnection = openLoadingConnection();
+                } catch (SQLException | ClassNotFoundException e) {
+                    LOGGER.warn("Unable to open additional database connections, plots will be loaded sequentially", e);
+                }
+            }
+            final boolean parallel = plotConnection != null;
+            final HashMap<Integer, Plot> plots;
+            final ArrayList<Integer> toDeletePlots = new ArrayList<>();
+            try {
+                final long plotStart = System.nanoTime();
+                plots = loadPlots(parallel ? plotConnection : this.connection, parallel, areas, noExist, newPlots,
+                        toDeletePlots
+                );
+                loaded.add(new TableLoad("plot", plots.size(), System.nanoTime() - plotStart));
+            } finally {
+                if (plotConnection != null) {
+                    plotConnection.close();
                 }
+            }
+            deleteRows(toDeletePlots, this.prefix + "plot", "id");
 
-                /*
-                 * Getting helpers
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_helpers`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getTrusted().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_helpers` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                        }
+            /*
+             * Getting ratings, helpers, trusted, denied, flags and settings. The loaders only modify their own part
+             * of each plot, and anything requiring writes is done once all of them are done.
+             */
+            final List<PlotTableLoader> loaders = new ArrayList<>();
+            if (Settings.Enabled_Components.RATING_CACHE) {
+                loaders.add(new PlotTableLoader("plot_rating", "plot_plot_id",
+                        "SELECT `plot_plot_id`, `player`, `rating` FROM `" + this.prefix + "plot_rating`"
+                ) {
+                    private final HashMap<String, UUID> uuids = new HashMap<>();
+
+                    @Override
+                    void read(ResultSet resultSet, int id, Plot plot) throws SQLException {
+                        final UUID user = this.uuids.computeIfAbsent(resultSet.getString("player"), UUID::fromString);
+                        plot.getSettings().getRatings().put(user, resultSet.getInt("rating"));
                     }
-                    deleteRows(toDelete, this.prefix + "plot_helpers", "plot_plot_id");
+                });
+            }
+            loaders.add(new PlotTableLoader("plot_helpers", "plot_plot_id",
+                    "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_helpers`"
+            ) {
+                private final HashMap<String, UUID> uuids = new HashMap<>();
+
+                @Override
+                void read(ResultSet resultSet, int id, Plot plot) throws SQLException {
+                    plot.getTrusted().add(this.uuids.computeIfAbsent(resultSet.getString("user_uuid"), UUID::fromString));
                 }
+            });
+            loaders.add(new PlotTableLoader("plot_trusted", "plot_plot_id",
+                    "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_trusted`"
+            ) {
+                private final HashMap<String, UUID> uuids = new HashMap<>();
 
-                /*
-                 * Getting trusted
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_trusted`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getMembers().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_trusted` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                        }
-                    }
-                    deleteRows(toDelete, this.prefix + "plot_trusted", "plot_plot_id");
+                @Override
+                void read(ResultSet resultSet, int id, Plot plot) throws SQLException {
+                    plot.getMembers().add(this.uuids.computeIfAbsent(resultSet.getString("user_uuid"), UUID::fromString));
                 }
+            });
+            loaders.add(new PlotTableLoader("plot_denied", "plot_plot_id",
+                    "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_denied`"
+            ) {
+                private final HashMap<String, UUID> uuids = new HashMap<>();
 
-                /*
-                 * Getting denied
-                 */
-                try (ResultSet r = statement.executeQuery(
-                        "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_denied`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getDenied().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_denied` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
+                @Override
+                void read(ResultSet resultSet, int id, Plot plot) throws SQLException {
+                    plot.getDenied().add(this.uuids.computeIfAbsent(resultSet.getString("user_uuid"), UUID::fromString));
+                }
+            });
+            final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags = new HashMap<>();
+            loaders.add(new PlotTableLoader("plot_flags", "plot_id", "SELECT * FROM `" + this.prefix + "plot_flags`") {
+                @Override
+                void read(ResultSet resultSet, int id, Plot plot) throws SQLException {
+                    final String flag = resultSet.getString("flag");
+                    String value = resultSet.getString("value");
+                    final PlotFlag<?, ?> plotFlag =
+                            GlobalFlagContainer.getInstance().getFlagFromString(flag);
+                    if (plotFlag == null) {
+                        plot.getFlagContainer().addUnknownFlag(flag, value);
+                    } else {
+                        value = CaptionUtility.stripClickEvents(plotFlag, value);
+                        try {
+                            plot.getFlagContainer().addFlag(plotFlag.parse(value));
+                        } catch (final FlagParseException e) {
+                            e.printStackTrace();
+                            LOGGER.error("Plot with ID {} has an invalid value:", id);
+                            LOGGER.error("Failed to parse flag '{}', value '{}': {}",
+                                    plotFlag.getName(), e.getValue(), e.getErrorMessage()
+                            );
+                            invalidFlags.computeIfAbsent(plot, k -> new ArrayList<>()).add(plotFlag);
                         }
                     }
-                    deleteRows(toDelete, this.prefix + "plot_denied", "plot_plot_id");
                 }
-
-                try (final ResultSet resultSet = statement
-                        .executeQuery("SELECT * FROM `" + this.prefix + "plot_flags`")) {
-                    BlockTypeListFlag.skipCategoryVerification =
-                            true; // allow invalid tags, as initialized lazily
-                    final ArrayList<Integer> toDelete = new ArrayList<>();
-                    final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags = new HashMap<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_id");
-                        final String flag = resultSet.getString("flag");
-                        String value = resultSet.getString("value");
-                        final Plot plot = plots.get(id);
-                        if (plot != null) {
-                            final PlotFlag<?, ?> plotFlag =
-                                    GlobalFlagContainer.getInstance().getFlagFromString(flag);
-                            if (plotFlag == null) {
-                                plot.getFlagContainer().addUnknownFlag(flag, value);
-                            } else {
-                                value = CaptionUtility.stripClickEvents(plotFlag, value);
-                                try {
-                                    plot.getFlagContainer().addFlag(plotFlag.parse(value));
-                                } catch (final FlagParseException e) {
-                                    e.printStackTrace();
-                                    LOGGER.error("Plot with ID {} has an invalid value:", id);
-                                    LOGGER.error("Failed to parse flag '{}', value '{}': {}",
-                                            plotFlag.getName(), e.getValue(), e.getErrorMessage()
-                                    );
-                                    if (!invalidFlags.containsKey(plot)) {
-                                        invalidFlags.put(plot, new ArrayList<>());
-                                    }
-                                    invalidFlags.get(plot).add(plotFlag);
-                                }
-                            }
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_flags` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                        }
+            });
+            final HashMap<Integer, Plot> withoutSettings = new HashMap<>(plots);
+            loaders.add(new PlotTableLoader("plot_settings", "plot_plot_id",
+                    "SELECT * FROM `" + this.prefix + "plot_settings`"
+            ) {
+                @Override
+                void read(ResultSet resultSet, int id, Plot plot) throws SQLException {
+                    withoutSettings.remove(id);
+                    String alias = resultSet.getString("alias");
+                    if (alias != null) {
+                        plot.getSettings().setAlias(alias);
                     }
-                    BlockTypeListFlag.skipCategoryVerification =
-                            false; // don't allow invalid tags anymore
-                    if (Settings.Enabled_Components.DATABASE_PURGER) {
-                        for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : invalidFlags
-                                .entrySet()) {
-                            for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
-                                LOGGER.info(
-                                        "Plot {} has an invalid flag ({}). A fix has been attempted",
-                                        plotFlagEntry.getKey(), flag.getName()
-                                );
-                                removeFlag(plotFlagEntry.getKey(), flag);
+                    String pos = resultSet.getString("position");
+                    switch (pos.toLowerCase()) {
+                        case "":
+                        case "default":
+                        case "0,0,0":
+                        case "center":
+                        case "centre":
+                            break;
+                        default:
+                            try {
+                                plot.getSettings().setPosition(BlockLoc.fromString(pos));
+                            } catch (Exception ignored) {
                             }
-                        }
                     }
-                    deleteRows(toDelete, this.prefix + "plot_flags", "plot_id");
+                    int m = resultSet.getInt("merged");
+                    boolean[] merged = new boolean[4];
+                    for (int i = 0; i < 4; i++) {
+                        merged[3 - i] = (m & 1 << i) != 0;
+                    }
+                    plot.getSettings().setMerged(merged);
                 }
+            });
 
-                try (ResultSet resultSet = statement
-                        .executeQuery("SELECT * FROM `" + this.prefix + "plot_settings`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_plot_id");
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plots.remove(id);
-                            String alias = resultSet.getString("alias");
-                            if (alias != null) {
-                                plot.getSettings().setAlias(alias);
-                            }
-                            String pos = resultSet.getString("position");
-                            switch (pos.toLowerCase()) {
-                                case "":
-                                case "default":
-                                case "0,0,0":
-                                case "center":
-                                case "centre":
-                                    break;
-                                default:
-                                    try {
-                                        plot.getSettings().setPosition(BlockLoc.fromString(pos));
-                                    } catch (Exception ignored) {
-                                    }
-                            }
-                            int m = resultSet.getInt("merged");
-                            boolean[] merged = new boolean[4];
-                            for (int i = 0; i < 4; i++) {
-                                merged[3 - i] = (m & 1 << i) != 0;
-                            }
-                            plot.getSettings().setMerged(merged);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            LOGGER.warn("Entry #{}({}) in `plot_settings` does not exist."
-                                    + " Create this plot or set `database-purger: true` in settings.yml", id, plot);
-                        }
+            BlockTypeListFlag.skipCategoryVerification = true; // allow invalid tags, as initialized lazily
+            try {
+                if (parallel) {
+                    loaded.addAll(loadTablesParallel(loaders, plots));
+                } else {
+                    for (final PlotTableLoader loader : loaders) {
+                        loaded.add(loader.load(this.connection, false, plots));
                     }
-                    deleteRows(toDelete, this.prefix + "plot_settings", "plot_plot_id");
                 }
+            } finally {
+                BlockTypeListFlag.skipCategoryVerification = false; // don't allow invalid tags anymore
             }
-            if (!plots.entrySet().isEmpty()) {
-                createEmptySettings(new ArrayList<>(plots.keySet()), null);
-                for (Entry<Integer, Plot> entry : plots.entrySet()) {
-                    entry.getValue().getSettings();
+            for (final PlotTableLoader loader : loaders) {
+                deleteRows(loader.toDelete, this.prefix + loader.table, loader.column);
+            }
+            if (Settings.Enabled_Components.DATABASE_PURGER) {
+                for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : invalidFlags
+                        .entrySet()) {
+                    for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
+                        LOGGER.info(
+                                "Plot {} has an invalid flag ({}). A fix has been attempted",
+                                plotFlagEntry.getKey(), flag.getName()
+                        );
+                        removeFlag(plotFlagEntry.getKey(), flag);
+                    }
                 }
             }
+            if (!withoutSettings.isEmpty()) {
+                createEmptySettings(new ArrayList<>(withoutSettings.keySet()), null);
+            }
             boolean invalidPlot = false;
             for (Entry<String, AtomicInteger> entry : noExist.entrySet()) {
                 String worldName = entry.getKey();
@@ -2161,13 +2239,240 @@ public class SQLManager implements AbstractDB {
         } catch (SQLException e) {
             LOGGER.error("Failed to load plots", e);
         }
+        LOGGER.info("Loaded plots from the database in {}ms ({})",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                StringMan.join(loaded, ", ")
+        );
         return newPlots;
     }
 
+    private HashMap<Integer, Plot> loadPlots(
+            final Connection connection,
+            final boolean stream,
+            final Set<String> areas,
+            final Map<String, AtomicInteger> noExist,
+            final Map<String, HashMap<PlotId, Plot>> newPlots,
+            final List<Integer> toDelete
+    ) throws SQLException {
+        final HashMap<Integer, Plot> plots = new HashMap<>();
+        final HashMap<String, UUID> uuids = new HashMap<>();
+        try (Statement statement = createLoadingStatement(connection, stream);
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
+                             + this.prefix + "plot`")) {
+            int id;
+            String o;
+            UUID user;
+            while (resultSet.next()) {
+                PlotId plot_id = PlotId.of(
+                        resultSet.getInt("plot_id_x"),
+                        resultSet.getInt("plot_id_z")
+                );
+                id = resultSet.getInt("id");
+                String areaID = resultSet.getString("world");
+                if (!areas.contains(areaID)) {
+                    if (Settings.Enabled_Components.DATABASE_PURGER) {
+                        toDelete.add(id);
+                        continue;
+                    } else {
+                        AtomicInteger value = noExist.get(areaID);
+                        if (value != null) {
+                            value.incrementAndGet();
+                        } else {
+                            noExist.put(areaID, new AtomicInteger(1));
+                        }
+                    }
+                }
+                o = resultSet.getString("owner");
+                user = uuids.get(o);
+                if (user == null) {
+                    try {
+                        user = UUID.fromString(o);
+                    } catch (IllegalArgumentException e) {
+                        if (Settings.UUID.FORCE_LOWERCASE) {
+                            user = UUID.nameUUIDFromBytes(
+                                    ("OfflinePlayer:" + o.toLowerCase())
+                                            .getBytes(Charsets.UTF_8));
+                        } else {
+                            user = UUID.nameUUIDFromBytes(
+                                    ("OfflinePlayer:" + o).getBytes(Charsets.UTF_8));
+                        }
+                    }
+                    uuids.put(o, user);
+                }
+                long time;
+                try {
+                    Timestamp timestamp = resultSet.getTimestamp("timestamp");
+                    time = timestamp.getTime();
+                } catch (SQLException exception) {
+                    String parsable = resultSet.getString("timestamp");
+                    try {
+                        time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(parsable)
+                                .getTime();
+                    } catch (ParseException e) {
+                        LOGGER.error("Could not parse date for plot: #{}({};{}) ({})",
+                                id, areaID, plot_id, parsable
+                        );
+                        time = System.currentTimeMillis() + id;
+                    }
+                }
+                Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
+                        new HashSet<>(), "", null, null, null,
+                        new boolean[]{false, false, false, false}, time, id
+                );
+                HashMap<PlotId, Plot> map = newPlots.get(areaID);
+                if (map != null) {
+                    Plot last = map.put(p.getId(), p);
+                    if (last != null) {
+                        if (Settings.Enabled_Components.DATABASE_PURGER) {
+                            toDelete.add(last.temp);
+                        } else {
+                            LOGGER.info(
+                                    "Plot #{}({}) in `{}plot` is a duplicate."
+                                            + " Delete this plot or set `database-purger: true` in the settings.yml",
+                                    id,
+                                    last,
+                                    this.prefix
+                            );
+                        }
+                    }
+                } else {
+                    map = new HashMap<>();
+                    newPlots.put(areaID, map);
+                    map.put(p.getId(), p);
+                }
+                plots.put(id, p);
+            }
+        }
+        return plots;
+    }
+
+    private List<TableLoad> loadTablesParallel(
+            final List<PlotTableLoader> loaders,
+            final Map<Integer, Plot> plots
+    ) throws SQLException {
+        final AtomicInteger threadId = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(loaders.size(), runnable -> {
+            final Thread thread = new Thread(runnable, "PlotSquared Database Loader #" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<TableLoad>> futures = new ArrayList<>(loaders.size());
+            for (final PlotTableLoader loader : loaders) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = openLoadingConnection()) {
+                        return loader.load(connection, true, plots);
+                    }
+                }));
+            }
+            final List<TableLoad> loaded = new ArrayList<>(loaders.size());
+            // Waiting for every loader also makes their changes to the plots visible to this thread
+            for (final Future<TableLoad> future : futures) {
+                try {
+                    loaded.add(future.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof SQLException sqlException) {
+                        throw sqlException;
+                    }
+                    throw new SQLException("Failed to load plot data", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while loading plot data", e);
+                }
+            }
+            return loaded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Open a connection that is only used to read tables while loading.
+     */
+    private Connection openLoadingConnection() throws SQLException, ClassNotFoundException {
+        final Connection connection = this.database.newConnection();
+        try {
+            if (this.mySQL) {
+                connection.setReadOnly(true);
+            } else {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA query_only = true");
+                }
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private Statement createLoadingStatement(final Connection connection, final boolean stream) throws SQLException {
+        final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (stream && this.mySQL) {
+            // Makes the MySQL driver stream rows instead of reading the whole table into memory first. This blocks
+            // the connection until the result set is closed, so only do it on connections that aren't shared
+            statement.setFetchSize(Integer.MIN_VALUE);
+        }
+        return statement;
+    }
+
+    private record TableLoad(String table, int rows, long nanos) {
+
+        @Override
+        public String toString() {
+            return this.table + ": " + this.rows + " rows in " + TimeUnit.NANOSECONDS.toMillis(this.nanos) + "ms";
+        }
+
+    }
+
+    /**
+     * Reads a table with rows referencing plots, passing each row to the plot it belongs to.
+     */
+    private abstract class PlotTableLoader {
+
+        private final String table;
+        private final String column;
+        private final String query;
+        private final ArrayList<Integer> toDelete = new ArrayList<>();
+
+        private PlotTableLoader(final String table, final String column, final String query) {
+            this.table = table;
+            this.column = column;
+            this.query = query;
+        }
+
+        abstract void read(ResultSet resultSet, int id, Plot plot) throws SQLException;
+
+        private TableLoad load(final Connection connection, final boolean stream, final Map<Integer, Plot> plots)
+                throws SQLException {
+            final long start = System.nanoTime();
+            int rows = 0;
+            try (Statement statement = createLoadingStatement(connection, stream);
+                 ResultSet resultSet = statement.executeQuery(this.query)) {
+                while (resultSet.next()) {
+                    rows++;
+                    final int id = resultSet.getInt(this.column);
+                    final Plot plot = plots.get(id);
+                    if (plot != null) {
+                        read(resultSet, id, plot);
+                    } else if (Settings.Enabled_Components.DATABASE_PURGER) {
+                        this.toDelete.add(id);
+                    } else {
+                        LOGGER.warn("Entry #{}({}) in `{}` does not exist."
+                                + " Create this plot or set `database-purger: true` in settings.yml", id, plot, this.table);
+                    }
+                }
+            }
+            return new TableLoad(this.table, rows, System.nanoTime() - start);
+        }
+
+    }
+
     @Override
     public void setMerged(final Plot plot, final boolean[] merged) {
         plot.getSettings().setMerged(merged);
-        addPlotTask(plot, new UniqueStatement("setMerged") {
+        addPlotTask(plot, new UniqueStatement("setMerged", "merged") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 int hash = HashUtil.hash(merged);
@@ -2203,6 +2508,8 @@ public class SQLManager implements AbstractDB {
                 preparedStatement.setInt(2, pos2.getY());
                 preparedStatement.setInt(3, id2);
                 preparedStatement.execute();
+                cachePlotId(plot1.getArea().toString(), pos1, id1);
+                cachePlotId(plot2.getArea().toString(), pos2, id2);
             } catch (final Exception e) {
                 LOGGER.error("Failed to persist wap of {} and {}", plot1, plot2);
                 e.printStackTrace();
@@ -2222,7 +2529,10 @@ public class SQLManager implements AbstractDB {
                 statement.setInt(1, newPlot.getId().getX());
                 statement.setInt(2, newPlot.getId().getY());
                 statement.setString(3, newPlot.getArea().toString());
-                statement.setInt(4, getId(original));
+                final int id = getId(original);
+                statement.setInt(4, id);
+                uncachePlotId(original.getArea().toString(), original.getId(), id);
+                cachePlotId(newPlot.getArea().toString(), newPlot.getId(), id);
             }
 
             @Override
@@ -2237,7 +2547,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setFlag(final Plot plot, final PlotFlag<?, ?> flag) {
-        addPlotTask(plot, new UniqueStatement("setFlag") {
+        addPlotTask(plot, new UniqueStatement("setFlag", "flag:" + flag.getName()) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, getId(plot));
@@ -2265,7 +2575,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void removeFlag(final Plot plot, final PlotFlag<?, ?> flag) {
-        addPlotTask(plot, new UniqueStatement("removeFlag") {
+        addPlotTask(plot, new UniqueStatement("removeFlag", "flag:" + flag.getName()) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, getId(plot));
@@ -2283,7 +2593,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setAlias(final Plot plot, final String alias) {
-        addPlotTask(plot, new UniqueStatement("setAlias") {
+        addPlotTask(plot, new UniqueStatement("setAlias", "alias") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, alias);
@@ -2306,6 +2616,8 @@ public class SQLManager implements AbstractDB {
     public void purgeIds(final Set<Integer> uniqueIds) {
         addGlobalTask(() -> {
             if (!uniqueIds.isEmpty()) {
+                // Purged ids may belong to any cached plot
+                SQLManager.this.plotIds.clear();
                 try {
                     ArrayList<Integer> uniqueIdsList = new ArrayList<>(uniqueIds);
                     int size = uniqueIdsList.size();
@@ -2398,7 +2710,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setPosition(final Plot plot, final String position) {
-        addPlotTask(plot, new UniqueStatement("setPosition") {
+        addPlotTask(plot, new UniqueStatement("setPosition", "position") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 // Please see the table creation statement. There is the default value of "default"
@@ -2479,7 +2791,15 @@ public class SQLManager implements AbstractDB {
             @NonNull Plot plot, final String inbox,
             final RunnableVal<List<PlotComment>> whenDone
     ) {
-        addPlotTask(plot, new UniqueStatement("getComments_" + plot) {
+        final String query;
+        if (plot != null) {
+            query = "SELECT * FROM `" + SQLManager.this.prefix
+                    + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?";
+        } else {
+            query = "SELECT * FROM `" + SQLManager.this.prefix
+                    + "plot_comments` WHERE `inbox` = ?";
+        }
+        final ReadStatement task = new ReadStatement("getComments_" + plot, query) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 if (plot != null) {
@@ -2491,22 +2811,6 @@ public class SQLManager implements AbstractDB {
                 }
             }
 
-            @Override
-            public PreparedStatement get() throws SQLException {
-                if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
-                            "SELECT * FROM `" + SQLManager.this.prefix
-                                    + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?");
-                }
-                return SQLManager.this.connection.prepareStatement(
-                        "SELECT * FROM `" + SQLManager.this.prefix
-                                + "plot_comments` WHERE `inbox` = ?");
-            }
-
-            @Override
-            public void execute(PreparedStatement statement) {
-            }
-
             @Override
             public void addBatch(PreparedStatement statement) throws SQLException {
                 ArrayList<PlotComment> comments = new ArrayList<>();
@@ -2531,7 +2835,8 @@ public class SQLManager implements AbstractDB {
                 }
                 TaskManager.runTask(whenDone);
             }
-        });
+        };
+        readConcurrently(plot, this.plotTasks, task, () -> addPlotTask(plot, task));
     }
 
     @Override
@@ -2667,20 +2972,28 @@ public class SQLManager implements AbstractDB {
     @Override
     public HashMap<UUID, Integer> getRatings(Plot plot) {
         HashMap<UUID, Integer> map = new HashMap<>();
-        try (PreparedStatement statement = this.connection.prepareStatement(
-                "SELECT `rating`, `player` FROM `" + this.prefix
-                        + "plot_rating` WHERE `plot_plot_id` = ? ")) {
-            statement.setInt(1, getId(plot));
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    UUID uuid = UUID.fromString(resultSet.getString("player"));
-                    int rating = resultSet.getInt("rating");
-                    map.put(uuid, rating);
+        // Resolve the id first, it may have to be looked up using the main connection
+        final int id = getId(plot);
+        Connection connection = null;
+        try {
+            connection = borrowReadConnection();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT `rating`, `player` FROM `" + this.prefix
+                            + "plot_rating` WHERE `plot_plot_id` = ? ")) {
+                statement.setInt(1, id);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        UUID uuid = UUID.fromString(resultSet.getString("player"));
+                        int rating = resultSet.getInt("rating");
+                        map.put(uuid, rating);
+                    }
                 }
             }
         } catch (SQLException e) {
             LOGGER.error("Failed to fetch rating for plot {}", plot.getId().toString());
             e.printStackTrace();
+        } finally {
+            releaseReadConnection(connection);
         }
         return map;
     }
@@ -2765,7 +3078,7 @@ public class SQLManager implements AbstractDB {
             final UUID uuid, final String key, final byte[] meta,
             final boolean replace
     ) {
-        addPlayerTask(uuid, new UniqueStatement("addPersistentMeta") {
+        addPlayerTask(uuid, new UniqueStatement(replace ? "updatePersistentMeta" : "addPersistentMeta", replace ? "meta:" + key : null) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 if (replace) {
@@ -2814,23 +3127,15 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void getPersistentMeta(final UUID uuid, final RunnableVal<Map<String, byte[]>> result) {
-        addPlayerTask(uuid, new UniqueStatement("getPersistentMeta") {
+        final ReadStatement task = new ReadStatement(
+                "getPersistentMeta",
+                "SELECT * FROM `" + SQLManager.this.prefix + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC"
+        ) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, uuid.toString());
             }
 
-            @Override
-            public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
-                        "SELECT * FROM `" + SQLManager.this.prefix
-                                + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC");
-            }
-
-            @Override
-            public void execute(PreparedStatement statement) {
-            }
-
             @Override
             public void addBatch(PreparedStatement statement) throws SQLException {
                 ResultSet resultSet = statement.executeQuery();
@@ -2847,7 +3152,8 @@ public class SQLManager implements AbstractDB {
                 TaskManager.runTaskAsync(() -> result.run(metaMap));
             }
 
-        });
+        };
+        readConcurrently(uuid, this.playerTasks, task, () -> addPlayerTask(uuid, task));
     }
 
     @Override
@@ -3001,7 +3307,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setClusterName(final PlotCluster cluster, final String name) {
-        addClusterTask(cluster, new UniqueStatement("setClusterName") {
+        addClusterTask(cluster, new UniqueStatement("setClusterName", "alias") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, name);
@@ -3136,7 +3442,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setPosition(final PlotCluster cluster, final String position) {
-        addClusterTask(cluster, new UniqueStatement("setPosition") {
+        addClusterTask(cluster, new UniqueStatement("setClusterPosition", "position") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, position);
@@ -3427,16 +3733,107 @@ public class SQLManager implements AbstractDB {
         });
     }
 
+    /**
+     * Get a connection for a read that doesn't depend on queued writes. This is a pooled connection if
+     * available, or the main connection otherwise. Must be released using {@link #releaseReadConnection(Connection)}.
+     */
+    private Connection borrowReadConnection() throws SQLException {
+        if (this.readPool != null) {
+            try {
+                return this.readPool.borrow();
+            } catch (SQLException e) {
+                LOGGER.warn("Unable to use a pooled database connection, falling back to the main connection", e);
+            }
+        }
+        return this.connection;
+    }
+
+    private void releaseReadConnection(final @Nullable Connection connection) {
+        if (this.readPool != null && connection != null && connection != this.connection) {
+            this.readPool.release(connection);
+        }
+    }
+
+    /**
+     * Run a read using a pooled connection, unless there are queued or uncommitted tasks for the same plot or
+     * player which it may have to wait for. Falls back to queueing the read otherwise.
+     *
+     * @param key      the plot or player that is read, or {@code null} if the read isn't specific to one
+     * @param tasks    queued tasks by plot or player
+     * @param task     the read
+     * @param enqueue  queues the read
+     * @param <K>      key type
+     */
+    private <K> void readConcurrently(
+            final @Nullable K key,
+            final @NonNull Map<K, Queue<UniqueStatement>> tasks,
+            final @NonNull ReadStatement task,
+            final @NonNull Runnable enqueue
+    ) {
+        if (this.readPool == null || key != null && hasUncommittedTasks(key, tasks)) {
+            enqueue.run();
+            return;
+        }
+        TaskManager.runTaskAsync(() -> {
+            final Connection connection;
+            try {
+                connection = this.readPool.borrow();
+            } catch (SQLException e) {
+                LOGGER.warn("Unable to use a pooled database connection, queueing read", e);
+                enqueue.run();
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(task.query)) {
+                task.set(statement);
+                task.addBatch(statement);
+            } catch (SQLException e) {
+                LOGGER.error("Failed to execute {}", task.method, e);
+            } finally {
+                this.readPool.release(connection);
+            }
+        });
+    }
+
+    private <K> boolean hasUncommittedTasks(final @NonNull K key, final @NonNull Map<K, Queue<UniqueStatement>> tasks) {
+        final Queue<UniqueStatement> pending = tasks.get(key);
+        if (pending != null && !pending.isEmpty()) {
+            return true;
+        }
+        // The writer marks the key before draining its queue, so statements that were just taken from the queue
+        // are seen here, until they're committed
+        return this.uncommitted.containsKey(key);
+    }
+
+    /**
+     * Get the number of additional connections opened for reads.
+     *
+     * @return number of open pooled connections, or {@code 0} if pooling is disabled
+     * @since TODO
+     */
+    public int getPooledConnectionCount() {
+        return this.readPool == null ? 0 : this.readPool.getOpenConnections();
+    }
+
     @Override
     public void close() {
+        if (this.readPool != null) {
+            this.readPool.close();
+        }
         try {
-            this.closed = true;
-            this.connection.close();
+            closeMainConnection();
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    private void closeMainConnection() throws SQLException {
+        this.closed = true;
+        synchronized (this) {
+            notifyAll();
+        }
+        this.connection.close();
+    }
+
     private record LegacySettings(
             int id,
             PlotSettings settings
@@ -3446,10 +3843,24 @@ public class SQLManager implements AbstractDB {
 
     public abstract static class UniqueStatement {
 
+        /**
+         * Statements with the same method are executed as one batch of the first statement's SQL, so
+         * statements using different SQL must use different methods.
+         */
         public final String method;
+        /**
+         * Statements queued for the same plot, player or cluster with the same key overwrite the same data,
+         * so only the last of them has to be executed. {@code null} for statements that can't be coalesced.
+         */
+        public final @Nullable String key;
 
         public UniqueStatement(String method) {
+            this(method, null);
+        }
+
+        public UniqueStatement(String method, @Nullable String key) {
             this.method = method;
+            this.key = key;
         }
 
         public void addBatch(PreparedStatement statement) throws SQLException {
@@ -3466,6 +3877,29 @@ public class SQLManager implements AbstractDB {
 
     }
 
+    /**
+     * A query that only reads data, so that it can also be run outside of the write queue.
+     */
+    private abstract class ReadStatement extends UniqueStatement {
+
+        private final String query;
+
+        private ReadStatement(String method, String query) {
+            super(method);
+            this.query = query;
+        }
+
+        @Override
+        public PreparedStatement get() throws SQLException {
+            return SQLManager.this.connection.prepareStatement(this.query);
+        }
+
+        @Override
+        public void execute(PreparedStatement statement) {
+        }
+
+    }
+
     private record UUIDPair(int id, UUID uuid) {
 
     }
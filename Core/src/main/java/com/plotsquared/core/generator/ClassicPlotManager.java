@@ -30,6 +30,7 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotAreaTerrainType;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.task.TaskManager;
@@ -275,6 +276,7 @@ public class ClassicPlotManager extends SquarePlotManager {
         boolean enqueue = false;
         if (queue == null) {
             queue = classicPlotWorld.getQueue();
+            queue.setPriority(QueuePriority.forActor(actor));
             enqueue = true;
             if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
                 queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
@@ -285,34 +287,26 @@ public class ClassicPlotManager extends SquarePlotManager {
         if (!plot.isMerged(Direction.NORTH)) {
             int z = bottom.getZ();
             for (int x = bottom.getX(); x <= top.getX(); x++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
         if (!plot.isMerged(Direction.WEST)) {
             int x = bottom.getX();
             for (int z = bottom.getZ(); z <= top.getZ(); z++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
 
         if (!plot.isMerged(Direction.SOUTH)) {
             int z = top.getZ();
             for (int x = bottom.getX(); x <= top.getX(); x++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
         if (!plot.isMerged(Direction.EAST)) {
             int x = top.getX();
             for (int z = bottom.getZ(); z <= top.getZ(); z++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
         if (plot.isBasePlot()) {
@@ -373,6 +367,7 @@ public class ClassicPlotManager extends SquarePlotManager {
         boolean enqueue = false;
         if (queue == null) {
             queue = classicPlotWorld.getQueue();
+            queue.setPriority(QueuePriority.forActor(actor));
             enqueue = true;
             if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
                 queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
@@ -383,33 +378,25 @@ public class ClassicPlotManager extends SquarePlotManager {
         if (!plot.isMerged(Direction.NORTH)) {
             int z = bot.getZ();
             for (int x = bot.getX(); x < top.getX(); x++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, yStart, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         if (!plot.isMerged(Direction.WEST)) {
             int x = bot.getX();
             for (int z = bot.getZ(); z < top.getZ(); z++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, yStart, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         if (!plot.isMerged(Direction.SOUTH)) {
             int z = top.getZ();
             for (int x = bot.getX(); x < top.getX() + (plot.isMerged(Direction.EAST) ? 0 : 1); x++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, yStart, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         if (!plot.isMerged(Direction.EAST)) {
             int x = top.getX();
             for (int z = bot.getZ(); z < top.getZ() + (plot.isMerged(Direction.SOUTH) ? 0 : 1); z++) {
-                for (int y = yStart; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, yStart, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         return !enqueue || queue.enqueue();
@@ -454,6 +441,7 @@ public class ClassicPlotManager extends SquarePlotManager {
         if (queue == null) {
             enqueue = true;
             queue = classicPlotWorld.getQueue();
+            queue.setPriority(QueuePriority.forActor(actor));
             if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
                 queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
             }
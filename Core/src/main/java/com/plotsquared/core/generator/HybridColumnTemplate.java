@@ -0,0 +1,268 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.BlockBucket;
+import com.plotsquared.core.queue.ZeroedDelegateScopedQueueCoordinator;
+import com.plotsquared.core.util.MathMan;
+import com.plotsquared.core.util.PatternUtil;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The blocks and biomes {@link HybridGen} generates in the columns of a {@link HybridPlotWorld}. The plot grid repeats
+ * every {@link HybridPlotWorld#SIZE} blocks, so each column only depends on its position within the grid and is
+ * computed once per world rather than once per generated chunk. Identical columns share the same instance.
+ * <p>
+ * Templates are immutable and may be used by several world generation threads at once.
+ */
+final class HybridColumnTemplate {
+
+    // Don't keep templates for absurdly large plots around, these are generated per chunk instead
+    private static final int MAX_COLUMNS = 1 << 20;
+
+    private final int size;
+    private final Column[] columns;
+
+    private HybridColumnTemplate(final int size, final Column @NonNull [] columns) {
+        this.size = size;
+        this.columns = columns;
+    }
+
+    /**
+     * Compute the template for a world.
+     *
+     * @param world world to compute the template for
+     * @return the template, or {@code null} if the world uses a block pattern that doesn't always produce the same
+     *         block, or has plots too large to keep a template for
+     */
+    static @Nullable HybridColumnTemplate create(final @NonNull HybridPlotWorld world) {
+        final int size = world.SIZE;
+        if (size <= 0 || (long) size * size > MAX_COLUMNS) {
+            return null;
+        }
+        final BaseBlock road = single(world.ROAD_BLOCK);
+        final BaseBlock wallFilling = single(world.WALL_FILLING);
+        final BaseBlock main = single(world.MAIN_BLOCK);
+        final BaseBlock top = single(world.TOP_BLOCK);
+        final boolean wallTop = world.PLACE_TOP_BLOCK && !world.ROAD_SCHEMATIC_ENABLED;
+        final BaseBlock wall = wallTop ? single(world.WALL_BLOCK) : null;
+        if (road == null || wallFilling == null || main == null || top == null || (wallTop && wall == null)) {
+            return null;
+        }
+        final int minY = Math.min(world.getMinBuildHeight(), world.getMinGenHeight());
+        final int maxY = Math.max(world.getMaxBuildHeight(), world.getMaxGenHeight());
+        final int startY = world.getMinGenHeight() + (world.PLOT_BEDROCK ? 1 : 0);
+        final int roadSchematicY = Settings.Schematics.PASTE_ROAD_ON_TOP ? world.SCHEM_Y : world.getMinBuildHeight();
+        final int plotSchematicY = Settings.Schematics.PASTE_ON_TOP ? world.SCHEM_Y : world.getMinBuildHeight();
+
+        final BaseBlock[] column = new BaseBlock[maxY - minY + 1];
+        final Column[] columns = new Column[size * size];
+        final Map<Column, Column> distinct = new HashMap<>();
+        for (short x = 0; x < size; x++) {
+            final boolean roadX = world.ROAD_WIDTH != 0 && (x < world.PATH_WIDTH_LOWER || x > world.PATH_WIDTH_UPPER);
+            final boolean wallX = world.ROAD_WIDTH != 0 && (x == world.PATH_WIDTH_LOWER || x == world.PATH_WIDTH_UPPER);
+            for (short z = 0; z < size; z++) {
+                final boolean roadZ = world.ROAD_WIDTH != 0 && (z < world.PATH_WIDTH_LOWER || z > world.PATH_WIDTH_UPPER);
+                final boolean wallZ = world.ROAD_WIDTH != 0 && (z == world.PATH_WIDTH_LOWER || z == world.PATH_WIDTH_UPPER);
+                Arrays.fill(column, null);
+                if (world.PLOT_BEDROCK) {
+                    fill(column, minY, world.getMinGenHeight(), world.getMinGenHeight(), BlockTypes.BEDROCK.getDefaultState()
+                            .toBaseBlock());
+                }
+                BiomeType biome = null;
+                if (roadX || roadZ) {
+                    fill(column, minY, startY, world.ROAD_HEIGHT, road);
+                    if (world.ROAD_SCHEMATIC_ENABLED) {
+                        biome = schematic(world, column, minY, roadSchematicY, x, z);
+                    }
+                } else if (wallX || wallZ) {
+                    fill(column, minY, startY, world.WALL_HEIGHT, wallFilling);
+                    if (world.ROAD_SCHEMATIC_ENABLED) {
+                        biome = schematic(world, column, minY, roadSchematicY, x, z);
+                    } else if (wallTop) {
+                        fill(column, minY, world.WALL_HEIGHT + 1, world.WALL_HEIGHT + 1, wall);
+                    }
+                } else {
+                    fill(column, minY, startY, world.PLOT_HEIGHT - 1, main);
+                    fill(column, minY, world.PLOT_HEIGHT, world.PLOT_HEIGHT, top);
+                    if (world.PLOT_SCHEMATIC) {
+                        biome = schematic(world, column, minY, plotSchematicY, x, z);
+                    }
+                }
+                columns[x * size + z] = distinct.computeIfAbsent(Column.of(column, minY, biome), c -> c);
+            }
+        }
+        return new HybridColumnTemplate(size, columns);
+    }
+
+    private static @Nullable BaseBlock single(final @NonNull BlockBucket bucket) {
+        return PatternUtil.getSingleBlock(bucket.toPattern());
+    }
+
+    private static void fill(final BaseBlock[] column, final int minY, final int from, final int to, final BaseBlock block) {
+        final int start = Math.max(0, from - minY);
+        final int end = Math.min(column.length - 1, to - minY);
+        if (start <= end) {
+            Arrays.fill(column, start, end + 1, block);
+        }
+    }
+
+    private static @Nullable BiomeType schematic(
+            final @NonNull HybridPlotWorld world,
+            final BaseBlock @NonNull [] column,
+            final int minY,
+            final int schematicY,
+            final short x,
+            final short z
+    ) {
+        final int pair = MathMan.pair(x, z);
+        final BaseBlock[] blocks = world.G_SCH.get(pair);
+        if (blocks != null) {
+            for (int y = 0; y < blocks.length; y++) {
+                if (blocks[y] != null) {
+                    fill(column, minY, schematicY + y, schematicY + y, blocks[y]);
+                }
+            }
+        }
+        return world.G_SCH_B.get(pair);
+    }
+
+    /**
+     * Generate a chunk.
+     *
+     * @param result          chunk to generate
+     * @param relativeOffsetX position of the chunk's minimum x coordinate within the plot grid
+     * @param relativeOffsetZ position of the chunk's minimum z coordinate within the plot grid
+     * @param biomes          whether to set the biomes of schematics
+     */
+    void generate(
+            final @NonNull ZeroedDelegateScopedQueueCoordinator result,
+            final int relativeOffsetX,
+            final int relativeOffsetZ,
+            final boolean biomes
+    ) {
+        int relativeX = relativeOffsetX;
+        for (int x = 0; x < 16; x++, relativeX++) {
+            if (relativeX >= this.size) {
+                relativeX -= this.size;
+            }
+            final int row = relativeX * this.size;
+            int relativeZ = relativeOffsetZ;
+            for (int z = 0; z < 16; z++, relativeZ++) {
+                if (relativeZ >= this.size) {
+                    relativeZ -= this.size;
+                }
+                this.columns[row + relativeZ].generate(result, x, z, biomes);
+            }
+        }
+    }
+
+    /**
+     * Runs of equal blocks in a column, from bottom to top.
+     */
+    private static final class Column {
+
+        private final int[] runs;
+        private final BaseBlock[] blocks;
+        private final BiomeType biome;
+        private final int hash;
+
+        private Column(final int[] runs, final BaseBlock[] blocks, final @Nullable BiomeType biome) {
+            this.runs = runs;
+            this.blocks = blocks;
+            this.biome = biome;
+            this.hash = 31 * (31 * Arrays.hashCode(runs) + Arrays.hashCode(blocks)) + Objects.hashCode(biome);
+        }
+
+        private static Column of(final BaseBlock[] column, final int minY, final @Nullable BiomeType biome) {
+            final List<BaseBlock> blocks = new ArrayList<>();
+            int[] runs = new int[16];
+            int count = 0;
+            for (int i = 0; i < column.length; ) {
+                final BaseBlock block = column[i];
+                int end = i;
+                while (end + 1 < column.length && column[end + 1] != null && column[end + 1].equals(block)) {
+                    end++;
+                }
+                if (block != null) {
+                    if (count * 2 == runs.length) {
+                        runs = Arrays.copyOf(runs, runs.length * 2);
+                    }
+                    runs[count * 2] = minY + i;
+                    runs[count * 2 + 1] = minY + end;
+                    blocks.add(block);
+                    count++;
+                }
+                i = end + 1;
+            }
+            return new Column(Arrays.copyOf(runs, count * 2), blocks.toArray(new BaseBlock[0]), biome);
+        }
+
+        private void generate(
+                final @NonNull ZeroedDelegateScopedQueueCoordinator result,
+                final int x,
+                final int z,
+                final boolean biomes
+        ) {
+            for (int i = 0; i < this.blocks.length; i++) {
+                final int from = this.runs[i * 2];
+                final int to = this.runs[i * 2 + 1];
+                if (from == to) {
+                    result.setBlock(x, from, z, this.blocks[i]);
+                } else {
+                    result.setColumn(x, z, from, to, this.blocks[i]);
+                }
+            }
+            if (biomes && this.biome != null) {
+                result.setBiome(x, z, this.biome);
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Column other)) {
+                return false;
+            }
+            return this.hash == other.hash && Arrays.equals(this.runs, other.runs)
+                    && Arrays.equals(this.blocks, other.blocks) && Objects.equals(this.biome, other.biome);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+}
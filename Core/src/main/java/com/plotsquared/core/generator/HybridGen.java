@@ -104,6 +104,23 @@ public class HybridGen extends IndependentPlotGenerator {
         if (biomes) {
             result.fillBiome(hybridPlotWorld.getPlotBiome());
         }
+        // Coords
+        Location min = result.getMin();
+        int bx = min.getX() - hybridPlotWorld.ROAD_OFFSET_X;
+        int bz = min.getZ() - hybridPlotWorld.ROAD_OFFSET_Z;
+
+        // The relative X-coordinate (within the plot) of the minimum X coordinate
+        // contained in the scoped queue
+        short relativeOffsetX = (short) Math.floorMod(bx, hybridPlotWorld.SIZE);
+        // The relative Z-coordinate (within the plot) of the minimum Z coordinate
+        // contained in the scoped queue
+        short relativeOffsetZ = (short) Math.floorMod(bz, hybridPlotWorld.SIZE);
+
+        HybridColumnTemplate template = hybridPlotWorld.getColumnTemplate();
+        if (template != null) {
+            template.generate(result, relativeOffsetX, relativeOffsetZ, biomes);
+            return;
+        }
         // Bedrock
         if (hybridPlotWorld.PLOT_BEDROCK) {
             for (short x = 0; x < 16; x++) {
@@ -119,18 +136,6 @@ public class HybridGen extends IndependentPlotGenerator {
             plotFeatures.add(SchematicFeature.BIOMES);
         }
 
-        // Coords
-        Location min = result.getMin();
-        int bx = min.getX() - hybridPlotWorld.ROAD_OFFSET_X;
-        int bz = min.getZ() - hybridPlotWorld.ROAD_OFFSET_Z;
-
-        // The relative X-coordinate (within the plot) of the minimum X coordinate
-        // contained in the scoped queue
-        short relativeOffsetX = (short) Math.floorMod(bx, hybridPlotWorld.SIZE);
-        // The relative Z-coordinate (within the plot) of the minimum Z coordinate
-        // contained in the scoped queue
-        short relativeOffsetZ = (short) Math.floorMod(bz, hybridPlotWorld.SIZE);
-
         // The X-coordinate of a given X coordinate, relative to the
         // plot (Counting from the corner with the least positive
         // coordinates)
@@ -173,9 +178,7 @@ public class HybridGen extends IndependentPlotGenerator {
             if (insideRoadX[x]) {
                 for (short z = 0; z < 16; z++) {
                     // Road
-                    for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                        result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                    }
+                    result.setColumn(x, z, startY, hybridPlotWorld.ROAD_HEIGHT, hybridPlotWorld.ROAD_BLOCK.toPattern());
                     if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                         placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
                     }
@@ -184,17 +187,13 @@ public class HybridGen extends IndependentPlotGenerator {
                 for (short z = 0; z < 16; z++) {
                     if (insideRoadZ[z]) {
                         // road
-                        for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.ROAD_HEIGHT, hybridPlotWorld.ROAD_BLOCK.toPattern());
                         if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
                         }
                     } else {
                         // wall
-                        for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.WALL_HEIGHT, hybridPlotWorld.WALL_FILLING.toPattern());
                         if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             if (hybridPlotWorld.PLACE_TOP_BLOCK) {
                                 result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z, hybridPlotWorld.WALL_BLOCK.toPattern());
@@ -208,17 +207,13 @@ public class HybridGen extends IndependentPlotGenerator {
                 for (short z = 0; z < 16; z++) {
                     if (insideRoadZ[z]) {
                         // road
-                        for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.ROAD_HEIGHT, hybridPlotWorld.ROAD_BLOCK.toPattern());
                         if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, roadFeatures);
                         }
                     } else if (insideWallZ[z]) {
                         // wall
-                        for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.WALL_HEIGHT, hybridPlotWorld.WALL_FILLING.toPattern());
                         if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             if (hybridPlotWorld.PLACE_TOP_BLOCK) {
                                 result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z, hybridPlotWorld.WALL_BLOCK.toPattern());
@@ -228,9 +223,7 @@ public class HybridGen extends IndependentPlotGenerator {
                         }
                     } else {
                         // plot
-                        for (int y = startY; y < hybridPlotWorld.PLOT_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.MAIN_BLOCK.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.PLOT_HEIGHT - 1, hybridPlotWorld.MAIN_BLOCK.toPattern());
                         result.setBlock(x, hybridPlotWorld.PLOT_HEIGHT, z, hybridPlotWorld.TOP_BLOCK.toPattern());
                         if (hybridPlotWorld.PLOT_SCHEMATIC) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, plotFeatures);
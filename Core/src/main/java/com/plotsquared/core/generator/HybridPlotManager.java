@@ -30,6 +30,7 @@ import com.plotsquared.core.plot.PlotAreaTerrainType;
 import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.FileBytes;
 import com.plotsquared.core.util.FileUtils;
 import com.plotsquared.core.util.MathMan;
@@ -285,6 +286,7 @@ public class HybridPlotManager extends ClassicPlotManager {
         if (queue == null) {
             enqueue = true;
             queue = hybridPlotWorld.getQueue();
+            queue.setPriority(QueuePriority.forActor(actor));
         }
         if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
             queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
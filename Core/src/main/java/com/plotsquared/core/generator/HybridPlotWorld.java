@@ -61,6 +61,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 public class HybridPlotWorld extends ClassicPlotWorld {
 
@@ -87,6 +88,11 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     private boolean schem1PopulationNeeded = false;
     private boolean schem2PopulationNeeded = false;
     private boolean schem3PopulationNeeded = false;
+    // Empty if the world can't use a template, null if it hasn't been computed yet
+    private volatile Optional<HybridColumnTemplate> columnTemplate;
+    // Incremented before and after the schematics are (re)loaded, so it is odd while they are incomplete
+    private volatile int schematicVersion;
+    private final Object columnTemplateLock = new Object();
 
     @Inject
     private SchematicHandler schematicHandler;
@@ -137,6 +143,31 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         return BlockTransformExtent.transform(id, transform);
     }
 
+    /**
+     * Get the blocks generated in each column of the plot grid, computing them if necessary.
+     *
+     * @return the template, or {@code null} if chunks of this world have to be generated block by block
+     */
+    @Nullable HybridColumnTemplate getColumnTemplate() {
+        final int version = this.schematicVersion;
+        if ((version & 1) != 0) {
+            // The schematics are being loaded, don't build a template from incomplete data
+            return null;
+        }
+        Optional<HybridColumnTemplate> template = this.columnTemplate;
+        if (template == null) {
+            // Generation threads may compute the template concurrently, but the results are equal
+            template = Optional.ofNullable(HybridColumnTemplate.create(this));
+            synchronized (this.columnTemplateLock) {
+                // Only keep it if the schematics haven't been reloaded while it was computed
+                if (this.schematicVersion == version) {
+                    this.columnTemplate = template;
+                }
+            }
+        }
+        return template.orElse(null);
+    }
+
     @NonNull
     @Override
     protected PlotManager createManager() {
@@ -210,6 +241,21 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     }
 
     public void setupSchematics() throws SchematicHandler.UnsupportedFormatException {
+        synchronized (this.columnTemplateLock) {
+            this.schematicVersion++;
+        }
+        try {
+            loadSchematics();
+        } finally {
+            // Only drop the template once the schematics are complete, so it can't be rebuilt from partial data
+            synchronized (this.columnTemplateLock) {
+                this.columnTemplate = null;
+                this.schematicVersion++;
+            }
+        }
+    }
+
+    private void loadSchematics() throws SchematicHandler.UnsupportedFormatException {
         this.G_SCH = new HashMap<>();
         this.G_SCH_B = new HashMap<>();
 
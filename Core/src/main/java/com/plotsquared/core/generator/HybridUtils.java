@@ -37,6 +37,7 @@ import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.queue.BlockArrayCacheScopedQueueCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.ChunkManager;
 import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.MathMan;
@@ -53,7 +54,6 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
-import com.sk89q.worldedit.world.block.BlockType;
 import com.sk89q.worldedit.world.block.BlockTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -69,6 +69,9 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -96,6 +99,8 @@ public class HybridUtils {
     private final WorldUtil worldUtil;
     private final SchematicHandler schematicHandler;
     private final EventDispatcher eventDispatcher;
+    // Bounds the chunk copies waiting to be analyzed by the pool. Further chunks are analyzed right away
+    private final Semaphore analysisPermits = new Semaphore(Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2));
 
     @Inject
     public HybridUtils(
@@ -119,6 +124,14 @@ public class HybridUtils {
         plotManager.regenerateAllPlotWalls(null);
     }
 
+    /**
+     * Analyze a region of a plot world. {@code whenDone} is run on the main thread, with a {@code null} value if the
+     * region could not be analyzed.
+     *
+     * @param world    world name
+     * @param region   region to analyze
+     * @param whenDone task to run with the analysis
+     */
     public void analyzeRegion(final String world, final CuboidRegion region, final RunnableVal<PlotAnalysis> whenDone) {
         // int diff, int variety, int vertices, int rotation, int height_sd
         /*
@@ -135,6 +148,10 @@ public class HybridUtils {
         TaskManager.runTaskAsync(() -> {
             final PlotArea area = this.plotAreaManager.getPlotArea(world, null);
             if (!(area instanceof HybridPlotWorld hpw)) {
+                TaskManager.runTask(() -> {
+                    whenDone.value = null;
+                    whenDone.run();
+                });
                 return;
             }
 
@@ -154,24 +171,11 @@ public class HybridUtils {
             final int height = area.getMaxGenHeight() - area.getMinGenHeight() + 1;
             final int minHeight = area.getMinGenHeight();
 
-            final BlockState[][][] newBlocks = new BlockState[height][width][length];
-
-            BlockArrayCacheScopedQueueCoordinator oldBlockQueue = new BlockArrayCacheScopedQueueCoordinator(
-                    Location.at("", region.getMinimumPoint().withY(hpw.getMinGenHeight())),
-                    Location.at("", region.getMaximumPoint().withY(hpw.getMaxGenHeight()))
-            );
-
-            region.getChunks().forEach(chunkPos -> {
-                int relChunkX = chunkPos.getX() - cbx;
-                int relChunkZ = chunkPos.getZ() - cbz;
-                oldBlockQueue.setOffsetX(relChunkX << 4);
-                oldBlockQueue.setOffsetZ(relChunkZ << 4);
-                hpw.getGenerator().generateChunk(oldBlockQueue, hpw, false);
-            });
-
-            final BlockState[][][] oldBlocks = oldBlockQueue.getBlockStates();
+            final RegionAnalysis analysis = new RegionAnalysis(width, length, height, BlockTypes.AIR);
+            final List<CompletableFuture<Void>> analyzedChunks = Collections.synchronizedList(new ArrayList<>());
 
             QueueCoordinator queue = area.getQueue();
+            queue.setPriority(QueuePriority.BACKGROUND);
             queue.addReadChunks(region.getChunks());
             queue.setChunkConsumer(chunkPos -> {
                 int X = chunkPos.getX();
@@ -204,118 +208,73 @@ public class HybridUtils {
                 int chunkBlockX = X << 4;
                 int chunkBlockZ = Z << 4;
 
-                int xb = chunkBlockX - bx;
-                int zb = chunkBlockZ - bz;
+                // Only copy the blocks on the main thread, everything else is done by the pool
+                int sizeX = maxX - minX + 1;
+                int sizeZ = maxZ - minZ + 1;
+                final BlockState[] blocks = new BlockState[sizeX * sizeZ * height];
+                int i = 0;
                 for (int x = minX; x <= maxX; x++) {
                     int xx = chunkBlockX + x;
                     for (int z = minZ; z <= maxZ; z++) {
                         int zz = chunkBlockZ + z;
                         for (int yIndex = 0; yIndex < height; yIndex++) {
-                            int y = yIndex + minHeight;
-                            BlockState block = queue.getBlock(xx, y, zz);
-                            if (block == null) {
-                                block = AIR;
-                            }
-                            int xr = xb + x;
-                            int zr = zb + z;
-                            newBlocks[yIndex][xr][zr] = block;
+                            BlockState block = queue.getBlock(xx, yIndex + minHeight, zz);
+                            blocks[i++] = block == null ? AIR : block;
                         }
                     }
                 }
+                final Location min = Location.at("", BlockVector3.at(chunkBlockX + minX, minHeight, chunkBlockZ + minZ));
+                final Location max = Location.at("", BlockVector3.at(chunkBlockX + maxX, hpw.getMaxGenHeight(), chunkBlockZ + maxZ));
+                final Runnable analyzeChunk = () -> {
+                    BlockArrayCacheScopedQueueCoordinator oldBlocks = new BlockArrayCacheScopedQueueCoordinator(min, max);
+                    hpw.getGenerator().generateChunk(oldBlocks, hpw, false);
+                    analysis.analyze(
+                            min.getX() - bx,
+                            min.getZ() - bz,
+                            sizeX,
+                            sizeZ,
+                            blocks,
+                            oldBlocks.getBlockStates()
+                    );
+                };
+                if (this.analysisPermits.tryAcquire()) {
+                    analyzedChunks.add(CompletableFuture
+                            .runAsync(analyzeChunk, ForkJoinPool.commonPool())
+                            .whenComplete((ignored, throwable) -> this.analysisPermits.release()));
+                } else {
+                    // The pool is behind, so don't hold on to more copies than it has permits for
+                    analyzedChunks.add(CompletableFuture.runAsync(analyzeChunk, Runnable::run));
+                }
             });
 
-            final Runnable run = () -> {
-                int size = width * length;
-                int[] changes = new int[size];
-                int[] faces = new int[size];
-                int[] data = new int[size];
-                int[] air = new int[size];
-                int[] variety = new int[size];
-                int i = 0;
-                for (int x = 0; x < width; x++) {
-                    for (int z = 0; z < length; z++) {
-                        Set<BlockType> types = new HashSet<>();
-                        for (int yIndex = 0; yIndex < height; yIndex++) {
-                            BlockState old = oldBlocks[yIndex][x][z]; // Nullable
-                            BlockState now = newBlocks[yIndex][x][z]; // Not null
-                            if (now == null) {
-                                throw new NullPointerException(String.format(
-                                        "\"now\" block null attempting to perform plot analysis. Indexes: x=%d of %d, yIndex=%d" +
-                                                " of %d, z=%d of %d",
-                                        x,
-                                        width,
-                                        yIndex,
-                                        height,
-                                        z,
-                                        length
-                                ));
-                            }
-                            if (!now.equals(old) && !(old == null && now.getBlockType().equals(BlockTypes.AIR))) {
-                                changes[i]++;
-                            }
-                            if (now.getBlockType().getMaterial().isAir()) {
-                                air[i]++;
-                            } else {
-                                // check vertices
-                                // modifications_adjacent
-                                if (x > 0 && z > 0 && yIndex > 0 && x < width - 1 && z < length - 1 && yIndex < (height - 1)) {
-                                    if (newBlocks[yIndex - 1][x][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x - 1][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x][z - 1].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex + 1][x][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x + 1][z].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                    if (newBlocks[yIndex][x][z + 1].getBlockType().getMaterial().isAir()) {
-                                        faces[i]++;
-                                    }
-                                }
-
-                                if (!now.equals(now.getBlockType().getDefaultState())) {
-                                    data[i]++;
-                                }
-                                types.add(now.getBlockType());
-                            }
+            final Runnable run = () -> CompletableFuture
+                    .allOf(analyzedChunks.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(ignored -> analysis.complete(), ForkJoinPool.commonPool())
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            LOGGER.error("Failed to analyze region {} in world {}", region, world, throwable);
                         }
-                        variety[i] = types.size();
-                        i++;
-                    }
-                }
-                // analyze plot
-                // put in analysis obj
-
-                // run whenDone
-                PlotAnalysis analysis = new PlotAnalysis();
-                analysis.changes = (int) (MathMan.getMean(changes) * 100);
-                analysis.faces = (int) (MathMan.getMean(faces) * 100);
-                analysis.data = (int) (MathMan.getMean(data) * 100);
-                analysis.air = (int) (MathMan.getMean(air) * 100);
-                analysis.variety = (int) (MathMan.getMean(variety) * 100);
-
-                analysis.changes_sd = (int) (MathMan.getSD(changes, analysis.changes) * 100);
-                analysis.faces_sd = (int) (MathMan.getSD(faces, analysis.faces) * 100);
-                analysis.data_sd = (int) (MathMan.getSD(data, analysis.data) * 100);
-                analysis.air_sd = (int) (MathMan.getSD(air, analysis.air) * 100);
-                analysis.variety_sd = (int) (MathMan.getSD(variety, analysis.variety) * 100);
-                whenDone.value = analysis;
-                whenDone.run();
-            };
+                        TaskManager.runTask(() -> {
+                            whenDone.value = result;
+                            whenDone.run();
+                        });
+                    });
             queue.setCompleteTask(run);
             queue.enqueue();
         });
     }
 
+    /**
+     * Analyze all regions of a plot, and store the result in its {@link AnalysisFlag}. {@code whenDone} is run on the
+     * main thread, with a {@code null} value if the plot could not be analyzed.
+     *
+     * @param origin   plot to analyze
+     * @param whenDone task to run with the analysis
+     */
     public void analyzePlot(final Plot origin, final RunnableVal<PlotAnalysis> whenDone) {
         final ArrayDeque<CuboidRegion> zones = new ArrayDeque<>(origin.getRegions());
         final ArrayList<PlotAnalysis> analysis = new ArrayList<>();
+        final int modifications = origin.getModificationCount();
         Runnable run = new Runnable() {
             @Override
             public void run() {
@@ -347,20 +306,10 @@ public class HybridUtils {
                     } else {
                         whenDone.value = analysis.get(0);
                     }
-                    List<Integer> result = new ArrayList<>();
-                    result.add(whenDone.value.changes);
-                    result.add(whenDone.value.faces);
-                    result.add(whenDone.value.data);
-                    result.add(whenDone.value.air);
-                    result.add(whenDone.value.variety);
-
-                    result.add(whenDone.value.changes_sd);
-                    result.add(whenDone.value.faces_sd);
-                    result.add(whenDone.value.data_sd);
-                    result.add(whenDone.value.air_sd);
-                    result.add(whenDone.value.variety_sd);
+                    // Blocks changed while the analysis was running may or may not have been seen
+                    whenDone.value.modified = origin.getModificationCount() != modifications;
                     PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlag(AnalysisFlag.class).createFlagInstance(
-                            result);
+                            whenDone.value.asList());
                     PlotFlagAddEvent event = eventDispatcher.callFlagAdd(plotFlag, origin);
                     if (event.getEventResult() == Result.DENY) {
                         return;
@@ -374,6 +323,11 @@ public class HybridUtils {
                 analyzeRegion(origin.getWorldName(), region, new RunnableVal<>() {
                     @Override
                     public void run(PlotAnalysis value) {
+                        if (value == null) {
+                            whenDone.value = null;
+                            whenDone.run();
+                            return;
+                        }
                         analysis.add(value);
                         TaskManager.runTaskLater(task, TaskTime.ticks(1L));
                     }
@@ -432,6 +386,7 @@ public class HybridUtils {
                 if (!UPDATE) {
                     Iterator<BlockVector2> iter = chunks.iterator();
                     QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                    queue.setPriority(QueuePriority.BACKGROUND);
                     while (iter.hasNext()) {
                         BlockVector2 chunk = iter.next();
                         iter.remove();
@@ -474,6 +429,7 @@ public class HybridUtils {
                                     Iterator<BlockVector2> iterator = chunks.iterator();
                                     if (chunks.size() >= 32) {
                                         QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                                        queue.setPriority(QueuePriority.BACKGROUND);
                                         for (int i = 0; i < 32; i++) {
                                             final BlockVector2 chunk = iterator.next();
                                             iterator.remove();
@@ -487,6 +443,7 @@ public class HybridUtils {
                                         return null;
                                     }
                                     QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(area.getWorldName()));
+                                    queue.setPriority(QueuePriority.BACKGROUND);
                                     while (!chunks.isEmpty()) {
                                         final BlockVector2 chunk = iterator.next();
                                         iterator.remove();
@@ -627,6 +584,7 @@ public class HybridUtils {
         final QueueCoordinator queue;
         if (queueCoordinator == null) {
             queue = this.blockQueue.getNewQueue(worldUtil.getWeWorld(plotWorld.getWorldName()));
+            queue.setPriority(QueuePriority.BACKGROUND);
             enqueue = true;
         } else {
             queue = queueCoordinator;
@@ -0,0 +1,178 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.plotsquared.core.util.MathMan;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Accumulates the {@link PlotAnalysis} of a region one chunk at a time. Only primitive counters per column and a bitmap
+ * of the air blocks are kept for the whole region, so the blocks of a chunk can be discarded as soon as it's analyzed.
+ * <p>
+ * Chunks may be analyzed concurrently, as long as they don't overlap. Each column's air bits occupy whole words of the
+ * bitmap for that reason.
+ */
+final class RegionAnalysis {
+
+    private final int width;
+    private final int length;
+    private final int height;
+    private final BlockType emptyType;
+    private final int words;
+    private final long[] air;
+    // Air bits of the blocks that can have faces, i.e. not in the lowest or highest layer
+    private final long[] inner;
+    private final int[] changes;
+    private final int[] data;
+    private final int[] airCount;
+    private final int[] variety;
+
+    /**
+     * Create a new analysis.
+     *
+     * @param width     size of the region along the x-axis
+     * @param length    size of the region along the z-axis
+     * @param height    number of layers of the region
+     * @param emptyType the block type that is not a change where the generated blocks are empty
+     */
+    RegionAnalysis(final int width, final int length, final int height, final @NonNull BlockType emptyType) {
+        this.width = width;
+        this.length = length;
+        this.height = height;
+        this.emptyType = emptyType;
+        this.words = (height + 63) >>> 6;
+        final int columns = width * length;
+        this.air = new long[columns * this.words];
+        this.inner = new long[this.words];
+        for (int y = 1; y < height - 1; y++) {
+            this.inner[y >>> 6] |= 1L << y;
+        }
+        this.changes = new int[columns];
+        this.data = new int[columns];
+        this.airCount = new int[columns];
+        this.variety = new int[columns];
+    }
+
+    /**
+     * Analyze a part of the region.
+     *
+     * @param minX    x-coordinate of the part, relative to the region
+     * @param minZ    z-coordinate of the part, relative to the region
+     * @param sizeX   size of the part along the x-axis
+     * @param sizeZ   size of the part along the z-axis
+     * @param current current blocks of the part, indexed by {@code (x * sizeZ + z) * height + y}
+     * @param initial generated blocks of the part, indexed by {@code [y][x][z]}. May contain {@code null}
+     */
+    void analyze(
+            final int minX,
+            final int minZ,
+            final int sizeX,
+            final int sizeZ,
+            final BlockState @NonNull [] current,
+            final BlockState @NonNull [][][] initial
+    ) {
+        final Set<BlockType> types = new HashSet<>();
+        for (int x = 0; x < sizeX; x++) {
+            for (int z = 0; z < sizeZ; z++) {
+                final int column = (minX + x) * this.length + minZ + z;
+                final int offset = (x * sizeZ + z) * this.height;
+                final int airOffset = column * this.words;
+                types.clear();
+                for (int y = 0; y < this.height; y++) {
+                    final BlockState now = current[offset + y];
+                    final BlockState old = initial[y][x][z];
+                    final BlockType type = now.getBlockType();
+                    if (!now.equals(old) && !(old == null && type.equals(this.emptyType))) {
+                        this.changes[column]++;
+                    }
+                    if (type.getMaterial().isAir()) {
+                        this.airCount[column]++;
+                        this.air[airOffset + (y >>> 6)] |= 1L << y;
+                    } else {
+                        if (!now.equals(type.getDefaultState())) {
+                            this.data[column]++;
+                        }
+                        types.add(type);
+                    }
+                }
+                this.variety[column] = types.size();
+            }
+        }
+    }
+
+    /**
+     * Compute the result once all chunks have been analyzed.
+     *
+     * @return the analysis
+     */
+    @NonNull PlotAnalysis complete() {
+        final int[] faces = new int[this.width * this.length];
+        // Faces are the sides of solid blocks touching air, which only blocks surrounded by other blocks of the region have
+        IntStream.range(1, this.width - 1).parallel().forEach(x -> {
+            for (int z = 1; z < this.length - 1; z++) {
+                final int column = x * this.length + z;
+                faces[column] = countFaces(column);
+            }
+        });
+        PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = (int) (MathMan.getMean(this.changes) * 100);
+        analysis.faces = (int) (MathMan.getMean(faces) * 100);
+        analysis.data = (int) (MathMan.getMean(this.data) * 100);
+        analysis.air = (int) (MathMan.getMean(this.airCount) * 100);
+        analysis.variety = (int) (MathMan.getMean(this.variety) * 100);
+
+        analysis.changes_sd = (int) (MathMan.getSD(this.changes, analysis.changes) * 100);
+        analysis.faces_sd = (int) (MathMan.getSD(faces, analysis.faces) * 100);
+        analysis.data_sd = (int) (MathMan.getSD(this.data, analysis.data) * 100);
+        analysis.air_sd = (int) (MathMan.getSD(this.airCount, analysis.air) * 100);
+        analysis.variety_sd = (int) (MathMan.getSD(this.variety, analysis.variety) * 100);
+        return analysis;
+    }
+
+    private int countFaces(final int column) {
+        final int offset = column * this.words;
+        final int west = offset - this.length * this.words;
+        final int east = offset + this.length * this.words;
+        final int north = offset - this.words;
+        final int south = offset + this.words;
+        int faces = 0;
+        for (int i = 0; i < this.words; i++) {
+            final long air = this.air[offset + i];
+            final long solid = ~air & this.inner[i];
+            if (solid == 0) {
+                continue;
+            }
+            // Air below and above, carrying bits across words
+            final long below = (air << 1) | (i > 0 ? this.air[offset + i - 1] >>> 63 : 0);
+            final long above = (air >>> 1) | (i < this.words - 1 ? this.air[offset + i + 1] << 63 : 0);
+            faces += Long.bitCount(solid & below) + Long.bitCount(solid & above)
+                    + Long.bitCount(solid & this.air[west + i]) + Long.bitCount(solid & this.air[east + i])
+                    + Long.bitCount(solid & this.air[north + i]) + Long.bitCount(solid & this.air[south + i]);
+        }
+        return faces;
+    }
+
+}
@@ -25,7 +25,6 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
-import com.plotsquared.core.util.HashUtil;
 import com.plotsquared.core.util.RegionManager;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import org.apache.logging.log4j.LogManager;
@@ -151,6 +150,12 @@ public abstract class SquarePlotManager extends GridPlotManager {
 
     @Override
     public PlotId getPlotId(int x, int y, int z) {
+        final long packed = getPlotIdPacked(x, y, z);
+        return packed == NO_PLOT_ID ? null : PlotId.fromLong(packed);
+    }
+
+    @Override
+    public long getPlotIdPacked(int x, int y, int z) {
         try {
             x -= squarePlotWorld.ROAD_OFFSET_X;
             z -= squarePlotWorld.ROAD_OFFSET_Z;
@@ -172,56 +177,34 @@ public abstract class SquarePlotManager extends GridPlotManager {
             int rx = Math.floorMod(x, size);
             int dz = Math.floorDiv(z, size) + 1;
             int rz = Math.floorMod(z, size);
-            PlotId id = PlotId.of(dx, dz);
-            boolean[] merged = new boolean[]{rz <= pathWidthLower, rx > end, rz > end, rx <= pathWidthLower};
-            int hash = HashUtil.hash(merged);
+            long id = PlotId.toLong(dx, dz);
+            // Same layout as HashUtil#hash(boolean[]) for {north, east, south, west}
+            int hash = (rz <= pathWidthLower ? 8 : 0) | (rx > end ? 4 : 0) | (rz > end ? 2 : 0) | (rx <= pathWidthLower ? 1 : 0);
             // Not merged, and no need to check if it is
             if (hash == 0) {
                 return id;
             }
-            Plot plot = squarePlotWorld.getOwnedPlotAbs(id);
+            Plot plot = squarePlotWorld.getOwnedPlotAbs(dx, dz);
             // Not merged, and standing on road
             if (plot == null) {
-                return null;
-            }
-            switch (hash) {
-                case 8 -> {
-                    // north
-                    return plot.isMerged(Direction.NORTH) ? id : null;
-                }
-                case 4 -> {
-                    // east
-                    return plot.isMerged(Direction.EAST) ? id : null;
-                }
-                case 2 -> {
-                    // south
-                    return plot.isMerged(Direction.SOUTH) ? id : null;
-                }
-                case 1 -> {
-                    // west
-                    return plot.isMerged(Direction.WEST) ? id : null;
-                }
-                case 12 -> {
-                    // northeast
-                    return plot.isMerged(Direction.NORTHEAST) ? id : null;
-                }
-                case 6 -> {
-                    // southeast
-                    return plot.isMerged(Direction.SOUTHEAST) ? id : null;
-                }
-                case 3 -> {
-                    // southwest
-                    return plot.isMerged(Direction.SOUTHWEST) ? id : null;
-                }
-                case 9 -> {
-                    // northwest
-                    return plot.isMerged(Direction.NORTHWEST) ? id : null;
-                }
+                return NO_PLOT_ID;
             }
+            final Direction direction = switch (hash) {
+                case 8 -> Direction.NORTH;
+                case 4 -> Direction.EAST;
+                case 2 -> Direction.SOUTH;
+                case 1 -> Direction.WEST;
+                case 12 -> Direction.NORTHEAST;
+                case 6 -> Direction.SOUTHEAST;
+                case 3 -> Direction.SOUTHWEST;
+                case 9 -> Direction.NORTHWEST;
+                default -> null;
+            };
+            return direction != null && plot.isMerged(direction) ? id : NO_PLOT_ID;
         } catch (Exception ignored) {
             LOGGER.error("Invalid plot / road width in settings.yml for world: {}", squarePlotWorld.getWorldName());
         }
-        return null;
+        return NO_PLOT_ID;
     }
 
     /**
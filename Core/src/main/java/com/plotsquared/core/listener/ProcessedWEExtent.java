@@ -18,8 +18,8 @@
  */
 package com.plotsquared.core.listener;
 
+import com.plotsquared.core.collection.RegionMask;
 import com.plotsquared.core.configuration.Settings;
-import com.plotsquared.core.util.WEManager;
 import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.entity.BaseEntity;
@@ -44,7 +44,7 @@ import java.util.Set;
 
 public class ProcessedWEExtent extends AbstractDelegateExtent {
 
-    private final Set<CuboidRegion> mask;
+    private final RegionMask mask;
     private final String world;
     private final int max;
     private final WorldUtil worldUtil;
@@ -63,7 +63,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
             final @NonNull WorldUtil worldUtil
     ) {
         super(child);
-        this.mask = mask;
+        this.mask = RegionMask.compile(mask);
         this.world = world;
         this.worldUtil = worldUtil;
         if (max == -1) {
@@ -80,7 +80,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
 
     @Override
     public BlockState getBlock(BlockVector3 position) {
-        if (WEManager.maskContains(this.mask, position.getX(), position.getY(), position.getZ())) {
+        if (this.mask.contains(position.getX(), position.getY(), position.getZ())) {
             return super.getBlock(position);
         }
         return WEExtent.AIRSTATE;
@@ -88,7 +88,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
 
     @Override
     public BaseBlock getFullBlock(BlockVector3 position) {
-        if (WEManager.maskContains(this.mask, position.getX(), position.getY(), position.getZ())) {
+        if (this.mask.contains(position.getX(), position.getY(), position.getZ())) {
             return super.getFullBlock(position);
         }
         return WEExtent.AIRBASE;
@@ -113,7 +113,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
                 tileEntityCount[0]++;
             }
         }
-        if (WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())) {
+        if (this.mask.contains(location.getX(), location.getY(), location.getZ())) {
             if (this.count++ > this.max) {
                 if (this.parent != null) {
                     try {
@@ -143,9 +143,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
         if (this.Ecount > Settings.Chunk_Processor.MAX_ENTITIES) {
             this.Eblocked = true;
         }
-        if (WEManager.maskContains(this.mask, location.getBlockX(), location.getBlockY(),
-                location.getBlockZ()
-        )) {
+        if (this.mask.contains(location.getBlockX(), location.getBlockY(), location.getBlockZ())) {
             return super.createEntity(location, entity);
         }
         return null;
@@ -154,7 +152,7 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
     @SuppressWarnings("deprecation")
     @Override
     public boolean setBiome(BlockVector2 position, BiomeType biome) {
-        return WEManager.maskContains(this.mask, position.getX(), position.getZ()) && super
+        return this.mask.contains(position.getX(), position.getZ()) && super
                 .setBiome(position, biome);
     }
 
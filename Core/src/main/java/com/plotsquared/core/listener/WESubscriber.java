@@ -105,6 +105,13 @@ public class WESubscriber {
                     return;
                 }
             }
+            // Edits are only possible within the mask, so invalidate the stored analysis of the plots it covers
+            for (final CuboidRegion region : mask) {
+                final Plot plot = com.plotsquared.core.location.Location.at(world, region.getMinimumPoint()).getOwnedPlotAbs();
+                if (plot != null) {
+                    plot.markModified();
+                }
+            }
             if (Settings.Enabled_Components.CHUNK_PROCESSOR) {
                 if (this.plotAreaManager.hasPlotArea(world)) {
                     event.setExtent(
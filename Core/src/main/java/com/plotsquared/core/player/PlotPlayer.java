@@ -42,7 +42,6 @@ import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotWeather;
-import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.plot.world.SinglePlotAreaManager;
@@ -62,6 +61,7 @@ import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.title.Title;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -82,6 +82,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -112,6 +113,9 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
     private Locale locale;
     // Delayed initialisation
     private PermissionProfile permissionProfile;
+    // Results of hasPermissionRange, cleared when they expire or the permissions may have changed
+    private final Map<PermissionRange, Integer> permissionRanges = new ConcurrentHashMap<>();
+    private volatile long permissionRangesExpiry;
 
     public PlotPlayer(
             final @NonNull PlotAreaManager plotAreaManager, final @NonNull EventDispatcher eventDispatcher,
@@ -201,6 +205,55 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         return this.permissionProfile.hasKeyedPermission(world, permission, key);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Results are cached for {@link Settings.Limit#PERMISSION_CACHE} seconds, or until
+     * {@link #invalidatePermissionRanges()} is called.
+     */
+    @Override
+    @NonNegative
+    public int hasPermissionRange(final @NonNull String stub, @NonNegative final int range) {
+        if (Settings.Limit.PERMISSION_CACHE <= 0) {
+            return resolvePermissionRange(stub, range);
+        }
+        final long now = System.currentTimeMillis();
+        if (now >= this.permissionRangesExpiry) {
+            this.permissionRanges.clear();
+            this.permissionRangesExpiry = now + TimeUnit.SECONDS.toMillis(Settings.Limit.PERMISSION_CACHE);
+        }
+        return this.permissionRanges.computeIfAbsent(
+                new PermissionRange(stub, range),
+                key -> resolvePermissionRange(key.stub(), key.range())
+        );
+    }
+
+    /**
+     * Find the highest permission within a range, without using the cache of {@link #hasPermissionRange(String, int)}.
+     * Implementations that can enumerate the permissions of the player should override this, the default
+     * implementation checks each value of the range.
+     *
+     * @param stub  The permission stub to check e.g. for `plots.plot.#` the stub is `plots.plot`
+     * @param range The range to check
+     * @return The highest permission they have within that range
+     * @since TODO
+     */
+    @NonNegative
+    protected int resolvePermissionRange(final @NonNull String stub, @NonNegative final int range) {
+        return OfflinePlotPlayer.super.hasPermissionRange(stub, range);
+    }
+
+    /**
+     * Forget the cached results of {@link #hasPermissionRange(String, int)}, e.g. because the permissions
+     * of the player have changed.
+     *
+     * @since TODO
+     */
+    public void invalidatePermissionRanges() {
+        this.permissionRangesExpiry = 0;
+        this.permissionRanges.clear();
+    }
+
     @Override
     public final boolean hasPermission(@NonNull String permission, boolean notify) {
         if (!hasPermission(permission)) {
@@ -323,17 +376,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         }
         final AtomicInteger count = new AtomicInteger(0);
         final UUID uuid = getUUID();
-        this.plotAreaManager.forEachPlotArea(value -> {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                for (Plot plot : value.getPlotsAbs(uuid)) {
-                    if (!DoneFlag.isDone(plot)) {
-                        count.incrementAndGet();
-                    }
-                }
-            } else {
-                count.addAndGet(value.getPlotsAbs(uuid).size());
-            }
-        });
+        this.plotAreaManager.forEachPlotArea(value -> count.addAndGet(value.getPlotCount(uuid)));
         return count.get();
     }
 
@@ -362,12 +405,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         UUID uuid = getUUID();
         int count = 0;
         for (PlotArea area : this.plotAreaManager.getPlotAreasSet(world)) {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                count +=
-                        area.getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
-            } else {
-                count += area.getPlotsAbs(uuid).size();
-            }
+            count += area.getPlotCount(uuid);
         }
         return count;
     }
@@ -1095,4 +1133,8 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
 
     }
 
+    private record PermissionRange(String stub, int range) {
+
+    }
+
 }
@@ -46,7 +46,9 @@ import com.plotsquared.core.plot.flag.FlagContainer;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.InternalFlag;
 import com.plotsquared.core.plot.flag.PlotFlag;
+import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
 import com.plotsquared.core.plot.flag.implementations.DescriptionFlag;
+import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.flag.implementations.KeepFlag;
 import com.plotsquared.core.plot.flag.implementations.ServerPlotFlag;
 import com.plotsquared.core.plot.flag.types.DoubleFlag;
@@ -98,6 +100,7 @@ import java.util.TimeZone;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 
 import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
@@ -121,6 +124,8 @@ public class Plot {
     private static final DecimalFormat FLAG_DECIMAL_FORMAT = new DecimalFormat("0");
     private static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
     private static final Cleaner CLEANER = Cleaner.create();
+    private static final AtomicIntegerFieldUpdater<Plot> GEOMETRY_VERSION =
+            AtomicIntegerFieldUpdater.newUpdater(Plot.class, "geometryVersion");
 
     static {
         FLAG_DECIMAL_FORMAT.setMaximumFractionDigits(340);
@@ -129,7 +134,7 @@ public class Plot {
     /**
      * Plot flag container
      */
-    private final FlagContainer flagContainer = new FlagContainer(null);
+    private final FlagContainer flagContainer = new FlagContainer(null, this::handleFlagUpdate);
     /**
      * Utility used to manage plot comments
      */
@@ -205,6 +210,19 @@ public class Plot {
     private Plot origin;
 
     private Set<Plot> connectedCache;
+    /**
+     * The cached regions of this plot. For merged plots, this is only set on the base plot
+     */
+    private volatile Geometry geometry;
+    /**
+     * Incremented whenever this plot or its connected group is changed, invalidating the cached regions
+     */
+    private volatile int geometryVersion;
+    /**
+     * Session only counter of block changes, only kept on the base plot. Increments may race, which is
+     * fine as it is only ever compared for equality
+     */
+    private volatile int modifications;
 
     /**
      * Constructor for a new plot.
@@ -468,7 +486,17 @@ public class Plot {
      * @param owner The new owner of this particular sub-plot.
      */
     public void setOwnerAbs(final @Nullable UUID owner) {
+        final UUID oldOwner = this.owner;
         this.owner = owner;
+        if (this.area != null && !Objects.equals(oldOwner, owner)) {
+            this.area.updateOwner(this, oldOwner);
+        }
+    }
+
+    private void handleFlagUpdate(final PlotFlag<?, ?> flag, final FlagContainer.PlotFlagUpdateType type) {
+        if (flag instanceof DoneFlag && this.area != null) {
+            this.area.updateDone(this);
+        }
     }
 
     /**
@@ -561,6 +589,22 @@ public class Plot {
         return this.getOwnerAbs() != null;
     }
 
+    /**
+     * Checks if this is an unclaimed plot that is still in the state it was created in, i.e. nothing has been set
+     * on it that would be visible to other holders of the same instance.
+     *
+     * @return {@code true} if the plot is unowned and unmodified
+     */
+    boolean isPristine() {
+        return this.owner == null && this.temp == 0
+                && (this.trusted == null || this.trusted.isEmpty())
+                && (this.members == null || this.members.isEmpty())
+                && (this.denied == null || this.denied.isEmpty())
+                && (this.meta == null || this.meta.isEmpty())
+                && (this.settings == null || this.settings.isDefault())
+                && this.flagContainer.isEmptyLocal();
+    }
+
     /**
      * Checks if a UUID is a plot owner (merged plots may have multiple owners)
      *
@@ -1019,6 +1063,9 @@ public class Plot {
     public void addTrusted(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getTrusted().add(uuid)) {
+                if (current.area != null) {
+                    current.area.addAdded(current, uuid);
+                }
                 DBFunc.setTrusted(current, uuid);
             }
         }
@@ -1032,6 +1079,9 @@ public class Plot {
     public void addMember(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getMembers().add(uuid)) {
+                if (current.area != null) {
+                    current.area.addAdded(current, uuid);
+                }
                 DBFunc.setMember(current, uuid);
             }
         }
@@ -1080,6 +1130,34 @@ public class Plot {
         return PlotAnalysis.getAnalysis(this, settings);
     }
 
+    /**
+     * Record that blocks in this plot have been changed. This marks a stored {@link AnalysisFlag analysis}
+     * as outdated, so that it is analyzed again the next time plot expiry looks at it. Only the first change
+     * after an analysis writes to the database.
+     *
+     * @since TODO
+     */
+    public void markModified() {
+        final Plot base = getBasePlot(false);
+        base.modifications++;
+        if (PlotAnalysis.isUpToDate(base.getFlag(AnalysisFlag.class))) {
+            final PlotAnalysis analysis = PlotAnalysis.getAnalysis(base, null);
+            analysis.modified = true;
+            base.setFlag(base.getFlagContainer().getFlag(AnalysisFlag.class).createFlagInstance(analysis.asList()));
+        }
+    }
+
+    /**
+     * Get a counter that changes whenever {@link #markModified()} is called for this plot or any plot merged
+     * with it. The counter is not persisted.
+     *
+     * @return modification counter
+     * @since TODO
+     */
+    public int getModificationCount() {
+        return getBasePlot(false).modifications;
+    }
+
     /**
      * Get an immutable view of all the flags associated with the plot.
      *
@@ -1907,7 +1985,7 @@ public class Plot {
         if (!this.isMerged()) {
             return new Location[]{this.getBottomAbs(), this.getTopAbs()};
         }
-        return RegionUtil.getCorners(this.getWorldName(), this.getRegions());
+        return RegionUtil.getCorners(this.getWorldName(), this.getGeometry().boundingBox());
     }
 
     /**
@@ -1993,6 +2071,9 @@ public class Plot {
     private boolean rmvTrusted(UUID uuid) {
         for (Plot plot : this.getConnectedPlots()) {
             if (plot.getTrusted().remove(uuid)) {
+                if (plot.area != null) {
+                    plot.area.removeAdded(plot, uuid);
+                }
                 DBFunc.removeTrusted(plot, uuid);
             } else {
                 return false;
@@ -2025,6 +2106,9 @@ public class Plot {
     private boolean rmvMember(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getMembers().remove(uuid)) {
+                if (current.area != null) {
+                    current.area.removeAdded(current, uuid);
+                }
                 DBFunc.removeMember(current, uuid);
             } else {
                 return false;
@@ -2088,7 +2172,11 @@ public class Plot {
             if (name.equals(alias)) {
                 return;
             }
+            final String oldAlias = current.getAlias();
             current.getSettings().setAlias(alias);
+            if (current.area != null) {
+                current.area.updateAlias(current, oldAlias);
+            }
             DBFunc.setAlias(current, alias);
         }
     }
@@ -2123,6 +2211,7 @@ public class Plot {
                 this.connectedCache = null;
             }
             DBFunc.setMerged(this, this.getSettings().getMerged());
+            invalidateGeometry();
         }
     }
 
@@ -2157,11 +2246,33 @@ public class Plot {
     }
 
     public void clearCache() {
+        final Set<Plot> previous = this.connectedCache;
         this.connectedCache = null;
         if (this.origin != null) {
             this.origin.origin = null;
             this.origin = null;
         }
+        if (previous != null) {
+            // The plot may have left its previous group, whose regions change as well
+            previous.forEach(Plot::incrementGeometryVersion);
+        }
+        if (this.area != null) {
+            invalidateGeometry();
+        }
+    }
+
+    /**
+     * Invalidate the cached regions of this plot and all plots connected to it. Must be called whenever
+     * the plot is added, removed or (un)merged.
+     */
+    void invalidateGeometry() {
+        for (final Plot plot : getConnectedPlots()) {
+            plot.incrementGeometryVersion();
+        }
+    }
+
+    private void incrementGeometryVersion() {
+        GEOMETRY_VERSION.incrementAndGet(this);
     }
 
     /**
@@ -2302,10 +2413,10 @@ public class Plot {
         tmpSet.add(this);
         HashSet<Plot> queueCache = new HashSet<>();
         ArrayDeque<Plot> frontier = new ArrayDeque<>();
-        computeDirectMerged(queueCache, frontier, Direction.NORTH);
-        computeDirectMerged(queueCache, frontier, Direction.EAST);
-        computeDirectMerged(queueCache, frontier, Direction.SOUTH);
-        computeDirectMerged(queueCache, frontier, Direction.WEST);
+        boolean repaired = computeDirectMerged(queueCache, frontier, Direction.NORTH);
+        repaired |= computeDirectMerged(queueCache, frontier, Direction.EAST);
+        repaired |= computeDirectMerged(queueCache, frontier, Direction.SOUTH);
+        repaired |= computeDirectMerged(queueCache, frontier, Direction.WEST);
         Plot current;
         while ((current = frontier.poll()) != null) {
             if (!current.hasOwner() || current.settings == null) {
@@ -2320,10 +2431,17 @@ public class Plot {
         }
         tmpSet = Set.copyOf(tmpSet);
         this.connectedCache = tmpSet;
+        if (repaired) {
+            tmpSet.forEach(Plot::incrementGeometryVersion);
+        }
         return tmpSet;
     }
 
-    private void computeDirectMerged(Set<Plot> queueCache, Deque<Plot> frontier, Direction direction) {
+    /**
+     * @return {@code true} if an invalid merge was repaired
+     */
+    private boolean computeDirectMerged(Set<Plot> queueCache, Deque<Plot> frontier, Direction direction) {
+        boolean repaired = false;
         if (this.isMerged(direction)) {
             Plot tmp = this.area.getPlotAbs(this.id.getRelative(direction));
             assert tmp != null;
@@ -2336,10 +2454,14 @@ public class Plot {
                     this.getSettings().setMerged(direction, false);
                     DBFunc.setMerged(this, this.getSettings().getMerged());
                 }
+                // The plots may end up in different groups, so invalidate the other side directly
+                tmp.incrementGeometryVersion();
+                repaired = true;
             }
             queueCache.add(tmp);
             frontier.add(tmp);
         }
+        return repaired;
     }
 
     private void addIfIncluded(
@@ -2364,6 +2486,42 @@ public class Plot {
      * @return all regions within the plot
      */
     public @NonNull Set<CuboidRegion> getRegions() {
+        final Set<CuboidRegion> regions = getGeometry().regions();
+        // Regions are mutable, so the cached instances must not be handed out
+        if (regions.size() == 1) {
+            return Collections.singleton(regions.iterator().next().clone());
+        }
+        final Set<CuboidRegion> copy = new HashSet<>(regions.size());
+        for (final CuboidRegion region : regions) {
+            copy.add(region.clone());
+        }
+        return copy;
+    }
+
+    /**
+     * Get the smallest region containing all {@link #getRegions() regions} of this plot.
+     *
+     * @return the plot's bounding box
+     * @since TODO
+     */
+    public @NonNull CuboidRegion getBoundingBox() {
+        return getGeometry().boundingBox().clone();
+    }
+
+    private @NonNull Geometry getGeometry() {
+        final Plot base = this.isMerged() ? this.getBasePlot(false) : this;
+        // Read the version before computing, so that concurrent changes are never cached as current
+        final int version = base.geometryVersion;
+        Geometry geometry = base.geometry;
+        if (geometry == null || geometry.version() != version) {
+            final Set<CuboidRegion> regions = base.computeRegions();
+            geometry = new Geometry(version, regions, RegionUtil.getAxisAlignedBoundingBox(regions));
+            base.geometry = geometry;
+        }
+        return geometry;
+    }
+
+    private @NonNull Set<CuboidRegion> computeRegions() {
         if (!this.isMerged()) {
             Location pos1 = this.getBottomAbs().withY(getArea().getMinBuildHeight());
             Location pos2 = this.getTopAbs().withY(getArea().getMaxBuildHeight());
@@ -3016,4 +3174,11 @@ public class Plot {
         return this.plotModificationManager;
     }
 
+    /**
+     * Regions of a plot, as computed for a given geometry version of its area
+     */
+    private record Geometry(int version, Set<CuboidRegion> regions, CuboidRegion boundingBox) {
+
+    }
+
 }
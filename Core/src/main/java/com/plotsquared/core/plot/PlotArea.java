@@ -22,13 +22,15 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.plotsquared.core.PlotSquared;
-import com.plotsquared.core.collection.QuadMap;
+import com.plotsquared.core.collection.GridSpatialIndex;
+import com.plotsquared.core.collection.SpatialIndex;
 import com.plotsquared.core.configuration.ConfigurationNode;
 import com.plotsquared.core.configuration.ConfigurationSection;
 import com.plotsquared.core.configuration.ConfigurationUtil;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.configuration.file.YamlConfiguration;
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.generator.GridPlotWorld;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
 import com.plotsquared.core.inject.annotations.WorldConfig;
@@ -53,7 +55,6 @@ import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.StringMan;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
-import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
@@ -84,6 +85,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 /**
@@ -94,12 +96,20 @@ public abstract class PlotArea implements ComponentLike {
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlotArea.class.getSimpleName());
     private static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
     private static final DecimalFormat FLAG_DECIMAL_FORMAT = new DecimalFormat("0");
+    // Clusters are indexed by plot id, in cells of 16x16 plots
+    private static final int CLUSTER_CELL_SHIFT = 4;
 
     static {
         FLAG_DECIMAL_FORMAT.setMaximumFractionDigits(340);
     }
 
-    protected final ConcurrentHashMap<PlotId, Plot> plots = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<PlotId, Plot> plots;
+    @Nullable
+    private final PlotIdMap<Plot> packedPlots;
+    private final PlotOwnerIndex<Plot> ownerIndex = new PlotOwnerIndex<>(Plot::getOwnerAbs, DoneFlag::isDone);
+    private final PlotSearchIndex<Plot> searchIndex = new PlotSearchIndex<>(Plot::getAlias, Plot::getTrusted, Plot::getMembers);
+    @Nullable
+    private final UnclaimedPlotCache unclaimedPlots;
     @NonNull
     private final String worldName;
     private final String id;
@@ -152,7 +162,7 @@ public abstract class PlotArea implements ComponentLike {
     private int hash;
     private CuboidRegion region;
     private ConcurrentHashMap<String, Object> meta;
-    private QuadMap<PlotCluster> clusters;
+    private SpatialIndex<PlotCluster> clusters;
     private String signMaterial = "OAK_WALL_SIGN";
     private String legacySignMaterial = "WALL_SIGN";
 
@@ -181,6 +191,14 @@ public abstract class PlotArea implements ComponentLike {
         }
         this.worldHash = worldName.hashCode();
         this.worldConfiguration = worldConfiguration;
+        if (Settings.Enabled_Components.PACKED_PLOT_STORAGE) {
+            this.packedPlots = new PlotIdMap<>();
+            this.plots = this.packedPlots;
+        } else {
+            this.packedPlots = null;
+            this.plots = new ConcurrentHashMap<>();
+        }
+        this.unclaimedPlots = Settings.Enabled_Components.UNCLAIMED_PLOT_CACHE ? new UnclaimedPlotCache(this) : null;
     }
 
     private static void parseFlags(FlagContainer flagContainer, List<String> flagStrings) {
@@ -571,12 +589,12 @@ public abstract class PlotArea implements ComponentLike {
      * @return the {@link Plot} or null if none exists
      */
     public @Nullable Plot getPlotAbs(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT_ID) {
             return null;
         }
-        return getPlotAbs(pid);
+        final Plot plot = getOwnedPlotAbs(pid);
+        return plot != null ? plot : getPlotAbs(PlotId.fromLong(pid));
     }
 
     /**
@@ -586,12 +604,37 @@ public abstract class PlotArea implements ComponentLike {
      * @return base Plot
      */
     public @Nullable Plot getPlot(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT_ID) {
             return null;
         }
-        return getPlot(pid);
+        final Plot plot = getOwnedPlotAbs(pid);
+        return plot != null ? plot.getBasePlot(false) : getPlot(PlotId.fromLong(pid));
+    }
+
+    /**
+     * Gets the base plot at a location, reusing {@code current} if the location is still within that plot. This
+     * avoids creating a new {@link Plot} instance for unclaimed plots on every lookup, and is intended for callers that
+     * repeatedly query the location of a moving player or entity.
+     *
+     * @param location the location
+     * @param current  the base plot previously found for the player or entity, or null
+     * @return base Plot
+     * @since TODO
+     */
+    public @Nullable Plot getPlot(final @NonNull Location location, final @Nullable Plot current) {
+        final long pid = getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT_ID) {
+            return null;
+        }
+        final Plot plot = getOwnedPlotAbs(pid);
+        if (plot != null) {
+            return plot.getBasePlot(false);
+        }
+        if (current != null && current.getArea() == this && !current.hasOwner() && current.getId().toLong() == pid) {
+            return current;
+        }
+        return getPlot(PlotId.fromLong(pid));
     }
 
     /**
@@ -601,12 +644,11 @@ public abstract class PlotArea implements ComponentLike {
      * @return the base plot or null
      */
     public @Nullable Plot getOwnedPlot(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT_ID) {
             return null;
         }
-        Plot plot = this.plots.get(pid);
+        Plot plot = getOwnedPlotAbs(pid);
         return plot == null ? null : plot.getBasePlot(false);
     }
 
@@ -617,12 +659,22 @@ public abstract class PlotArea implements ComponentLike {
      * @return Plot or null
      */
     public @Nullable Plot getOwnedPlotAbs(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
-        if (pid == null) {
+        final long pid = getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT_ID) {
             return null;
         }
-        return this.plots.get(pid);
+        return getOwnedPlotAbs(pid);
+    }
+
+    private long getPlotIdPacked(final @NonNull Location location) {
+        return this.getPlotManager().getPlotIdPacked(location.getX(), location.getY(), location.getZ());
+    }
+
+    private @Nullable Plot getOwnedPlotAbs(final long packedId) {
+        if (this.packedPlots != null) {
+            return this.packedPlots.get(packedId);
+        }
+        return this.plots.get(PlotId.fromLong(packedId));
     }
 
     /**
@@ -635,6 +687,22 @@ public abstract class PlotArea implements ComponentLike {
         return this.plots.get(id);
     }
 
+    /**
+     * Get the owned Plot at the PlotId with the given coordinates. Unlike {@link #getOwnedPlotAbs(PlotId)},
+     * this does not require a {@link PlotId} instance, and does not allocate when packed plot storage is enabled.
+     *
+     * @param x the x coordinate of the plot id
+     * @param y the y coordinate of the plot id
+     * @return the plot or null
+     * @since TODO
+     */
+    public @Nullable Plot getOwnedPlotAbs(final int x, final int y) {
+        if (this.packedPlots != null) {
+            return this.packedPlots.get(x, y);
+        }
+        return this.plots.get(PlotId.of(x, y));
+    }
+
     public @Nullable Plot getOwnedPlot(final @NonNull PlotId id) {
         Plot plot = this.plots.get(id);
         return plot == null ? null : plot.getBasePlot(false);
@@ -692,18 +760,93 @@ public abstract class PlotArea implements ComponentLike {
         if (uuid == null) {
             return Collections.emptySet();
         }
-        final HashSet<Plot> myPlots = new HashSet<>();
-        forEachPlotAbs(value -> {
-            if (uuid.equals(value.getOwnerAbs())) {
-                myPlots.add(value);
-            }
-        });
-        return myPlots;
+        return new HashSet<>(this.ownerIndex.getPlots(uuid));
     }
 
     public @NonNull Set<Plot> getPlots(final @NonNull UUID uuid) {
-        return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
-                .collect(ImmutableSet.toImmutableSet());
+        if (DBFunc.SERVER.equals(uuid)) {
+            // Server plots are determined by flag, not by the owner index
+            return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
+                    .collect(ImmutableSet.toImmutableSet());
+        }
+        // Any base plot owned by the player is either owned directly or merged with a plot they own
+        final ImmutableSet.Builder<Plot> builder = ImmutableSet.builder();
+        for (final Plot plot : this.ownerIndex.getPlots(uuid)) {
+            final Plot base = plot.getBasePlot(false);
+            if (base.isOwner(uuid)) {
+                builder.add(base);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the claimed plots in this area that have the given alias, ignoring case.
+     *
+     * @param alias the alias
+     * @return the plots with the alias
+     * @since TODO
+     */
+    public @NonNull Set<Plot> getPlotsByAlias(final @NonNull String alias) {
+        final Set<Plot> plots = new HashSet<>();
+        // Plots without an alias aren't indexed
+        for (final Plot plot : alias.isEmpty() ? getPlots() : this.searchIndex.getByAlias(alias)) {
+            if (alias.equalsIgnoreCase(plot.getAlias())) {
+                plots.add(plot);
+            }
+        }
+        return plots;
+    }
+
+    /**
+     * Get the claimed plots in this area that the player is added to, as per {@link Plot#isAdded(UUID)}.
+     *
+     * @param uuid the player
+     * @return the plots the player is added to
+     * @since TODO
+     */
+    public @NonNull Set<Plot> getAddedPlots(final @NonNull UUID uuid) {
+        final Set<Plot> plots = new HashSet<>();
+        if (DBFunc.SERVER.equals(uuid)) {
+            // Server plots are determined by flag, not by the owner index
+            for (final Plot plot : getPlots()) {
+                if (plot.isAdded(uuid)) {
+                    plots.add(plot);
+                }
+            }
+            return plots;
+        }
+        for (final Plot plot : this.ownerIndex.getPlots(uuid)) {
+            // Merged plots are owned by the owners of all connected plots
+            for (final Plot connected : plot.getConnectedPlots()) {
+                if (connected.isAdded(uuid)) {
+                    plots.add(connected);
+                }
+            }
+        }
+        for (final Plot plot : this.searchIndex.getAdded(uuid)) {
+            if (plot.isAdded(uuid)) {
+                plots.add(plot);
+            }
+        }
+        for (final Plot plot : this.searchIndex.getAdded(DBFunc.EVERYONE)) {
+            if (plot.isAdded(uuid)) {
+                plots.add(plot);
+            }
+        }
+        return plots;
+    }
+
+    /**
+     * Get the plot aliases in this area that start with the given prefix, ignoring case.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum amount of aliases to return
+     * @return the aliases, in alphabetical order
+     * @since TODO
+     */
+    public @NonNull List<String> getAliases(final @NonNull String prefix, final int limit) {
+        return this.searchIndex.getAliases(prefix, limit);
     }
 
     /**
@@ -717,9 +860,9 @@ public abstract class PlotArea implements ComponentLike {
 
     public int getPlotCount(final @NonNull UUID uuid) {
         if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-            return (int) getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
+            return this.ownerIndex.countNotDone(uuid);
         }
-        return getPlotsAbs(uuid).size();
+        return this.ownerIndex.count(uuid);
     }
 
     /**
@@ -737,7 +880,15 @@ public abstract class PlotArea implements ComponentLike {
     //todo check if this method is needed in this class
 
     public boolean hasPlot(final @NonNull UUID uuid) {
-        return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        if (DBFunc.SERVER.equals(uuid)) {
+            return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        }
+        for (final Plot plot : this.ownerIndex.getPlots(uuid)) {
+            if (plot.isOwner(uuid)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public int getPlotCount(final @Nullable PlotPlayer<?> player) {
@@ -751,7 +902,7 @@ public abstract class PlotArea implements ComponentLike {
                     || id.getY() > this.max.getY())) {
                 return null;
             }
-            return new Plot(this, id);
+            return getUnclaimedPlot(id);
         }
         return plot;
     }
@@ -763,11 +914,35 @@ public abstract class PlotArea implements ComponentLike {
                     || id.getY() > this.max.getY())) {
                 return null;
             }
-            return new Plot(this, id);
+            return getUnclaimedPlot(id);
         }
         return plot.getBasePlot(false);
     }
 
+    /**
+     * Get an unclaimed plot instance for the given id. Unclaimed plots may be shared between callers for as long
+     * as they remain unmodified, so this avoids creating a new {@link Plot} on every lookup of a free plot.
+     *
+     * @param id the plot id
+     * @return unclaimed plot
+     */
+    protected @NonNull Plot getUnclaimedPlot(final @NonNull PlotId id) {
+        if (this.unclaimedPlots != null) {
+            return this.unclaimedPlots.get(id);
+        }
+        return createUnclaimedPlot(id);
+    }
+
+    /**
+     * Create a new unclaimed plot instance for this area.
+     *
+     * @param id the plot id
+     * @return new unclaimed plot
+     */
+    protected @NonNull Plot createUnclaimedPlot(final @NonNull PlotId id) {
+        return new Plot(this, id);
+    }
+
     /**
      * Retrieves the number of claimed plot in the {@link PlotArea}.
      *
@@ -778,11 +953,19 @@ public abstract class PlotArea implements ComponentLike {
     }
 
     public @Nullable PlotCluster getCluster(final @NonNull Location location) {
-        final Plot plot = getPlot(location);
-        if (plot == null) {
+        if (this.clusters == null) {
             return null;
         }
-        return this.clusters != null ? this.clusters.get(plot.getId().getX(), plot.getId().getY()) : null;
+        final long pid = getPlotIdPacked(location);
+        if (pid == PlotManager.NO_PLOT_ID) {
+            return null;
+        }
+        final Plot plot = getOwnedPlotAbs(pid);
+        if (plot != null) {
+            final PlotId base = plot.getBasePlot(false).getId();
+            return this.clusters.get(base.getX(), base.getY());
+        }
+        return this.clusters.get((int) (pid >> 32), (int) pid);
     }
 
     public @Nullable PlotCluster getFirstIntersectingCluster(
@@ -792,7 +975,8 @@ public abstract class PlotArea implements ComponentLike {
         if (this.clusters == null) {
             return null;
         }
-        for (PlotCluster cluster : this.clusters.getAll()) {
+        final CuboidRegion region = RegionUtil.createRegion(pos1.getX(), pos2.getX(), 0, 0, pos1.getY(), pos2.getY());
+        for (PlotCluster cluster : this.clusters.get(region)) {
             if (cluster.intersects(pos1, pos2)) {
                 return cluster;
             }
@@ -846,12 +1030,6 @@ public abstract class PlotArea implements ComponentLike {
         return myPlots;
     }
 
-    private void forEachPlotAbs(Consumer<Plot> run) {
-        for (final Entry<PlotId, Plot> entry : this.plots.entrySet()) {
-            run.accept(entry.getValue());
-        }
-    }
-
     public void forEachBasePlot(Consumer<Plot> run) {
         for (final Plot plot : getPlots()) {
             if (plot.isBasePlot()) {
@@ -883,7 +1061,7 @@ public abstract class PlotArea implements ComponentLike {
                 metaDataAccess.set(plot);
             }
         }
-        return this.plots.put(plot.getId(), plot) == null;
+        return putPlot(plot);
     }
 
     public Plot getNextFreePlot(final PlotPlayer<?> player, @Nullable PlotId start) {
@@ -919,6 +1097,12 @@ public abstract class PlotArea implements ComponentLike {
 
     public boolean addPlotIfAbsent(final @NonNull Plot plot) {
         if (this.plots.putIfAbsent(plot.getId(), plot) == null) {
+            this.ownerIndex.add(plot.getId(), plot);
+            this.searchIndex.add(plot.getId(), plot);
+            if (this.unclaimedPlots != null) {
+                this.unclaimedPlots.invalidate(plot);
+            }
+            plot.invalidateGeometry();
             for (PlotPlayer<?> pp : plot.getPlayersInPlot()) {
                 try (final MetaDataAccess<Plot> metaDataAccess = pp.accessTemporaryMetaData(
                         PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
@@ -931,7 +1115,96 @@ public abstract class PlotArea implements ComponentLike {
     }
 
     public boolean addPlotAbs(final @NonNull Plot plot) {
-        return this.plots.put(plot.getId(), plot) == null;
+        return putPlot(plot);
+    }
+
+    private boolean putPlot(final @NonNull Plot plot) {
+        final PlotId id = plot.getId();
+        final Plot previous = this.plots.put(id, plot);
+        if (previous != null) {
+            this.ownerIndex.remove(id, previous);
+            this.searchIndex.remove(id, previous);
+        }
+        this.ownerIndex.add(id, plot);
+        this.searchIndex.add(id, plot);
+        if (this.unclaimedPlots != null) {
+            this.unclaimedPlots.invalidate(plot);
+        }
+        if (previous != null && previous != plot) {
+            previous.invalidateGeometry();
+        }
+        plot.invalidateGeometry();
+        return previous == null;
+    }
+
+    /**
+     * Called by a plot whenever its absolute owner changes, to keep the owner index up to date.
+     *
+     * @param plot     the plot
+     * @param oldOwner the previous owner
+     */
+    void updateOwner(final @NonNull Plot plot, final @Nullable UUID oldOwner) {
+        final PlotId id = plot.getId();
+        if (this.plots.get(id) == plot) {
+            this.ownerIndex.changeOwner(id, plot, oldOwner);
+        }
+    }
+
+    /**
+     * Called by a plot whenever its alias changes, to keep the alias index up to date.
+     *
+     * @param plot     the plot
+     * @param oldAlias the previous alias
+     */
+    void updateAlias(final @NonNull Plot plot, final @Nullable String oldAlias) {
+        final PlotId id = plot.getId();
+        if (this.plots.get(id) == plot) {
+            this.searchIndex.changeAlias(id, plot, oldAlias);
+        }
+    }
+
+    /**
+     * Called by a plot whenever a player is trusted or added as a member, to keep the member index up to date.
+     *
+     * @param plot the plot
+     * @param uuid the player
+     */
+    void addAdded(final @NonNull Plot plot, final @NonNull UUID uuid) {
+        final PlotId id = plot.getId();
+        if (this.plots.get(id) == plot) {
+            this.searchIndex.addAdded(id, plot, uuid);
+        }
+    }
+
+    /**
+     * Called by a plot whenever a player is no longer trusted or a member, to keep the member index up to date.
+     *
+     * @param plot the plot
+     * @param uuid the player
+     */
+    void removeAdded(final @NonNull Plot plot, final @NonNull UUID uuid) {
+        this.searchIndex.removeAdded(plot.getId(), plot, uuid);
+    }
+
+    /**
+     * Called whenever the trusted players or members of a plot are replaced, to index all of them.
+     *
+     * @param plot the plot
+     */
+    void reindexAdded(final @NonNull Plot plot) {
+        final PlotId id = plot.getId();
+        if (this.plots.get(id) == plot) {
+            this.searchIndex.add(id, plot);
+        }
+    }
+
+    /**
+     * Called by a plot whenever its {@link DoneFlag} changes, to keep the "not done" plot counts up to date.
+     *
+     * @param plot the plot
+     */
+    void updateDone(final @NonNull Plot plot) {
+        this.ownerIndex.updateDone(plot.getId(), plot);
     }
 
     /**
@@ -1041,7 +1314,15 @@ public abstract class PlotArea implements ComponentLike {
     }
 
     public boolean removePlot(final @NonNull PlotId id) {
-        return this.plots.remove(id) != null;
+        final Plot plot = this.plots.remove(id);
+        if (plot == null) {
+            return false;
+        }
+        this.ownerIndex.remove(id, plot);
+        this.searchIndex.remove(id, plot);
+        // The removed plot still finds its merged neighbours, whose regions change with it
+        plot.invalidateGeometry();
+        return true;
     }
 
     /**
@@ -1181,17 +1462,9 @@ public abstract class PlotArea implements ComponentLike {
 
     public void addCluster(final @Nullable PlotCluster plotCluster) {
         if (this.clusters == null) {
-            this.clusters = new QuadMap<>(Integer.MAX_VALUE, 0, 0, 62) {
-                @Override
-                public CuboidRegion getRegion(PlotCluster value) {
-                    BlockVector2 pos1 = BlockVector2.at(value.getP1().getX(), value.getP1().getY());
-                    BlockVector2 pos2 = BlockVector2.at(value.getP2().getX(), value.getP2().getY());
-                    return new CuboidRegion(
-                            pos1.toBlockVector3(getMinGenHeight()),
-                            pos2.toBlockVector3(getMaxGenHeight())
-                    );
-                }
-            };
+            // Clusters are indexed by the plot ids they cover
+            this.clusters = new GridSpatialIndex<>(CLUSTER_CELL_SHIFT, cluster -> RegionUtil.createRegion(
+                    cluster.getP1().getX(), cluster.getP2().getX(), 0, 0, cluster.getP1().getY(), cluster.getP2().getY()));
         }
         this.clusters.add(plotCluster);
     }
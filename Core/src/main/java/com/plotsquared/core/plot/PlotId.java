@@ -109,6 +109,41 @@ public final class PlotId {
         return PlotId.of(hash >> 16, hash & 0xFFFF);
     }
 
+    /**
+     * Packs the given plot coordinates into a single long, without any loss of precision.
+     * The x-coordinate is stored in the upper 32 bits, the y-coordinate in the lower 32 bits.
+     *
+     * @param x the x-coordinate of the plot
+     * @param y the y-coordinate of the plot
+     * @return the packed coordinates
+     * @since TODO
+     */
+    public static long toLong(final int x, final int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns a new PlotId instance from coordinates packed by {@link #toLong(int, int)}.
+     *
+     * @param packed the packed coordinates
+     * @return a new PlotId instance
+     * @since TODO
+     */
+    public static @NonNull PlotId fromLong(final long packed) {
+        return PlotId.of((int) (packed >> 32), (int) packed);
+    }
+
+    /**
+     * Returns the coordinates of this Plot ID packed into a single long.
+     *
+     * @return the packed coordinates
+     * @see #toLong(int, int)
+     * @since TODO
+     */
+    public long toLong() {
+        return toLong(this.x, this.y);
+    }
+
     /**
      * Returns the x-coordinate of this Plot ID.
      *
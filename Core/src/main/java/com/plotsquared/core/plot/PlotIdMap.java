@@ -0,0 +1,219 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.collection.ConcurrentLongObjectMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link ConcurrentMap} keyed by {@link PlotId}, storing the ids packed into primitive longs
+ * (see {@link PlotId#toLong()}) so that no key objects are retained and lookups by raw
+ * coordinates don't need to allocate.
+ * <p>
+ * Iteration is weakly consistent and walks the underlying map directly. Iterating over the values
+ * doesn't allocate per entry, while iterating over the entries creates a {@link PlotId} per entry.
+ *
+ * @param <V> value type
+ */
+final class PlotIdMap<V> extends AbstractMap<PlotId, V> implements ConcurrentMap<PlotId, V> {
+
+    private final ConcurrentLongObjectMap<V> map = new ConcurrentLongObjectMap<>();
+    private final EntrySet entrySet = new EntrySet();
+    private final Values values = new Values();
+
+    /**
+     * Get the value mapped to the plot id with the given coordinates.
+     *
+     * @param x plot id x
+     * @param y plot id y
+     * @return the value, or {@code null}
+     */
+    @Nullable V get(final int x, final int y) {
+        return this.map.get(PlotId.toLong(x, y));
+    }
+
+    /**
+     * Get the value mapped to the plot id packed as per {@link PlotId#toLong(int, int)}.
+     *
+     * @param packed packed plot id
+     * @return the value, or {@code null}
+     */
+    @Nullable V get(final long packed) {
+        return this.map.get(packed);
+    }
+
+    @Override
+    public V get(final Object key) {
+        return key instanceof PlotId id ? this.map.get(id.toLong()) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(final @NonNull PlotId key, final @NonNull V value) {
+        return this.map.put(key.toLong(), value);
+    }
+
+    @Override
+    public V putIfAbsent(final @NonNull PlotId key, final @NonNull V value) {
+        return this.map.putIfAbsent(key.toLong(), value);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        return key instanceof PlotId id ? this.map.remove(id.toLong()) : null;
+    }
+
+    @Override
+    public boolean remove(final @NonNull Object key, final Object value) {
+        return key instanceof PlotId id && value != null && this.map.remove(id.toLong(), value) != null;
+    }
+
+    @Override
+    public boolean replace(final @NonNull PlotId key, final @NonNull V oldValue, final @NonNull V newValue) {
+        return this.map.replace(key.toLong(), oldValue, newValue);
+    }
+
+    @Override
+    public V replace(final @NonNull PlotId key, final @NonNull V value) {
+        synchronized (this.map) {
+            final long packed = key.toLong();
+            return this.map.containsKey(packed) ? this.map.put(packed, value) : null;
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.map.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        this.map.clear();
+    }
+
+    @Override
+    public @NonNull Set<Entry<PlotId, V>> entrySet() {
+        return this.entrySet;
+    }
+
+    @Override
+    public @NonNull Collection<V> values() {
+        return this.values;
+    }
+
+    private abstract class CursorIterator<T> implements Iterator<T> {
+
+        private final ConcurrentLongObjectMap.Cursor<V> cursor = map.cursor();
+        private boolean advanced;
+        private boolean hasNext;
+        private V last;
+        private long lastKey;
+
+        abstract T get(long key, @NonNull V value);
+
+        @Override
+        public boolean hasNext() {
+            if (!this.advanced) {
+                this.hasNext = this.cursor.advance();
+                this.advanced = true;
+            }
+            return this.hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.advanced = false;
+            this.lastKey = this.cursor.key();
+            this.last = this.cursor.value();
+            return get(this.lastKey, this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException();
+            }
+            map.remove(this.lastKey, this.last);
+            this.last = null;
+        }
+
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public @NonNull Iterator<V> iterator() {
+            // Values don't need their keys unpacked
+            return new CursorIterator<>() {
+                @Override
+                V get(final long key, final @NonNull V value) {
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<PlotId, V>> {
+
+        @Override
+        public @NonNull Iterator<Entry<PlotId, V>> iterator() {
+            return new CursorIterator<>() {
+                @Override
+                Entry<PlotId, V> get(final long key, final @NonNull V value) {
+                    return new SimpleImmutableEntry<>(PlotId.fromLong(key), value);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+    }
+
+}
@@ -35,6 +35,13 @@ import java.util.List;
 
 public abstract class PlotManager {
 
+    /**
+     * Value returned by {@link #getPlotIdPacked(int, int, int)} if there is no plot at a position.
+     *
+     * @since TODO
+     */
+    public static final long NO_PLOT_ID = Long.MIN_VALUE;
+
     private final PlotArea plotArea;
 
     public PlotManager(@NonNull PlotArea plotArea) {
@@ -49,6 +56,22 @@ public abstract class PlotManager {
 
     public abstract PlotId getPlotId(int x, int y, int z);
 
+    /**
+     * Get the id of the plot at a position, packed as per {@link PlotId#toLong(int, int)}. This considers merged plots
+     * the same way {@link #getPlotId(int, int, int)} does, but managers that override it do not need to allocate,
+     * which matters for lookups on every player movement or block change.
+     *
+     * @param x block x
+     * @param y block y
+     * @param z block z
+     * @return the packed plot id, or {@link #NO_PLOT_ID} if there is no plot at the position
+     * @since TODO
+     */
+    public long getPlotIdPacked(int x, int y, int z) {
+        final PlotId id = getPlotId(x, y, z);
+        return id == null ? NO_PLOT_ID : id.toLong();
+    }
+
     // If you have a circular plot, just return the corner if it were a square
     public abstract Location getPlotBottomLocAbs(@NonNull PlotId plotId);
 
@@ -38,6 +38,7 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.function.pattern.Pattern;
@@ -134,23 +135,24 @@ public final class PlotModificationManager {
                 other.setMerged(plot.getMerged());
             }
             if (plot.members != null && !plot.members.isEmpty()) {
-                other.members = plot.members;
+                other.members = new HashSet<>(plot.members);
                 for (UUID member : plot.members) {
                     DBFunc.setMember(other, member);
                 }
             }
             if (plot.trusted != null && !plot.trusted.isEmpty()) {
-                other.trusted = plot.trusted;
+                other.trusted = new HashSet<>(plot.trusted);
                 for (UUID trusted : plot.trusted) {
                     DBFunc.setTrusted(other, trusted);
                 }
             }
             if (plot.denied != null && !plot.denied.isEmpty()) {
-                other.denied = plot.denied;
+                other.denied = new HashSet<>(plot.denied);
                 for (UUID denied : plot.denied) {
                     DBFunc.setDenied(other, denied);
                 }
             }
+            other.getArea().reindexAdded(other);
         }
         // copy terrain
         final ArrayDeque<CuboidRegion> regions = new ArrayDeque<>(this.plot.getRegions());
@@ -235,6 +237,7 @@ public final class PlotModificationManager {
                         TaskManager.runTask(whenDone);
                     };
                     QueueCoordinator queue = plot.getArea().getQueue();
+                    queue.setPriority(QueuePriority.forActor(actor));
                     for (Plot current : plots) {
                         if (isDelete || !current.hasOwner()) {
                             manager.unClaimPlot(current, null, queue);
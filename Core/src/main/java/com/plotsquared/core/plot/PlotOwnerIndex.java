@@ -0,0 +1,172 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Secondary index of the claimed plots in a {@link PlotArea}, keyed by the
+ * (absolute) owner of each plot.
+ * <p>
+ * Entries are keyed by the {@link PlotId} the plot is stored under in the area,
+ * rather than by the plot itself, as {@link Plot#hashCode()} changes whenever a plot
+ * is moved or swapped.
+ *
+ * @param <P> plot type, the owner and done state of a plot are read through the functions
+ *            given to the constructor
+ */
+final class PlotOwnerIndex<P> {
+
+    private final Map<UUID, OwnerEntry<P>> owners = new ConcurrentHashMap<>();
+    private final Function<? super P, @Nullable UUID> owner;
+    private final Predicate<? super P> done;
+
+    /**
+     * Create a new index.
+     *
+     * @param owner function returning the absolute owner of a plot
+     * @param done  predicate testing whether a plot is done
+     */
+    PlotOwnerIndex(final @NonNull Function<? super P, @Nullable UUID> owner, final @NonNull Predicate<? super P> done) {
+        this.owner = owner;
+        this.done = done;
+    }
+
+    /**
+     * Index a plot that has been stored under the given id.
+     *
+     * @param id   the id the plot is stored under
+     * @param plot the plot
+     */
+    void add(final @NonNull PlotId id, final @NonNull P plot) {
+        final UUID owner = this.owner.apply(plot);
+        if (owner == null) {
+            return;
+        }
+        this.owners.compute(owner, (uuid, entry) -> {
+            if (entry == null) {
+                entry = new OwnerEntry<>();
+            }
+            entry.put(id, plot, this.done.test(plot));
+            return entry;
+        });
+    }
+
+    /**
+     * Remove a plot that was stored under the given id from the index.
+     *
+     * @param id   the id the plot was stored under
+     * @param plot the plot that was removed
+     */
+    void remove(final @NonNull PlotId id, final @NonNull P plot) {
+        final UUID owner = this.owner.apply(plot);
+        if (owner != null) {
+            remove(owner, id);
+        }
+    }
+
+    /**
+     * Move a plot stored under the given id from one owner to another.
+     *
+     * @param id       the id the plot is stored under
+     * @param plot     the plot
+     * @param oldOwner the previous owner, may be null
+     */
+    void changeOwner(final @NonNull PlotId id, final @NonNull P plot, final @Nullable UUID oldOwner) {
+        if (oldOwner != null) {
+            remove(oldOwner, id);
+        }
+        add(id, plot);
+    }
+
+    /**
+     * Re-evaluate whether a plot is considered done.
+     *
+     * @param id   the id the plot is stored under
+     * @param plot the plot
+     */
+    void updateDone(final @NonNull PlotId id, final @NonNull P plot) {
+        final UUID owner = this.owner.apply(plot);
+        if (owner == null) {
+            return;
+        }
+        this.owners.computeIfPresent(owner, (uuid, entry) -> {
+            if (entry.plots.get(id) == plot) {
+                entry.put(id, plot, this.done.test(plot));
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Get the plots owned (absolutely) by the given owner.
+     *
+     * @param owner the owner
+     * @return unmodifiable live view of the plots
+     */
+    @NonNull Collection<P> getPlots(final @NonNull UUID owner) {
+        final OwnerEntry<P> entry = this.owners.get(owner);
+        return entry == null ? Collections.emptySet() : Collections.unmodifiableCollection(entry.plots.values());
+    }
+
+    int count(final @NonNull UUID owner) {
+        final OwnerEntry<P> entry = this.owners.get(owner);
+        return entry == null ? 0 : entry.plots.size();
+    }
+
+    int countNotDone(final @NonNull UUID owner) {
+        final OwnerEntry<P> entry = this.owners.get(owner);
+        return entry == null ? 0 : entry.plots.size() - entry.done.size();
+    }
+
+    private void remove(final @NonNull UUID owner, final @NonNull PlotId id) {
+        this.owners.computeIfPresent(owner, (uuid, entry) -> {
+            entry.plots.remove(id);
+            entry.done.remove(id);
+            return entry.plots.isEmpty() ? null : entry;
+        });
+    }
+
+    private static final class OwnerEntry<P> {
+
+        private final Map<PlotId, P> plots = new ConcurrentHashMap<>();
+        private final Set<PlotId> done = ConcurrentHashMap.newKeySet();
+
+        private void put(final @NonNull PlotId id, final @NonNull P plot, final boolean isDone) {
+            this.plots.put(id, plot);
+            if (isDone) {
+                this.done.add(id);
+            } else {
+                this.done.remove(id);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Secondary indexes of the claimed plots in a {@link PlotArea}, keyed by the lower-cased
+ * alias of each plot and by the players that are trusted or added as members to each plot.
+ * <p>
+ * The indexes may contain plots that no longer match their key, so results must be checked
+ * against the plot itself, but every plot matching a key is guaranteed to be contained.
+ * <p>
+ * Like {@link PlotOwnerIndex}, entries are keyed by the {@link PlotId} the plot is stored under.
+ *
+ * @param <P> plot type, the alias, trusted players and members of a plot are read through the
+ *            functions given to the constructor
+ */
+final class PlotSearchIndex<P> {
+
+    // Sorted, so that aliases can be completed by prefix
+    private final ConcurrentNavigableMap<String, Map<PlotId, P>> aliases = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Map<PlotId, P>> added = new ConcurrentHashMap<>();
+    private final Function<? super P, @Nullable String> alias;
+    private final Function<? super P, ? extends Collection<UUID>> trusted;
+    private final Function<? super P, ? extends Collection<UUID>> members;
+
+    /**
+     * Create a new index.
+     *
+     * @param alias   function returning the alias of a plot
+     * @param trusted function returning the trusted players of a plot
+     * @param members function returning the members of a plot
+     */
+    PlotSearchIndex(
+            final @NonNull Function<? super P, @Nullable String> alias,
+            final @NonNull Function<? super P, ? extends Collection<UUID>> trusted,
+            final @NonNull Function<? super P, ? extends Collection<UUID>> members
+    ) {
+        this.alias = alias;
+        this.trusted = trusted;
+        this.members = members;
+    }
+
+    private static @Nullable String key(final @Nullable String alias) {
+        return alias == null || alias.isEmpty() ? null : alias.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static <K, P> void put(
+            final @NonNull Map<K, Map<PlotId, P>> index, final @NonNull K key,
+            final @NonNull PlotId id, final @NonNull P plot
+    ) {
+        index.compute(key, (k, plots) -> {
+            if (plots == null) {
+                plots = new ConcurrentHashMap<>();
+            }
+            plots.put(id, plot);
+            return plots;
+        });
+    }
+
+    private static <K, P> void remove(
+            final @NonNull Map<K, Map<PlotId, P>> index, final @NonNull K key,
+            final @NonNull PlotId id, final @NonNull P plot
+    ) {
+        index.computeIfPresent(key, (k, plots) -> {
+            plots.remove(id, plot);
+            return plots.isEmpty() ? null : plots;
+        });
+    }
+
+    private static <P> @NonNull Collection<P> get(final @Nullable Map<PlotId, P> plots) {
+        return plots == null ? Collections.emptySet() : Collections.unmodifiableCollection(plots.values());
+    }
+
+    /**
+     * Index a plot that has been stored under the given id.
+     *
+     * @param id   the id the plot is stored under
+     * @param plot the plot
+     */
+    void add(final @NonNull PlotId id, final @NonNull P plot) {
+        final String alias = key(this.alias.apply(plot));
+        if (alias != null) {
+            put(this.aliases, alias, id, plot);
+        }
+        for (final UUID uuid : this.trusted.apply(plot)) {
+            put(this.added, uuid, id, plot);
+        }
+        for (final UUID uuid : this.members.apply(plot)) {
+            put(this.added, uuid, id, plot);
+        }
+    }
+
+    /**
+     * Remove a plot that was stored under the given id from the index.
+     *
+     * @param id   the id the plot was stored under
+     * @param plot the plot that was removed
+     */
+    void remove(final @NonNull PlotId id, final @NonNull P plot) {
+        final String alias = key(this.alias.apply(plot));
+        if (alias != null) {
+            remove(this.aliases, alias, id, plot);
+        }
+        for (final UUID uuid : this.trusted.apply(plot)) {
+            remove(this.added, uuid, id, plot);
+        }
+        for (final UUID uuid : this.members.apply(plot)) {
+            remove(this.added, uuid, id, plot);
+        }
+    }
+
+    /**
+     * Move a plot stored under the given id from its previous alias to its current alias.
+     *
+     * @param id       the id the plot is stored under
+     * @param plot     the plot
+     * @param oldAlias the previous alias, may be null or empty
+     */
+    void changeAlias(final @NonNull PlotId id, final @NonNull P plot, final @Nullable String oldAlias) {
+        final String previous = key(oldAlias);
+        final String current = key(this.alias.apply(plot));
+        if (previous != null && !previous.equals(current)) {
+            remove(this.aliases, previous, id, plot);
+        }
+        if (current != null) {
+            put(this.aliases, current, id, plot);
+        }
+    }
+
+    /**
+     * Index a plot that a player has been trusted or added as a member to.
+     *
+     * @param id   the id the plot is stored under
+     * @param plot the plot
+     * @param uuid the player
+     */
+    void addAdded(final @NonNull PlotId id, final @NonNull P plot, final @NonNull UUID uuid) {
+        put(this.added, uuid, id, plot);
+    }
+
+    /**
+     * Remove a plot that a player has been removed from, unless they are still trusted or a member.
+     *
+     * @param id   the id the plot is stored under
+     * @param plot the plot
+     * @param uuid the player
+     */
+    void removeAdded(final @NonNull PlotId id, final @NonNull P plot, final @NonNull UUID uuid) {
+        if (!this.trusted.apply(plot).contains(uuid) && !this.members.apply(plot).contains(uuid)) {
+            remove(this.added, uuid, id, plot);
+        }
+    }
+
+    /**
+     * Get the plots that may have the given alias, ignoring case.
+     *
+     * @param alias the alias
+     * @return unmodifiable live view of the plots
+     */
+    @NonNull Collection<P> getByAlias(final @NonNull String alias) {
+        final String key = key(alias);
+        return key == null ? Collections.emptySet() : get(this.aliases.get(key));
+    }
+
+    /**
+     * Get the plots that a player may be trusted or added as a member to.
+     *
+     * @param uuid the player
+     * @return unmodifiable live view of the plots
+     */
+    @NonNull Collection<P> getAdded(final @NonNull UUID uuid) {
+        return get(this.added.get(uuid));
+    }
+
+    /**
+     * Get the aliases starting with the given prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum amount of aliases to return
+     * @return the aliases, as set on the plots
+     */
+    @NonNull List<String> getAliases(final @NonNull String prefix, final int limit) {
+        final String from = prefix.toLowerCase(Locale.ENGLISH);
+        final List<String> result = new ArrayList<>();
+        for (final Map.Entry<String, Map<PlotId, P>> entry : this.aliases.tailMap(from).entrySet()) {
+            if (result.size() >= limit || !entry.getKey().startsWith(from)) {
+                break;
+            }
+            final Iterator<P> plots = entry.getValue().values().iterator();
+            while (plots.hasNext()) {
+                final String alias = this.alias.apply(plots.next());
+                if (entry.getKey().equals(key(alias))) {
+                    result.add(alias);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -152,4 +152,19 @@ public class PlotSettings {
         this.comments = comments;
     }
 
+    /**
+     * Check whether none of the settings have been changed from their defaults.
+     *
+     * @return {@code true} if all settings have their default values
+     */
+    boolean isDefault() {
+        for (final boolean merged : this.merged) {
+            if (merged) {
+                return false;
+            }
+        }
+        return (this.alias == null || this.alias.isEmpty()) && this.position == null
+                && (this.ratings == null || this.ratings.isEmpty()) && (this.comments == null || this.comments.isEmpty());
+    }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Small, fixed size cache of the unclaimed {@link Plot} instances handed out by a {@link PlotArea}.
+ * <p>
+ * Creating a plot is comparatively expensive (member injection, a flag container subscribed to the
+ * {@link com.plotsquared.core.plot.flag.GlobalFlagContainer} and a cleaner registration), and
+ * unclaimed plots are looked up constantly by players moving through roads and free plots. The cache
+ * is direct mapped: every plot id maps to a single slot, and a lookup of a different id in the same
+ * slot simply replaces the entry.
+ * <p>
+ * A cached instance is only handed out again while it is still unmodified (see {@link Plot#isPristine()}).
+ * Once a cached plot is claimed it becomes the plot stored in the area, and is dropped from the cache
+ * through {@link #invalidate(Plot)}.
+ */
+final class UnclaimedPlotCache {
+
+    private static final int SIZE = 256;
+
+    private final AtomicReferenceArray<Plot> plots = new AtomicReferenceArray<>(SIZE);
+    private final PlotArea area;
+
+    UnclaimedPlotCache(final @NonNull PlotArea area) {
+        this.area = area;
+    }
+
+    private static int slot(final long packed) {
+        long h = packed * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 56) & (SIZE - 1);
+    }
+
+    /**
+     * Get an unclaimed plot with the given id, creating it if there is no reusable cached instance.
+     *
+     * @param id plot id
+     * @return unclaimed plot
+     */
+    @NonNull Plot get(final @NonNull PlotId id) {
+        final long packed = id.toLong();
+        final int slot = slot(packed);
+        final Plot cached = this.plots.get(slot);
+        if (cached != null && cached.getArea() == this.area && cached.getId().toLong() == packed && cached.isPristine()) {
+            return cached;
+        }
+        final Plot plot = this.area.createUnclaimedPlot(id);
+        this.plots.set(slot, plot);
+        return plot;
+    }
+
+    /**
+     * Drop a plot from the cache, if it is cached. Called once a plot has been claimed.
+     *
+     * @param plot plot
+     */
+    void invalidate(final @NonNull Plot plot) {
+        this.plots.compareAndSet(slot(plot.getId().toLong()), plot, null);
+    }
+
+}
@@ -287,6 +287,36 @@ public class ExpireManager {
         }
     }
 
+    /**
+     * Check an expired plot against its stored analysis. The plot is only analyzed again if it has been modified since
+     * the analysis was made and the analysis passes the complexity checks.
+     *
+     * @param analysis   the stored analysis
+     * @param applicable the expiry tasks the plot is expired for
+     * @param reanalyze  task to analyze the plot again
+     * @param expire     task to expire the plot, given whether expiring it requires confirmation
+     * @param skip       task to skip the plot
+     */
+    void checkStoredAnalysis(
+            final @NonNull PlotAnalysis analysis,
+            final @NonNull Collection<ExpiryTask> applicable,
+            final @NonNull Runnable reanalyze,
+            final @NonNull RunnableVal<Boolean> expire,
+            final @NonNull Runnable skip
+    ) {
+        passesComplexity(analysis, applicable, new RunnableVal<>() {
+            @Override
+            public void run(Boolean confirmation) {
+                if (analysis.modified) {
+                    reanalyze.run();
+                    return;
+                }
+                // Nothing was changed since the stored analysis, so it is still accurate
+                expire.run(confirmation);
+            }
+        }, skip);
+    }
+
     public boolean runTask(final RunnableVal3<Plot, Runnable, Boolean> expiredTask) {
         if (this.running != 0) {
             return false;
@@ -331,6 +361,11 @@ public class ExpireManager {
                             new RunnableVal<>() {
                                 @Override
                                 public void run(final PlotAnalysis changed) {
+                                    if (changed == null) {
+                                        // Never expire a plot that couldn't be analyzed
+                                        TaskManager.runTaskLaterAsync(task, TaskTime.seconds(1L));
+                                        return;
+                                    }
                                     passesComplexity(changed, expired, new RunnableVal<>() {
                                         @Override
                                         public void run(Boolean confirmation) {
@@ -361,10 +396,14 @@ public class ExpireManager {
 
                     PlotAnalysis analysis = newPlot.getComplexity(null);
                     if (analysis != null) {
-                        passesComplexity(analysis, expired, new RunnableVal<>() {
+                        checkStoredAnalysis(analysis, expired, doAnalysis, new RunnableVal<>() {
                             @Override
                             public void run(Boolean value) {
-                                doAnalysis.run();
+                                expiredTask.run(
+                                        newPlot,
+                                        () -> TaskManager.getPlatformImplementation().taskLaterAsync(task, TaskTime.ticks(1L)),
+                                        value
+                                );
                             }
                         }, () -> TaskManager.getPlatformImplementation().taskLaterAsync(task, TaskTime.ticks(1L)));
                     } else {
@@ -29,6 +29,7 @@ import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.lang.reflect.Array;
 import java.util.ArrayDeque;
@@ -41,6 +42,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class PlotAnalysis {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlotAnalysis.class.getSimpleName());
+    /**
+     * Index of the {@link AnalysisFlag} value recording whether the plot has been modified since it
+     * was analyzed. Values stored before it was introduced are always considered outdated.
+     */
+    private static final int MODIFIED_INDEX = 10;
 
     public static boolean running = false;
     public int changes;
@@ -53,6 +59,12 @@ public class PlotAnalysis {
     public int data_sd;
     public int air_sd;
     public int variety_sd;
+    /**
+     * Whether the plot has been modified since this analysis was made
+     *
+     * @since TODO
+     */
+    public boolean modified;
     private int complexity;
 
     public static PlotAnalysis getAnalysis(Plot plot, Settings.Auto_Clear settings) {
@@ -71,12 +83,25 @@ public class PlotAnalysis {
             analysis.air_sd = values.get(8); // 18909
             analysis.variety_sd = values.get(9); // 263
 
+            analysis.modified = !isUpToDate(values);
             analysis.complexity = settings != null ? analysis.getComplexity(settings) : 0;
             return analysis;
         }
         return null;
     }
 
+    /**
+     * Check whether stored analysis values still describe the current contents of their plot, i.e. the
+     * plot has not been modified since they were computed.
+     *
+     * @param values the values of the {@link AnalysisFlag}
+     * @return {@code true} if the plot doesn't need to be analyzed again
+     * @since TODO
+     */
+    public static boolean isUpToDate(final @NonNull List<Integer> values) {
+        return values.size() > MODIFIED_INDEX && values.get(MODIFIED_INDEX) == 0;
+    }
+
     public static void analyzePlot(Plot plot, RunnableVal<PlotAnalysis> whenDone) {
         PlotSquared.platform().injector().getInstance(HybridUtils.class).analyzePlot(plot, whenDone);
     }
@@ -160,6 +185,12 @@ public class PlotAnalysis {
                         break;
                     }
                     LOGGER.info(" | {}", queuePlot);
+                    final PlotAnalysis current = queuePlot.getComplexity(null);
+                    if (current != null && !current.modified) {
+                        // Nothing was built since the last analysis
+                        queuePlot.removeRunning();
+                        continue;
+                    }
 
                     final Object lock = new Object();
                     TaskManager.runTask(new Runnable() {
@@ -583,7 +614,7 @@ public class PlotAnalysis {
     public List<Integer> asList() {
         return Arrays
                 .asList(this.changes, this.faces, this.data, this.air, this.variety, this.changes_sd,
-                        this.faces_sd, this.data_sd, this.air_sd, this.variety_sd
+                        this.faces_sd, this.data_sd, this.air_sd, this.variety_sd, this.modified ? 1 : 0
                 );
     }
 
@@ -32,13 +32,26 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Container type for {@link PlotFlag plot flags}.
+ * <p>
+ * Lookups through {@link #getFlag(Class)} are served from a snapshot of the effective flags, i.e. the flags of this
+ * container merged with those inherited from its parents, indexed by a dense per-class ordinal. The snapshot is
+ * dropped whenever a flag of the container changes, and is rebuilt lazily once any of its parents' snapshots have
+ * been replaced.
  */
 public class FlagContainer {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + FlagContainer.class.getSimpleName());
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+    private static final ClassValue<Integer> ORDINALS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            return NEXT_ORDINAL.getAndIncrement();
+        }
+    };
 
     private final Map<String, String> unknownFlags = new HashMap<>();
     private final Map<Class<?>, PlotFlag<?, ?>> flagMap = new HashMap<>();
@@ -46,6 +59,7 @@ public class FlagContainer {
     private final Collection<PlotFlagUpdateHandler> updateSubscribers = new HashSet<>();
     private final PlotFlagUpdateHandler unknownsRef;
     private FlagContainer parentContainer;
+    private volatile Snapshot snapshot;
 
     /**
      * Construct a new flag container with an optional parent container and update handler.
@@ -114,6 +128,7 @@ public class FlagContainer {
     }
 
     public void setParentContainer(FlagContainer parentContainer) {
+        // The snapshot notices that its parent snapshot is no longer the current one
         this.parentContainer = parentContainer;
     }
 
@@ -131,6 +146,17 @@ public class FlagContainer {
         return ImmutableMap.<Class<?>, PlotFlag<?, ?>>builder().putAll(this.flagMap).build();
     }
 
+    /**
+     * Check if no flags are set in this container itself, ignoring the parent containers. Unlike
+     * {@code getFlagMap().isEmpty()}, this doesn't copy the flag map.
+     *
+     * @return {@code true} if the local flag map is empty
+     * @since TODO
+     */
+    public synchronized boolean isEmptyLocal() {
+        return this.flagMap.isEmpty();
+    }
+
     /**
      * Add a flag to the container
      *
@@ -148,7 +174,13 @@ public class FlagContainer {
                     flag.getName().length() <= 64,
                     "flag name may not be more than 64 characters. Check: " + flag.getName()
             );
-            final PlotFlag<?, ?> oldInstance = this.flagMap.put(flag.getClass(), flag);
+            // Make sure the class has an ordinal before any snapshot could contain it
+            ORDINALS.get(flag.getClass());
+            final PlotFlag<?, ?> oldInstance;
+            synchronized (this) {
+                oldInstance = this.flagMap.put(flag.getClass(), flag);
+                this.snapshot = null;
+            }
             final PlotFlagUpdateType plotFlagUpdateType;
             if (oldInstance != null) {
                 plotFlagUpdateType = PlotFlagUpdateType.FLAG_UPDATED;
@@ -178,7 +210,11 @@ public class FlagContainer {
      */
     @SuppressWarnings("unchecked")
     public <V, T extends PlotFlag<V, ?>> V removeFlag(final T flag) {
-        final Object value = this.flagMap.remove(flag.getClass());
+        final Object value;
+        synchronized (this) {
+            value = this.flagMap.remove(flag.getClass());
+            this.snapshot = null;
+        }
         if (this.plotFlagUpdateHandler != null) {
             this.plotFlagUpdateHandler.handle(flag, PlotFlagUpdateType.FLAG_REMOVED);
         }
@@ -211,10 +247,22 @@ public class FlagContainer {
     }
 
     /**
-     * Clears the local flag map
+     * Clears the local flag map. The update handler and subscribers are notified of every removed flag.
      */
     public void clearLocal() {
-        this.flagMap.clear();
+        final PlotFlag<?, ?>[] removed;
+        synchronized (this) {
+            removed = this.flagMap.values().toArray(new PlotFlag<?, ?>[0]);
+            this.flagMap.clear();
+            this.snapshot = null;
+        }
+        for (final PlotFlag<?, ?> flag : removed) {
+            if (this.plotFlagUpdateHandler != null) {
+                this.plotFlagUpdateHandler.handle(flag, PlotFlagUpdateType.FLAG_REMOVED);
+            }
+            this.updateSubscribers
+                    .forEach(subscriber -> subscriber.handle(flag, PlotFlagUpdateType.FLAG_REMOVED));
+        }
     }
 
     /**
@@ -248,15 +296,12 @@ public class FlagContainer {
      * @return the plot flag
      */
     public PlotFlag<?, ?> getFlagErased(Class<?> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
-        if (flag != null) {
-            return flag;
-        } else {
-            if (getParentContainer() != null) {
-                return getParentContainer().getFlagErased(flagClass);
-            }
+        final PlotFlag<?, ?> flag = this.lookup(flagClass);
+        if (flag == null && getParentContainer() != null) {
+            // Let the parents deal with unknown flags
+            return getParentContainer().getFlagErased(flagClass);
         }
-        return null;
+        return flag;
     }
 
     /**
@@ -270,7 +315,7 @@ public class FlagContainer {
      * @return Flag instance
      */
     public <V, T extends PlotFlag<V, ?>> T getFlag(final Class<? extends T> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
+        final PlotFlag<?, ?> flag = this.lookup(flagClass);
         if (flag != null) {
             return castUnsafe(flag);
         } else {
@@ -281,6 +326,40 @@ public class FlagContainer {
         return null;
     }
 
+    private @Nullable PlotFlag<?, ?> lookup(final Class<?> flagClass) {
+        final PlotFlag<?, ?>[] flags = this.getSnapshot().flags();
+        final int ordinal = ORDINALS.get(flagClass);
+        // Classes that got their ordinal after the snapshot was built can't be in any container
+        return ordinal < flags.length ? flags[ordinal] : null;
+    }
+
+    private Snapshot getSnapshot() {
+        final FlagContainer parent = this.parentContainer;
+        final Snapshot parentSnapshot = parent == null ? null : parent.getSnapshot();
+        final Snapshot snapshot = this.snapshot;
+        if (snapshot != null && snapshot.parent() == parentSnapshot) {
+            return snapshot;
+        }
+        synchronized (this) {
+            final PlotFlag<?, ?>[] flags;
+            if (this.flagMap.isEmpty() && parentSnapshot != null) {
+                // Most plots don't set any flags, so share the array of the area
+                flags = parentSnapshot.flags();
+            } else {
+                flags = new PlotFlag<?, ?>[NEXT_ORDINAL.get()];
+                if (parentSnapshot != null) {
+                    System.arraycopy(parentSnapshot.flags(), 0, flags, 0, parentSnapshot.flags().length);
+                }
+                for (final Map.Entry<Class<?>, PlotFlag<?, ?>> entry : this.flagMap.entrySet()) {
+                    flags[ORDINALS.get(entry.getKey())] = entry.getValue();
+                }
+            }
+            final Snapshot rebuilt = new Snapshot(parentSnapshot, flags);
+            this.snapshot = rebuilt;
+            return rebuilt;
+        }
+    }
+
     /**
      * Check for flag existence in this flag container instance.
      *
@@ -380,6 +459,16 @@ public class FlagContainer {
         return flagMap.hashCode();
     }
 
+    /**
+     * Effective flags of a container, indexed by ordinal.
+     *
+     * @param parent snapshot of the parent container this snapshot was built from
+     * @param flags  flags by ordinal, {@code null} if a flag isn't set in the container or any of its parents
+     */
+    private record Snapshot(@Nullable Snapshot parent, PlotFlag<?, ?>[] flags) {
+
+    }
+
     /**
      * Update event types used in {@link PlotFlagUpdateHandler}.
      */
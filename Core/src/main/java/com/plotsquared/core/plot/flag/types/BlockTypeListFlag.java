@@ -29,18 +29,74 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public abstract class BlockTypeListFlag<F extends ListFlag<BlockTypeWrapper, F>>
         extends ListFlag<BlockTypeWrapper, F> {
 
     public static boolean skipCategoryVerification = false;
+    private static volatile int categoryGeneration;
+
+    // Block types of the list with categories expanded, compiled on first use
+    private volatile Matcher matcher;
 
     protected BlockTypeListFlag(List<BlockTypeWrapper> blockTypeList, Caption description) {
         super(blockTypeList, TranslatableCaption.of("flags.flag_category_block_list"), description);
     }
 
+    /**
+     * Drop the expanded block categories of all flag values, so that they are expanded again the next time
+     * they are used. This should be called when the contents of block categories may have changed.
+     *
+     * @since TODO
+     */
+    public static void invalidateCategories() {
+        categoryGeneration++;
+    }
+
+    /**
+     * Check whether the list accepts a block type, i.e. it contains the block type or a category containing
+     * the block type. This costs a single hash lookup, regardless of the size of the list.
+     *
+     * @param blockType block type
+     * @return {@code true} if the block type is accepted
+     * @since TODO
+     */
+    public boolean accepts(final @NonNull BlockType blockType) {
+        Matcher matcher = this.matcher;
+        if (matcher == null || matcher.generation() != categoryGeneration) {
+            matcher = compile();
+        }
+        return matcher.blockTypes().contains(blockType);
+    }
+
+    private Matcher compile() {
+        final int generation = categoryGeneration;
+        final Set<BlockType> blockTypes = new HashSet<>();
+        boolean complete = true;
+        for (final BlockTypeWrapper wrapper : getValue()) {
+            if (wrapper.getBlockType() != null) {
+                blockTypes.add(wrapper.getBlockType());
+                continue;
+            }
+            final BlockCategory category = wrapper.getBlockCategory();
+            if (category == null) {
+                // The category registry isn't populated yet, try again next time
+                complete = false;
+            } else {
+                blockTypes.addAll(category.getAll());
+            }
+        }
+        final Matcher matcher = new Matcher(blockTypes, generation);
+        if (complete) {
+            this.matcher = matcher;
+        }
+        return matcher;
+    }
+
     @Override
     public F parse(@NonNull String input) throws FlagParseException {
         final List<BlockTypeWrapper> parsedBlocks = new ArrayList<>();
@@ -81,6 +137,10 @@ public abstract class BlockTypeListFlag<F extends ListFlag<BlockTypeWrapper, F>>
         return tabCompletions;
     }
 
+    private record Matcher(Set<BlockType> blockTypes, int generation) {
+
+    }
+
     private BlockTypeWrapper getCategory(final String blockString) throws FlagParseException {
         if (!blockString.startsWith("#")) {
             throw new FlagParseException(this, blockString, TranslatableCaption.of("flags.flag_error_invalid_block"));
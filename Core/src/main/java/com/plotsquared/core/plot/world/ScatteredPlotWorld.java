@@ -18,18 +18,15 @@
  */
 package com.plotsquared.core.plot.world;
 
+import com.plotsquared.core.collection.GridSpatialIndex;
+import com.plotsquared.core.collection.SpatialIndex;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotWorld;
-import com.plotsquared.core.util.PlotAreaConverter;
 import com.plotsquared.core.util.RegionUtil;
-import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.khelekore.prtree.MBR;
-import org.khelekore.prtree.PRTree;
-import org.khelekore.prtree.SimpleMBR;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -41,12 +38,11 @@ import java.util.List;
  */
 public class ScatteredPlotWorld extends PlotWorld {
 
-    private static final PlotAreaConverter MBR_CONVERTER = new PlotAreaConverter();
-    private static final int BRANCH_FACTOR = 30;
+    // Areas are indexed by block position, in cells of 512x512 blocks
+    private static final int CELL_SHIFT = 9;
 
     private final List<PlotArea> areas = new LinkedList<>();
-    private final Object treeLock = new Object();
-    private PRTree<PlotArea> areaTree;
+    private final SpatialIndex<PlotArea> areaIndex = new GridSpatialIndex<>(CELL_SHIFT, PlotArea::getRegion);
 
     /**
      * Create a new plot world with a given world name
@@ -62,14 +58,8 @@ public class ScatteredPlotWorld extends PlotWorld {
         if (this.areas.isEmpty()) {
             return null;
         }
-        synchronized (this.treeLock) {
-            for (final PlotArea area : this.areaTree.find(location.toMBR())) {
-                if (area.contains(location)) {
-                    return area;
-                }
-            }
-        }
-        return null;
+        final PlotArea area = this.areaIndex.get(location.getX(), location.getZ());
+        return area != null && area.contains(location) ? area : null;
     }
 
     @Override
@@ -80,13 +70,13 @@ public class ScatteredPlotWorld extends PlotWorld {
     @Override
     public void addArea(final @NonNull PlotArea area) {
         this.areas.add(area);
-        this.buildTree();
+        this.areaIndex.add(area);
     }
 
     @Override
     public void removeArea(final @NonNull PlotArea area) {
         this.areas.remove(area);
-        this.buildTree();
+        this.areaIndex.remove(area);
     }
 
     @Override
@@ -94,31 +84,13 @@ public class ScatteredPlotWorld extends PlotWorld {
         if (this.areas.isEmpty()) {
             return Collections.emptyList();
         }
-        synchronized (this.treeLock) {
-            final List<PlotArea> areas = new LinkedList<>();
-
-            final BlockVector3 min = region.getMinimumPoint();
-            final BlockVector3 max = region.getMaximumPoint();
-            final MBR mbr = new SimpleMBR(min.getX(), max.getX(), min.getY(), max.getY(), min.getZ(), max.getZ());
-
-            for (final PlotArea area : this.areaTree.find(mbr)) {
-                if (RegionUtil.intersects(area.getRegion(), region)) {
-                    areas.add(area);
-                }
+        final List<PlotArea> areas = new LinkedList<>();
+        for (final PlotArea area : this.areaIndex.get(region)) {
+            if (RegionUtil.intersects(area.getRegion(), region)) {
+                areas.add(area);
             }
-
-            return areas;
-        }
-    }
-
-    /**
-     * Rebuild the area tree
-     */
-    private void buildTree() {
-        synchronized (this.treeLock) {
-            this.areaTree = new PRTree<>(MBR_CONVERTER, BRANCH_FACTOR);
-            this.areaTree.load(this.areas);
         }
+        return areas;
     }
 
 }
@@ -84,5 +84,11 @@ public class SinglePlot extends Plot {
         return regions;
     }
 
+    @NonNull
+    @Override
+    public CuboidRegion getBoundingBox() {
+        return regions.iterator().next().clone();
+    }
+
     // getCenter getSide getHome getDefaultHome getBiome
 }
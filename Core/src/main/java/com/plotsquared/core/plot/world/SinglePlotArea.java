@@ -241,6 +241,12 @@ public class SinglePlotArea extends GridPlotWorld {
         return pid == null ? null : getPlot(pid);
     }
 
+    @Nullable
+    @Override
+    public Plot getPlot(final @NonNull Location location, final @Nullable Plot current) {
+        return getPlot(location);
+    }
+
     @Nullable
     @Override
     public Plot getPlotAbs(final @NonNull Location location) {
@@ -287,10 +293,15 @@ public class SinglePlotArea extends GridPlotWorld {
         return p;
     }
 
+    @Override
+    protected @NonNull Plot createUnclaimedPlot(final @NonNull PlotId id) {
+        return new SinglePlot(this, id);
+    }
+
     public @Nullable Plot getPlotAbs(final @NonNull PlotId id) {
         Plot plot = getOwnedPlotAbs(id);
         if (plot == null) {
-            return new SinglePlot(this, id);
+            return getUnclaimedPlot(id);
         }
         return plot;
     }
@@ -299,7 +310,7 @@ public class SinglePlotArea extends GridPlotWorld {
         // TODO
         Plot plot = getOwnedPlotAbs(id);
         if (plot == null) {
-            return new SinglePlot(this, id);
+            return getUnclaimedPlot(id);
         }
         return plot.getBasePlot(false);
     }
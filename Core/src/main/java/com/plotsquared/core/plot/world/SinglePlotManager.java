@@ -53,6 +53,11 @@ public class SinglePlotManager extends PlotManager {
         return PlotId.of(0, 0);
     }
 
+    @Override
+    public long getPlotIdPacked(int x, int y, int z) {
+        return PlotId.toLong(0, 0);
+    }
+
     @Override
     public Location getPlotBottomLocAbs(final @NonNull PlotId plotId) {
         return Location.at(plotId.toUnderscoreSeparatedString(), -MAX_COORDINATE, 0, -MAX_COORDINATE);
@@ -18,9 +18,16 @@
  */
 package com.plotsquared.core.queue;
 
+import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
 import com.plotsquared.core.util.PatternUtil;
+import com.plotsquared.core.util.RegionUtil;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.entity.Entity;
 import com.sk89q.worldedit.function.pattern.Pattern;
@@ -37,6 +44,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -346,6 +354,125 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         super.setBiomeCuboid(pos1, pos2, biome);
     }
 
+    @Override
+    public void setCuboid(
+            final com.plotsquared.core.location.@NonNull Location pos1,
+            final com.plotsquared.core.location.@NonNull Location pos2,
+            final @NonNull BlockState block
+    ) {
+        fillCuboid(pos1, pos2, block.toBaseBlock());
+    }
+
+    @Override
+    public void setCuboid(
+            final com.plotsquared.core.location.@NonNull Location pos1,
+            final com.plotsquared.core.location.@NonNull Location pos2,
+            final @NonNull Pattern blocks
+    ) {
+        BaseBlock block = PatternUtil.getSingleBlock(blocks);
+        if (block == null) {
+            super.setCuboid(pos1, pos2, blocks);
+        } else {
+            fillCuboid(pos1, pos2, block);
+        }
+    }
+
+    @Override
+    public void setColumn(int x, int z, int yMin, int yMax, @NonNull BaseBlock block) {
+        yMin = Math.max(yMin, world.getMinY());
+        yMax = Math.min(yMax, world.getMaxY());
+        if (yMin <= yMax) {
+            getChunk(x >> 4, z >> 4).setColumn(x & 15, z & 15, yMin, yMax, block);
+        }
+    }
+
+    /**
+     * Fill a cuboid chunk by chunk, rather than block by block.
+     */
+    private void fillCuboid(
+            final com.plotsquared.core.location.@NonNull Location pos1,
+            final com.plotsquared.core.location.@NonNull Location pos2,
+            final @NonNull BaseBlock block
+    ) {
+        int yMin = Math.max(Math.min(pos1.getY(), pos2.getY()), world.getMinY());
+        int yMax = Math.min(Math.max(pos1.getY(), pos2.getY()), world.getMaxY());
+        int xMin = Math.min(pos1.getX(), pos2.getX());
+        int xMax = Math.max(pos1.getX(), pos2.getX());
+        int zMin = Math.min(pos1.getZ(), pos2.getZ());
+        int zMax = Math.max(pos1.getZ(), pos2.getZ());
+        if (yMin > yMax) {
+            return;
+        }
+        for (int chunkX = xMin >> 4; chunkX <= xMax >> 4; chunkX++) {
+            int x0 = Math.max(xMin, chunkX << 4) & 15;
+            int x1 = Math.min(xMax, (chunkX << 4) + 15) & 15;
+            for (int chunkZ = zMin >> 4; chunkZ <= zMax >> 4; chunkZ++) {
+                int z0 = Math.max(zMin, chunkZ << 4) & 15;
+                int z1 = Math.min(zMax, (chunkZ << 4) + 15) & 15;
+                getChunk(chunkX, chunkZ).setCuboid(x0, yMin, z0, x1, yMax, z1, block);
+            }
+        }
+    }
+
+    @Override
+    public boolean enqueue() {
+        // Before any block is changed, so that an analysis running meanwhile is known to be outdated
+        markModifiedPlots();
+        return super.enqueue();
+    }
+
+    /**
+     * Mark the owned plots in the chunks changed by this queue as {@link Plot#markModified() modified}. Plots that only
+     * share a chunk with the changed blocks are marked as well, which at worst causes them to be analyzed again.
+     */
+    private void markModifiedPlots() {
+        final Set<BlockVector2> chunks = new HashSet<>(this.blockChunks.keySet());
+        if (this.regen && this.regenStart != null) {
+            for (int chunkX = this.regenStart[0]; chunkX <= this.regenEnd[0]; chunkX++) {
+                for (int chunkZ = this.regenStart[1]; chunkZ <= this.regenEnd[1]; chunkZ++) {
+                    chunks.add(BlockVector2.at(chunkX, chunkZ));
+                }
+            }
+        }
+        if (this.regenRegion != null) {
+            chunks.addAll(this.regenRegion.getChunks());
+        }
+        if (chunks.isEmpty()) {
+            return;
+        }
+        final PlotAreaManager plotAreaManager = PlotSquared.get().getPlotAreaManager();
+        final String worldName = this.world.getName();
+        if (!plotAreaManager.hasPlotArea(worldName)) {
+            return;
+        }
+        final Set<Plot> plots = new HashSet<>();
+        for (final BlockVector2 chunk : chunks) {
+            final int minX = chunk.getX() << 4;
+            final int minZ = chunk.getZ() << 4;
+            final CuboidRegion region = RegionUtil.createRegion(minX, minX + 15, 0, 0, minZ, minZ + 15);
+            for (final PlotArea area : plotAreaManager.getPlotAreas(worldName, region)) {
+                final PlotManager manager = area.getPlotManager();
+                final int y = area.getMinBuildHeight();
+                long previous = PlotManager.NO_PLOT_ID;
+                for (int x = minX; x <= minX + 15; x++) {
+                    for (int z = minZ; z <= minZ + 15; z++) {
+                        final long id = manager.getPlotIdPacked(x, y, z);
+                        // Neighbouring columns are mostly in the same plot
+                        if (id == previous || id == PlotManager.NO_PLOT_ID) {
+                            continue;
+                        }
+                        previous = id;
+                        final Plot plot = area.getOwnedPlotAbs(PlotId.fromLong(id));
+                        if (plot != null) {
+                            plots.add(plot);
+                        }
+                    }
+                }
+            }
+        }
+        plots.forEach(Plot::markModified);
+    }
+
     /**
      * Get the {@link LocalChunk} from the queue at the given chunk coordinates. Returns a new instance if one doesn't exist
      */
@@ -58,6 +58,23 @@ public class DelegateQueueCoordinator extends QueueCoordinator {
         return parent;
     }
 
+    @Override
+    public @NonNull QueuePriority getPriority() {
+        if (parent != null) {
+            return parent.getPriority();
+        }
+        return super.getPriority();
+    }
+
+    @Override
+    public void setPriority(@NonNull QueuePriority priority) {
+        if (parent != null) {
+            parent.setPriority(priority);
+        } else {
+            super.setPriority(priority);
+        }
+    }
+
     @Override
     public int size() {
         if (parent != null) {
@@ -24,6 +24,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 public class GlobalBlockQueue {
 
+    private final QueueScheduler scheduler = new QueueScheduler();
     private QueueProvider provider;
 
     public GlobalBlockQueue(@NonNull QueueProvider provider) {
@@ -43,6 +44,16 @@ public class GlobalBlockQueue {
         return queue;
     }
 
+    /**
+     * Get the scheduler that starts the chunk coordinators of enqueued queues.
+     *
+     * @return queue scheduler
+     * @since TODO
+     */
+    public @NonNull QueueScheduler getScheduler() {
+        return this.scheduler;
+    }
+
     public QueueProvider getProvider() {
         return this.provider;
     }
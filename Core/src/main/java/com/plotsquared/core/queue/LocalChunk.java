@@ -27,6 +27,7 @@ import com.sk89q.worldedit.util.Location;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 
@@ -37,19 +38,20 @@ public class LocalChunk {
     private final int z;
     private final int minSection;
 
-    private final BaseBlock[][] baseblocks;
-    private final BiomeType[][] biomes;
+    private final PalettedSection<BaseBlock>[] blocks;
+    private final PalettedSection<BiomeType>[] biomes;
     private final HashMap<BlockVector3, CompoundTag> tiles = new HashMap<>();
     private final HashMap<Location, BaseEntity> entities = new HashMap<>();
 
+    @SuppressWarnings("unchecked")
     public LocalChunk(@NonNull QueueCoordinator parent, int x, int z) {
         this.parent = parent;
         this.x = x;
         this.z = z;
         this.minSection = parent.getMinLayer();
         int sections = parent.getMaxLayer() - parent.getMinLayer() + 1;
-        baseblocks = new BaseBlock[sections][];
-        biomes = new BiomeType[sections][];
+        blocks = new PalettedSection[sections];
+        biomes = new PalettedSection[sections];
     }
 
     public @NonNull QueueCoordinator getParent() {
@@ -73,12 +75,71 @@ public class LocalChunk {
         return this.minSection;
     }
 
+    /**
+     * Get the number of sections this chunk can hold, starting at {@link #getMinSection()}.
+     *
+     * @since TODO
+     */
+    public int getSectionCount() {
+        return this.blocks.length;
+    }
+
+    /**
+     * Get the blocks set in a section.
+     *
+     * @param index section index, relative to {@link #getMinSection()}
+     * @return the section, or {@code null} if no block has been set in it
+     * @since TODO
+     */
+    public @Nullable PalettedSection<BaseBlock> getBlockSection(final int index) {
+        return this.blocks[index];
+    }
+
+    /**
+     * Get the biomes set in a section.
+     *
+     * @param index section index, relative to {@link #getMinSection()}
+     * @return the section, or {@code null} if no biome has been set in it
+     * @since TODO
+     */
+    public @Nullable PalettedSection<BiomeType> getBiomeSection(final int index) {
+        return this.biomes[index];
+    }
+
+    /**
+     * Get a copy of the blocks set in this chunk, indexed by section and then by
+     * {@link ChunkUtil#getJ(int, int, int)}. Sections without blocks are {@code null}.
+     *
+     * @deprecated Blocks are stored in {@link PalettedSection}s, this creates the arrays on every call and changes to
+     *         them aren't reflected in the chunk. Use {@link #getBlockSection(int)} instead.
+     */
+    @Deprecated(forRemoval = true, since = "TODO")
     public @NonNull BaseBlock[][] getBaseblocks() {
-        return this.baseblocks;
+        final BaseBlock[][] result = new BaseBlock[this.blocks.length][];
+        for (int i = 0; i < this.blocks.length; i++) {
+            if (this.blocks[i] != null) {
+                result[i] = this.blocks[i].toArray(new BaseBlock[PalettedSection.SIZE]);
+            }
+        }
+        return result;
     }
 
+    /**
+     * Get a copy of the biomes set in this chunk, indexed by section and then by
+     * {@link ChunkUtil#getJ(int, int, int)}. Sections without biomes are {@code null}.
+     *
+     * @deprecated Biomes are stored in {@link PalettedSection}s, this creates the arrays on every call and changes to
+     *         them aren't reflected in the chunk. Use {@link #getBiomeSection(int)} instead.
+     */
+    @Deprecated(forRemoval = true, since = "TODO")
     public @NonNull BiomeType[][] getBiomes() {
-        return this.biomes;
+        final BiomeType[][] result = new BiomeType[this.biomes.length][];
+        for (int i = 0; i < this.biomes.length; i++) {
+            if (this.biomes[i] != null) {
+                result[i] = this.biomes[i].toArray(new BiomeType[PalettedSection.SIZE]);
+            }
+        }
+        return result;
     }
 
     public @NonNull HashMap<BlockVector3, CompoundTag> getTiles() {
@@ -88,11 +149,11 @@ public class LocalChunk {
     public void setBiome(final int x, final int y, final int z, final @NonNull BiomeType biomeType) {
         final int i = getLayerIndex(y);
         final int j = ChunkUtil.getJ(x, y, z);
-        BiomeType[] array = this.biomes[i];
-        if (array == null) {
-            array = this.biomes[i] = new BiomeType[4096];
+        PalettedSection<BiomeType> section = this.biomes[i];
+        if (section == null) {
+            section = this.biomes[i] = new PalettedSection<>();
         }
-        array[j] = biomeType;
+        section.set(j, biomeType);
     }
 
     @Override
@@ -103,11 +164,70 @@ public class LocalChunk {
     public void setBlock(final int x, final int y, final int z, final @NonNull BaseBlock baseBlock) {
         final int i = getLayerIndex(y);
         final int j = ChunkUtil.getJ(x, y, z);
-        BaseBlock[] array = baseblocks[i];
-        if (array == null) {
-            array = (baseblocks[i] = new BaseBlock[4096]);
+        PalettedSection<BaseBlock> section = blocks[i];
+        if (section == null) {
+            section = (blocks[i] = new PalettedSection<>());
+        }
+        section.set(j, baseBlock);
+    }
+
+    /**
+     * Fill a cuboid within this chunk with a block. Sections that are covered entirely are stored as a single value.
+     *
+     * @param minX  minimum x coordinate within the chunk (0 - 15), inclusive
+     * @param minY  minimum y coordinate, inclusive
+     * @param minZ  minimum z coordinate within the chunk (0 - 15), inclusive
+     * @param maxX  maximum x coordinate within the chunk (0 - 15), inclusive
+     * @param maxY  maximum y coordinate, inclusive
+     * @param maxZ  maximum z coordinate within the chunk (0 - 15), inclusive
+     * @param block block to fill
+     * @since TODO
+     */
+    public void setCuboid(
+            final int minX, final int minY, final int minZ, final int maxX, final int maxY, final int maxZ,
+            final @NonNull BaseBlock block
+    ) {
+        final boolean fullLayers = minX == 0 && maxX == 15 && minZ == 0 && maxZ == 15;
+        for (int layer = minY >> 4; layer <= maxY >> 4; layer++) {
+            final int i = layer - minSection;
+            PalettedSection<BaseBlock> section = blocks[i];
+            if (section == null) {
+                section = (blocks[i] = new PalettedSection<>());
+            }
+            final int y0 = Math.max(minY, layer << 4) & 15;
+            final int y1 = Math.min(maxY, (layer << 4) + 15) & 15;
+            if (fullLayers) {
+                // Whole layers are contiguous, so the section range is a single run
+                section.set(ChunkUtil.getJ(0, y0, 0), ChunkUtil.getJ(15, y1, 15), block);
+                continue;
+            }
+            for (int y = y0; y <= y1; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    section.set(ChunkUtil.getJ(minX, y, z), ChunkUtil.getJ(maxX, y, z), block);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fill a column within this chunk with a block.
+     *
+     * @param x     x coordinate within the chunk (0 - 15)
+     * @param z     z coordinate within the chunk (0 - 15)
+     * @param minY  minimum y coordinate, inclusive
+     * @param maxY  maximum y coordinate, inclusive
+     * @param block block to fill
+     * @since TODO
+     */
+    public void setColumn(final int x, final int z, final int minY, final int maxY, final @NonNull BaseBlock block) {
+        for (int y = minY; y <= maxY; y++) {
+            final int i = getLayerIndex(y);
+            PalettedSection<BaseBlock> section = blocks[i];
+            if (section == null) {
+                section = (blocks[i] = new PalettedSection<>());
+            }
+            section.set(ChunkUtil.getJ(x, y, z), block);
         }
-        array[j] = baseBlock;
     }
 
     public void setTile(final int x, final int y, final int z, final @NonNull CompoundTag tag) {
@@ -0,0 +1,347 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A 16x16x16 section of values (such as blocks or biomes), addressed by the index returned by
+ * {@link com.plotsquared.core.util.ChunkUtil#getJ(int, int, int)}.
+ * <p>
+ * Values are stored as indices into a palette of distinct values: a section holding a single
+ * value doesn't store any indices at all, sections with up to 16 distinct values use four bits per
+ * position, up to 256 distinct values use a byte per position and anything else a short. {@code null}
+ * is a regular palette entry and marks positions that haven't been set.
+ * <p>
+ * Sections are not thread safe.
+ *
+ * @param <T> value type
+ * @since TODO
+ */
+public final class PalettedSection<T> {
+
+    /**
+     * Number of positions in a section.
+     */
+    public static final int SIZE = 4096;
+    // Palettes with more entries are indexed by a map, smaller ones are scanned
+    private static final int MAX_SCANNED_PALETTE = 16;
+
+    private Object[] palette = new Object[]{null};
+    private int paletteSize = 1;
+    private @Nullable Map<Object, Integer> paletteIndex;
+    // 0 (uniform), 4, 8 or 16
+    private int bits;
+    private byte @Nullable [] bytes;
+    private short @Nullable [] shorts;
+    private int nonNull;
+
+    private static int capacity(final int bits) {
+        return bits == 0 ? 1 : 1 << bits;
+    }
+
+    /**
+     * Get the value at a position.
+     *
+     * @param j position
+     * @return the value, or {@code null} if the position hasn't been set
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(final int j) {
+        return (T) this.palette[index(j)];
+    }
+
+    /**
+     * Set the value at a position.
+     *
+     * @param j     position
+     * @param value value, or {@code null} to unset the position
+     */
+    public void set(final int j, final @Nullable T value) {
+        final Object current = this.palette[index(j)];
+        if (current == value) {
+            return;
+        }
+        // Adding to the palette may compact it, so the previous index is only read afterwards
+        final int index = paletteIndexOf(value);
+        if (index == index(j)) {
+            return;
+        }
+        write(j, index);
+        if (current == null) {
+            if (++this.nonNull == SIZE) {
+                collapse();
+            }
+        } else if (value == null && --this.nonNull == 0) {
+            fill(null);
+        }
+    }
+
+    /**
+     * Set a range of positions to the same value.
+     *
+     * @param from  first position, inclusive
+     * @param to    last position, inclusive
+     * @param value value, or {@code null} to unset the positions
+     */
+    public void set(final int from, final int to, final @Nullable T value) {
+        if (from == 0 && to == SIZE - 1) {
+            fill(value);
+            return;
+        }
+        final int index = paletteIndexOf(value);
+        final int before = this.nonNull;
+        for (int j = from; j <= to; j++) {
+            final int previous = index(j);
+            if (previous == index) {
+                continue;
+            }
+            if (this.palette[previous] == null) {
+                this.nonNull++;
+            } else if (value == null) {
+                this.nonNull--;
+            }
+            write(j, index);
+        }
+        if (this.nonNull == SIZE && before != SIZE) {
+            collapse();
+        } else if (this.nonNull == 0 && before != 0) {
+            fill(null);
+        }
+    }
+
+    /**
+     * Set every position of the section to the same value.
+     *
+     * @param value value, or {@code null} to unset every position
+     */
+    public void fill(final @Nullable T value) {
+        this.palette = new Object[]{value};
+        this.paletteSize = 1;
+        this.paletteIndex = null;
+        this.bits = 0;
+        this.bytes = null;
+        this.shorts = null;
+        this.nonNull = value == null ? 0 : SIZE;
+    }
+
+    /**
+     * Get the number of positions that have been set.
+     *
+     * @return number of non-null values
+     */
+    public int size() {
+        return this.nonNull;
+    }
+
+    public boolean isEmpty() {
+        return this.nonNull == 0;
+    }
+
+    /**
+     * Check whether every position holds the same value.
+     *
+     * @return {@code true} if the section is stored as a single value
+     */
+    public boolean isUniform() {
+        return this.bits == 0;
+    }
+
+    /**
+     * Visit every position that has been set, in ascending order.
+     *
+     * @param consumer position and value consumer
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final @NonNull EntryConsumer<? super T> consumer) {
+        if (this.nonNull == 0) {
+            return;
+        }
+        if (this.bits == 0) {
+            final T value = (T) this.palette[0];
+            for (int j = 0; j < SIZE; j++) {
+                consumer.accept(j, value);
+            }
+            return;
+        }
+        for (int j = 0; j < SIZE; j++) {
+            final Object value = this.palette[index(j)];
+            if (value != null) {
+                consumer.accept(j, (T) value);
+            }
+        }
+    }
+
+    /**
+     * Copy the section into a new array, with {@code null} for positions that haven't been set.
+     *
+     * @param array array to fill, of length {@link #SIZE}
+     * @return the given array
+     */
+    @SuppressWarnings("unchecked")
+    public T @NonNull [] toArray(final T @NonNull [] array) {
+        if (this.bits == 0) {
+            Arrays.fill(array, (T) this.palette[0]);
+            return array;
+        }
+        for (int j = 0; j < SIZE; j++) {
+            array[j] = (T) this.palette[index(j)];
+        }
+        return array;
+    }
+
+    private int index(final int j) {
+        return switch (this.bits) {
+            case 0 -> 0;
+            case 4 -> (this.bytes[j >> 1] >> ((j & 1) << 2)) & 0xF;
+            case 8 -> this.bytes[j] & 0xFF;
+            default -> this.shorts[j] & 0xFFFF;
+        };
+    }
+
+    private void write(final int j, final int index) {
+        switch (this.bits) {
+            case 4 -> {
+                final int shift = (j & 1) << 2;
+                this.bytes[j >> 1] = (byte) ((this.bytes[j >> 1] & ~(0xF << shift)) | (index << shift));
+            }
+            case 8 -> this.bytes[j] = (byte) index;
+            default -> this.shorts[j] = (short) index;
+        }
+    }
+
+    private int paletteIndexOf(final @Nullable Object value) {
+        if (this.paletteIndex != null) {
+            final Integer index = this.paletteIndex.get(value);
+            if (index != null) {
+                return index;
+            }
+        } else {
+            for (int i = 0; i < this.paletteSize; i++) {
+                if (Objects.equals(this.palette[i], value)) {
+                    return i;
+                }
+            }
+        }
+        if (this.paletteSize == capacity(this.bits)) {
+            compact();
+            // Widen if compacting didn't leave a reasonable amount of space
+            if (this.paletteSize * 4 >= capacity(this.bits) * 3) {
+                resize(this.bits == 0 ? 4 : this.bits * 2);
+            }
+        }
+        if (this.paletteSize == this.palette.length) {
+            this.palette = Arrays.copyOf(this.palette, this.palette.length * 2);
+        }
+        final int index = this.paletteSize++;
+        this.palette[index] = value;
+        if (this.paletteIndex != null) {
+            this.paletteIndex.put(value, index);
+        } else if (this.paletteSize > MAX_SCANNED_PALETTE) {
+            this.paletteIndex = new HashMap<>();
+            for (int i = 0; i < this.paletteSize; i++) {
+                this.paletteIndex.put(this.palette[i], i);
+            }
+        }
+        return index;
+    }
+
+    private void resize(final int bits) {
+        final int[] indices = new int[SIZE];
+        if (this.bits != 0) {
+            for (int j = 0; j < SIZE; j++) {
+                indices[j] = index(j);
+            }
+        }
+        this.bits = bits;
+        this.bytes = bits == 4 ? new byte[SIZE / 2] : bits == 8 ? new byte[SIZE] : null;
+        this.shorts = bits == 16 ? new short[SIZE] : null;
+        for (int j = 0; j < SIZE; j++) {
+            write(j, indices[j]);
+        }
+    }
+
+    /**
+     * Drop palette entries that are no longer referenced by any position.
+     */
+    private void compact() {
+        if (this.bits == 0) {
+            return;
+        }
+        final int[] remap = new int[this.paletteSize];
+        for (int j = 0; j < SIZE; j++) {
+            remap[index(j)] = 1;
+        }
+        final Object[] palette = new Object[this.palette.length];
+        int size = 0;
+        for (int i = 0; i < this.paletteSize; i++) {
+            if (remap[i] != 0) {
+                palette[size] = this.palette[i];
+                remap[i] = size++;
+            }
+        }
+        if (size == this.paletteSize) {
+            return;
+        }
+        for (int j = 0; j < SIZE; j++) {
+            write(j, remap[index(j)]);
+        }
+        this.palette = palette;
+        this.paletteSize = size;
+        if (this.paletteIndex != null) {
+            this.paletteIndex.clear();
+            for (int i = 0; i < size; i++) {
+                this.paletteIndex.put(palette[i], i);
+            }
+        }
+    }
+
+    /**
+     * Drop the indices if every position has been set to the same value.
+     */
+    @SuppressWarnings("unchecked")
+    private void collapse() {
+        final int first = index(0);
+        for (int j = 1; j < SIZE; j++) {
+            if (index(j) != first) {
+                return;
+            }
+        }
+        fill((T) this.palette[first]);
+    }
+
+    /**
+     * Consumer of a section position and its value.
+     *
+     * @param <T> value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<T> {
+
+        void accept(int j, T value);
+
+    }
+
+}
@@ -45,9 +45,9 @@ public abstract class QueueCoordinator {
 
     private final AtomicBoolean enqueued = new AtomicBoolean();
     private boolean forceSync = false;
+    private QueuePriority priority = QueuePriority.PLAYER;
     @Nullable
     private Object chunkObject;
-    @SuppressWarnings({"unused", "FieldCanBeLocal"})
     @Inject
     private GlobalBlockQueue blockQueue;
 
@@ -110,6 +110,38 @@ public abstract class QueueCoordinator {
         this.forceSync = forceSync;
     }
 
+    /**
+     * Get the priority the queue is started with by the {@link QueueScheduler} once enqueued. Defaults to
+     * {@link QueuePriority#PLAYER}.
+     *
+     * @return priority
+     * @since TODO
+     */
+    public @NonNull QueuePriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Set the priority the queue is started with by the {@link QueueScheduler} once enqueued. Has no effect on queues
+     * that are forced to be synchronous.
+     *
+     * @param priority priority
+     * @since TODO
+     */
+    public void setPriority(@NonNull QueuePriority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Get the global block queue the queue belongs to
+     *
+     * @return global block queue
+     * @since TODO
+     */
+    protected @NonNull GlobalBlockQueue getBlockQueue() {
+        return blockQueue;
+    }
+
     /**
      * Get the Chunk Object set to the queue
      *
@@ -426,11 +458,10 @@ public abstract class QueueCoordinator {
         int xMax = Math.max(pos1.getX(), pos2.getX());
         int zMin = Math.min(pos1.getZ(), pos2.getZ());
         int zMax = Math.max(pos1.getZ(), pos2.getZ());
-        for (int y = yMin; y <= yMax; y++) {
-            for (int x = xMin; x <= xMax; x++) {
-                for (int z = zMin; z <= zMax; z++) {
-                    setBlock(x, y, z, block);
-                }
+        BaseBlock baseBlock = block.toBaseBlock();
+        for (int x = xMin; x <= xMax; x++) {
+            for (int z = zMin; z <= zMax; z++) {
+                setColumn(x, z, yMin, yMax, baseBlock);
             }
         }
     }
@@ -449,15 +480,52 @@ public abstract class QueueCoordinator {
         int xMax = Math.max(pos1.getX(), pos2.getX());
         int zMin = Math.min(pos1.getZ(), pos2.getZ());
         int zMax = Math.max(pos1.getZ(), pos2.getZ());
-        for (int y = yMin; y <= yMax; y++) {
-            for (int x = xMin; x <= xMax; x++) {
-                for (int z = zMin; z <= zMax; z++) {
-                    setBlock(x, y, z, blocks);
-                }
+        for (int x = xMin; x <= xMax; x++) {
+            for (int z = zMin; z <= zMax; z++) {
+                setColumn(x, z, yMin, yMax, blocks);
             }
         }
     }
 
+    /**
+     * Fill a column of blocks between two heights (inclusive) with a BaseBlock. Queues that can write whole ranges of
+     * blocks at once should override this, by default the blocks are set one by one.
+     *
+     * @param x     the x coordinate
+     * @param z     the z coordinate
+     * @param yMin  the minimum y coordinate, inclusive
+     * @param yMax  the maximum y coordinate, inclusive
+     * @param block block to fill
+     * @since TODO
+     */
+    public void setColumn(int x, int z, int yMin, int yMax, @NonNull BaseBlock block) {
+        for (int y = yMin; y <= yMax; y++) {
+            setBlock(x, y, z, block);
+        }
+    }
+
+    /**
+     * Fill a column of blocks between two heights (inclusive) with a Pattern. Patterns that always produce the same
+     * block are passed on to {@link #setColumn(int, int, int, int, BaseBlock)}.
+     *
+     * @param x      the x coordinate
+     * @param z      the z coordinate
+     * @param yMin   the minimum y coordinate, inclusive
+     * @param yMax   the maximum y coordinate, inclusive
+     * @param blocks pattern to fill
+     * @since TODO
+     */
+    public void setColumn(int x, int z, int yMin, int yMax, @NonNull Pattern blocks) {
+        BaseBlock block = PatternUtil.getSingleBlock(blocks);
+        if (block != null) {
+            setColumn(x, z, yMin, yMax, block);
+            return;
+        }
+        for (int y = yMin; y <= yMax; y++) {
+            setBlock(x, y, z, blocks);
+        }
+    }
+
     /**
      * Fill a cuboid between two positions with a BiomeType
      *
@@ -0,0 +1,75 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.player.ConsolePlayer;
+import com.plotsquared.core.player.PlotPlayer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Priority of a {@link QueueCoordinator} in the {@link QueueScheduler}. Waiting queues are started in the order of their
+ * priority, and running queues get a share of the concurrent chunk loads proportional to the weight of their priority.
+ *
+ * @since TODO
+ */
+public enum QueuePriority {
+
+    /**
+     * Work a player is waiting on, such as clearing or setting a component of their own plot
+     */
+    PLAYER(4),
+    /**
+     * Bulk work started by an administrator or the console, such as trimming or regenerating an area
+     */
+    ADMIN(2),
+    /**
+     * Work nobody is waiting on, such as plot expiry and road regeneration
+     */
+    BACKGROUND(1);
+
+    private final int weight;
+
+    QueuePriority(final int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Get the priority of work executed on behalf of an actor.
+     *
+     * @param actor the actor, or {@code null} if the work isn't done on behalf of anyone
+     * @return {@link #PLAYER} for players, {@link #ADMIN} for the console and {@link #BACKGROUND} otherwise
+     */
+    public static @NonNull QueuePriority forActor(final @Nullable PlotPlayer<?> actor) {
+        if (actor == null) {
+            return BACKGROUND;
+        }
+        return actor instanceof ConsolePlayer ? ADMIN : PLAYER;
+    }
+
+    /**
+     * Get the relative share of concurrent chunk loads queues of this priority receive.
+     *
+     * @return weight
+     */
+    public int getWeight() {
+        return this.weight;
+    }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.configuration.Settings;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Central scheduler for the {@link ChunkCoordinator}s started by enqueued {@link QueueCoordinator}s.
+ * <p>
+ * At most {@link Settings.QUEUE#MAX_RUNNING_QUEUES} coordinators run at once. Additional coordinators wait until a
+ * running coordinator completes, and are then started in order of their {@link QueuePriority}, and in the order they
+ * were submitted within a priority. {@link QueuePriority#BACKGROUND} coordinators may only take half of the slots, so
+ * that there is always room for work players are waiting on.
+ * <p>
+ * Running coordinators share {@link Settings.QUEUE#MAX_CHUNK_LOADS} concurrent chunk loads, proportional to the
+ * {@link QueuePriority#getWeight() weight} of their priority.
+ *
+ * @since TODO
+ */
+public final class QueueScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + QueueScheduler.class.getSimpleName());
+
+    private final Map<QueuePriority, ArrayDeque<Entry>> waiting = new EnumMap<>(QueuePriority.class);
+    private final Map<ChunkCoordinator, Entry> running = new IdentityHashMap<>();
+    private final int[] runningCount = new int[QueuePriority.values().length];
+    private final long[] startedCount = new long[QueuePriority.values().length];
+    private final long[] totalWait = new long[QueuePriority.values().length];
+    private final LongSupplier clock;
+    private int runningWeight;
+    private int loadingChunks;
+
+    public QueueScheduler() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param clock source of the current time in nanoseconds, used for the wait times
+     */
+    public QueueScheduler(final @NonNull LongSupplier clock) {
+        this.clock = clock;
+        for (final QueuePriority priority : QueuePriority.values()) {
+            this.waiting.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Submit a coordinator to be started as soon as the limits allow. The scheduler must be notified of its
+     * completion using {@link #complete(ChunkCoordinator)}.
+     *
+     * @param coordinator coordinator that hasn't been started yet
+     * @param priority    priority of the coordinator
+     */
+    public void submit(final @NonNull ChunkCoordinator coordinator, final @NonNull QueuePriority priority) {
+        synchronized (this) {
+            this.waiting.get(priority).add(new Entry(coordinator, priority, this.clock.getAsLong()));
+        }
+        startWaiting();
+    }
+
+    /**
+     * Remove a coordinator that is still waiting to be started.
+     *
+     * @param coordinator coordinator
+     * @return {@code true} if the coordinator was waiting, and won't be started by the scheduler anymore
+     */
+    public synchronized boolean remove(final @NonNull ChunkCoordinator coordinator) {
+        for (final ArrayDeque<Entry> entries : this.waiting.values()) {
+            final Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().coordinator == coordinator) {
+                    iterator.remove();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Notify the scheduler that a coordinator has completed, freeing its slot and chunk loads for waiting
+     * coordinators. Does nothing if the coordinator wasn't started by the scheduler.
+     *
+     * @param coordinator completed coordinator
+     */
+    public void complete(final @NonNull ChunkCoordinator coordinator) {
+        synchronized (this) {
+            final Entry entry = this.running.remove(coordinator);
+            if (entry == null) {
+                return;
+            }
+            this.runningCount[entry.priority.ordinal()]--;
+            this.runningWeight -= entry.priority.getWeight();
+            this.loadingChunks -= entry.loading;
+        }
+        startWaiting();
+    }
+
+    /**
+     * Acquire permission to load chunks for a running coordinator. The coordinator is granted its fair share of
+     * {@link Settings.QUEUE#MAX_CHUNK_LOADS}, but always at least one chunk if it isn't loading any.
+     *
+     * @param coordinator running coordinator
+     * @param requested   number of chunks the coordinator wants to load
+     * @return number of chunks the coordinator may load, to be released with
+     *         {@link #releaseChunkLoads(ChunkCoordinator, int)} once loaded
+     */
+    public synchronized int acquireChunkLoads(final @NonNull ChunkCoordinator coordinator, final int requested) {
+        final Entry entry = this.running.get(coordinator);
+        final int limit = Settings.QUEUE.MAX_CHUNK_LOADS;
+        if (entry == null || limit <= 0 || requested <= 0) {
+            return Math.max(0, requested);
+        }
+        final int share = Math.max(1, limit * entry.priority.getWeight() / this.runningWeight);
+        int granted = Math.min(requested, Math.min(share - entry.loading, limit - this.loadingChunks));
+        if (granted <= 0) {
+            granted = entry.loading == 0 ? 1 : 0;
+        }
+        entry.loading += granted;
+        this.loadingChunks += granted;
+        return granted;
+    }
+
+    /**
+     * Release chunk loads acquired with {@link #acquireChunkLoads(ChunkCoordinator, int)}.
+     *
+     * @param coordinator coordinator
+     * @param count       number of chunks that finished loading
+     */
+    public synchronized void releaseChunkLoads(final @NonNull ChunkCoordinator coordinator, final int count) {
+        final Entry entry = this.running.get(coordinator);
+        if (entry == null) {
+            // Loads were already released when the coordinator completed
+            return;
+        }
+        entry.loading -= count;
+        this.loadingChunks -= count;
+    }
+
+    /**
+     * Get the number of coordinators waiting to be started.
+     *
+     * @param priority priority of the coordinators
+     * @return waiting coordinators
+     */
+    public synchronized int getWaiting(final @NonNull QueuePriority priority) {
+        return this.waiting.get(priority).size();
+    }
+
+    /**
+     * Get the number of running coordinators.
+     *
+     * @param priority priority of the coordinators
+     * @return running coordinators
+     */
+    public synchronized int getRunning(final @NonNull QueuePriority priority) {
+        return this.runningCount[priority.ordinal()];
+    }
+
+    /**
+     * Get the number of chunks currently being loaded by running coordinators.
+     *
+     * @return loading chunks
+     */
+    public synchronized int getLoadingChunks() {
+        return this.loadingChunks;
+    }
+
+    /**
+     * Get the average time coordinators waited before they were started.
+     *
+     * @param priority priority of the coordinators
+     * @return average wait, or {@link Duration#ZERO} if no coordinator has been started yet
+     */
+    public synchronized @NonNull Duration getAverageWait(final @NonNull QueuePriority priority) {
+        final long started = this.startedCount[priority.ordinal()];
+        return started == 0 ? Duration.ZERO : Duration.ofNanos(this.totalWait[priority.ordinal()] / started);
+    }
+
+    /**
+     * Get the time the longest waiting coordinator has been waiting for.
+     *
+     * @param priority priority of the coordinators
+     * @return longest current wait, or {@link Duration#ZERO} if no coordinator is waiting
+     */
+    public synchronized @NonNull Duration getLongestWait(final @NonNull QueuePriority priority) {
+        final Entry entry = this.waiting.get(priority).peek();
+        return entry == null ? Duration.ZERO : Duration.ofNanos(this.clock.getAsLong() - entry.submitted);
+    }
+
+    private boolean canStart(final @NonNull QueuePriority priority) {
+        final int limit = Settings.QUEUE.MAX_RUNNING_QUEUES;
+        if (limit <= 0) {
+            return true;
+        }
+        final int running = this.running.size();
+        return running < (priority == QueuePriority.BACKGROUND ? Math.max(1, limit / 2) : limit);
+    }
+
+    private void startWaiting() {
+        final List<ChunkCoordinator> start = new ArrayList<>();
+        synchronized (this) {
+            final long now = this.clock.getAsLong();
+            for (final QueuePriority priority : QueuePriority.values()) {
+                final ArrayDeque<Entry> entries = this.waiting.get(priority);
+                while (!entries.isEmpty() && canStart(priority)) {
+                    final Entry entry = entries.poll();
+                    this.running.put(entry.coordinator, entry);
+                    this.runningCount[priority.ordinal()]++;
+                    this.runningWeight += priority.getWeight();
+                    this.startedCount[priority.ordinal()]++;
+                    this.totalWait[priority.ordinal()] += now - entry.submitted;
+                    start.add(entry.coordinator);
+                }
+            }
+        }
+        // Coordinators may complete immediately, which calls back into the scheduler
+        for (final ChunkCoordinator coordinator : start) {
+            try {
+                coordinator.start();
+            } catch (final Throwable throwable) {
+                LOGGER.error("Failed to start chunk coordinator", throwable);
+                complete(coordinator);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final ChunkCoordinator coordinator;
+        private final QueuePriority priority;
+        private final long submitted;
+        private int loading;
+
+        private Entry(final ChunkCoordinator coordinator, final QueuePriority priority, final long submitted) {
+            this.coordinator = coordinator;
+            this.priority = priority;
+            this.submitted = submitted;
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.util.task.PlotSquaredTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Time budget per server tick that is shared by all running {@link ChunkCoordinator}s, so that concurrent
+ * coordinators don't each spend {@link Settings.QUEUE#MAX_ITERATION_TIME} on the main thread.
+ * <p>
+ * The budget is recalculated every tick. If the platform reports the average tick duration, the budget is the
+ * time left until ticks would take {@link Settings.QUEUE#TARGET_TICK_TIME}, not counting the time the coordinators
+ * themselves used, and limited to {@link Settings.QUEUE#MAX_ITERATION_TIME}. Otherwise, it's always
+ * {@link Settings.QUEUE#MAX_ITERATION_TIME}. Within a tick, the remaining budget is split evenly between the
+ * coordinators that haven't run yet.
+ * <p>
+ * All methods are expected to be called from the main thread, but are synchronized nonetheless.
+ *
+ * @since TODO
+ */
+public final class TickBudget {
+
+    private static final long MIN_BUDGET = TimeUnit.MILLISECONDS.toNanos(2);
+    // Weight of the latest tick in the average time used by the coordinators
+    private static final double USAGE_WEIGHT = 0.05D;
+
+    private final DoubleSupplier averageTickTime;
+    private final Function<Runnable, PlotSquaredTask> tickScheduler;
+    private @Nullable PlotSquaredTask task;
+    private int coordinators;
+    private int served;
+    private long budget;
+    private long used;
+    private double averageUsage;
+
+    /**
+     * Create a new budget.
+     *
+     * @param averageTickTime supplier of the average duration of a server tick in milliseconds, or
+     *                        {@link Double#NaN} if the platform doesn't report it
+     * @param tickScheduler   schedules the given task to run every tick, for as long as coordinators are registered
+     */
+    public TickBudget(
+            final @NonNull DoubleSupplier averageTickTime,
+            final @NonNull Function<Runnable, PlotSquaredTask> tickScheduler
+    ) {
+        this.averageTickTime = averageTickTime;
+        this.tickScheduler = tickScheduler;
+        this.budget = maxBudget();
+    }
+
+    private static long maxBudget() {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(1, Settings.QUEUE.MAX_ITERATION_TIME));
+    }
+
+    /**
+     * Register a coordinator that is going to acquire time from the budget.
+     */
+    public synchronized void register() {
+        if (this.coordinators++ == 0) {
+            nextTick();
+            this.task = this.tickScheduler.apply(this::nextTick);
+        }
+    }
+
+    /**
+     * Unregister a coordinator that has finished.
+     */
+    public synchronized void unregister() {
+        if (this.coordinators == 0) {
+            return;
+        }
+        if (--this.coordinators == 0 && this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    /**
+     * Start a new tick, recalculating the budget.
+     */
+    public synchronized void nextTick() {
+        this.averageUsage += (this.used - this.averageUsage) * USAGE_WEIGHT;
+        final long max = maxBudget();
+        final double tickTime = this.averageTickTime.getAsDouble();
+        if (Double.isNaN(tickTime)) {
+            this.budget = max;
+        } else {
+            // The average tick time includes the time used by the coordinators, which is still available to them
+            final long others = Math.max(0, TimeUnit.MICROSECONDS.toNanos((long) (tickTime * 1000)) - (long) this.averageUsage);
+            final long headroom = TimeUnit.MILLISECONDS.toNanos(Settings.QUEUE.TARGET_TICK_TIME) - others;
+            this.budget = Math.min(max, Math.max(MIN_BUDGET, headroom));
+        }
+        this.used = 0;
+        this.served = 0;
+    }
+
+    /**
+     * Acquire time to spend in the current tick. The time actually spent has to be reported through
+     * {@link #release(long)}.
+     *
+     * @param limit the most time the caller wants to spend, in nanoseconds
+     * @return the time the caller may spend, in nanoseconds. May be {@code 0}
+     */
+    public synchronized long acquire(final long limit) {
+        final long remaining = this.budget - this.used;
+        final int waiting = Math.max(1, this.coordinators - this.served++);
+        if (remaining <= 0) {
+            return 0;
+        }
+        return Math.min(limit, remaining / waiting);
+    }
+
+    /**
+     * Report time spent in the current tick.
+     *
+     * @param spent time spent, in nanoseconds
+     */
+    public synchronized void release(final long spent) {
+        this.used += spent;
+    }
+
+    /**
+     * Get the total budget of the current tick.
+     *
+     * @return budget in nanoseconds
+     */
+    public synchronized long getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * Get the number of registered coordinators.
+     *
+     * @return number of coordinators
+     */
+    public synchronized int getCoordinators() {
+        return this.coordinators;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+
+/**
+ * A copy of the blocks and biomes of a chunk, taken on the main thread, that may be read from any thread.
+ *
+ * @see WorldUtil#getChunkSnapshot(String, com.sk89q.worldedit.math.BlockVector2)
+ * @since TODO
+ */
+public interface ChunkSnapshot {
+
+    /**
+     * Get the block state at a position in the chunk.
+     *
+     * @param x X coordinate relative to the chunk, between 0 and 15
+     * @param y Y coordinate in the world
+     * @param z Z coordinate relative to the chunk, between 0 and 15
+     * @return block state
+     */
+    @NonNull BlockState getBlock(int x, int y, int z);
+
+    /**
+     * Get the biome at a position in the chunk.
+     *
+     * @param x X coordinate relative to the chunk, between 0 and 15
+     * @param y Y coordinate in the world
+     * @param z Z coordinate relative to the chunk, between 0 and 15
+     * @return biome
+     */
+    @NonNull BiomeType getBiome(int x, int y, int z);
+
+    /**
+     * Get the positions of the tile entities in the chunk. Their contents aren't part of the snapshot, and
+     * have to be read from the world.
+     *
+     * @return world positions of the tile entities
+     */
+    @NonNull Collection<BlockVector3> getTileEntities();
+
+}
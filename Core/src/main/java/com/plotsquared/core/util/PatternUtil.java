@@ -37,6 +37,7 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -45,12 +46,24 @@ public class PatternUtil {
 
     public static BaseBlock apply(@NonNull Pattern pattern, int x, int y, int z) {
         Preconditions.checkNotNull(pattern, "Pattern may not be null");
+        final BaseBlock block = getSingleBlock(pattern);
+        return block != null ? block : pattern.applyBlock(BlockVector3.at(x, y, z));
+    }
+
+    /**
+     * Get the block a pattern produces, if it produces the same block at every position.
+     *
+     * @param pattern pattern
+     * @return the block, or {@code null} if the block depends on the position
+     * @since TODO
+     */
+    public static @Nullable BaseBlock getSingleBlock(@NonNull Pattern pattern) {
         if (pattern instanceof BlockPattern
                 || pattern instanceof BlockState || pattern instanceof BlockType
                 || pattern instanceof BaseBlock) {
             return pattern.applyBlock(BlockVector3.ZERO);
         }
-        return pattern.applyBlock(BlockVector3.at(x, y, z));
+        return null;
     }
 
     public static Pattern parse(PlotPlayer<?> plotPlayer, String input) {
@@ -31,6 +31,7 @@ import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.queue.BasicQueueCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.entity.Entity;
 import com.sk89q.worldedit.function.pattern.Pattern;
@@ -127,6 +128,7 @@ public abstract class RegionManager {
         boolean enqueue = false;
         if (queue == null) {
             queue = area.getQueue();
+            queue.setPriority(QueuePriority.forActor(actor));
             enqueue = true;
             if (actor != null && Settings.QUEUE.NOTIFY_PROGRESS) {
                 queue.addProgressSubscriber(subscriberFactory.createWithActor(actor));
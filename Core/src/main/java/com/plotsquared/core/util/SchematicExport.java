@@ -0,0 +1,318 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.collection.RegionMask;
+import com.sk89q.jnbt.ByteArrayTag;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.ListTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the blocks, biomes and tile entities of a set of regions for a Sponge schematic, one chunk at a time.
+ * <p>
+ * The main thread only takes a {@link ChunkSnapshot} of each chunk and reads the full blocks of its tile entities.
+ * Reading the blocks from the snapshot, mapping them to palette ids and building the tile entity tags is done by the
+ * common pool. Every chunk keeps its blocks as indices into a palette of its own, mostly one byte per block, until
+ * they're written out in schematic order once all chunks are done. Palette ids are assigned by block state identity,
+ * so that the state strings only need to be created once per palette entry.
+ */
+final class SchematicExport {
+
+    private final WorldUtil worldUtil;
+    private final World world;
+    private final BlockState emptyState;
+    private final RegionMask mask;
+    private final boolean multipleRegions;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    private final int width;
+    private final int height;
+    private final int length;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksX;
+    // Encoded chunks, indexed by (chunkZ - minChunkZ) * chunksX + chunkX - minChunkX
+    private final Section[] sections;
+    // Biome palette ids in the order of the schematic's biome data, i.e. z * width + x
+    private final int[] biomes;
+    private final Map<BlockState, Integer> palette = new ConcurrentHashMap<>();
+    private final AtomicInteger paletteSize = new AtomicInteger();
+    private final Map<BiomeType, Integer> biomePalette = new ConcurrentHashMap<>();
+    private final AtomicInteger biomePaletteSize = new AtomicInteger();
+    private final List<CompoundTag> tileEntities = Collections.synchronizedList(new ArrayList<>());
+    private final List<CompletableFuture<Void>> chunks = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Create a new export.
+     *
+     * @param worldUtil  world util used to take chunk snapshots
+     * @param world      world to read from
+     * @param regions    regions to export
+     * @param aabb       bounding box of the regions
+     * @param emptyState state of the blocks that are within the bounding box, but not within any of the regions
+     */
+    SchematicExport(
+            final @NonNull WorldUtil worldUtil, final @NonNull World world, final @NonNull Set<CuboidRegion> regions,
+            final @NonNull CuboidRegion aabb, final @NonNull BlockState emptyState
+    ) {
+        this.worldUtil = worldUtil;
+        this.world = world;
+        this.emptyState = emptyState;
+        this.mask = RegionMask.compile(regions);
+        this.multipleRegions = regions.size() > 1;
+        final BlockVector3 minimum = aabb.getMinimumPoint();
+        final BlockVector3 maximum = aabb.getMaximumPoint();
+        this.minX = minimum.getX();
+        this.minY = minimum.getY();
+        this.minZ = minimum.getZ();
+        this.maxX = maximum.getX();
+        this.maxY = maximum.getY();
+        this.maxZ = maximum.getZ();
+        this.width = aabb.getWidth();
+        this.height = aabb.getHeight();
+        this.length = aabb.getLength();
+        this.minChunkX = this.minX >> 4;
+        this.minChunkZ = this.minZ >> 4;
+        this.chunksX = (this.maxX >> 4) - this.minChunkX + 1;
+        this.sections = new Section[this.chunksX * ((this.maxZ >> 4) - this.minChunkZ + 1)];
+        this.biomes = new int[this.width * this.length];
+    }
+
+    /**
+     * Take a snapshot of the part of a loaded chunk that lies within the exported regions, and hand it off to be
+     * encoded. Must be called on the main thread.
+     *
+     * @param chunk chunk coordinates
+     */
+    void readChunk(final @NonNull BlockVector2 chunk) {
+        final int x0 = Math.max(this.minX, chunk.getX() << 4);
+        final int z0 = Math.max(this.minZ, chunk.getZ() << 4);
+        final int x1 = Math.min(this.maxX, (chunk.getX() << 4) + 15);
+        final int z1 = Math.min(this.maxZ, (chunk.getZ() << 4) + 15);
+        if (x0 > x1 || z0 > z1) {
+            return;
+        }
+        final ChunkSnapshot snapshot = this.worldUtil.getChunkSnapshot(this.world.getName(), chunk);
+        // Tile entity contents aren't part of the snapshot, but there are few of them
+        final List<Tile> tiles = new ArrayList<>();
+        for (final BlockVector3 position : snapshot.getTileEntities()) {
+            final int x = position.getX();
+            final int y = position.getY();
+            final int z = position.getZ();
+            if (x < x0 || x > x1 || y < this.minY || y > this.maxY || z < z0 || z > z1
+                    || (this.multipleRegions && !this.mask.contains(x, y, z))) {
+                continue;
+            }
+            final BaseBlock block = this.world.getFullBlock(position);
+            if (block.getNbtData() != null) {
+                tiles.add(new Tile(x - this.minX, y - this.minY, z - this.minZ, block));
+            }
+        }
+        this.chunks.add(CompletableFuture.runAsync(() -> encode(x0, z0, x1, z1, snapshot, tiles), ForkJoinPool.commonPool()));
+    }
+
+    private void encode(
+            final int x0, final int z0, final int x1, final int z1,
+            final ChunkSnapshot snapshot, final List<Tile> tiles
+    ) {
+        final int sizeX = x1 - x0 + 1;
+        final int sizeZ = z1 - z0 + 1;
+        // Most chunks only contain a handful of distinct states, avoid contending on the shared palette
+        final Map<BlockState, Integer> localPalette = new IdentityHashMap<>();
+        int[] localIds = new int[16];
+        byte[] indices = new byte[sizeX * sizeZ * this.height];
+        char[] wideIndices = null;
+        int i = 0;
+        for (int y = this.minY; y <= this.maxY; y++) {
+            for (int z = z0; z <= z1; z++) {
+                for (int x = x0; x <= x1; x++) {
+                    final BlockState state;
+                    if (this.multipleRegions && !this.mask.contains(x, y, z)) {
+                        state = this.emptyState;
+                    } else {
+                        state = snapshot.getBlock(x & 15, y, z & 15);
+                    }
+                    Integer index = localPalette.get(state);
+                    if (index == null) {
+                        index = localPalette.size();
+                        localPalette.put(state, index);
+                        if (index == localIds.length) {
+                            localIds = Arrays.copyOf(localIds, index * 2);
+                        }
+                        localIds[index] = this.palette.computeIfAbsent(state, ignored -> this.paletteSize.getAndIncrement());
+                        if (index == 256) {
+                            wideIndices = new char[indices.length];
+                            for (int j = 0; j < i; j++) {
+                                wideIndices[j] = (char) (indices[j] & 0xFF);
+                            }
+                            indices = null;
+                        }
+                    }
+                    if (wideIndices == null) {
+                        indices[i++] = (byte) index.intValue();
+                    } else {
+                        wideIndices[i++] = (char) index.intValue();
+                    }
+                }
+            }
+        }
+        final int chunkIndex = ((z0 >> 4) - this.minChunkZ) * this.chunksX + (x0 >> 4) - this.minChunkX;
+        this.sections[chunkIndex] = new Section(sizeX, sizeZ, localIds, indices, wideIndices);
+
+        for (int z = z0; z <= z1; z++) {
+            for (int x = x0; x <= x1; x++) {
+                final Integer id = this.biomePalette.computeIfAbsent(
+                        snapshot.getBiome(x & 15, this.minY, z & 15),
+                        ignored -> this.biomePaletteSize.getAndIncrement()
+                );
+                this.biomes[(z - this.minZ) * this.width + x - this.minX] = id;
+            }
+        }
+        for (final Tile tile : tiles) {
+            Map<String, Tag> values = new HashMap<>(tile.block().getNbtData().getValue());
+            // Positions are kept in NBT, we don't want that.
+            values.remove("x");
+            values.remove("y");
+            values.remove("z");
+            values.put("Id", new StringTag(tile.block().getNbtId()));
+            // Remove 'id' if it exists. We want 'Id'. This needs to happen after getNbtId, as that reads it
+            values.remove("id");
+            values.put("Pos", new IntArrayTag(new int[]{tile.x(), tile.y(), tile.z()}));
+            this.tileEntities.add(new CompoundTag(values));
+        }
+    }
+
+    /**
+     * Wait for all read chunks to be encoded, and write the result into the schematic.
+     *
+     * @param schematic schematic tag values
+     * @return a future completed once the schematic has been written
+     */
+    @NonNull CompletableFuture<Void> complete(final @NonNull Map<String, Tag> schematic) {
+        return CompletableFuture.allOf(this.chunks.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> write(schematic), ForkJoinPool.commonPool());
+    }
+
+    private void write(final Map<String, Tag> schematic) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(this.width * this.height * this.length);
+        for (int y = 0; y < this.height; y++) {
+            for (int z = 0; z < this.length; z++) {
+                final int row = ((this.minZ + z) >> 4) - this.minChunkZ;
+                int x = 0;
+                for (int chunkX = 0; chunkX < this.chunksX; chunkX++) {
+                    final Section section = this.sections[row * this.chunksX + chunkX];
+                    if (section == null) {
+                        // The chunk couldn't be read, fill its part of the row with the empty state
+                        final int emptyId = this.palette.computeIfAbsent(
+                                this.emptyState,
+                                ignored -> this.paletteSize.getAndIncrement()
+                        );
+                        final int end = Math.min(this.width, ((this.minChunkX + chunkX + 1) << 4) - this.minX);
+                        for (; x < end; x++) {
+                            writeVarInt(buffer, emptyId);
+                        }
+                        continue;
+                    }
+                    // Sections start at the first block of the row within their chunk
+                    final int sectionZ = (this.minZ + z) - Math.max(this.minZ, (this.minChunkZ + row) << 4);
+                    int index = (y * section.sizeZ() + sectionZ) * section.sizeX();
+                    for (int end = index + section.sizeX(); index < end; index++) {
+                        writeVarInt(buffer, section.get(index));
+                    }
+                    x += section.sizeX();
+                }
+            }
+        }
+        // Block states are interned, so every palette entry has a distinct string
+        final Map<String, Tag> paletteTag = new HashMap<>();
+        this.palette.forEach((state, id) -> paletteTag.put(state.getAsString(), new IntTag(id)));
+        final Map<String, Tag> biomePaletteTag = new HashMap<>();
+        this.biomePalette.forEach((biome, id) -> biomePaletteTag.put(biome.getId(), new IntTag(id)));
+        final ByteArrayOutputStream biomeBuffer = new ByteArrayOutputStream(this.biomes.length);
+        for (final int id : this.biomes) {
+            writeVarInt(biomeBuffer, id);
+        }
+
+        schematic.put("PaletteMax", new IntTag(paletteTag.size()));
+        schematic.put("Palette", new CompoundTag(paletteTag));
+        schematic.put("BlockData", new ByteArrayTag(buffer.toByteArray()));
+        schematic.put("BlockEntities", new ListTag(CompoundTag.class, new ArrayList<>(this.tileEntities)));
+        if (biomePaletteTag.isEmpty()) {
+            return;
+        }
+        schematic.put("BiomePaletteMax", new IntTag(biomePaletteTag.size()));
+        schematic.put("BiomePalette", new CompoundTag(biomePaletteTag));
+        schematic.put("BiomeData", new ByteArrayTag(biomeBuffer.toByteArray()));
+    }
+
+    private static void writeVarInt(final ByteArrayOutputStream buffer, int value) {
+        while ((value & -128) != 0) {
+            buffer.write(value & 127 | 128);
+            value >>>= 7;
+        }
+        buffer.write(value);
+    }
+
+    /**
+     * The blocks of a chunk within the bounding box, in the order (y * sizeZ + z) * sizeX + x. Blocks are stored as
+     * indices into the palette of the chunk, using bytes unless the chunk contains more than 256 distinct states.
+     */
+    private record Section(int sizeX, int sizeZ, int[] ids, byte[] indices, char[] wideIndices) {
+
+        int get(final int index) {
+            return this.ids[this.wideIndices == null ? this.indices[index] & 0xFF : this.wideIndices[index]];
+        }
+
+    }
+
+    private record Tile(int x, int y, int z, BaseBlock block) {
+
+    }
+
+}
@@ -33,19 +33,16 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.schematic.Schematic;
 import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.queue.QueuePriority;
 import com.plotsquared.core.util.net.AbstractDelegateOutputStream;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
-import com.plotsquared.core.util.task.YieldRunnable;
-import com.sk89q.jnbt.ByteArrayTag;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.jnbt.IntArrayTag;
 import com.sk89q.jnbt.IntTag;
-import com.sk89q.jnbt.ListTag;
 import com.sk89q.jnbt.NBTInputStream;
 import com.sk89q.jnbt.NBTOutputStream;
 import com.sk89q.jnbt.ShortTag;
-import com.sk89q.jnbt.StringTag;
 import com.sk89q.jnbt.Tag;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extension.platform.Capability;
@@ -55,7 +52,6 @@ import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.extent.clipboard.io.MCEditSchematicReader;
 import com.sk89q.worldedit.extent.clipboard.io.SpongeSchematicReader;
-import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.regions.Region;
@@ -70,7 +66,6 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -204,6 +199,27 @@ public abstract class SchematicHandler {
             final File outputDir,
             final String namingScheme,
             final Runnable ifSuccess
+    ) {
+        return exportAll(collection, outputDir, namingScheme, ifSuccess, QueuePriority.PLAYER);
+    }
+
+    /**
+     * Export a collection of plots to schematics, one after another.
+     *
+     * @param collection   plots to export
+     * @param outputDir    directory to save the schematics in, or {@code null} for the schematics directory
+     * @param namingScheme naming scheme of the schematic files, or {@code null} for the default one
+     * @param ifSuccess    task to run once all plots have been exported
+     * @param priority     priority of the queues reading the plots' chunks
+     * @return {@code false} if another export is already running, or the collection is empty
+     * @since TODO
+     */
+    public boolean exportAll(
+            Collection<Plot> collection,
+            final File outputDir,
+            final String namingScheme,
+            final Runnable ifSuccess,
+            final @NonNull QueuePriority priority
     ) {
         if (this.exportAll) {
             return false;
@@ -248,7 +264,7 @@ public abstract class SchematicHandler {
                 }
 
                 final Runnable THIS = this;
-                getCompoundTag(plot)
+                getCompoundTag(plot, priority)
                         .whenComplete((compoundTag, throwable) -> {
                             if (compoundTag != null) {
                                 TaskManager.runTaskAsync(() -> {
@@ -564,36 +580,6 @@ public abstract class SchematicHandler {
         return true;
     }
 
-    private void writeSchematicData(
-            final @NonNull Map<String, Tag> schematic,
-            final @NonNull Map<String, Integer> palette,
-            final @NonNull Map<String, Integer> biomePalette,
-            final @NonNull List<CompoundTag> tileEntities,
-            final @NonNull ByteArrayOutputStream buffer,
-            final @NonNull ByteArrayOutputStream biomeBuffer
-    ) {
-        schematic.put("PaletteMax", new IntTag(palette.size()));
-
-        Map<String, Tag> paletteTag = new HashMap<>();
-        palette.forEach((key, value) -> paletteTag.put(key, new IntTag(value)));
-
-        schematic.put("Palette", new CompoundTag(paletteTag));
-        schematic.put("BlockData", new ByteArrayTag(buffer.toByteArray()));
-        schematic.put("BlockEntities", new ListTag(CompoundTag.class, tileEntities));
-
-        if (biomeBuffer.size() == 0 || biomePalette.size() == 0) {
-            return;
-        }
-
-        schematic.put("BiomePaletteMax", new IntTag(biomePalette.size()));
-
-        Map<String, Tag> biomePaletteTag = new HashMap<>();
-        biomePalette.forEach((key, value) -> biomePaletteTag.put(key, new IntTag(value)));
-
-        schematic.put("BiomePalette", new CompoundTag(biomePaletteTag));
-        schematic.put("BiomeData", new ByteArrayTag(biomeBuffer.toByteArray()));
-    }
-
     @NonNull
     private Map<String, Tag> initSchematic(short width, short height, short length) {
         Map<String, Tag> schematic = new HashMap<>();
@@ -630,7 +616,22 @@ public abstract class SchematicHandler {
      * @return a {@link CompletableFuture} that provides the created {@link CompoundTag}.
      */
     public CompletableFuture<CompoundTag> getCompoundTag(final @NonNull Plot plot) {
-        return getCompoundTag(Objects.requireNonNull(plot.getWorldName()), plot.getRegions());
+        return getCompoundTag(plot, QueuePriority.PLAYER);
+    }
+
+    /**
+     * Get the given plot as {@link CompoundTag} matching the Sponge schematic format.
+     *
+     * @param plot     The plot to get the contents from.
+     * @param priority The priority of the queue reading the plot's chunks.
+     * @return a {@link CompletableFuture} that provides the created {@link CompoundTag}.
+     * @since TODO
+     */
+    public @NonNull CompletableFuture<CompoundTag> getCompoundTag(
+            final @NonNull Plot plot,
+            final @NonNull QueuePriority priority
+    ) {
+        return getCompoundTag(Objects.requireNonNull(plot.getWorldName()), plot.getRegions(), priority);
     }
 
     /**
@@ -644,6 +645,24 @@ public abstract class SchematicHandler {
     public @NonNull CompletableFuture<CompoundTag> getCompoundTag(
             final @NonNull String worldName,
             final @NonNull Set<CuboidRegion> regions
+    ) {
+        return getCompoundTag(worldName, regions, QueuePriority.PLAYER);
+    }
+
+    /**
+     * Get the contents of the given regions in the given world as {@link CompoundTag}
+     * matching the Sponge schematic format.
+     *
+     * @param worldName The world to get the contents from.
+     * @param regions   The regions to get the contents from.
+     * @param priority  The priority of the queue reading the regions' chunks.
+     * @return a {@link CompletableFuture} that provides the created {@link CompoundTag}.
+     * @since TODO
+     */
+    public @NonNull CompletableFuture<CompoundTag> getCompoundTag(
+            final @NonNull String worldName,
+            final @NonNull Set<CuboidRegion> regions,
+            final @NonNull QueuePriority priority
     ) {
         CompletableFuture<CompoundTag> completableFuture = new CompletableFuture<>();
         TaskManager.runTaskAsync(() -> {
@@ -652,158 +671,30 @@ public abstract class SchematicHandler {
             CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
             aabb.setWorld(world);
 
-            RegionIntersection intersection = new RegionIntersection(new ArrayList<>(regions));
-
-            final int width = aabb.getWidth();
-            int height = aabb.getHeight();
-            final int length = aabb.getLength();
-            final boolean multipleRegions = regions.size() > 1;
-
-            Map<String, Tag> schematic = initSchematic((short) width, (short) height, (short) length);
-
-            Map<String, Integer> palette = new HashMap<>();
-            Map<String, Integer> biomePalette = new HashMap<>();
-
-            List<CompoundTag> tileEntities = new ArrayList<>();
-            ByteArrayOutputStream buffer = new ByteArrayOutputStream(width * height * length);
-            ByteArrayOutputStream biomeBuffer = new ByteArrayOutputStream(width * length);
-            // Queue
-            TaskManager.runTaskAsync(() -> {
-                final BlockVector3 minimum = aabb.getMinimumPoint();
-                final BlockVector3 maximum = aabb.getMaximumPoint();
-
-                final int minX = minimum.getX();
-                final int minZ = minimum.getZ();
-                final int minY = minimum.getY();
-
-                final int maxX = maximum.getX();
-                final int maxZ = maximum.getZ();
-                final int maxY = maximum.getY();
-
-                final Runnable yTask = new YieldRunnable() {
-                    int currentY = minY;
-                    int currentX = minX;
-                    int currentZ = minZ;
-
-                    @Override
-                    public void run() {
-                        long start = System.currentTimeMillis();
-                        int lastBiome = 0;
-                        for (; currentY <= maxY; currentY++) {
-                            int relativeY = currentY - minY;
-                            for (; currentZ <= maxZ; currentZ++) {
-                                int relativeZ = currentZ - minZ;
-                                for (; currentX <= maxX; currentX++) {
-                                    // if too much time was spent here, we yield this task
-                                    // note that current(X/Y/Z) aren't incremented, so the same position
-                                    // as *right now* will be visited again
-                                    if (System.currentTimeMillis() - start > 40) {
-                                        this.yield();
-                                        return;
-                                    }
-                                    int relativeX = currentX - minX;
-                                    BlockVector3 point = BlockVector3.at(currentX, currentY, currentZ);
-                                    if (multipleRegions && !intersection.contains(point)) {
-                                        String blockKey = BlockTypes.AIR.getDefaultState().getAsString();
-                                        int blockId;
-                                        if (palette.containsKey(blockKey)) {
-                                            blockId = palette.get(blockKey);
-                                        } else {
-                                            blockId = palette.size();
-                                            palette.put(blockKey, palette.size());
-                                        }
-                                        while ((blockId & -128) != 0) {
-                                            buffer.write(blockId & 127 | 128);
-                                            blockId >>>= 7;
-                                        }
-                                        buffer.write(blockId);
-
-                                        if (relativeY > 0) {
-                                            continue;
-                                        }
-
-                                        // Write the last biome if we're not getting it from the plot;
-                                        int biomeId = lastBiome;
-                                        while ((biomeId & -128) != 0) {
-                                            biomeBuffer.write(biomeId & 127 | 128);
-                                            biomeId >>>= 7;
-                                        }
-                                        biomeBuffer.write(biomeId);
-                                        continue;
-                                    }
-                                    BaseBlock block = aabb.getWorld().getFullBlock(point);
-                                    if (block.getNbtData() != null) {
-                                        Map<String, Tag> values = new HashMap<>();
-                                        for (Map.Entry<String, Tag> entry : block.getNbtData().getValue().entrySet()) {
-                                            values.put(entry.getKey(), entry.getValue());
-                                        }
-
-                                        // Positions are kept in NBT, we don't want that.
-                                        values.remove("x");
-                                        values.remove("y");
-                                        values.remove("z");
-
-                                        values.put("Id", new StringTag(block.getNbtId()));
-
-                                        // Remove 'id' if it exists. We want 'Id'.
-                                        // Do this after we get "getNbtId" cos otherwise "getNbtId" doesn't work.
-                                        // Dum.
-                                        values.remove("id");
-                                        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
-
-                                        tileEntities.add(new CompoundTag(values));
-                                    }
-                                    String blockKey = block.toImmutableState().getAsString();
-                                    int blockId;
-                                    if (palette.containsKey(blockKey)) {
-                                        blockId = palette.get(blockKey);
-                                    } else {
-                                        blockId = palette.size();
-                                        palette.put(blockKey, palette.size());
-                                    }
-
-                                    while ((blockId & -128) != 0) {
-                                        buffer.write(blockId & 127 | 128);
-                                        blockId >>>= 7;
-                                    }
-                                    buffer.write(blockId);
-
-                                    if (relativeY > 0) {
-                                        continue;
-                                    }
-                                    BlockVector2 pt = BlockVector2.at(currentX, currentZ);
-                                    BiomeType biome = aabb.getWorld().getBiome(pt);
-                                    String biomeStr = biome.getId();
-                                    int biomeId;
-                                    if (biomePalette.containsKey(biomeStr)) {
-                                        biomeId = lastBiome = biomePalette.get(biomeStr);
-                                    } else {
-                                        biomeId = lastBiome = biomePalette.size();
-                                        biomePalette.put(biomeStr, biomeId);
-                                    }
-                                    while ((biomeId & -128) != 0) {
-                                        biomeBuffer.write(biomeId & 127 | 128);
-                                        biomeId >>>= 7;
-                                    }
-                                    biomeBuffer.write(biomeId);
-                                }
-                                currentX = minX; // reset manually as not using local variable
-                            }
-                            currentZ = minZ; // reset manually as not using local variable
-                        }
-                        TaskManager.runTaskAsync(() -> {
-                            writeSchematicData(schematic, palette, biomePalette, tileEntities, buffer, biomeBuffer);
-                            completableFuture.complete(new CompoundTag(schematic));
-                        });
-                    }
-                };
-                yTask.run();
-            });
+            Map<String, Tag> schematic = initSchematic((short) aabb.getWidth(), (short) aabb.getHeight(),
+                    (short) aabb.getLength()
+            );
+            SchematicExport export = new SchematicExport(this.worldUtil, world, regions, aabb,
+                    BlockTypes.AIR.getDefaultState()
+            );
+
+            // Chunks are snapshotted on the main thread as they're loaded, and encoded asynchronously
+            QueueCoordinator queue = PlotSquared.platform().globalBlockQueue().getNewQueue(world);
+            queue.setPriority(priority);
+            queue.addReadChunks(aabb.getChunks());
+            queue.setChunkConsumer(export::readChunk);
+            queue.setCompleteTask(() -> export.complete(schematic).whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    completableFuture.completeExceptionally(throwable);
+                } else {
+                    completableFuture.complete(new CompoundTag(schematic));
+                }
+            }));
+            queue.enqueue();
         });
         return completableFuture;
     }
 
-
     public static class UnsupportedFormatException extends Exception {
 
         /**
@@ -37,6 +37,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -207,6 +209,33 @@ public final class TabCompletions {
         return Collections.unmodifiableList(completions);
     }
 
+    /**
+     * Get a list of plot aliases matching the given input.
+     * The list is unmodifiable.
+     *
+     * @param input Input to filter with
+     * @return Unmodifiable list of alias completions
+     * @since TODO
+     */
+    public static @NonNull List<Command> completeAliases(final @NonNull String input) {
+        final Set<String> aliases = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (final PlotArea area : PlotSquared.get().getPlotAreaManager().getAllPlotAreas()) {
+            aliases.addAll(area.getAliases(input, 200));
+        }
+        final List<Command> completions = new ArrayList<>();
+        for (final String alias : aliases) {
+            /* If there are more than 200 suggestions, just send the first 200 */
+            if (completions.size() >= 200) {
+                break;
+            }
+            completions.add(new Command(null, false, alias, "",
+                    RequiredType.NONE, null
+            ) {
+            });
+        }
+        return Collections.unmodifiableList(completions);
+    }
+
     public static @NonNull List<Command> asCompletions(String... toFilter) {
         final List<Command> completions = new ArrayList<>();
         for (String completion : toFilter) {
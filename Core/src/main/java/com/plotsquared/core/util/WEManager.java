@@ -19,6 +19,7 @@
 package com.plotsquared.core.util;
 
 import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.collection.RegionMask;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.MetaDataAccess;
@@ -40,6 +41,16 @@ public class WEManager {
     private static final BlockVector3 MIN = BlockVector3.at(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
     private static final BlockVector3 MAX = BlockVector3.at(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
 
+    /**
+     * Check whether any region of the mask contains a block. This checks every region, so masks that are
+     * queried repeatedly should be compiled into a {@link RegionMask} instead.
+     *
+     * @param mask regions
+     * @param x    block x
+     * @param y    block y
+     * @param z    block z
+     * @return {@code true} if the block is inside the mask
+     */
     public static boolean maskContains(Set<CuboidRegion> mask, int x, int y, int z) {
         for (CuboidRegion region : mask) {
             if (RegionUtil.contains(region, x, y, z)) {
@@ -439,4 +439,14 @@ public abstract class WorldUtil {
     @NonNegative
     public abstract int getTileEntityCount(@NonNull String world, @NonNull BlockVector2 chunk);
 
+    /**
+     * Take a snapshot of a loaded chunk, that can be read from any thread. Must be called on the main thread
+     *
+     * @param world World
+     * @param chunk Chunk coordinates
+     * @return Snapshot of the chunk
+     * @since TODO
+     */
+    public abstract @NonNull ChunkSnapshot getChunkSnapshot(@NonNull String world, @NonNull BlockVector2 chunk);
+
 }
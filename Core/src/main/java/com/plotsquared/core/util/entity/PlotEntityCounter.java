@@ -0,0 +1,151 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.entity;
+
+import com.plotsquared.core.collection.ConcurrentLongObjectMap;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.PlotManager;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps count of the entities in each plot, per entity cap category ({@link EntityCategories#CAP_ENTITY} etc.), so
+ * that entity caps can be checked without looking at the entities of a plot.
+ * <p>
+ * Platforms update the counts as entities are added to or removed from their worlds, and periodically update
+ * entities that are already counted to account for them moving between plots.
+ *
+ * @since TODO
+ */
+public final class PlotEntityCounter {
+
+    private static final int CATEGORIES = 6;
+
+    private final Map<UUID, TrackedEntity> entities = new HashMap<>();
+    private final Map<PlotArea, ConcurrentLongObjectMap<int[]>> counts = new IdentityHashMap<>();
+
+    /**
+     * Count an entity towards the plot at its current position, removing it from the plot it was previously
+     * counted in, if any.
+     *
+     * @param entity     the entity's unique id
+     * @param area       the plot area the entity is in, or {@code null} if none
+     * @param plotId     the packed id of the plot the entity is in (see {@link PlotId#toLong()}), or
+     *                   {@link PlotManager#NO_PLOT_ID} if it's not in a plot
+     * @param categories bit mask of the categories the entity counts towards, with bit {@code i} representing
+     *                   category {@code i}
+     */
+    public synchronized void update(
+            final @NonNull UUID entity,
+            final @Nullable PlotArea area,
+            final long plotId,
+            final int categories
+    ) {
+        if (area == null || plotId == PlotManager.NO_PLOT_ID || categories == 0) {
+            remove(entity);
+            return;
+        }
+        final TrackedEntity previous = this.entities.get(entity);
+        if (previous != null) {
+            if (previous.area == area && previous.plotId == plotId && previous.categories == categories) {
+                return;
+            }
+            add(previous, -1);
+        }
+        final TrackedEntity tracked = new TrackedEntity(area, plotId, categories);
+        this.entities.put(entity, tracked);
+        add(tracked, 1);
+    }
+
+    /**
+     * Stop counting an entity.
+     *
+     * @param entity the entity's unique id
+     */
+    public synchronized void remove(final @NonNull UUID entity) {
+        final TrackedEntity previous = this.entities.remove(entity);
+        if (previous != null) {
+            add(previous, -1);
+        }
+    }
+
+    /**
+     * Get the number of entities in a single plot, ignoring any plots merged with it.
+     *
+     * @param area   plot area
+     * @param plotId plot id
+     * @return entity counts, indexed by category
+     */
+    public synchronized int @NonNull [] getCounts(final @NonNull PlotArea area, final @NonNull PlotId plotId) {
+        final ConcurrentLongObjectMap<int[]> areaCounts = this.counts.get(area);
+        final int[] counts = areaCounts == null ? null : areaCounts.get(plotId.toLong());
+        return counts == null ? new int[CATEGORIES] : counts.clone();
+    }
+
+    /**
+     * Get the number of entities being counted.
+     *
+     * @return number of entities
+     */
+    public synchronized int size() {
+        return this.entities.size();
+    }
+
+    /**
+     * Forget all entities and counts.
+     */
+    public synchronized void clear() {
+        this.entities.clear();
+        this.counts.clear();
+    }
+
+    private void add(final TrackedEntity entity, final int delta) {
+        final ConcurrentLongObjectMap<int[]> areaCounts =
+                this.counts.computeIfAbsent(entity.area, area -> new ConcurrentLongObjectMap<>());
+        int[] counts = areaCounts.get(entity.plotId);
+        if (counts == null) {
+            if (delta < 0) {
+                return;
+            }
+            counts = new int[CATEGORIES];
+            areaCounts.put(entity.plotId, counts);
+        }
+        boolean empty = true;
+        for (int category = 0; category < CATEGORIES; category++) {
+            if ((entity.categories & 1 << category) != 0) {
+                counts[category] = Math.max(0, counts[category] + delta);
+            }
+            empty &= counts[category] == 0;
+        }
+        if (empty) {
+            areaCounts.remove(entity.plotId);
+        }
+    }
+
+    private record TrackedEntity(PlotArea area, long plotId, int categories) {
+
+    }
+
+}
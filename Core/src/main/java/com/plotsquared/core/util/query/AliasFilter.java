@@ -19,7 +19,11 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
 
 class AliasFilter implements PlotFilter {
 
@@ -34,4 +38,10 @@ class AliasFilter implements PlotFilter {
         return this.alias.equalsIgnoreCase(plot.getAlias());
     }
 
+    @Override
+    public @Nullable Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        // Plots without an alias aren't indexed
+        return this.alias.isEmpty() ? null : area.getPlotsByAlias(this.alias);
+    }
+
 }
@@ -20,10 +20,12 @@ package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Stream;
 
 class AreaLimitedPlotProvider implements PlotProvider {
 
@@ -42,4 +44,14 @@ class AreaLimitedPlotProvider implements PlotProvider {
         return plots;
     }
 
+    @Override
+    public @NonNull Stream<Plot> streamPlots() {
+        return this.areas.stream().flatMap(area -> area.getPlots().stream());
+    }
+
+    @Override
+    public @NonNull Collection<PlotArea> getAreas() {
+        return this.areas;
+    }
+
 }
@@ -24,8 +24,10 @@ import com.plotsquared.core.plot.world.PlotAreaManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 class GlobalPlotProvider implements PlotProvider {
 
@@ -44,4 +46,14 @@ class GlobalPlotProvider implements PlotProvider {
         return plots;
     }
 
+    @Override
+    public @NonNull Stream<Plot> streamPlots() {
+        return Arrays.stream(this.plotAreaManager.getAllPlotAreas()).flatMap(area -> area.getPlots().stream());
+    }
+
+    @Override
+    public @NonNull Collection<PlotArea> getAreas() {
+        return Arrays.asList(this.plotAreaManager.getAllPlotAreas());
+    }
+
 }
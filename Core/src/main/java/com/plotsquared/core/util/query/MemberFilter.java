@@ -19,8 +19,10 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Collection;
 import java.util.UUID;
 
 class MemberFilter implements PlotFilter {
@@ -37,4 +39,9 @@ class MemberFilter implements PlotFilter {
         return plot.isAdded(uuid);
     }
 
+    @Override
+    public @NonNull Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        return area.getAddedPlots(this.uuid);
+    }
+
 }
@@ -18,9 +18,15 @@
  */
 package com.plotsquared.core.util.query;
 
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 
 class OwnersIncludeFilter implements PlotFilter {
@@ -36,4 +42,18 @@ class OwnersIncludeFilter implements PlotFilter {
         return plot.isBasePlot() && plot.getOwners().size() > 0 && plot.getOwners().contains(owner);
     }
 
+    @Override
+    public @Nullable Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        if (DBFunc.SERVER.equals(this.owner)) {
+            // Server plots are determined by flag, not by the owner index
+            return null;
+        }
+        // Any base plot including the owner is merged with a plot they own absolutely
+        final Set<Plot> bases = new LinkedHashSet<>();
+        for (final Plot plot : area.getPlotsAbs(this.owner)) {
+            bases.add(plot.getBasePlot(false));
+        }
+        return bases;
+    }
+
 }
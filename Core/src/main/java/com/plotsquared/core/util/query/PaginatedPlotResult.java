@@ -50,7 +50,7 @@ public final class PaginatedPlotResult {
         if (this.plots.size() < from) {
             return Collections.emptyList();
         }
-        final int to = Math.max(from + pageSize, this.plots.size());
+        final int to = Math.min(from + pageSize, this.plots.size());
         return this.plots.subList(from, to);
     }
 
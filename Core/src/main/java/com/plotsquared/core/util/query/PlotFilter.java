@@ -19,8 +19,11 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collection;
 import java.util.function.Predicate;
 
 @FunctionalInterface
@@ -33,4 +36,16 @@ interface PlotFilter extends Predicate<Plot> {
 
     boolean accepts(final @NonNull Plot plot);
 
+    /**
+     * Look up the plots in an area that may be accepted by this filter, using the indexes of the area.
+     * Every claimed plot in the area that is accepted must be contained, but not every contained
+     * plot has to be accepted.
+     *
+     * @param area Area to look up plots in
+     * @return Candidate plots, or {@code null} if the filter can't be answered from an index
+     */
+    default @Nullable Collection<Plot> getCandidates(final @NonNull PlotArea area) {
+        return null;
+    }
+
 }
@@ -19,12 +19,35 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 @FunctionalInterface
 interface PlotProvider {
 
     Collection<Plot> getPlots();
 
+    /**
+     * Stream the provided plots, without necessarily collecting them first
+     *
+     * @return Provided plots
+     */
+    default @NonNull Stream<Plot> streamPlots() {
+        return this.getPlots().stream();
+    }
+
+    /**
+     * Get the areas whose claimed plots make up the provided plots, if the provider
+     * provides exactly those. This allows filters to be answered from the indexes of each area.
+     *
+     * @return Areas, or {@code null} if the provided plots don't map to whole areas
+     */
+    default @Nullable Collection<PlotArea> getAreas() {
+        return null;
+    }
+
 }
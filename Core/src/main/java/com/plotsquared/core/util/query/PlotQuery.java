@@ -28,6 +28,7 @@ import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.MathMan;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -40,7 +41,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -302,11 +305,15 @@ public final class PlotQuery implements Iterable<Plot> {
     }
 
     /**
-     * Get all plots that match the given criteria
+     * Get all plots that match the given criteria. Unless a sorting strategy
+     * is used, the plots are looked up lazily as the stream is consumed
      *
      * @return Matching plots
      */
     public @NonNull Stream<Plot> asStream() {
+        if (this.sortingStrategy == SortingStrategy.NO_SORTING) {
+            return this.filteredStream();
+        }
         return this.asList().stream();
     }
 
@@ -316,22 +323,7 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return Matching plots as a mutable
      */
     public @NonNull List<Plot> asList() {
-        final List<Plot> result;
-        if (this.filters.isEmpty()) {
-            result = new ArrayList<>(this.plotProvider.getPlots());
-        } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
-            result = new ArrayList<>(plots.size());
-            outer:
-            for (final Plot plot : plots) {
-                for (final PlotFilter filter : this.filters) {
-                    if (!filter.accepts(plot)) {
-                        continue outer;
-                    }
-                }
-                result.add(plot);
-            }
-        }
+        final List<Plot> result = this.filteredStream().collect(Collectors.toCollection(ArrayList::new));
         if (this.sortingStrategy == SortingStrategy.NO_SORTING) {
             return result;
         } else if (this.sortingStrategy == SortingStrategy.SORT_BY_TEMP) {
@@ -387,7 +379,7 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return Matching plots as a mutable set
      */
     public @NonNull Set<Plot> asSet() {
-        return new HashSet<>(this.asList());
+        return this.filteredStream().collect(Collectors.toCollection(HashSet::new));
     }
 
     /**
@@ -417,7 +409,8 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return Result count
      */
     public int count() {
-        return this.asList().size();
+        // The order doesn't affect the count, so there's no need to sort
+        return (int) this.filteredStream().count();
     }
 
     /**
@@ -427,22 +420,71 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return {@code true} if any provided plot matches the filters.
      */
     public boolean anyMatch() {
+        return this.filteredStream().findAny().isPresent();
+    }
+
+    /**
+     * Stream the provided plots that pass all filters, in no particular order.
+     * <p>
+     * If the provider is made up of whole plot areas, the plots of each area are looked up from the
+     * smallest index any of the filters can be answered from, so that only the candidates of that
+     * index are tested against the filters rather than every claimed plot in the area.
+     *
+     * @return Matching plots
+     */
+    private @NonNull Stream<Plot> filteredStream() {
         if (this.filters.isEmpty()) {
-            return !this.plotProvider.getPlots().isEmpty();
-        } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
-            outer:
-            for (final Plot plot : plots) {
-                // a plot must pass all filters to match the criteria
-                for (final PlotFilter filter : this.filters) {
-                    if (!filter.accepts(plot)) {
-                        continue outer;
-                    }
-                }
-                return true; // a plot passed all filters, so we have a match
+            return this.plotProvider.streamPlots();
+        }
+        // The stream may be consumed after more filters have been added to the query
+        final PlotFilter[] filters = this.filters.toArray(new PlotFilter[0]);
+        final Collection<PlotArea> areas = this.plotProvider.getAreas();
+        if (areas == null) {
+            return this.plotProvider.streamPlots().filter(plot -> acceptedByAll(plot, filters));
+        }
+        final List<Function<PlotArea, Collection<Plot>>> lookups = new ArrayList<>(filters.length);
+        for (final PlotFilter filter : filters) {
+            lookups.add(filter::getCandidates);
+        }
+        return areas.stream()
+                .flatMap(area -> candidates(area, PlotArea::getPlots, lookups).stream())
+                .filter(plot -> acceptedByAll(plot, filters));
+    }
+
+    /**
+     * Get the smallest collection of candidates any of the lookups returns for an area, or all plots
+     * of the area if none of the lookups can answer it.
+     *
+     * @param area     Area
+     * @param allPlots Function returning all plots of an area
+     * @param lookups  Index lookups, returning {@code null} if they can't answer an area
+     * @param <A>      Area type
+     * @param <P>      Plot type
+     * @return Candidates
+     */
+    static <A, P> @NonNull Collection<P> candidates(
+            final @NonNull A area,
+            final @NonNull Function<? super A, ? extends Collection<P>> allPlots,
+            final @NonNull List<? extends Function<? super A, ? extends @Nullable Collection<P>>> lookups
+    ) {
+        Collection<P> best = null;
+        for (final Function<? super A, ? extends Collection<P>> lookup : lookups) {
+            final Collection<P> candidates = lookup.apply(area);
+            if (candidates != null && (best == null || candidates.size() < best.size())) {
+                best = candidates;
+            }
+        }
+        return best == null ? allPlots.apply(area) : best;
+    }
+
+    private static boolean acceptedByAll(final @NonNull Plot plot, final @NonNull PlotFilter[] filters) {
+        // a plot must pass all filters to match the criteria
+        for (final PlotFilter filter : filters) {
+            if (!filter.accepts(plot)) {
+                return false;
             }
-            return false;
         }
+        return true;
     }
 
     @NonNull
@@ -454,7 +496,7 @@ public final class PlotQuery implements Iterable<Plot> {
     @NonNull
     @Override
     public Iterator<Plot> iterator() {
-        return this.asCollection().iterator();
+        return this.asStream().iterator();
     }
 
 }
@@ -24,10 +24,13 @@ import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -57,8 +60,12 @@ class SearchPlotProvider implements PlotProvider {
 
         for (String term : split) {
             try {
-                UUID uuid = PlotSquared.get().getImpromptuUUIDPipeline()
-                        .getSingle(term, Settings.UUID.BLOCKING_TIMEOUT);
+                // UUIDs are never valid usernames, so there's no need to wait for the pipeline
+                UUID uuid = parseUUID(term);
+                if (uuid == null) {
+                    uuid = PlotSquared.get().getImpromptuUUIDPipeline()
+                            .getSingle(term, Settings.UUID.BLOCKING_TIMEOUT);
+                }
                 if (uuid == null) {
                     uuid = UUID.fromString(term);
                 }
@@ -68,13 +75,28 @@ class SearchPlotProvider implements PlotProvider {
             }
         }
 
+        // Only plots that any of the players are added to, or that have the id, can match
+        final Set<Plot> candidates = new LinkedHashSet<>();
+        for (final PlotArea plotArea : PlotSquared.get().getPlotAreaManager().getAllPlotAreas()) {
+            for (final UUID uuid : uuids) {
+                candidates.addAll(plotArea.getPlotsAbs(uuid));
+                candidates.addAll(plotArea.getAddedPlots(uuid));
+            }
+            if (id != null) {
+                final Plot plot = plotArea.getOwnedPlotAbs(id);
+                if (plot != null) {
+                    candidates.add(plot);
+                }
+            }
+        }
+
         ArrayList<ArrayList<Plot>> plotList =
                 IntStream.range(0, size).mapToObj(i -> new ArrayList<Plot>())
                         .collect(Collectors.toCollection(() -> new ArrayList<>(size)));
 
         PlotArea area = null;
         String alias = null;
-        for (Plot plot : PlotQuery.newQuery().allPlots()) {
+        for (Plot plot : candidates) {
             int count = 0;
             if (!uuids.isEmpty()) {
                 for (UUID uuid : uuids) {
@@ -110,6 +132,17 @@ class SearchPlotProvider implements PlotProvider {
         return plots;
     }
 
+    private static @Nullable UUID parseUUID(final @NonNull String term) {
+        if (term.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(term);
+        } catch (IllegalArgumentException ignored) {
+            return null;
+        }
+    }
+
     @Override
     public Collection<Plot> getPlots() {
         return getPlotsBySearch(this.searchTerm);
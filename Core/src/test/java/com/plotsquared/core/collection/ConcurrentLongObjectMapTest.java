@@ -0,0 +1,118 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class ConcurrentLongObjectMapTest {
+
+    @Test
+    public void putGetRemove() {
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        Assertions.assertNull(map.put(PlotId.toLong(1, 2), "a"));
+        Assertions.assertEquals("a", map.put(PlotId.toLong(1, 2), "b"));
+        Assertions.assertEquals("b", map.get(PlotId.toLong(1, 2)));
+        Assertions.assertNull(map.get(PlotId.toLong(2, 1)));
+        Assertions.assertEquals("b", map.putIfAbsent(PlotId.toLong(1, 2), "c"));
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("b", map.remove(PlotId.toLong(1, 2)));
+        Assertions.assertNull(map.get(PlotId.toLong(1, 2)));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void reservedKey() {
+        // Long.MIN_VALUE is used to mark empty slots internally
+        ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        long key = PlotId.toLong(Integer.MIN_VALUE, 0);
+        Assertions.assertEquals(Long.MIN_VALUE, key);
+        map.put(key, "min");
+        Assertions.assertEquals("min", map.get(key));
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertArrayEquals(new long[]{key}, map.keys());
+        Assertions.assertEquals("min", map.remove(key));
+        Assertions.assertEquals(0, map.size());
+    }
+
+    @Test
+    public void matchesHashMap() {
+        ConcurrentLongObjectMap<Integer> map = new ConcurrentLongObjectMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = PlotId.toLong(random.nextInt(512) - 256, random.nextInt(512) - 256);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assertions.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void cursorVisitsAllEntries() {
+        ConcurrentLongObjectMap<Integer> map = new ConcurrentLongObjectMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            long key = PlotId.toLong(i, -i);
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        map.put(Long.MIN_VALUE, -1);
+        expected.put(Long.MIN_VALUE, -1);
+        map.remove(PlotId.toLong(5, -5));
+        expected.remove(PlotId.toLong(5, -5));
+
+        Map<Long, Integer> actual = new HashMap<>();
+        ConcurrentLongObjectMap.Cursor<Integer> cursor = map.cursor();
+        while (cursor.advance()) {
+            Assertions.assertNull(actual.put(cursor.key(), cursor.value()));
+            // Removing and adding entries while iterating must not break the cursor
+            map.remove(cursor.key());
+            map.put(PlotId.toLong(100_000 + actual.size(), 0), 0);
+        }
+        Assertions.assertFalse(cursor.advance());
+        Assertions.assertThrows(IllegalStateException.class, cursor::key);
+        Assertions.assertTrue(actual.entrySet().containsAll(expected.entrySet()));
+        Assertions.assertFalse(new ConcurrentLongObjectMap<>().cursor().advance());
+    }
+
+    @Test
+    public void packedPlotIdRoundTrip() {
+        int[] values = {0, 1, -1, 65535, 65536, -65537, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int x : values) {
+            for (int y : values) {
+                PlotId id = PlotId.of(x, y);
+                Assertions.assertEquals(id, PlotId.fromLong(id.toLong()));
+            }
+        }
+        Assertions.assertNotEquals(PlotId.toLong(0, 65536), PlotId.toLong(1, 0));
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.plotsquared.core.util.RegionUtil;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class GridSpatialIndexTest {
+
+    private static List<Box> randomBoxes(Random random, int count, int range, int maxSize) {
+        List<Box> boxes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(range * 2) - range;
+            int z = random.nextInt(range * 2) - range;
+            boxes.add(new Box(RegionUtil.createRegion(x, x + random.nextInt(maxSize), 0, 0, z, z + random.nextInt(maxSize))));
+        }
+        return boxes;
+    }
+
+    private static Set<Box> intersecting(List<Box> boxes, CuboidRegion region) {
+        Set<Box> result = new HashSet<>();
+        for (Box box : boxes) {
+            if (RegionUtil.intersects(box.region(), region)) {
+                result.add(box);
+            }
+        }
+        return result;
+    }
+
+    private static boolean covered(List<Box> boxes, int x, int z) {
+        for (Box box : boxes) {
+            if (RegionUtil.contains(box.region(), x, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void matchesBruteForce() {
+        Random random = new Random(42);
+        GridSpatialIndex<Box> index = new GridSpatialIndex<>(4, Box::region);
+        List<Box> boxes = randomBoxes(random, 2_000, 1_000, 40);
+        // A few values spanning more cells than are stored per value
+        boxes.addAll(randomBoxes(random, 5, 1_000, 1_000));
+        boxes.forEach(index::add);
+        for (int i = 0; i < boxes.size(); i += 3) {
+            Assertions.assertTrue(index.remove(boxes.get(i)));
+            Assertions.assertFalse(index.remove(boxes.get(i)));
+        }
+        for (int i = boxes.size() - 1 - (boxes.size() - 1) % 3; i >= 0; i -= 3) {
+            boxes.remove(i);
+        }
+        Assertions.assertEquals(boxes.size(), index.size());
+        Assertions.assertEquals(new HashSet<>(boxes), index.getAll());
+
+        for (int i = 0; i < 10_000; i++) {
+            int x = random.nextInt(2_200) - 1_100;
+            int z = random.nextInt(2_200) - 1_100;
+            Box box = index.get(x, z);
+            if (box == null) {
+                Assertions.assertFalse(covered(boxes, x, z));
+            } else {
+                Assertions.assertTrue(RegionUtil.contains(box.region(), x, z));
+            }
+        }
+        for (Box query : randomBoxes(random, 500, 1_100, 300)) {
+            Assertions.assertEquals(intersecting(boxes, query.region()), index.get(query.region()));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "plotsquared.benchmark", matches = "true")
+    public void benchmarkAgainstQuadMap(TestReporter reporter) {
+        for (int count : new int[]{1_000, 10_000, 100_000}) {
+            Random random = new Random(count);
+            int range = (int) Math.sqrt(count) * 64;
+            List<Box> boxes = randomBoxes(random, count, range, 32);
+            GridSpatialIndex<Box> grid = new GridSpatialIndex<>(5, Box::region);
+            QuadMap<Box> quadMap = new QuadMap<>(Integer.MAX_VALUE, 0, 0, 62) {
+                @Override
+                public CuboidRegion getRegion(Box value) {
+                    return value.region();
+                }
+            };
+            boxes.forEach(grid::add);
+            boxes.forEach(quadMap::add);
+
+            int[] points = new int[200_000];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = random.nextInt(range * 2) - range;
+            }
+            List<Box> regions = randomBoxes(random, 10_000, range, 256);
+
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                int hits = 0;
+                for (int i = 0; i < points.length; i += 2) {
+                    hits += grid.get(points[i], points[i + 1]) != null ? 1 : 0;
+                }
+                long gridPoint = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int i = 0; i < points.length; i += 2) {
+                    hits -= quadMap.get(points[i], points[i + 1]) != null ? 1 : 0;
+                }
+                long quadPoint = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (Box region : regions) {
+                    hits += grid.get(region.region()).size();
+                }
+                long gridRegion = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (Box region : regions) {
+                    hits -= quadMap.get(region.region()).size();
+                }
+                long quadRegion = System.nanoTime() - start;
+                // The hit difference keeps the loops from being optimized away
+                reporter.publishEntry(String.format(
+                        "%,d entries: point %d ns/op (quadmap %d ns/op), region %d ns/op (quadmap %d ns/op), hit difference %d",
+                        count, gridPoint / (points.length / 2), quadPoint / (points.length / 2),
+                        gridRegion / regions.size(), quadRegion / regions.size(), hits
+                ));
+            }
+        }
+    }
+
+    private record Box(CuboidRegion region) {
+
+    }
+
+}
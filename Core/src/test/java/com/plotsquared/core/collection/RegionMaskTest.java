@@ -0,0 +1,157 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.plotsquared.core.util.RegionUtil;
+import com.plotsquared.core.util.WEManager;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class RegionMaskTest {
+
+    private static Set<CuboidRegion> randomRegions(Random random, int count, int range, int maxSize) {
+        Set<CuboidRegion> regions = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(range * 2) - range;
+            int z = random.nextInt(range * 2) - range;
+            int y = random.nextInt(3) * 64 - 64;
+            regions.add(RegionUtil.createRegion(x, x + random.nextInt(maxSize), y, y + 64 + random.nextInt(2) * 256, z,
+                    z + random.nextInt(maxSize)
+            ));
+        }
+        return regions;
+    }
+
+    /**
+     * Mimics the regions of a merged plot: a grid of plots, the roads between them and their intersections.
+     */
+    private static Set<CuboidRegion> mergedPlot(int plots, int plotSize, int roadWidth) {
+        Set<CuboidRegion> regions = new HashSet<>();
+        int size = plotSize + roadWidth;
+        for (int i = 0; i < plots; i++) {
+            for (int j = 0; j < plots; j++) {
+                int x = i * size;
+                int z = j * size;
+                regions.add(RegionUtil.createRegion(x, x + plotSize - 1, -64, 319, z, z + plotSize - 1));
+                if (i + 1 < plots) {
+                    regions.add(RegionUtil.createRegion(x + plotSize, x + size - 1, -64, 319, z, z + plotSize - 1));
+                }
+                if (j + 1 < plots) {
+                    regions.add(RegionUtil.createRegion(x, x + plotSize - 1, -64, 319, z + plotSize, z + size - 1));
+                }
+                if (i + 1 < plots && j + 1 < plots) {
+                    regions.add(RegionUtil.createRegion(x + plotSize, x + size - 1, -64, 319, z + plotSize, z + size - 1));
+                }
+            }
+        }
+        return regions;
+    }
+
+    @Test
+    public void matchesMaskContains() {
+        Random random = new Random(42);
+        Set<CuboidRegion> regions = randomRegions(random, 300, 500, 80);
+        // Exceeds the indexed area on its own
+        regions.add(RegionUtil.createRegion(-10_000, 10_000, 0, 10, -10_000, 10_000));
+        RegionMask mask = RegionMask.compile(regions);
+        for (int i = 0; i < 200_000; i++) {
+            int x = random.nextInt(1_200) - 600;
+            int y = random.nextInt(500) - 100;
+            int z = random.nextInt(1_200) - 600;
+            Assertions.assertEquals(WEManager.maskContains(regions, x, y, z), mask.contains(x, y, z));
+            Assertions.assertEquals(WEManager.maskContains(regions, x, z), mask.contains(x, z));
+        }
+    }
+
+    @Test
+    public void mergedPlotEdges() {
+        Set<CuboidRegion> regions = mergedPlot(3, 35, 7);
+        RegionMask mask = RegionMask.compile(regions);
+        for (int x = -20; x < 150; x++) {
+            for (int z = -20; z < 150; z++) {
+                for (int y : new int[]{-65, -64, 100, 319, 320}) {
+                    Assertions.assertEquals(WEManager.maskContains(regions, x, y, z), mask.contains(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void emptyAndUnbounded() {
+        RegionMask empty = RegionMask.compile(Set.of());
+        Assertions.assertTrue(empty.isEmpty());
+        Assertions.assertFalse(empty.contains(0, 0, 0));
+
+        BlockVector3 min = BlockVector3.at(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+        BlockVector3 max = BlockVector3.at(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        RegionMask unbounded = RegionMask.compile(Set.of(new CuboidRegion(min, max)));
+        Assertions.assertTrue(unbounded.contains(Integer.MIN_VALUE, 0, Integer.MAX_VALUE));
+        Assertions.assertTrue(unbounded.contains(12, Integer.MAX_VALUE, -7));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "plotsquared.benchmark", matches = "true")
+    public void benchmarkAgainstMaskContains(TestReporter reporter) {
+        for (int plots : new int[]{1, 3, 8}) {
+            Set<CuboidRegion> regions = mergedPlot(plots, 42, 7);
+            int extent = plots * 49;
+            long start = System.nanoTime();
+            RegionMask mask = RegionMask.compile(regions);
+            long compile = System.nanoTime() - start;
+            for (int round = 0; round < 3; round++) {
+                // Roughly a 5M block //set over the bounding box
+                int height = Math.max(1, 5_000_000 / (extent * extent));
+                int hits = 0;
+                start = System.nanoTime();
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < extent; x++) {
+                        for (int z = 0; z < extent; z++) {
+                            hits += mask.contains(x, y, z) ? 1 : 0;
+                        }
+                    }
+                }
+                long compiled = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int y = 0; y < height; y++) {
+                    for (int x = 0; x < extent; x++) {
+                        for (int z = 0; z < extent; z++) {
+                            hits -= WEManager.maskContains(regions, x, y, z) ? 1 : 0;
+                        }
+                    }
+                }
+                long loop = System.nanoTime() - start;
+                long blocks = (long) height * extent * extent;
+                reporter.publishEntry(String.format(
+                        "%d regions, %,d blocks: compiled %d ms (compile %d us), loop %d ms",
+                        regions.size(), blocks, compiled / 1_000_000, compile / 1_000, loop / 1_000_000
+                ));
+                Assertions.assertEquals(0, hits);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConnectionPoolTest {
+
+    private static Connection connection(final AtomicBoolean valid, final AtomicInteger closed) {
+        final AtomicBoolean isClosed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPoolTest.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "isClosed" -> isClosed.get();
+                    case "isValid" -> valid.get();
+                    case "getAutoCommit" -> true;
+                    case "close" -> {
+                        if (!isClosed.getAndSet(true)) {
+                            closed.incrementAndGet();
+                        }
+                        yield null;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                }
+        );
+    }
+
+    private static int countRows(final Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM `plot_rating`")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    @Test
+    public void reusesReleasedConnections() throws SQLException {
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        final ConnectionPool pool = new ConnectionPool(() -> {
+            opened.incrementAndGet();
+            return connection(valid, closed);
+        }, 2, 10, 1, TimeUnit.MINUTES);
+
+        final Connection first = pool.borrow();
+        final Connection second = pool.borrow();
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(2, pool.getOpenConnections());
+
+        pool.release(first);
+        Assertions.assertSame(first, pool.borrow());
+        Assertions.assertEquals(2, opened.get());
+
+        pool.release(first);
+        pool.release(second);
+        Assertions.assertEquals(2, pool.getIdleConnections());
+        pool.close();
+        Assertions.assertEquals(2, closed.get());
+        Assertions.assertThrows(SQLException.class, pool::borrow);
+    }
+
+    @Test
+    public void borrowsAfterReset() throws SQLException {
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        final ConnectionPool pool = new ConnectionPool(() -> {
+            opened.incrementAndGet();
+            return connection(valid, closed);
+        }, 2, 10, 1, TimeUnit.MINUTES);
+
+        final Connection first = pool.borrow();
+        final Connection borrowed = pool.borrow();
+        pool.release(first);
+        // As done when the database connection is re-established
+        pool.reset();
+        Assertions.assertEquals(1, closed.get());
+        Assertions.assertEquals(1, pool.getOpenConnections());
+
+        final Connection second = pool.borrow();
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(3, opened.get());
+        pool.release(second);
+        pool.release(borrowed);
+        Assertions.assertEquals(2, pool.getIdleConnections());
+
+        pool.close();
+        Assertions.assertEquals(3, closed.get());
+        Assertions.assertThrows(SQLException.class, pool::borrow);
+    }
+
+    @Test
+    public void timesOutWhenExhausted() throws SQLException {
+        final AtomicInteger closed = new AtomicInteger();
+        final ConnectionPool pool = new ConnectionPool(
+                () -> connection(new AtomicBoolean(true), closed), 1, 50, 1, TimeUnit.MILLISECONDS);
+        pool.borrow();
+        Assertions.assertThrows(SQLTimeoutException.class, pool::borrow);
+    }
+
+    @Test
+    public void replacesInvalidConnections() throws SQLException {
+        final AtomicInteger closed = new AtomicInteger();
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        // Validate every idle connection
+        final ConnectionPool pool = new ConnectionPool(() -> connection(valid, closed), 1, 1, 0, TimeUnit.SECONDS);
+        final Connection first = pool.borrow();
+        pool.release(first);
+        valid.set(false);
+        final Connection second = pool.borrow();
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(1, closed.get());
+        Assertions.assertEquals(1, pool.getOpenConnections());
+    }
+
+    @Test
+    public void releasesSlotWhenOpeningFails() {
+        final ConnectionPool pool = new ConnectionPool(() -> {
+            throw new SQLException("unavailable");
+        }, 1, 50, 1, TimeUnit.MILLISECONDS);
+        Assertions.assertThrows(SQLException.class, pool::borrow);
+        Assertions.assertEquals(0, pool.getOpenConnections());
+    }
+
+    @Test
+    public void readsCommittedWritesOnSQLite(@TempDir File directory) throws Exception {
+        final SQLite database = new SQLite(new File(directory, "storage.db"));
+        final ConnectionPool pool = new ConnectionPool(database::newConnection, 2, 1, 1, TimeUnit.SECONDS);
+        try (Connection writer = database.forceConnection()) {
+            try (Statement statement = writer.createStatement()) {
+                statement.executeUpdate("CREATE TABLE `plot_rating` (`plot_plot_id` INTEGER, `rating` INTEGER)");
+            }
+            // As done by the write queue: statements are only visible to pooled reads once committed
+            writer.setAutoCommit(false);
+            try (Statement statement = writer.createStatement()) {
+                statement.executeUpdate("INSERT INTO `plot_rating` VALUES (1, 5)");
+            }
+            Connection reader = pool.borrow();
+            Assertions.assertEquals(0, countRows(reader));
+            pool.release(reader);
+
+            writer.commit();
+            reader = pool.borrow();
+            Assertions.assertEquals(1, countRows(reader));
+            pool.release(reader);
+        } finally {
+            pool.close();
+        }
+        Assertions.assertEquals(0, pool.getOpenConnections());
+    }
+
+    @Test
+    public void rollsBackUnfinishedTransactionsOnSQLite(@TempDir File directory) throws Exception {
+        final SQLite database = new SQLite(new File(directory, "storage.db"));
+        final ConnectionPool pool = new ConnectionPool(database::newConnection, 1, 1, 1, TimeUnit.SECONDS);
+        try (Connection other = database.forceConnection()) {
+            try (Statement statement = other.createStatement()) {
+                statement.executeUpdate("CREATE TABLE `plot_rating` (`plot_plot_id` INTEGER, `rating` INTEGER)");
+            }
+            final Connection connection = pool.borrow();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO `plot_rating` VALUES (1, 5)");
+            }
+            pool.release(connection);
+
+            final Connection reused = pool.borrow();
+            Assertions.assertSame(connection, reused);
+            Assertions.assertTrue(reused.getAutoCommit());
+            Assertions.assertEquals(0, countRows(reused));
+            Assertions.assertEquals(0, countRows(other));
+            pool.release(reused);
+        } finally {
+            pool.close();
+        }
+    }
+
+}
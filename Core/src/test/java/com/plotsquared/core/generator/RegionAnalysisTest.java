@@ -0,0 +1,187 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.plotsquared.core.util.MathMan;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.registry.BlockMaterial;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class RegionAnalysisTest {
+
+    private static BlockType type(final boolean air) {
+        final BlockMaterial material = Mockito.mock(BlockMaterial.class);
+        Mockito.when(material.isAir()).thenReturn(air);
+        final BlockType type = Mockito.mock(BlockType.class);
+        Mockito.when(type.getMaterial()).thenReturn(material);
+        return type;
+    }
+
+    private static BlockState state(final BlockType type) {
+        final BlockState state = Mockito.mock(BlockState.class);
+        Mockito.when(state.getBlockType()).thenReturn(type);
+        return state;
+    }
+
+    private static BlockState defaultState(final BlockType type) {
+        final BlockState state = state(type);
+        Mockito.when(type.getDefaultState()).thenReturn(state);
+        return state;
+    }
+
+    /**
+     * The analysis as it was computed before regions were analyzed chunk by chunk, from the full block arrays.
+     */
+    private static PlotAnalysis analyzePerBlock(
+            final BlockState[][][] newBlocks,
+            final BlockState[][][] oldBlocks,
+            final int width,
+            final int length,
+            final int height,
+            final BlockType emptyType
+    ) {
+        int size = width * length;
+        int[] changes = new int[size];
+        int[] faces = new int[size];
+        int[] data = new int[size];
+        int[] air = new int[size];
+        int[] variety = new int[size];
+        int i = 0;
+        for (int x = 0; x < width; x++) {
+            for (int z = 0; z < length; z++) {
+                Set<BlockType> types = new HashSet<>();
+                for (int yIndex = 0; yIndex < height; yIndex++) {
+                    BlockState old = oldBlocks[yIndex][x][z];
+                    BlockState now = newBlocks[yIndex][x][z];
+                    if (!now.equals(old) && !(old == null && now.getBlockType().equals(emptyType))) {
+                        changes[i]++;
+                    }
+                    if (now.getBlockType().getMaterial().isAir()) {
+                        air[i]++;
+                    } else {
+                        if (x > 0 && z > 0 && yIndex > 0 && x < width - 1 && z < length - 1 && yIndex < (height - 1)) {
+                            if (newBlocks[yIndex - 1][x][z].getBlockType().getMaterial().isAir()) {
+                                faces[i]++;
+                            }
+                            if (newBlocks[yIndex][x - 1][z].getBlockType().getMaterial().isAir()) {
+                                faces[i]++;
+                            }
+                            if (newBlocks[yIndex][x][z - 1].getBlockType().getMaterial().isAir()) {
+                                faces[i]++;
+                            }
+                            if (newBlocks[yIndex + 1][x][z].getBlockType().getMaterial().isAir()) {
+                                faces[i]++;
+                            }
+                            if (newBlocks[yIndex][x + 1][z].getBlockType().getMaterial().isAir()) {
+                                faces[i]++;
+                            }
+                            if (newBlocks[yIndex][x][z + 1].getBlockType().getMaterial().isAir()) {
+                                faces[i]++;
+                            }
+                        }
+                        if (!now.equals(now.getBlockType().getDefaultState())) {
+                            data[i]++;
+                        }
+                        types.add(now.getBlockType());
+                    }
+                }
+                variety[i] = types.size();
+                i++;
+            }
+        }
+        PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = (int) (MathMan.getMean(changes) * 100);
+        analysis.faces = (int) (MathMan.getMean(faces) * 100);
+        analysis.data = (int) (MathMan.getMean(data) * 100);
+        analysis.air = (int) (MathMan.getMean(air) * 100);
+        analysis.variety = (int) (MathMan.getMean(variety) * 100);
+
+        analysis.changes_sd = (int) (MathMan.getSD(changes, analysis.changes) * 100);
+        analysis.faces_sd = (int) (MathMan.getSD(faces, analysis.faces) * 100);
+        analysis.data_sd = (int) (MathMan.getSD(data, analysis.data) * 100);
+        analysis.air_sd = (int) (MathMan.getSD(air, analysis.air) * 100);
+        analysis.variety_sd = (int) (MathMan.getSD(variety, analysis.variety) * 100);
+        return analysis;
+    }
+
+    @Test
+    public void matchesPerBlockAnalysis() {
+        final BlockType airType = type(true);
+        final BlockType stone = type(false);
+        final BlockType dirt = type(false);
+        final BlockState[] palette = new BlockState[]{
+                defaultState(airType), defaultState(stone), state(stone), defaultState(dirt), state(dirt)
+        };
+        final Random random = new Random(18);
+        // Not a multiple of the chunk size, and more than 64 layers so that columns span several words
+        final int width = 21;
+        final int length = 19;
+        final int height = 70;
+        final BlockState[][][] current = new BlockState[height][width][length];
+        final BlockState[][][] initial = new BlockState[height][width][length];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (int z = 0; z < length; z++) {
+                    // Mostly solid ground with air above, so that there are faces to count
+                    final int ground = y < height / 2 ? 4 : 1;
+                    current[y][x][z] = random.nextInt(ground) == 0 ? palette[0] : palette[1 + random.nextInt(4)];
+                    initial[y][x][z] = random.nextInt(3) == 0 ? null : random.nextBoolean() ? current[y][x][z] : palette[1];
+                }
+            }
+        }
+
+        // Analyze the region in parts, like the chunks of a region that isn't aligned to chunks
+        final RegionAnalysis analysis = new RegionAnalysis(width, length, height, airType);
+        final int[] splitsX = {0, 5, 16, width};
+        final int[] splitsZ = {0, 11, length};
+        for (int i = 0; i < splitsX.length - 1; i++) {
+            for (int j = 0; j < splitsZ.length - 1; j++) {
+                final int minX = splitsX[i];
+                final int minZ = splitsZ[j];
+                final int sizeX = splitsX[i + 1] - minX;
+                final int sizeZ = splitsZ[j + 1] - minZ;
+                final BlockState[] blocks = new BlockState[sizeX * sizeZ * height];
+                final BlockState[][][] reference = new BlockState[height][sizeX][sizeZ];
+                int index = 0;
+                for (int x = 0; x < sizeX; x++) {
+                    for (int z = 0; z < sizeZ; z++) {
+                        for (int y = 0; y < height; y++) {
+                            blocks[index++] = current[y][minX + x][minZ + z];
+                            reference[y][x][z] = initial[y][minX + x][minZ + z];
+                        }
+                    }
+                }
+                analysis.analyze(minX, minZ, sizeX, sizeZ, blocks, reference);
+            }
+        }
+
+        final PlotAnalysis expected = analyzePerBlock(current, initial, width, length, height, airType);
+        Assertions.assertTrue(expected.faces > 0);
+        Assertions.assertEquals(expected.asList(), analysis.complete().asList());
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+public class PlotOwnerIndexTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private PlotOwnerIndex<TestPlot> index;
+
+    @BeforeEach
+    public void setUp() {
+        this.index = new PlotOwnerIndex<>(plot -> plot.owner, plot -> plot.done);
+    }
+
+    @Test
+    public void addAndRemove() {
+        final TestPlot first = new TestPlot(ALICE);
+        final TestPlot second = new TestPlot(ALICE);
+        this.index.add(PlotId.of(0, 0), first);
+        this.index.add(PlotId.of(0, 1), second);
+        // Unowned plots aren't indexed
+        this.index.add(PlotId.of(0, 2), new TestPlot(null));
+
+        Assertions.assertEquals(Set.of(first, second), Set.copyOf(this.index.getPlots(ALICE)));
+        Assertions.assertEquals(2, this.index.count(ALICE));
+        Assertions.assertEquals(0, this.index.count(BOB));
+        Assertions.assertTrue(this.index.getPlots(BOB).isEmpty());
+
+        this.index.remove(PlotId.of(0, 0), first);
+        Assertions.assertEquals(Set.of(second), Set.copyOf(this.index.getPlots(ALICE)));
+        this.index.remove(PlotId.of(0, 1), second);
+        Assertions.assertEquals(0, this.index.count(ALICE));
+        Assertions.assertTrue(this.index.getPlots(ALICE).isEmpty());
+    }
+
+    @Test
+    public void changeOwner() {
+        final TestPlot plot = new TestPlot(ALICE);
+        plot.done = true;
+        this.index.add(PlotId.of(1, 1), plot);
+
+        plot.owner = BOB;
+        this.index.changeOwner(PlotId.of(1, 1), plot, ALICE);
+        Assertions.assertEquals(0, this.index.count(ALICE));
+        Assertions.assertEquals(Set.of(plot), Set.copyOf(this.index.getPlots(BOB)));
+        Assertions.assertEquals(0, this.index.countNotDone(BOB));
+
+        // Unclaiming removes the plot from its previous owner only
+        plot.owner = null;
+        this.index.changeOwner(PlotId.of(1, 1), plot, BOB);
+        Assertions.assertEquals(0, this.index.count(BOB));
+    }
+
+    @Test
+    public void countsPlotsThatAreNotDone() {
+        final TestPlot first = new TestPlot(ALICE);
+        final TestPlot second = new TestPlot(ALICE);
+        this.index.add(PlotId.of(0, 0), first);
+        this.index.add(PlotId.of(0, 1), second);
+        Assertions.assertEquals(2, this.index.countNotDone(ALICE));
+
+        first.done = true;
+        this.index.updateDone(PlotId.of(0, 0), first);
+        Assertions.assertEquals(1, this.index.countNotDone(ALICE));
+        Assertions.assertEquals(2, this.index.count(ALICE));
+
+        // Updates for a plot that isn't the one stored under the id are ignored
+        final TestPlot other = new TestPlot(ALICE);
+        other.done = true;
+        this.index.updateDone(PlotId.of(0, 1), other);
+        Assertions.assertEquals(1, this.index.countNotDone(ALICE));
+
+        first.done = false;
+        this.index.updateDone(PlotId.of(0, 0), first);
+        Assertions.assertEquals(2, this.index.countNotDone(ALICE));
+
+        first.done = true;
+        this.index.updateDone(PlotId.of(0, 0), first);
+        this.index.remove(PlotId.of(0, 0), first);
+        Assertions.assertEquals(1, this.index.countNotDone(ALICE));
+    }
+
+    @Test
+    public void replacePlotUnderSameId() {
+        final PlotId id = PlotId.of(3, -3);
+        final TestPlot previous = new TestPlot(ALICE);
+        previous.done = true;
+        this.index.add(id, previous);
+
+        // As done by PlotArea when a plot is stored under an id that is already in use
+        final TestPlot replacement = new TestPlot(BOB);
+        this.index.remove(id, previous);
+        this.index.add(id, replacement);
+        Assertions.assertEquals(0, this.index.count(ALICE));
+        Assertions.assertEquals(Set.of(replacement), Set.copyOf(this.index.getPlots(BOB)));
+        Assertions.assertEquals(1, this.index.countNotDone(BOB));
+
+        // Replacing a plot with another plot of the same owner keeps a single entry
+        final TestPlot sameOwner = new TestPlot(BOB);
+        this.index.remove(id, replacement);
+        this.index.add(id, sameOwner);
+        Assertions.assertEquals(Set.of(sameOwner), Set.copyOf(this.index.getPlots(BOB)));
+        Assertions.assertEquals(1, this.index.count(BOB));
+    }
+
+    private static final class TestPlot {
+
+        private UUID owner;
+        private boolean done;
+
+        private TestPlot(final UUID owner) {
+            this.owner = owner;
+        }
+
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+public class PlotSearchIndexTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private PlotSearchIndex<TestPlot> index;
+
+    @BeforeEach
+    public void setUp() {
+        this.index = new PlotSearchIndex<>(plot -> plot.alias, plot -> plot.trusted, plot -> plot.members);
+    }
+
+    @Test
+    public void changeAndRemoveAlias() {
+        final PlotId id = PlotId.of(0, 0);
+        final TestPlot plot = new TestPlot("Spawn");
+        this.index.add(id, plot);
+        Assertions.assertEquals(Set.of(plot), Set.copyOf(this.index.getByAlias("sPAWN")));
+
+        final String previous = plot.alias;
+        plot.alias = "Market";
+        this.index.changeAlias(id, plot, previous);
+        Assertions.assertTrue(this.index.getByAlias("spawn").isEmpty());
+        Assertions.assertEquals(Set.of(plot), Set.copyOf(this.index.getByAlias("market")));
+
+        // Changing only the case keeps the plot indexed
+        plot.alias = "MARKET";
+        this.index.changeAlias(id, plot, "Market");
+        Assertions.assertEquals(Set.of(plot), Set.copyOf(this.index.getByAlias("market")));
+
+        // Plot#setAlias(null) stores an empty alias
+        plot.alias = "";
+        this.index.changeAlias(id, plot, "MARKET");
+        Assertions.assertTrue(this.index.getByAlias("market").isEmpty());
+        Assertions.assertTrue(this.index.getByAlias("").isEmpty());
+        Assertions.assertTrue(this.index.getAliases("", 10).isEmpty());
+    }
+
+    @Test
+    public void keepsPlayerThatIsStillAdded() {
+        final PlotId id = PlotId.of(0, 0);
+        final TestPlot plot = new TestPlot(null);
+        this.index.add(id, plot);
+
+        plot.trusted.add(ALICE);
+        this.index.addAdded(id, plot, ALICE);
+        plot.members.add(ALICE);
+        this.index.addAdded(id, plot, ALICE);
+
+        // Still a member after no longer being trusted
+        plot.trusted.remove(ALICE);
+        this.index.removeAdded(id, plot, ALICE);
+        Assertions.assertEquals(Set.of(plot), Set.copyOf(this.index.getAdded(ALICE)));
+
+        plot.members.remove(ALICE);
+        this.index.removeAdded(id, plot, ALICE);
+        Assertions.assertTrue(this.index.getAdded(ALICE).isEmpty());
+    }
+
+    @Test
+    public void replacePlotUnderSameId() {
+        final PlotId id = PlotId.of(2, 5);
+        final TestPlot previous = new TestPlot("old");
+        previous.trusted.add(ALICE);
+        this.index.add(id, previous);
+
+        // As done by PlotArea when a plot is stored under an id that is already in use
+        final TestPlot replacement = new TestPlot("new");
+        replacement.members.add(BOB);
+        this.index.remove(id, previous);
+        this.index.add(id, replacement);
+
+        Assertions.assertTrue(this.index.getByAlias("old").isEmpty());
+        Assertions.assertTrue(this.index.getAdded(ALICE).isEmpty());
+        Assertions.assertEquals(Set.of(replacement), Set.copyOf(this.index.getByAlias("new")));
+        Assertions.assertEquals(Set.of(replacement), Set.copyOf(this.index.getAdded(BOB)));
+
+        // Removing a plot that isn't the one stored under the id keeps the stored plot
+        this.index.remove(id, new TestPlot("new"));
+        Assertions.assertEquals(Set.of(replacement), Set.copyOf(this.index.getByAlias("new")));
+    }
+
+    @Test
+    public void completesAliasesInOrder() {
+        final String[] aliases = {"beta", "Alpha", "alps", "al", "Zeta", "alpine", "b"};
+        for (int i = 0; i < aliases.length; i++) {
+            this.index.add(PlotId.of(i, 0), new TestPlot(aliases[i]));
+        }
+        Assertions.assertEquals(List.of("al", "Alpha", "alpine", "alps"), this.index.getAliases("AL", 10));
+        Assertions.assertEquals(List.of("al", "Alpha"), this.index.getAliases("al", 2));
+        Assertions.assertEquals(List.of("Alpha", "alpine"), this.index.getAliases("alp", 2));
+        Assertions.assertEquals(List.of("al", "Alpha", "alpine"), this.index.getAliases("", 3));
+        Assertions.assertEquals(List.of("Zeta"), this.index.getAliases("z", 10));
+        Assertions.assertTrue(this.index.getAliases("c", 10).isEmpty());
+        Assertions.assertTrue(this.index.getAliases("al", 0).isEmpty());
+    }
+
+    @Test
+    public void matchesBruteForce() {
+        final Random random = new Random(42);
+        final String[] aliases = {"", "home", "Home", "farm", "shop"};
+        final UUID[] players = new UUID[6];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new UUID(0, i);
+        }
+        final Map<PlotId, TestPlot> plots = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            final PlotId id = PlotId.of(random.nextInt(16), random.nextInt(16));
+            final TestPlot plot = plots.get(id);
+            final UUID player = players[random.nextInt(players.length)];
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    // Claim or replace the plot
+                    final TestPlot created = new TestPlot(aliases[random.nextInt(aliases.length)]);
+                    final TestPlot previous = plots.put(id, created);
+                    if (previous != null) {
+                        this.index.remove(id, previous);
+                    }
+                    this.index.add(id, created);
+                }
+                case 1 -> {
+                    if (plot != null) {
+                        plots.remove(id);
+                        this.index.remove(id, plot);
+                    }
+                }
+                case 2 -> {
+                    if (plot != null) {
+                        final String previous = plot.alias;
+                        plot.alias = aliases[random.nextInt(aliases.length)];
+                        this.index.changeAlias(id, plot, previous);
+                    }
+                }
+                case 3 -> {
+                    if (plot != null && (random.nextBoolean() ? plot.trusted : plot.members).add(player)) {
+                        this.index.addAdded(id, plot, player);
+                    }
+                }
+                default -> {
+                    if (plot != null && (random.nextBoolean() ? plot.trusted : plot.members).remove(player)) {
+                        this.index.removeAdded(id, plot, player);
+                    }
+                }
+            }
+        }
+
+        for (final String alias : aliases) {
+            final Set<TestPlot> expected = new HashSet<>();
+            for (final TestPlot plot : plots.values()) {
+                if (!alias.isEmpty() && alias.equalsIgnoreCase(plot.alias)) {
+                    expected.add(plot);
+                }
+            }
+            Assertions.assertEquals(expected, filter(this.index.getByAlias(alias), plots, plot -> alias.equalsIgnoreCase(plot.alias)));
+        }
+        for (final UUID player : players) {
+            final Set<TestPlot> expected = new HashSet<>();
+            for (final TestPlot plot : plots.values()) {
+                if (plot.trusted.contains(player) || plot.members.contains(player)) {
+                    expected.add(plot);
+                }
+            }
+            Assertions.assertEquals(expected, filter(this.index.getAdded(player), plots,
+                    plot -> plot.trusted.contains(player) || plot.members.contains(player)
+            ));
+        }
+    }
+
+    private static Set<TestPlot> filter(
+            final Iterable<TestPlot> candidates, final Map<PlotId, TestPlot> plots,
+            final Predicate<TestPlot> predicate
+    ) {
+        // Candidates may be outdated, but must include every matching plot that is still claimed
+        final Set<TestPlot> result = new HashSet<>();
+        final Set<TestPlot> claimed = new HashSet<>(plots.values());
+        for (final TestPlot plot : candidates) {
+            if (claimed.contains(plot) && predicate.test(plot)) {
+                result.add(plot);
+            }
+        }
+        return result;
+    }
+
+    private static final class TestPlot {
+
+        private final Set<UUID> trusted = new HashSet<>();
+        private final Set<UUID> members = new HashSet<>();
+        private String alias;
+
+        private TestPlot(final String alias) {
+            this.alias = alias == null ? "" : alias;
+        }
+
+    }
+
+}
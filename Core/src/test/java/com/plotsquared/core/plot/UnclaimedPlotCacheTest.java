@@ -0,0 +1,60 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class UnclaimedPlotCacheTest {
+
+    @Test
+    public void reusesOnlyPristinePlots() {
+        final PlotArea area = Mockito.mock(PlotArea.class);
+        final Set<Plot> modified = new HashSet<>();
+        Mockito.when(area.createUnclaimedPlot(Mockito.any())).thenAnswer(invocation -> {
+            final PlotId id = invocation.getArgument(0);
+            final Plot plot = Mockito.mock(Plot.class);
+            Mockito.when(plot.getArea()).thenReturn(area);
+            Mockito.when(plot.getId()).thenReturn(id);
+            Mockito.when(plot.isPristine()).thenAnswer(isPristine -> !modified.contains(plot));
+            return plot;
+        });
+        final UnclaimedPlotCache cache = new UnclaimedPlotCache(area);
+
+        final Plot first = cache.get(PlotId.of(1, 2));
+        Assertions.assertSame(first, cache.get(PlotId.of(1, 2)));
+        Assertions.assertNotSame(first, cache.get(PlotId.of(2, 1)));
+
+        // Every hit is checked again, so a plot that was changed by one caller isn't handed to the next
+        final Plot reused = cache.get(PlotId.of(3, 3));
+        modified.add(reused);
+        final Plot fresh = cache.get(PlotId.of(3, 3));
+        Assertions.assertNotSame(reused, fresh);
+        Assertions.assertSame(fresh, cache.get(PlotId.of(3, 3)));
+
+        // Claimed plots are dropped from the cache
+        cache.invalidate(fresh);
+        Assertions.assertNotSame(fresh, cache.get(PlotId.of(3, 3)));
+    }
+
+}
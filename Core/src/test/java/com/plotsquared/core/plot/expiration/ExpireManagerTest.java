@@ -0,0 +1,70 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.util.EventDispatcher;
+import com.plotsquared.core.util.task.RunnableVal;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExpireManagerTest {
+
+    private static ExpiryTask task(final boolean applies, final boolean confirmation) {
+        final ExpiryTask task = Mockito.mock(ExpiryTask.class);
+        Mockito.when(task.applies(Mockito.any(PlotAnalysis.class))).thenReturn(applies);
+        Mockito.when(task.requiresConfirmation()).thenReturn(confirmation);
+        return task;
+    }
+
+    private static List<String> check(final boolean modified, final ExpiryTask task) {
+        final ExpireManager manager = new ExpireManager(Mockito.mock(EventDispatcher.class));
+        final PlotAnalysis analysis = new PlotAnalysis();
+        analysis.modified = modified;
+        final List<String> actions = new ArrayList<>();
+        manager.checkStoredAnalysis(analysis, List.of(task), () -> actions.add("reanalyze"), new RunnableVal<>() {
+            @Override
+            public void run(final Boolean confirmation) {
+                actions.add("expire " + confirmation);
+            }
+        }, () -> actions.add("skip"));
+        return actions;
+    }
+
+    @Test
+    public void expiresUnmodifiedPlotsFromTheirStoredAnalysis() {
+        Assertions.assertEquals(List.of("expire false"), check(false, task(true, false)));
+        Assertions.assertEquals(List.of("expire true"), check(false, task(true, true)));
+    }
+
+    @Test
+    public void reanalyzesModifiedPlots() {
+        Assertions.assertEquals(List.of("reanalyze"), check(true, task(true, false)));
+    }
+
+    @Test
+    public void skipsPlotsThatAreTooComplex() {
+        Assertions.assertEquals(List.of("skip"), check(false, task(false, false)));
+        Assertions.assertEquals(List.of("skip"), check(true, task(false, false)));
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PlotAnalysisTest {
+
+    private static PlotAnalysis analysis(final boolean modified) {
+        final PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = 1;
+        analysis.faces = 2;
+        analysis.data = 3;
+        analysis.air = 4;
+        analysis.variety = 5;
+        analysis.changes_sd = 6;
+        analysis.faces_sd = 7;
+        analysis.data_sd = 8;
+        analysis.air_sd = 9;
+        analysis.variety_sd = 10;
+        analysis.modified = modified;
+        return analysis;
+    }
+
+    @Test
+    public void storesModifiedAfterValues() {
+        final List<Integer> values = analysis(true).asList();
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 1), values);
+        Assertions.assertFalse(PlotAnalysis.isUpToDate(values));
+        Assertions.assertEquals(0, analysis(false).asList().get(10));
+        Assertions.assertTrue(PlotAnalysis.isUpToDate(analysis(false).asList()));
+    }
+
+    @Test
+    public void legacyValuesAreOutdated() {
+        // Values stored before the modified value was introduced
+        Assertions.assertFalse(PlotAnalysis.isUpToDate(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)));
+        Assertions.assertFalse(PlotAnalysis.isUpToDate(List.of()));
+    }
+
+    @Test
+    public void roundTripsThroughFlag() throws Exception {
+        for (final boolean modified : new boolean[]{true, false}) {
+            final AnalysisFlag flag = new AnalysisFlag(analysis(modified).asList());
+            final List<Integer> parsed = flag.parse(flag.toString()).getValue();
+            Assertions.assertEquals(analysis(modified).asList(), parsed);
+            Assertions.assertEquals(!modified, PlotAnalysis.isUpToDate(parsed));
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag;
+
+import com.plotsquared.core.plot.flag.implementations.DoneFlag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FlagContainerTest {
+
+    @Test
+    public void clearLocalNotifiesRemovedFlags() {
+        try (MockedStatic<GlobalFlagContainer> global = Mockito.mockStatic(GlobalFlagContainer.class)) {
+            global.when(GlobalFlagContainer::getInstance).thenReturn(Mockito.mock(GlobalFlagContainer.class));
+            final List<PlotFlag<?, ?>> removed = new ArrayList<>();
+            final FlagContainer container = new FlagContainer(null, (flag, type) -> {
+                if (type == FlagContainer.PlotFlagUpdateType.FLAG_REMOVED) {
+                    removed.add(flag);
+                }
+            });
+            final DoneFlag done = new DoneFlag("1");
+            container.addFlag(done);
+            Assertions.assertTrue(removed.isEmpty());
+
+            // As done when plots are merged or copied, before the flags of the other plot are added
+            container.clearLocal();
+            Assertions.assertEquals(List.of(done), removed);
+            Assertions.assertNull(container.queryLocal(DoneFlag.class));
+        }
+    }
+
+}
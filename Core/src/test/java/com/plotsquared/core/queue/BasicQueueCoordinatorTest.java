@@ -0,0 +1,286 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.google.inject.Injector;
+import com.plotsquared.core.PlotPlatform;
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.PlotManager;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class BasicQueueCoordinatorTest {
+
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 319;
+
+    private static MockedStatic<PlotSquared> plotSquared;
+    private World world;
+    private BaseBlock[] palette;
+
+    private static BaseBlock block() {
+        return new BaseBlock(Mockito.mock(BlockState.class, Mockito.withSettings().stubOnly()));
+    }
+
+    private static BlockState state(final BaseBlock block) {
+        final BlockState state = Mockito.mock(BlockState.class);
+        Mockito.when(state.toBaseBlock()).thenReturn(block);
+        return state;
+    }
+
+    private static void assertSameBlocks(final BasicQueueCoordinator expected, final BasicQueueCoordinator actual) {
+        final Map<BlockVector2, LocalChunk> expectedChunks = expected.getBlockChunks();
+        Assertions.assertEquals(expectedChunks.keySet(), actual.getBlockChunks().keySet());
+        for (final Map.Entry<BlockVector2, LocalChunk> entry : expectedChunks.entrySet()) {
+            assertSameBlocks(entry.getValue(), actual.getBlockChunks().get(entry.getKey()));
+        }
+    }
+
+    private static void assertSameBlocks(final LocalChunk expected, final LocalChunk actual) {
+        Assertions.assertEquals(expected.getSectionCount(), actual.getSectionCount());
+        for (int i = 0; i < expected.getSectionCount(); i++) {
+            final BaseBlock[] expectedBlocks = blocks(expected.getBlockSection(i));
+            final BaseBlock[] actualBlocks = blocks(actual.getBlockSection(i));
+            for (int j = 0; j < PalettedSection.SIZE; j++) {
+                // Every block of the palette is a distinct instance
+                if (expectedBlocks[j] != actualBlocks[j]) {
+                    Assertions.fail("Blocks differ in section " + i + " at index " + j);
+                }
+            }
+        }
+    }
+
+    private static BaseBlock[] blocks(final PalettedSection<BaseBlock> section) {
+        final BaseBlock[] blocks = new BaseBlock[PalettedSection.SIZE];
+        return section == null ? blocks : section.toArray(blocks);
+    }
+
+    private static Location location(final int x, final int y, final int z) {
+        return Location.at("world", x, y, z);
+    }
+
+    @BeforeAll
+    public static void mockPlatform() {
+        // Queues inject their members on creation
+        final PlotPlatform<?> platform = Mockito.mock(PlotPlatform.class);
+        Mockito.when(platform.injector()).thenReturn(Mockito.mock(Injector.class));
+        plotSquared = Mockito.mockStatic(PlotSquared.class);
+        plotSquared.when(PlotSquared::platform).thenReturn(platform);
+    }
+
+    @AfterAll
+    public static void closePlatform() {
+        plotSquared.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        this.world = Mockito.mock(World.class, Mockito.withSettings().stubOnly());
+        Mockito.when(this.world.getMinY()).thenReturn(MIN_Y);
+        Mockito.when(this.world.getMaxY()).thenReturn(MAX_Y);
+        Mockito.when(this.world.getName()).thenReturn("world");
+        this.palette = new BaseBlock[]{block(), block(), block(), block()};
+    }
+
+    private BasicQueueCoordinator queue() {
+        return new BasicQueueCoordinator(this.world) {
+            @Override
+            public BlockState getBlock(final int x, final int y, final int z) {
+                return null;
+            }
+
+            @Override
+            public void start() {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        };
+    }
+
+    @Test
+    public void cuboidsMatchPerBlockFill() {
+        final Random random = new Random(14);
+        final BasicQueueCoordinator bulk = queue();
+        final BasicQueueCoordinator perBlock = queue();
+        for (int i = 0; i < 24; i++) {
+            final BaseBlock block = this.palette[random.nextInt(this.palette.length)];
+            int x1;
+            int x2;
+            int z1;
+            int z2;
+            if (i % 4 == 0) {
+                // Aligned to chunks, so that whole layers of the sections are filled
+                x1 = (random.nextInt(6) - 3) << 4;
+                x2 = x1 + 15;
+                z1 = (random.nextInt(6) - 3) << 4;
+                z2 = z1 + 15;
+            } else {
+                x1 = random.nextInt(64) - 32;
+                x2 = x1 + random.nextInt(24);
+                z1 = random.nextInt(64) - 32;
+                z2 = z1 + random.nextInt(24);
+            }
+            // Partial sections, and heights beyond the world that have to be clipped
+            final int y1 = MIN_Y - 20 + random.nextInt(MAX_Y - MIN_Y + 40);
+            final int y2 = y1 + random.nextInt(i % 2 == 0 ? 24 : 200);
+            // Corners in either order
+            if (random.nextBoolean()) {
+                bulk.setCuboid(location(x1, y1, z1), location(x2, y2, z2), state(block));
+            } else {
+                bulk.setCuboid(location(x2, y2, z2), location(x1, y1, z1), (Pattern) block);
+            }
+            for (int x = x1; x <= x2; x++) {
+                for (int z = z1; z <= z2; z++) {
+                    for (int y = y1; y <= y2; y++) {
+                        perBlock.setBlock(x, y, z, block);
+                    }
+                }
+            }
+        }
+        assertSameBlocks(perBlock, bulk);
+    }
+
+    @Test
+    public void positionDependentPatternsMatchPerBlockFill() {
+        final Pattern pattern = Mockito.mock(Pattern.class);
+        Mockito.when(pattern.applyBlock(Mockito.any(BlockVector3.class))).thenAnswer(invocation -> {
+            final BlockVector3 position = invocation.getArgument(0);
+            return this.palette[Math.floorMod(position.getX() + position.getY() * 3 + position.getZ() * 7, 4)];
+        });
+        final BasicQueueCoordinator bulk = queue();
+        final BasicQueueCoordinator perBlock = queue();
+        bulk.setCuboid(location(-5, MIN_Y - 3, 12), location(20, MIN_Y + 40, 17), pattern);
+        for (int x = -5; x <= 20; x++) {
+            for (int z = 12; z <= 17; z++) {
+                for (int y = MIN_Y - 3; y <= MIN_Y + 40; y++) {
+                    perBlock.setBlock(x, y, z, pattern);
+                }
+            }
+        }
+        assertSameBlocks(perBlock, bulk);
+    }
+
+    @Test
+    public void columnsMatchPerBlockFill() {
+        final Random random = new Random(41);
+        final BasicQueueCoordinator bulk = queue();
+        final BasicQueueCoordinator perBlock = queue();
+        for (int i = 0; i < 500; i++) {
+            final BaseBlock block = this.palette[random.nextInt(this.palette.length)];
+            final int x = random.nextInt(64) - 32;
+            final int z = random.nextInt(64) - 32;
+            final int yMin = MIN_Y - 20 + random.nextInt(MAX_Y - MIN_Y + 40);
+            final int yMax = yMin + random.nextInt(i % 2 == 0 ? 20 : 400);
+            bulk.setColumn(x, z, yMin, yMax, block);
+            for (int y = yMin; y <= yMax; y++) {
+                perBlock.setBlock(x, y, z, block);
+            }
+        }
+        assertSameBlocks(perBlock, bulk);
+    }
+
+    @Test
+    public void chunkCuboidsMatchPerBlockFill() {
+        final Random random = new Random(7);
+        final QueueCoordinator queue = queue();
+        final LocalChunk bulk = new LocalChunk(queue, 0, 0);
+        final LocalChunk perBlock = new LocalChunk(queue, 0, 0);
+        for (int i = 0; i < 60; i++) {
+            final BaseBlock block = this.palette[random.nextInt(this.palette.length)];
+            final boolean fullLayers = i % 3 == 0;
+            final int minX = fullLayers ? 0 : random.nextInt(16);
+            final int maxX = fullLayers ? 15 : minX + random.nextInt(16 - minX);
+            final int minZ = fullLayers ? 0 : random.nextInt(16);
+            final int maxZ = fullLayers ? 15 : minZ + random.nextInt(16 - minZ);
+            final int minY = MIN_Y + random.nextInt(MAX_Y - MIN_Y + 1);
+            final int maxY = minY + random.nextInt(Math.min(MAX_Y - minY + 1, i % 2 == 0 ? 20 : 200));
+            bulk.setCuboid(minX, minY, minZ, maxX, maxY, maxZ, block);
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        perBlock.setBlock(x, y, z, block);
+                    }
+                }
+            }
+        }
+        assertSameBlocks(perBlock, bulk);
+    }
+
+    @Test
+    public void enqueueMarksPlotsInChangedChunks() {
+        // Plots of 16 by 16 blocks with 4 block wide roads
+        final PlotManager manager = Mockito.mock(PlotManager.class);
+        Mockito.when(manager.getPlotIdPacked(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt())).thenAnswer(invocation -> {
+            final int x = invocation.getArgument(0);
+            final int z = invocation.getArgument(2);
+            if (Math.floorMod(x, 20) >= 16 || Math.floorMod(z, 20) >= 16) {
+                return PlotManager.NO_PLOT_ID;
+            }
+            return PlotId.toLong(Math.floorDiv(x, 20), Math.floorDiv(z, 20));
+        });
+        final Map<PlotId, Plot> owned = new HashMap<>();
+        for (final PlotId id : new PlotId[]{PlotId.of(0, 0), PlotId.of(1, 0), PlotId.of(3, 3), PlotId.of(5, 5)}) {
+            owned.put(id, Mockito.mock(Plot.class));
+        }
+        final PlotArea area = Mockito.mock(PlotArea.class);
+        Mockito.when(area.getPlotManager()).thenReturn(manager);
+        Mockito.when(area.getOwnedPlotAbs(Mockito.any(PlotId.class))).thenAnswer(invocation -> owned.get(invocation.getArgument(0)));
+        final PlotAreaManager plotAreaManager = Mockito.mock(PlotAreaManager.class);
+        Mockito.when(plotAreaManager.hasPlotArea("world")).thenReturn(true);
+        Mockito.when(plotAreaManager.getPlotAreas(Mockito.eq("world"), Mockito.any())).thenReturn(new PlotArea[]{area});
+        final PlotSquared instance = Mockito.mock(PlotSquared.class);
+        Mockito.when(instance.getPlotAreaManager()).thenReturn(plotAreaManager);
+        plotSquared.when(PlotSquared::get).thenReturn(instance);
+
+        final BasicQueueCoordinator queue = queue();
+        // Chunk (0, 0) covers plot (0, 0), and a corner of the roads around it
+        queue.setBlock(5, 10, 5, this.palette[0]);
+        // Chunk (3, 3) covers plots (2, 2) to (3, 3), of which only (3, 3) is owned
+        queue.regenChunk(3, 3);
+        queue.enqueue();
+
+        Mockito.verify(owned.get(PlotId.of(0, 0))).markModified();
+        Mockito.verify(owned.get(PlotId.of(3, 3))).markModified();
+        Mockito.verify(owned.get(PlotId.of(1, 0)), Mockito.never()).markModified();
+        Mockito.verify(owned.get(PlotId.of(5, 5)), Mockito.never()).markModified();
+    }
+
+}
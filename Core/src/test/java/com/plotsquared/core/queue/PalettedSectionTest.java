@@ -0,0 +1,178 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PalettedSectionTest {
+
+    private static void assertMatches(String[] expected, PalettedSection<String> section) {
+        int size = 0;
+        for (int j = 0; j < PalettedSection.SIZE; j++) {
+            Assertions.assertEquals(expected[j], section.get(j));
+            size += expected[j] != null ? 1 : 0;
+        }
+        Assertions.assertEquals(size, section.size());
+        List<Integer> visited = new ArrayList<>();
+        section.forEach((j, value) -> {
+            Assertions.assertEquals(expected[j], value);
+            visited.add(j);
+        });
+        Assertions.assertEquals(size, visited.size());
+        Assertions.assertArrayEquals(expected, section.toArray(new String[PalettedSection.SIZE]));
+    }
+
+    @Test
+    public void matchesArray() {
+        Random random = new Random(42);
+        // Grows through every index width, with values being overwritten so that the palette has to be compacted
+        for (int distinct : new int[]{1, 2, 16, 17, 256, 257, 5_000}) {
+            PalettedSection<String> section = new PalettedSection<>();
+            String[] expected = new String[PalettedSection.SIZE];
+            for (int i = 0; i < 20_000; i++) {
+                int j = random.nextInt(PalettedSection.SIZE);
+                String value = random.nextInt(20) == 0 ? null : String.valueOf(random.nextInt(distinct));
+                section.set(j, value);
+                expected[j] = value;
+            }
+            assertMatches(expected, section);
+        }
+    }
+
+    @Test
+    public void rangesMatchArray() {
+        Random random = new Random(7);
+        PalettedSection<String> section = new PalettedSection<>();
+        String[] expected = new String[PalettedSection.SIZE];
+        for (int i = 0; i < 2_000; i++) {
+            int from = random.nextInt(PalettedSection.SIZE);
+            int to = Math.min(PalettedSection.SIZE - 1, from + random.nextInt(600));
+            String value = random.nextInt(10) == 0 ? null : String.valueOf(random.nextInt(40));
+            section.set(from, to, value);
+            for (int j = from; j <= to; j++) {
+                expected[j] = value;
+            }
+        }
+        assertMatches(expected, section);
+
+        // Layers written one after another end up as a single value
+        section = new PalettedSection<>();
+        for (int y = 0; y < 16; y++) {
+            section.set(y << 8, (y << 8) + 255, "stone");
+        }
+        Assertions.assertTrue(section.isUniform());
+        Assertions.assertEquals(PalettedSection.SIZE, section.size());
+        section.set(0, PalettedSection.SIZE - 1, null);
+        Assertions.assertTrue(section.isEmpty());
+    }
+
+    @Test
+    public void uniformSections() {
+        PalettedSection<String> section = new PalettedSection<>();
+        Assertions.assertTrue(section.isEmpty());
+        Assertions.assertTrue(section.isUniform());
+        for (int j = 0; j < PalettedSection.SIZE; j++) {
+            section.set(j, "stone");
+        }
+        // Setting every position to the same value drops the indices again
+        Assertions.assertTrue(section.isUniform());
+        Assertions.assertEquals(PalettedSection.SIZE, section.size());
+
+        section.set(100, "dirt");
+        Assertions.assertFalse(section.isUniform());
+        Assertions.assertEquals("dirt", section.get(100));
+        Assertions.assertEquals("stone", section.get(101));
+
+        section.fill("air");
+        Assertions.assertTrue(section.isUniform());
+        Assertions.assertEquals("air", section.get(100));
+
+        section.set(5, null);
+        Assertions.assertEquals(PalettedSection.SIZE - 1, section.size());
+        for (int j = 0; j < PalettedSection.SIZE; j++) {
+            section.set(j, null);
+        }
+        Assertions.assertTrue(section.isEmpty());
+        Assertions.assertTrue(section.isUniform());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "plotsquared.benchmark", matches = "true")
+    public void benchmarkHeapPerChunk(TestReporter reporter) {
+        // A cleared plot chunk on a -64..320 world: bedrock, filling, a plot floor and air above
+        int sections = 24;
+        int chunks = 2_000;
+        String[] blocks = {"bedrock", "stone", "grass_block", "air"};
+        for (int round = 0; round < 3; round++) {
+            long before = usedMemory();
+            Object[][][] arrays = new Object[chunks][sections][];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                for (int section = 0; section < sections; section++) {
+                    Object[] array = arrays[chunk][section] = new Object[PalettedSection.SIZE];
+                    for (int j = 0; j < PalettedSection.SIZE; j++) {
+                        array[j] = blocks[blockAt(section, j)];
+                    }
+                }
+            }
+            long arrayBytes = usedMemory() - before;
+            // Keeps the arrays reachable until they have been measured
+            Assertions.assertEquals(chunks, arrays.length);
+            arrays = null;
+            before = usedMemory();
+            @SuppressWarnings("unchecked")
+            PalettedSection<String>[][] paletted = new PalettedSection[chunks][sections];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                for (int section = 0; section < sections; section++) {
+                    PalettedSection<String> palettedSection = paletted[chunk][section] = new PalettedSection<>();
+                    for (int j = 0; j < PalettedSection.SIZE; j++) {
+                        palettedSection.set(j, blocks[blockAt(section, j)]);
+                    }
+                }
+            }
+            long palettedBytes = usedMemory() - before;
+            // Keeps the sections reachable until they have been measured
+            Assertions.assertEquals(chunks, paletted.length);
+            reporter.publishEntry(String.format(
+                    "%,d chunks of %d sections: arrays %,d bytes/chunk, paletted %,d bytes/chunk",
+                    chunks, sections, arrayBytes / chunks, palettedBytes / chunks
+            ));
+        }
+    }
+
+    private static int blockAt(int section, int j) {
+        int y = (section << 4) + (j >> 8);
+        return y == 0 ? 0 : y < 127 ? 1 : y == 127 ? 2 : 3;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.configuration.Settings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class QueueSchedulerTest {
+
+    private final List<ChunkCoordinator> started = new ArrayList<>();
+    private long time;
+
+    @BeforeEach
+    public void setUp() {
+        Settings.QUEUE.MAX_RUNNING_QUEUES = 2;
+        Settings.QUEUE.MAX_CHUNK_LOADS = 14;
+        this.started.clear();
+        this.time = 0;
+    }
+
+    private ChunkCoordinator coordinator() {
+        return new ChunkCoordinator() {
+            @Override
+            public void start() {
+                started.add(this);
+            }
+
+            @Override
+            public void cancel() {
+            }
+
+            @Override
+            public void run() {
+            }
+
+            @Override
+            public int getRemainingChunks() {
+                return 0;
+            }
+
+            @Override
+            public int getTotalChunks() {
+                return 0;
+            }
+        };
+    }
+
+    @Test
+    public void startsByPriority() {
+        final QueueScheduler scheduler = new QueueScheduler(() -> this.time);
+        final ChunkCoordinator expiry = coordinator();
+        final ChunkCoordinator roads = coordinator();
+        final ChunkCoordinator clear = coordinator();
+        final ChunkCoordinator trim = coordinator();
+        final ChunkCoordinator set = coordinator();
+
+        scheduler.submit(expiry, QueuePriority.BACKGROUND);
+        // Background queues may only use half of the slots
+        scheduler.submit(roads, QueuePriority.BACKGROUND);
+        scheduler.submit(clear, QueuePriority.PLAYER);
+        scheduler.submit(trim, QueuePriority.ADMIN);
+        scheduler.submit(set, QueuePriority.PLAYER);
+        Assertions.assertEquals(List.of(expiry, clear), this.started);
+        Assertions.assertEquals(1, scheduler.getWaiting(QueuePriority.PLAYER));
+        Assertions.assertEquals(1, scheduler.getWaiting(QueuePriority.ADMIN));
+        Assertions.assertEquals(1, scheduler.getWaiting(QueuePriority.BACKGROUND));
+
+        scheduler.complete(expiry);
+        Assertions.assertEquals(set, this.started.get(2));
+        scheduler.complete(clear);
+        Assertions.assertEquals(trim, this.started.get(3));
+        scheduler.complete(set);
+        Assertions.assertEquals(4, this.started.size());
+        scheduler.complete(trim);
+        Assertions.assertEquals(roads, this.started.get(4));
+        scheduler.complete(roads);
+        for (final QueuePriority priority : QueuePriority.values()) {
+            Assertions.assertEquals(0, scheduler.getRunning(priority));
+            Assertions.assertEquals(0, scheduler.getWaiting(priority));
+        }
+    }
+
+    @Test
+    public void removesWaiting() {
+        final QueueScheduler scheduler = new QueueScheduler(() -> this.time);
+        final ChunkCoordinator first = coordinator();
+        final ChunkCoordinator second = coordinator();
+        final ChunkCoordinator third = coordinator();
+        scheduler.submit(first, QueuePriority.PLAYER);
+        scheduler.submit(second, QueuePriority.PLAYER);
+        scheduler.submit(third, QueuePriority.PLAYER);
+        Assertions.assertFalse(scheduler.remove(first));
+        Assertions.assertTrue(scheduler.remove(third));
+        scheduler.complete(first);
+        scheduler.complete(second);
+        Assertions.assertEquals(List.of(first, second), this.started);
+    }
+
+    @Test
+    public void sharesChunkLoads() {
+        final QueueScheduler scheduler = new QueueScheduler(() -> this.time);
+        final ChunkCoordinator player = coordinator();
+        final ChunkCoordinator background = coordinator();
+        scheduler.submit(background, QueuePriority.BACKGROUND);
+        scheduler.submit(player, QueuePriority.PLAYER);
+
+        Assertions.assertEquals(11, scheduler.acquireChunkLoads(player, 64));
+        Assertions.assertEquals(2, scheduler.acquireChunkLoads(background, 64));
+        Assertions.assertEquals(0, scheduler.acquireChunkLoads(player, 1));
+        Assertions.assertEquals(13, scheduler.getLoadingChunks());
+
+        scheduler.releaseChunkLoads(player, 3);
+        Assertions.assertEquals(1, scheduler.acquireChunkLoads(player, 1));
+        // Coordinators that aren't loading anything can always load a chunk
+        scheduler.releaseChunkLoads(background, 2);
+        Assertions.assertEquals(2, scheduler.acquireChunkLoads(player, 64));
+        Settings.QUEUE.MAX_CHUNK_LOADS = 11;
+        Assertions.assertEquals(0, scheduler.acquireChunkLoads(player, 64));
+        Assertions.assertEquals(1, scheduler.acquireChunkLoads(background, 64));
+
+        scheduler.complete(player);
+        Assertions.assertEquals(1, scheduler.getLoadingChunks());
+        // Releasing loads of completed coordinators has no effect
+        scheduler.releaseChunkLoads(player, 11);
+        Assertions.assertEquals(1, scheduler.getLoadingChunks());
+        // Unscheduled coordinators aren't limited
+        Assertions.assertEquals(64, scheduler.acquireChunkLoads(coordinator(), 64));
+    }
+
+    @Test
+    public void tracksWaitTime() {
+        final QueueScheduler scheduler = new QueueScheduler(() -> this.time);
+        final ChunkCoordinator first = coordinator();
+        final ChunkCoordinator second = coordinator();
+        final ChunkCoordinator third = coordinator();
+        scheduler.submit(first, QueuePriority.ADMIN);
+        scheduler.submit(second, QueuePriority.ADMIN);
+        scheduler.submit(third, QueuePriority.ADMIN);
+        this.time = TimeUnit.MILLISECONDS.toNanos(300);
+        Assertions.assertEquals(300, scheduler.getLongestWait(QueuePriority.ADMIN).toMillis());
+        scheduler.complete(first);
+        // Waits of 0, 0 and 300ms
+        Assertions.assertEquals(100, scheduler.getAverageWait(QueuePriority.ADMIN).toMillis());
+        Assertions.assertEquals(0, scheduler.getLongestWait(QueuePriority.ADMIN).toMillis());
+        Assertions.assertEquals(0, scheduler.getAverageWait(QueuePriority.PLAYER).toMillis());
+    }
+
+}
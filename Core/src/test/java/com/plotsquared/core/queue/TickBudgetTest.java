@@ -0,0 +1,133 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.util.task.PlotSquaredTask;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class TickBudgetTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private double tickTime;
+    private Runnable tickTask;
+    private PlotSquaredTask scheduled;
+
+    @BeforeEach
+    public void setUp() {
+        Settings.QUEUE.MAX_ITERATION_TIME = 30;
+        Settings.QUEUE.TARGET_TICK_TIME = 45;
+        this.tickTime = Double.NaN;
+        this.tickTask = null;
+        this.scheduled = null;
+    }
+
+    private TickBudget create() {
+        return new TickBudget(() -> this.tickTime, task -> {
+            this.tickTask = task;
+            return this.scheduled = new PlotSquaredTask() {
+                private boolean cancelled;
+
+                @Override
+                public void runTask() {
+                    task.run();
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return this.cancelled;
+                }
+
+                @Override
+                public void cancel() {
+                    this.cancelled = true;
+                }
+            };
+        });
+    }
+
+    @Test
+    public void sharedBetweenCoordinators() {
+        TickBudget budget = create();
+        for (int i = 0; i < 10; i++) {
+            budget.register();
+        }
+        Assertions.assertNotNull(this.tickTask);
+        long total = 0;
+        for (int i = 0; i < 10; i++) {
+            long granted = budget.acquire(40 * MS);
+            Assertions.assertTrue(granted > 0);
+            budget.release(granted);
+            total += granted;
+        }
+        Assertions.assertTrue(total <= 30 * MS);
+        Assertions.assertEquals(0, budget.acquire(40 * MS));
+
+        // Time a coordinator didn't use is available to the next ones
+        this.tickTask.run();
+        budget.release(budget.acquire(40 * MS) / 3);
+        Assertions.assertTrue(budget.acquire(40 * MS) > 3 * MS);
+    }
+
+    @Test
+    public void followsTickTime() {
+        TickBudget budget = create();
+        budget.register();
+        this.tickTime = 10;
+        this.tickTask.run();
+        Assertions.assertEquals(30 * MS, budget.getBudget());
+
+        this.tickTime = 40;
+        this.tickTask.run();
+        Assertions.assertEquals(5 * MS, budget.getBudget());
+
+        // Overloaded servers still get a minimal budget
+        this.tickTime = 80;
+        this.tickTask.run();
+        Assertions.assertEquals(2 * MS, budget.getBudget());
+
+        // The time used by the coordinators themselves doesn't count as load
+        this.tickTime = 40;
+        for (int i = 0; i < 200; i++) {
+            budget.release(budget.acquire(30 * MS));
+            this.tickTask.run();
+        }
+        Assertions.assertTrue(budget.getBudget() > 5 * MS);
+    }
+
+    @Test
+    public void cancelsTickTask() {
+        TickBudget budget = create();
+        budget.register();
+        budget.register();
+        PlotSquaredTask task = this.scheduled;
+        budget.unregister();
+        Assertions.assertFalse(task.isCancelled());
+        budget.unregister();
+        Assertions.assertTrue(task.isCancelled());
+        budget.unregister();
+        Assertions.assertEquals(0, budget.getCoordinators());
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.collection.RegionMask;
+import com.sk89q.jnbt.ByteArrayTag;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.ListTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SchematicExportTest {
+
+    private static final BlockVector3 TILE = BlockVector3.at(-7, 2, 12);
+
+    private final BlockState empty = state("minecraft:air");
+    // More states than fit into a byte-indexed chunk palette
+    private final BlockState[] states = new BlockState[400];
+    private final BiomeType[] biomes = new BiomeType[3];
+    private final BaseBlock tile = Mockito.mock(BaseBlock.class);
+
+    {
+        for (int i = 0; i < this.states.length; i++) {
+            this.states[i] = state("minecraft:block" + i);
+        }
+        for (int i = 0; i < this.biomes.length; i++) {
+            this.biomes[i] = new BiomeType("minecraft:biome" + i);
+            this.biomes[i].setInternalId(i);
+        }
+        final Map<String, Tag> nbt = new HashMap<>();
+        nbt.put("id", new StringTag("minecraft:chest"));
+        nbt.put("x", new IntTag(TILE.getX()));
+        nbt.put("CustomName", new StringTag("chest"));
+        final CompoundTag nbtData = new CompoundTag(nbt);
+        Mockito.when(this.tile.getNbtData()).thenReturn(nbtData);
+        Mockito.when(this.tile.getNbtId()).thenReturn("minecraft:chest");
+    }
+
+    private static BlockState state(final String name) {
+        final BlockState state = Mockito.mock(BlockState.class, Mockito.withSettings().stubOnly());
+        Mockito.when(state.getAsString()).thenReturn(name);
+        return state;
+    }
+
+    private BlockState blockAt(final int x, final int y, final int z) {
+        // Chunks with an even x coordinate use every state, the others only a few
+        final int variety = ((x >> 4) & 1) == 0 ? this.states.length : 5;
+        return this.states[Math.floorMod(x * 31 + y * 17 + z * 7 + x * z * y, variety)];
+    }
+
+    private BiomeType biomeAt(final int x, final int z) {
+        return this.biomes[Math.floorMod(x + z, this.biomes.length)];
+    }
+
+    private SchematicExport export(final Set<CuboidRegion> regions, final CuboidRegion aabb) {
+        final World world = Mockito.mock(World.class);
+        Mockito.when(world.getName()).thenReturn("world");
+        Mockito.when(world.getFullBlock(TILE)).thenReturn(this.tile);
+        final WorldUtil worldUtil = Mockito.mock(WorldUtil.class);
+        Mockito.when(worldUtil.getChunkSnapshot(Mockito.eq("world"), Mockito.any())).thenAnswer(invocation -> {
+            final BlockVector2 chunk = invocation.getArgument(1);
+            final int chunkX = chunk.getX() << 4;
+            final int chunkZ = chunk.getZ() << 4;
+            return new ChunkSnapshot() {
+                @Override
+                public BlockState getBlock(final int x, final int y, final int z) {
+                    return blockAt(chunkX + x, y, chunkZ + z);
+                }
+
+                @Override
+                public BiomeType getBiome(final int x, final int y, final int z) {
+                    return biomeAt(chunkX + x, chunkZ + z);
+                }
+
+                @Override
+                public Collection<BlockVector3> getTileEntities() {
+                    return chunk.equals(BlockVector2.at(TILE.getX() >> 4, TILE.getZ() >> 4)) ? List.of(TILE) : List.of();
+                }
+            };
+        });
+        return new SchematicExport(worldUtil, world, regions, aabb, this.empty);
+    }
+
+    private static int[] readVarInts(final byte[] data, final int count) {
+        final int[] values = new int[count];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 127) << shift;
+                shift += 7;
+            } while ((b & 128) != 0);
+            values[i] = value;
+        }
+        Assertions.assertEquals(data.length, offset);
+        return values;
+    }
+
+    private static Map<Integer, String> palette(final Map<String, Tag> schematic, final String name) {
+        final Map<Integer, String> palette = new HashMap<>();
+        ((CompoundTag) schematic.get(name)).getValue()
+                .forEach((key, id) -> Assertions.assertNull(palette.put(((IntTag) id).getValue(), key)));
+        return palette;
+    }
+
+    @Test
+    public void exportedBlocksRoundTrip() {
+        final Set<CuboidRegion> regions = Set.of(
+                new CuboidRegion(BlockVector3.at(-20, -5, 3), BlockVector3.at(9, 14, 25)),
+                new CuboidRegion(BlockVector3.at(10, -5, 3), BlockVector3.at(40, 14, 10))
+        );
+        final CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
+        final RegionMask mask = RegionMask.compile(regions);
+        final SchematicExport export = export(regions, aabb);
+        for (final BlockVector2 chunk : aabb.getChunks()) {
+            export.readChunk(chunk);
+        }
+        final Map<String, Tag> schematic = new HashMap<>();
+        export.complete(schematic).join();
+
+        final int width = aabb.getWidth();
+        final int height = aabb.getHeight();
+        final int length = aabb.getLength();
+        final BlockVector3 min = aabb.getMinimumPoint();
+        final Map<Integer, String> palette = palette(schematic, "Palette");
+        Assertions.assertEquals(palette.size(), ((IntTag) schematic.get("PaletteMax")).getValue());
+        final int[] blocks = readVarInts(((ByteArrayTag) schematic.get("BlockData")).getValue(), width * height * length);
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    final int worldX = min.getX() + x;
+                    final int worldY = min.getY() + y;
+                    final int worldZ = min.getZ() + z;
+                    final BlockState expected = mask.contains(worldX, worldY, worldZ)
+                            ? blockAt(worldX, worldY, worldZ) : this.empty;
+                    Assertions.assertEquals(
+                            expected.getAsString(),
+                            palette.get(blocks[(y * length + z) * width + x]),
+                            "block at " + worldX + "," + worldY + "," + worldZ
+                    );
+                }
+            }
+        }
+
+        final Map<Integer, String> biomePalette = palette(schematic, "BiomePalette");
+        final int[] biomeData = readVarInts(((ByteArrayTag) schematic.get("BiomeData")).getValue(), width * length);
+        for (int z = 0; z < length; z++) {
+            for (int x = 0; x < width; x++) {
+                Assertions.assertEquals(
+                        biomeAt(min.getX() + x, min.getZ() + z).getId(),
+                        biomePalette.get(biomeData[z * width + x])
+                );
+            }
+        }
+
+        final List<Tag> tiles = ((ListTag) schematic.get("BlockEntities")).getValue();
+        Assertions.assertEquals(1, tiles.size());
+        final Map<String, Tag> tileValues = ((CompoundTag) tiles.get(0)).getValue();
+        Assertions.assertEquals("minecraft:chest", ((StringTag) tileValues.get("Id")).getValue());
+        Assertions.assertEquals("chest", ((StringTag) tileValues.get("CustomName")).getValue());
+        Assertions.assertFalse(tileValues.containsKey("id"));
+        Assertions.assertFalse(tileValues.containsKey("x"));
+        Assertions.assertArrayEquals(
+                new int[]{TILE.getX() - min.getX(), TILE.getY() - min.getY(), TILE.getZ() - min.getZ()},
+                ((IntArrayTag) tileValues.get("Pos")).getValue()
+        );
+    }
+
+    @Test
+    public void unreadChunksAreEmpty() {
+        final CuboidRegion region = new CuboidRegion(BlockVector3.at(-4, 0, 0), BlockVector3.at(20, 3, 5));
+        final SchematicExport export = export(Set.of(region), region);
+        export.readChunk(BlockVector2.at(-1, 0));
+        final Map<String, Tag> schematic = new HashMap<>();
+        export.complete(schematic).join();
+
+        final Map<Integer, String> palette = palette(schematic, "Palette");
+        final int[] blocks = readVarInts(((ByteArrayTag) schematic.get("BlockData")).getValue(), 25 * 4 * 6);
+        final List<String> expected = new ArrayList<>();
+        final List<String> actual = new ArrayList<>();
+        for (int y = 0; y < 4; y++) {
+            for (int z = 0; z < 6; z++) {
+                for (int x = 0; x < 25; x++) {
+                    expected.add(x < 4 ? blockAt(x - 4, y, z).getAsString() : this.empty.getAsString());
+                    actual.add(palette.get(blocks[(y * 6 + z) * 25 + x]));
+                }
+            }
+        }
+        Assertions.assertEquals(expected, actual);
+    }
+
+}
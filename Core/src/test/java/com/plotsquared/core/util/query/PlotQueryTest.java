@@ -0,0 +1,152 @@
+/*
+ * PlotSquared, a land and world management plugin for Minecraft.
+ * Copyright (C) IntellectualSites <https://intellectualsites.com>
+ * Copyright (C) IntellectualSites team and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class PlotQueryTest {
+
+    @Test
+    public void usesSmallestCandidates() {
+        final List<String> all = List.of("a", "b", "c", "d");
+        final List<Function<Integer, Collection<String>>> lookups = List.of(
+                area -> null,
+                area -> List.of("a", "b", "c"),
+                area -> List.of("b")
+        );
+        Assertions.assertEquals(List.of("b"), PlotQuery.candidates(0, area -> all, lookups));
+        Assertions.assertEquals(all, PlotQuery.candidates(0, area -> all, List.of(area -> null)));
+        Assertions.assertEquals(all, PlotQuery.candidates(0, area -> all, List.of()));
+    }
+
+    private static Plot plot(final String alias, final Set<UUID> added) {
+        final Plot plot = Mockito.mock(Plot.class, Mockito.withSettings().stubOnly());
+        Mockito.when(plot.getAlias()).thenReturn(alias);
+        Mockito.when(plot.isAdded(Mockito.any())).thenAnswer(invocation -> added.contains(invocation.<UUID>getArgument(0)));
+        return plot;
+    }
+
+    @Test
+    public void plotsByEmptyAliasAreNotLookedUpFromTheIndex() {
+        final PlotArea area = Mockito.mock(PlotArea.class);
+        final Plot unnamed = plot("", Set.of());
+        final List<Plot> plots = List.of(unnamed, plot("home", Set.of()), plot("", Set.of()));
+        Mockito.when(area.getPlots()).thenReturn(plots);
+        Mockito.when(area.getPlotsByAlias("")).thenCallRealMethod();
+
+        Assertions.assertNull(new AliasFilter("").getCandidates(area));
+        final Set<Plot> unaliased = area.getPlotsByAlias("");
+        Assertions.assertEquals(Set.of(unnamed, plots.get(2)), unaliased);
+    }
+
+    @Test
+    public void aliasAndMemberLookupsMatchBruteForce() {
+        final Random random = new Random(7);
+        final String[] aliases = {"", "home", "Home", "farm", "shop", "castle"};
+        final UUID[] players = new UUID[8];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new UUID(0, i);
+        }
+        // Plot areas answering lookups from indexes like the ones PlotArea keeps, which don't contain plots
+        // without an alias
+        final List<PlotArea> areas = new ArrayList<>();
+        final List<Plot> all = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final List<Plot> plots = new ArrayList<>();
+            final Map<String, Set<Plot>> aliasIndex = new HashMap<>();
+            final Map<UUID, Set<Plot>> memberIndex = new HashMap<>();
+            for (int j = 0; j < 100; j++) {
+                final Set<UUID> added = new HashSet<>();
+                for (int k = random.nextInt(3); k > 0; k--) {
+                    added.add(players[random.nextInt(players.length)]);
+                }
+                final String alias = aliases[random.nextInt(aliases.length)];
+                final Plot plot = plot(alias, added);
+                plots.add(plot);
+                if (!alias.isEmpty()) {
+                    aliasIndex.computeIfAbsent(alias.toLowerCase(Locale.ENGLISH), k -> new HashSet<>()).add(plot);
+                }
+                for (final UUID uuid : added) {
+                    memberIndex.computeIfAbsent(uuid, k -> new HashSet<>()).add(plot);
+                }
+            }
+            final PlotArea area = Mockito.mock(PlotArea.class, Mockito.withSettings().stubOnly());
+            Mockito.when(area.getPlots()).thenReturn(plots);
+            Mockito.when(area.getPlotsByAlias(Mockito.anyString())).thenAnswer(invocation -> aliasIndex.getOrDefault(
+                    invocation.<String>getArgument(0).toLowerCase(Locale.ENGLISH), Set.of()));
+            Mockito.when(area.getAddedPlots(Mockito.any()))
+                    .thenAnswer(invocation -> memberIndex.getOrDefault(invocation.<UUID>getArgument(0), Set.of()));
+            areas.add(area);
+            all.addAll(plots);
+        }
+
+        final Set<Plot> evenPlots = new HashSet<>();
+        for (int i = 0; i < all.size(); i += 2) {
+            evenPlots.add(all.get(i));
+        }
+        for (final String alias : aliases) {
+            for (final UUID player : players) {
+                final PlotFilter withAlias = new AliasFilter(alias);
+                final PlotFilter withMember = new MemberFilter(player);
+                // A filter that can't be answered from an index
+                final PlotFilter even = evenPlots::contains;
+
+                assertMatches(areas, all, withAlias);
+                assertMatches(areas, all, withMember);
+                assertMatches(areas, all, withAlias, withMember);
+                assertMatches(areas, all, even, withMember);
+            }
+        }
+    }
+
+    private static void assertMatches(final List<PlotArea> areas, final List<Plot> all, final PlotFilter... filters) {
+        final Predicate<Plot> acceptedByAll = plot -> Arrays.stream(filters).allMatch(filter -> filter.accepts(plot));
+        final List<Function<PlotArea, Collection<Plot>>> lookups = new ArrayList<>();
+        for (final PlotFilter filter : filters) {
+            lookups.add(filter::getCandidates);
+        }
+        final Set<Plot> expected = all.stream().filter(acceptedByAll).collect(Collectors.toSet());
+        final List<Plot> actual = areas.stream()
+                .flatMap(area -> PlotQuery.candidates(area, PlotArea::getPlots, lookups).stream())
+                .filter(acceptedByAll)
+                .toList();
+        Assertions.assertEquals(expected.size(), actual.size(), "Plots must not be returned more than once");
+        Assertions.assertEquals(expected, new HashSet<>(actual));
+    }
+
+}
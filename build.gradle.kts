@@ -208,6 +208,8 @@ subprojects {
         }
         test {
             useJUnitPlatform()
+            // Benchmarks only run with ./gradlew test -Dplotsquared.benchmark=true
+            systemProperty("plotsquared.benchmark", System.getProperty("plotsquared.benchmark", "false"))
         }
 
         withType<AbstractArchiveTask>().configureEach {